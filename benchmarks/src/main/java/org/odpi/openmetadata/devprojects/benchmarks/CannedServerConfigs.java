@@ -0,0 +1,71 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.benchmarks;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.adminservices.configuration.properties.OMAGServerConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * CannedServerConfigs loads the configuration documents used by the benchmarks.  The documents are in
+ * server-configs.json and describe a metadata access store with two cohorts, an integration daemon,
+ * an engine host and a view server.  They can be repeated to make a larger estate.
+ */
+public class CannedServerConfigs
+{
+    private static final String SERVER_CONFIGS_RESOURCE = "/server-configs.json";
+
+
+    /**
+     * Return the canned configuration documents, repeated until there are at least the requested number.
+     * Each copy has its own server name and identifier.
+     *
+     * @param serverCount minimum number of documents to return
+     * @return list of configuration documents
+     * @throws IOException the documents can not be read
+     */
+    public static List<OMAGServerConfig> getServerConfigs(int serverCount) throws IOException
+    {
+        ObjectMapper           objectMapper  = new ObjectMapper();
+        List<OMAGServerConfig> serverConfigs = new ArrayList<>();
+
+        try (InputStream configStream = CannedServerConfigs.class.getResourceAsStream(SERVER_CONFIGS_RESOURCE))
+        {
+            if (configStream == null)
+            {
+                throw new IOException("Unable to find resource " + SERVER_CONFIGS_RESOURCE);
+            }
+
+            OMAGServerConfig[] cannedConfigs = objectMapper.readValue(configStream, OMAGServerConfig[].class);
+
+            if ((cannedConfigs == null) || (cannedConfigs.length == 0))
+            {
+                throw new IOException("No configuration documents in resource " + SERVER_CONFIGS_RESOURCE);
+            }
+
+            for (int copyNumber = 0; serverConfigs.size() < serverCount; copyNumber++)
+            {
+                for (OMAGServerConfig cannedConfig : cannedConfigs)
+                {
+                    OMAGServerConfig serverConfig = new OMAGServerConfig(cannedConfig);
+
+                    if (copyNumber > 0)
+                    {
+                        serverConfig.setLocalServerName(cannedConfig.getLocalServerName() + copyNumber);
+                        serverConfig.setLocalServerId(cannedConfig.getLocalServerId() + "-" + copyNumber);
+                    }
+
+                    serverConfigs.add(serverConfig);
+                }
+            }
+        }
+
+        return serverConfigs;
+    }
+}
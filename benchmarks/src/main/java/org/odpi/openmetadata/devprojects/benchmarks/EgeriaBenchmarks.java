@@ -0,0 +1,94 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.benchmarks;
+
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Date;
+
+
+/**
+ * EgeriaBenchmarks runs the JMH benchmarks for the utilities and connectors in this repository.  It accepts the
+ * standard JMH command line options, eg a regular expression to select the benchmarks, -f for the number of forks
+ * and -rff for the name of the results file.  Unless the options say otherwise, the results are written as JSON
+ * to jmh-result.json so that they can be kept and compared between releases.
+ */
+public class EgeriaBenchmarks
+{
+    public static final String DEFAULT_RESULT_FILE_NAME = "jmh-result.json";
+
+
+    /**
+     * Main program that runs the benchmarks.
+     *
+     * @param args JMH command line options
+     */
+    public static void main(String[] args)
+    {
+        try
+        {
+            CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+            if (commandLineOptions.shouldHelp())
+            {
+                commandLineOptions.showHelp();
+                return;
+            }
+
+            ChainedOptionsBuilder optionsBuilder = new OptionsBuilder().parent(commandLineOptions);
+
+            if (! commandLineOptions.getResultFormat().hasValue())
+            {
+                optionsBuilder.resultFormat(ResultFormatType.JSON);
+            }
+
+            String resultFileName = DEFAULT_RESULT_FILE_NAME;
+
+            if (commandLineOptions.getResult().hasValue())
+            {
+                resultFileName = commandLineOptions.getResult().get();
+            }
+            else
+            {
+                optionsBuilder.result(resultFileName);
+            }
+
+            Runner runner = new Runner(optionsBuilder.build());
+
+            if (commandLineOptions.shouldList())
+            {
+                runner.list();
+                return;
+            }
+
+            System.out.println("=======================");
+            System.out.println("Egeria Benchmarks:     " + new Date().toString());
+            System.out.println("=======================");
+
+            Collection<RunResult> runResults = runner.run();
+
+            System.out.println();
+            System.out.println("Ran " + runResults.size() + " benchmarks; results are in " + resultFileName);
+        }
+        catch (CommandLineOptionException error)
+        {
+            System.out.println("Invalid JMH option: " + error.getMessage());
+            System.exit(-1);
+        }
+        catch (IOException | RunnerException error)
+        {
+            System.out.println("There was an " + error.getClass().getName() + " exception when running the benchmarks.  Error message is: " + error.getMessage());
+            System.exit(-1);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.benchmarks;
+
+
+import org.odpi.openmetadata.devprojects.reports.EgeriaReport;
+import org.odpi.openmetadata.devprojects.reports.EgeriaReportOptions;
+import org.odpi.openmetadata.devprojects.reports.ReportFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * EgeriaReportBenchmark measures how long EgeriaReport takes to write a complete report file, either as
+ * label/value lines under subheadings or as a single element table.  Each invocation writes a whole report so
+ * the report file stays small however long the benchmark runs.  The values printed are built in the setup so
+ * only the rendering and writing is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EgeriaReportBenchmark
+{
+    private static final int LINES_PER_SECTION = 20;
+
+    @Param({"MARKDOWN", "JSON_LINES", "CSV"})
+    private ReportFormat reportFormat;
+
+    @Param({"100", "10000"})
+    private int lineCount;
+
+    private EgeriaReportOptions reportOptions = null;
+    private File                reportFile    = null;
+    private String[]            labels        = null;
+    private String[][]          rows          = null;
+
+
+    /**
+     * Create the report options and the values to print.
+     *
+     * @throws IOException unable to create the report file
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        reportOptions = new EgeriaReportOptions();
+        reportOptions.setEchoToConsole(false);
+        reportOptions.setReportFormat(reportFormat);
+
+        reportFile = File.createTempFile("egeria-report-benchmark-", "." + reportFormat.getFileExtension());
+
+        labels = new String[lineCount];
+        rows   = new String[lineCount][];
+
+        for (int lineNumber = 0; lineNumber < lineCount; lineNumber++)
+        {
+            String guid = String.format("%08d-5eed-4b0a-8c1e-%012d", lineNumber, lineNumber);
+
+            labels[lineNumber] = "Property " + (lineNumber % LINES_PER_SECTION);
+            rows[lineNumber]   = new String[]{ guid,
+                                               "Database:Hospital" + (lineNumber % 7) + ":Table" + lineNumber,
+                                               "Table " + lineNumber,
+                                               "Clinical trial results for patient group " + lineNumber };
+        }
+    }
+
+
+    /**
+     * Remove the report file.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        if ((reportFile != null) && (! reportFile.delete()))
+        {
+            System.out.println("Unable to delete report file: " + reportFile.getAbsolutePath());
+        }
+    }
+
+
+    /**
+     * Write a report of label/value lines with a subheading every few lines.
+     *
+     * @throws IOException problem writing the report
+     */
+    @Benchmark
+    public void renderReportLines() throws IOException
+    {
+        try (EgeriaReport report = new EgeriaReport(reportFile.getAbsolutePath(), reportOptions))
+        {
+            report.printReportTitle(0, "Benchmark Report");
+
+            for (int lineNumber = 0; lineNumber < lineCount; lineNumber++)
+            {
+                if (lineNumber % LINES_PER_SECTION == 0)
+                {
+                    report.printReportSubheading(1, "Section " + (lineNumber / LINES_PER_SECTION));
+                }
+
+                report.printReportLine(2, labels[lineNumber], rows[lineNumber][3]);
+            }
+        }
+    }
+
+
+    /**
+     * Write a report containing a single element table.
+     *
+     * @throws IOException problem writing the report
+     */
+    @Benchmark
+    public void renderReportTable() throws IOException
+    {
+        try (EgeriaReport report = new EgeriaReport(reportFile.getAbsolutePath(), reportOptions))
+        {
+            report.printReportTitle(0, "Benchmark Report");
+            report.startTable(1, List.of("GUID", "Qualified Name", "Display Name", "Description"));
+
+            for (String[] row : rows)
+            {
+                report.printTableRow(row);
+            }
+
+            report.endTable();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.benchmarks;
+
+
+import org.odpi.openmetadata.devprojects.connectors.auditlog.eventdisplay.EventDisplayAuditLogStoreConnector;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecordOriginator;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * EventDisplayAuditLogBenchmark measures the throughput of EventDisplayAuditLogStoreConnector.storeLogRecord().
+ * Event records are formatted and printed while other records are only validated, so both severities are
+ * measured, with and without an event payload.  System.out is replaced with a stream that discards its
+ * output while the benchmark runs so the speed of the console is not part of the result.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventDisplayAuditLogBenchmark
+{
+    @Param({"EVENT", "INFO"})
+    private OMRSAuditLogRecordSeverity severity;
+
+    @Param({"true", "false"})
+    private boolean withPayload;
+
+    private EventDisplayAuditLogStoreConnector connector      = null;
+    private OMRSAuditLogRecord                 logRecord      = null;
+    private PrintStream                        originalOutput = null;
+
+
+    /**
+     * Create the connector and the log record, and discard console output.
+     */
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        connector = new EventDisplayAuditLogStoreConnector();
+
+        OMRSAuditLogRecordOriginator originator = new OMRSAuditLogRecordOriginator();
+
+        originator.setServerName("cocoMDS1");
+        originator.setServerType("Metadata Access Store");
+        originator.setOrganizationName("Coco Pharmaceuticals");
+        originator.setMetadataCollectionId(UUID.randomUUID().toString());
+
+        Map<String, String> originatorProperties = new HashMap<>();
+
+        originatorProperties.put(OMRSAuditLogRecordOriginator.SERVER_NAME_PROPERTY, originator.getServerName());
+        originatorProperties.put(OMRSAuditLogRecordOriginator.SERVER_TYPE_PROPERTY, originator.getServerType());
+        originatorProperties.put(OMRSAuditLogRecordOriginator.ORGANIZATION_NAME_PROPERTY, originator.getOrganizationName());
+        originatorProperties.put(OMRSAuditLogRecordOriginator.METADATA_COLLECTION_ID_PROPERTY, originator.getMetadataCollectionId());
+
+        AuditLogReportingComponent reportingComponent = new AuditLogReportingComponent();
+
+        reportingComponent.setComponentId(200);
+        reportingComponent.setComponentName("Asset Manager OMAS");
+        reportingComponent.setComponentDescription("Manage metadata from a third party asset manager.");
+
+        logRecord = new OMRSAuditLogRecord();
+
+        logRecord.setGUID(UUID.randomUUID().toString());
+        logRecord.setTimeStamp(new Date());
+        logRecord.setOriginator(originator);
+        logRecord.setOriginatorProperties(originatorProperties);
+        logRecord.setOriginatorComponent(reportingComponent);
+        logRecord.setSeverity(severity.getName());
+        logRecord.setMessageId("OMAS-ASSET-MANAGER-0012");
+        logRecord.setMessageText("The Asset Manager Open Metadata Access Service (OMAS) has sent event of type: New Element");
+
+        if (withPayload)
+        {
+            logRecord.setAdditionalInformation(Collections.singletonList("{\"class\":\"AssetManagerOutTopicEvent\",\"eventType\":\"NEW_ELEMENT_CREATED\"," +
+                                                                               "\"elementHeader\":{\"class\":\"ElementHeader\",\"guid\":\"" + UUID.randomUUID() +
+                                                                               "\",\"type\":{\"typeName\":\"GlossaryTerm\"}}}"));
+        }
+
+        originalOutput = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+
+    /**
+     * Restore console output.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        if (originalOutput != null)
+        {
+            System.setOut(originalOutput);
+        }
+    }
+
+
+    /**
+     * Store one log record.
+     *
+     * @return unique identifier of the log record
+     * @throws InvalidParameterException the log record is invalid
+     */
+    @Benchmark
+    public String storeLogRecord() throws InvalidParameterException
+    {
+        return connector.storeLogRecord(logRecord);
+    }
+}
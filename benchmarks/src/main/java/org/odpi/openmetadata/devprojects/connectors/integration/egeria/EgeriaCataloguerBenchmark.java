@@ -0,0 +1,79 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.connectors.integration.egeria;
+
+
+import org.odpi.openmetadata.accessservices.itinfrastructure.properties.SoftwareServerProperties;
+import org.odpi.openmetadata.adminservices.configuration.properties.OMAGServerConfig;
+import org.odpi.openmetadata.devprojects.benchmarks.CannedServerConfigs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * EgeriaCataloguerBenchmark measures the mapping of server configuration documents to the properties of the
+ * software server entities that EgeriaCataloguerIntegrationConnector catalogues.  It is in the same package as
+ * the connector because getSoftwareServerProperties() is package-private.  The connector is not started
+ * since the mapping makes no calls to the metadata server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EgeriaCataloguerBenchmark
+{
+    @Param({"4", "400"})
+    private int serverCount;
+
+    private EgeriaCataloguerIntegrationConnector connector     = null;
+    private List<OMAGServerConfig>               serverConfigs = null;
+
+
+    /**
+     * Create the connector and load the configuration documents.
+     *
+     * @throws IOException unable to read the configuration documents
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        connector     = new EgeriaCataloguerIntegrationConnector();
+        serverConfigs = CannedServerConfigs.getServerConfigs(serverCount);
+    }
+
+
+    /**
+     * Map every configuration document to software server properties.
+     *
+     * @return mapped properties
+     */
+    @Benchmark
+    public List<SoftwareServerProperties> getSoftwareServerProperties()
+    {
+        List<SoftwareServerProperties> propertiesList = new ArrayList<>(serverConfigs.size());
+
+        for (OMAGServerConfig serverConfig : serverConfigs)
+        {
+            propertiesList.add(connector.getSoftwareServerProperties(serverConfig));
+        }
+
+        return propertiesList;
+    }
+}
@@ -0,0 +1,154 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.platform;
+
+
+import org.odpi.openmetadata.adminservices.configuration.properties.AccessServiceConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.OMAGServerConfig;
+import org.odpi.openmetadata.adminservices.properties.OMAGServerServiceStatus;
+import org.odpi.openmetadata.adminservices.properties.ServerActiveStatus;
+import org.odpi.openmetadata.devprojects.benchmarks.CannedServerConfigs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * OMAGServerDetailsBenchmark measures the assembly of OMAGServerDetails from canned OMAGServerConfig documents
+ * and service lists, as the platform report does for each server it collects, and the rebuilding of the details
+ * from the snapshot saved by a previous run.  It is in the same package as OMAGServerDetails because the
+ * details are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OMAGServerDetailsBenchmark
+{
+    @Param({"4", "400"})
+    private int serverCount;
+
+    private List<OMAGServerConfig>              serverConfigs   = null;
+    private List<List<OMAGServerServiceStatus>> serverServices  = null;
+    private List<OMAGServerSnapshot>            serverSnapshots = null;
+    private Date                                serverStartTime = null;
+
+
+    /**
+     * Load the configuration documents and build the matching service lists and snapshots.
+     *
+     * @throws IOException unable to read the configuration documents
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        serverConfigs   = CannedServerConfigs.getServerConfigs(serverCount);
+        serverServices  = new ArrayList<>();
+        serverStartTime = new Date();
+
+        for (OMAGServerConfig serverConfig : serverConfigs)
+        {
+            List<OMAGServerServiceStatus> services = new ArrayList<>();
+
+            services.add(getServiceStatus("Open Metadata Repository Services (OMRS)"));
+
+            if (serverConfig.getAccessServicesConfig() != null)
+            {
+                for (AccessServiceConfig accessServiceConfig : serverConfig.getAccessServicesConfig())
+                {
+                    services.add(getServiceStatus(accessServiceConfig.getAccessServiceFullName()));
+                }
+            }
+
+            serverServices.add(services);
+        }
+
+        serverSnapshots = new ArrayList<>();
+
+        for (OMAGServerDetails serverDetails : assembleServerDetails())
+        {
+            serverSnapshots.add(serverDetails.getSnapshot());
+        }
+    }
+
+
+    /**
+     * Return the status of a running service.
+     *
+     * @param serviceName name of the service
+     * @return service status
+     */
+    private OMAGServerServiceStatus getServiceStatus(String serviceName)
+    {
+        OMAGServerServiceStatus serviceStatus = new OMAGServerServiceStatus();
+
+        serviceStatus.setServiceName(serviceName);
+        serviceStatus.setServiceStatus(ServerActiveStatus.RUNNING);
+
+        return serviceStatus;
+    }
+
+
+    /**
+     * Assemble the details of every server from its configuration and service list.
+     *
+     * @return assembled details
+     */
+    @Benchmark
+    public List<OMAGServerDetails> assembleServerDetails()
+    {
+        List<OMAGServerDetails> serverDetailsList = new ArrayList<>(serverConfigs.size());
+
+        for (int serverNumber = 0; serverNumber < serverConfigs.size(); serverNumber++)
+        {
+            OMAGServerConfig  serverConfig  = serverConfigs.get(serverNumber);
+            OMAGServerDetails serverDetails = new OMAGServerDetails(serverConfig.getLocalServerName());
+
+            serverDetails.setConfiguration(serverConfig);
+            serverDetails.setActiveOnPlatform(true);
+            serverDetails.setServerActiveStatus(ServerActiveStatus.RUNNING);
+            serverDetails.setServerStartTime(serverStartTime);
+            serverDetails.setServices(serverServices.get(serverNumber));
+
+            serverDetailsList.add(serverDetails);
+        }
+
+        return serverDetailsList;
+    }
+
+
+    /**
+     * Rebuild the details of every server from the snapshot saved by a previous run.
+     *
+     * @return rebuilt details
+     */
+    @Benchmark
+    public List<OMAGServerDetails> assembleFromSnapshots()
+    {
+        List<OMAGServerDetails> serverDetailsList = new ArrayList<>(serverSnapshots.size());
+
+        for (OMAGServerSnapshot serverSnapshot : serverSnapshots)
+        {
+            serverDetailsList.add(new OMAGServerDetails(serverSnapshot));
+        }
+
+        return serverDetailsList;
+    }
+}
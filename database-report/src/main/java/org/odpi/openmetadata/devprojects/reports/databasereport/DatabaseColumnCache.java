@@ -0,0 +1,258 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+
+import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseTableElement;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * DatabaseColumnCache saves the columns of each table reported on to a local file so that the next run of the
+ * database report can skip retrieving the columns of the tables that have not changed.  A table's cached columns
+ * are used when the table's element version and column count are the same as when they were saved.
+ * <br><br>
+ * Changing a column's own properties does not change the version of its table, so a cached table may show
+ * out-of-date column descriptions.  Delete the cache file to retrieve every column again.
+ * <br><br>
+ * The cache may be used by several reports at once (for example the export's workers).
+ */
+class DatabaseColumnCache
+{
+    private static final int CACHE_FILE_VERSION = 1;
+
+    /**
+     * The columns of a table when they were saved.
+     */
+    private static class CachedTable
+    {
+        private final long                        tableVersion;
+        private final int                         columnCount;
+        private final List<DatabaseColumnSummary> columns;
+
+        CachedTable(long                        tableVersion,
+                    int                         columnCount,
+                    List<DatabaseColumnSummary> columns)
+        {
+            this.tableVersion = tableVersion;
+            this.columnCount  = columnCount;
+            this.columns      = columns;
+        }
+    }
+
+
+    private final File                     cacheFile;
+    private final Map<String, CachedTable> cachedTables = new ConcurrentHashMap<>();
+
+
+    /**
+     * Read the cache file if it exists.  A cache file that can not be read is ignored (and replaced when
+     * the cache is saved).
+     *
+     * @param cacheFileName name of the file (it does not need to exist yet)
+     */
+    DatabaseColumnCache(String cacheFileName)
+    {
+        this.cacheFile = new File(cacheFileName);
+
+        if (cacheFile.exists())
+        {
+            try (DataInputStream cacheStream = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(cacheFile)))))
+            {
+                if (cacheStream.readInt() == CACHE_FILE_VERSION)
+                {
+                    int tableCount = cacheStream.readInt();
+
+                    for (int tableIndex = 0; tableIndex < tableCount; tableIndex++)
+                    {
+                        String tableGUID    = readString(cacheStream);
+                        long   tableVersion = cacheStream.readLong();
+                        int    columnCount  = cacheStream.readInt();
+                        int    cachedCount  = cacheStream.readInt();
+
+                        List<DatabaseColumnSummary> columns = new ArrayList<>(cachedCount);
+
+                        for (int columnIndex = 0; columnIndex < cachedCount; columnIndex++)
+                        {
+                            columns.add(new DatabaseColumnSummary(readString(cacheStream),
+                                                                  readString(cacheStream),
+                                                                  readString(cacheStream),
+                                                                  readString(cacheStream)));
+                        }
+
+                        cachedTables.put(tableGUID, new CachedTable(tableVersion, columnCount, columns));
+                    }
+                }
+            }
+            catch (IOException error)
+            {
+                System.out.println("Ignoring column cache file " + cacheFile.getPath() + " since it could not be read.  Error message is: " + error.getMessage());
+                cachedTables.clear();
+            }
+        }
+    }
+
+
+    /**
+     * Return the version of a table's element, or null if it is not known (in which case its columns are not cached).
+     *
+     * @param databaseTableElement table
+     * @return version or null
+     */
+    static Long getTableVersion(DatabaseTableElement databaseTableElement)
+    {
+        if ((databaseTableElement.getElementHeader() != null) && (databaseTableElement.getElementHeader().getVersions() != null))
+        {
+            return databaseTableElement.getElementHeader().getVersions().getVersion();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the cached columns of a table if the table has not changed since they were saved.
+     *
+     * @param databaseTableElement table
+     * @return list of columns or null if they need to be retrieved
+     */
+    List<DatabaseColumnSummary> getColumns(DatabaseTableElement databaseTableElement)
+    {
+        Long        tableVersion = getTableVersion(databaseTableElement);
+        CachedTable cachedTable  = cachedTables.get(databaseTableElement.getElementHeader().getGUID());
+
+        if ((tableVersion != null) &&
+            (cachedTable != null) &&
+            (cachedTable.tableVersion == tableVersion) &&
+            (cachedTable.columnCount == databaseTableElement.getDatabaseColumnCount()))
+        {
+            return cachedTable.columns;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Save the columns of a table that were retrieved in full.
+     *
+     * @param databaseTableElement table
+     * @param columns all of the table's columns
+     */
+    void putColumns(DatabaseTableElement        databaseTableElement,
+                    List<DatabaseColumnSummary> columns)
+    {
+        Long tableVersion = getTableVersion(databaseTableElement);
+
+        if (tableVersion != null)
+        {
+            cachedTables.put(databaseTableElement.getElementHeader().getGUID(),
+                             new CachedTable(tableVersion, databaseTableElement.getDatabaseColumnCount(), columns));
+        }
+    }
+
+
+    /**
+     * Write the cache to its file.  The file is written under a temporary name and then renamed so that a failure
+     * part way through leaves the previous cache file in place.
+     *
+     * @throws IOException the file could not be written
+     */
+    synchronized void save() throws IOException
+    {
+        File workingFile = new File(cacheFile.getPath() + ".tmp");
+
+        try (DataOutputStream cacheStream = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(workingFile)))))
+        {
+            Map<String, CachedTable> tablesToSave = Map.copyOf(cachedTables);
+
+            cacheStream.writeInt(CACHE_FILE_VERSION);
+            cacheStream.writeInt(tablesToSave.size());
+
+            for (Map.Entry<String, CachedTable> cachedTableEntry : tablesToSave.entrySet())
+            {
+                CachedTable cachedTable = cachedTableEntry.getValue();
+
+                writeString(cacheStream, cachedTableEntry.getKey());
+                cacheStream.writeLong(cachedTable.tableVersion);
+                cacheStream.writeInt(cachedTable.columnCount);
+                cacheStream.writeInt(cachedTable.columns.size());
+
+                for (DatabaseColumnSummary column : cachedTable.columns)
+                {
+                    writeString(cacheStream, column.getGUID());
+                    writeString(cacheStream, column.getQualifiedName());
+                    writeString(cacheStream, column.getDisplayName());
+                    writeString(cacheStream, column.getDescription());
+                }
+            }
+        }
+
+        Files.move(workingFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+
+    /**
+     * Write a string that may be null.  The length is written first (-1 for null).
+     *
+     * @param cacheStream destination
+     * @param value string to write
+     * @throws IOException problem writing the file
+     */
+    private static void writeString(DataOutputStream cacheStream,
+                                    String           value) throws IOException
+    {
+        if (value == null)
+        {
+            cacheStream.writeInt(-1);
+        }
+        else
+        {
+            byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+
+            cacheStream.writeInt(valueBytes.length);
+            cacheStream.write(valueBytes);
+        }
+    }
+
+
+    /**
+     * Read a string written by writeString.
+     *
+     * @param cacheStream source
+     * @return string or null
+     * @throws IOException problem reading the file
+     */
+    private static String readString(DataInputStream cacheStream) throws IOException
+    {
+        int valueLength = cacheStream.readInt();
+
+        if (valueLength < 0)
+        {
+            return null;
+        }
+
+        byte[] valueBytes = new byte[valueLength];
+
+        cacheStream.readFully(valueBytes);
+
+        return new String(valueBytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,97 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+
+import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseColumnElement;
+
+
+/**
+ * DatabaseColumnSummary holds the properties of a database column that appear in the report.  It is all that is
+ * kept of a column once it is retrieved, and all that is saved in the DatabaseColumnCache.
+ */
+class DatabaseColumnSummary
+{
+    private final String guid;
+    private final String qualifiedName;
+    private final String displayName;
+    private final String description;
+
+
+    /**
+     * Constructor used when the column is read from the cache.
+     *
+     * @param guid unique identifier of the column
+     * @param qualifiedName unique name of the column
+     * @param displayName display name of the column
+     * @param description description of the column
+     */
+    DatabaseColumnSummary(String guid,
+                          String qualifiedName,
+                          String displayName,
+                          String description)
+    {
+        this.guid          = guid;
+        this.qualifiedName = qualifiedName;
+        this.displayName   = displayName;
+        this.description   = description;
+    }
+
+
+    /**
+     * Constructor used when the column is retrieved from the server.
+     *
+     * @param databaseColumnElement column returned by the Data Manager OMAS
+     */
+    DatabaseColumnSummary(DatabaseColumnElement databaseColumnElement)
+    {
+        this(databaseColumnElement.getElementHeader().getGUID(),
+             databaseColumnElement.getDatabaseColumnProperties().getQualifiedName(),
+             databaseColumnElement.getDatabaseColumnProperties().getDisplayName(),
+             databaseColumnElement.getDatabaseColumnProperties().getDescription());
+    }
+
+
+    /**
+     * Return the unique identifier of the column.
+     *
+     * @return guid
+     */
+    String getGUID()
+    {
+        return guid;
+    }
+
+
+    /**
+     * Return the unique name of the column.
+     *
+     * @return qualified name
+     */
+    String getQualifiedName()
+    {
+        return qualifiedName;
+    }
+
+
+    /**
+     * Return the display name of the column.
+     *
+     * @return display name
+     */
+    String getDisplayName()
+    {
+        return displayName;
+    }
+
+
+    /**
+     * Return the description of the column.
+     *
+     * @return description
+     */
+    String getDescription()
+    {
+        return description;
+    }
+}
@@ -0,0 +1,547 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+
+import org.odpi.openmetadata.accessservices.datamanager.client.DatabaseManagerClient;
+import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseElement;
+import org.odpi.openmetadata.devprojects.reports.ReportCompression;
+import org.odpi.openmetadata.devprojects.reports.ReportExecutors;
+import org.odpi.openmetadata.devprojects.reports.ReportFormat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.regex.Pattern;
+
+
+/**
+ * DatabaseExport reports on every database in the catalog.  It pages through findDatabases(".*") to list the
+ * databases and then writes their reports using a pool of workers, so several databases are retrieved at once.
+ * The reports are either written to a file for each database or combined into a single JSON lines export file.
+ * If a name pattern is supplied, only the databases whose name or qualified name matches it are reported.  The
+ * pattern is also passed to findDatabases so the server only returns databases with a matching property.
+ * <br><br>
+ * For the combined export, each worker writes its database to a temporary file and the file is appended to the
+ * export file as the database completes.  A gzip-compressed export is made of one gzip member per database, which
+ * gzip (and GZIPInputStream) read as a single file.
+ * <br><br>
+ * Progress is written to the console as each database completes.  A DatabaseExportCheckpoint records the
+ * completed databases so that an export that was stopped part way through can be run again and only the remaining
+ * databases are reported.  The checkpoint file is removed when every database has been reported successfully.
+ */
+class DatabaseExport
+{
+    /**
+     * Name of the combined export file (the format's file extension is added).
+     */
+    static final String EXPORT_FILE_NAME = "Database export";
+
+    /**
+     * Name of the checkpoint file used when each database has its own report.
+     */
+    static final String REPORTS_CHECKPOINT_FILE_NAME = "Database reports.checkpoint";
+
+    /**
+     * Writes the report for a single database.
+     */
+    @FunctionalInterface
+    interface DatabaseReportWriter
+    {
+        /**
+         * Write the report for a database.
+         *
+         * @param databaseElement database to report on
+         * @param reportFileName name of the report file
+         * @param reportFormat format of the report file
+         * @param echoToConsole should the report also be written to the console
+         * @return true if all of the database's contents were retrieved
+         * @throws Exception problem retrieving the database or writing the report
+         */
+        boolean writeDatabaseReport(DatabaseElement databaseElement,
+                                    String          reportFileName,
+                                    ReportFormat    reportFormat,
+                                    boolean         echoToConsole) throws Exception;
+    }
+
+    /**
+     * The outcome of a single worker.
+     */
+    private static class DatabaseResult
+    {
+        private final DatabaseElement databaseElement;
+        private final String          reportFileName;
+        private final boolean         complete;
+        private final String          errorMessage;
+
+        DatabaseResult(DatabaseElement databaseElement,
+                       String          reportFileName,
+                       boolean         complete,
+                       String          errorMessage)
+        {
+            this.databaseElement = databaseElement;
+            this.reportFileName = reportFileName;
+            this.complete = complete;
+            this.errorMessage = errorMessage;
+        }
+    }
+
+
+    private final DatabaseManagerClient databaseManagerClient;
+    private final String                clientUserId;
+    private final DatabaseReportWriter  reportWriter;
+    private final ReportFormat          reportFormat;
+    private final ReportCompression     reportCompression;
+    private final boolean               combined;
+    private final Pattern               databaseNamePattern;
+    private final int                   maxConcurrentDatabases;
+    private final int                   pageSize;
+
+
+    /**
+     * Set up the export.
+     *
+     * @param databaseManagerClient client for the Data Manager OMAS
+     * @param clientUserId userId to access the server
+     * @param reportWriter writes the report for a single database
+     * @param reportFormat format of the reports for each database (the combined export is always JSON lines)
+     * @param reportCompression compression of the report files
+     * @param combined should the databases be combined into a single export file
+     * @param databaseNamePattern pattern that the name or qualified name of each database must match (or null for every database)
+     * @param maxConcurrentDatabases number of databases reported at the same time
+     * @param pageSize number of databases requested in each call
+     */
+    DatabaseExport(DatabaseManagerClient databaseManagerClient,
+                   String                clientUserId,
+                   DatabaseReportWriter  reportWriter,
+                   ReportFormat          reportFormat,
+                   ReportCompression     reportCompression,
+                   boolean               combined,
+                   Pattern               databaseNamePattern,
+                   int                   maxConcurrentDatabases,
+                   int                   pageSize)
+    {
+        this.databaseManagerClient  = databaseManagerClient;
+        this.clientUserId           = clientUserId;
+        this.reportWriter           = reportWriter;
+        this.reportFormat           = combined ? ReportFormat.JSON_LINES : reportFormat;
+        this.reportCompression      = reportCompression;
+        this.combined               = combined;
+        this.databaseNamePattern    = databaseNamePattern;
+        this.maxConcurrentDatabases = maxConcurrentDatabases;
+        this.pageSize               = Math.max(pageSize, 1);
+    }
+
+
+    /**
+     * Report on every database in the catalog (or every matching database), carrying on from the checkpoint if an
+     * earlier run was stopped.
+     *
+     * @return true if every database was reported successfully
+     * @throws Exception problem listing the databases or writing the export file
+     */
+    boolean exportDatabases() throws Exception
+    {
+        String exportFileName = null;
+        String checkpointFileName = REPORTS_CHECKPOINT_FILE_NAME;
+
+        if (databaseNamePattern != null)
+        {
+            /*
+             * A run for a different pattern must not carry on from this run's checkpoint.
+             */
+            checkpointFileName = String.format("Database reports %08x.checkpoint", databaseNamePattern.pattern().hashCode());
+        }
+
+        if (combined)
+        {
+            exportFileName = EXPORT_FILE_NAME + "." + reportFormat.getFileExtension();
+
+            if (reportCompression != ReportCompression.NONE)
+            {
+                exportFileName = exportFileName + "." + reportCompression.getFileExtension();
+            }
+
+            checkpointFileName = exportFileName + ".checkpoint";
+        }
+
+        try (DatabaseExportCheckpoint checkpoint = new DatabaseExportCheckpoint(checkpointFileName))
+        {
+            if (checkpoint.isResuming())
+            {
+                System.out.println("Carrying on from checkpoint file: " + checkpoint.getCheckpointFileName());
+            }
+
+            if (exportFileName != null)
+            {
+                prepareExportFile(new File(exportFileName), checkpoint);
+            }
+
+            List<DatabaseElement> databaseElements = findDatabases(checkpoint);
+
+            if (databaseElements.isEmpty())
+            {
+                System.out.println("There are no databases to report on ... ");
+                checkpoint.delete();
+                return true;
+            }
+
+            System.out.println("Reporting on " + databaseElements.size() + " databases, " + maxConcurrentDatabases + " at a time");
+
+            int failedCount = reportDatabases(databaseElements, exportFileName, checkpoint);
+
+            if (failedCount == 0)
+            {
+                checkpoint.delete();
+
+                if (exportFileName != null)
+                {
+                    System.out.println("Export file: " + exportFileName);
+                }
+
+                return true;
+            }
+
+            System.out.println(failedCount + " databases could not be reported; run the export again to retry them");
+            return false;
+        }
+    }
+
+
+    /**
+     * Page through the databases in the catalog, skipping those that do not match the name pattern and those that
+     * the checkpoint shows are finished.
+     *
+     * @param checkpoint checkpoint from an earlier run
+     * @return list of databases to report on
+     * @throws Exception problem calling the server
+     */
+    private List<DatabaseElement> findDatabases(DatabaseExportCheckpoint checkpoint) throws Exception
+    {
+        List<DatabaseElement> databaseElements = new ArrayList<>();
+        String                searchString     = (databaseNamePattern == null) ? ".*" : databaseNamePattern.pattern();
+        int                   finishedCount    = 0;
+        int                   startFrom        = 0;
+
+        List<DatabaseElement> databasePage = databaseManagerClient.findDatabases(clientUserId, searchString, startFrom, pageSize);
+
+        while ((databasePage != null) && (! databasePage.isEmpty()))
+        {
+            for (DatabaseElement databaseElement : databasePage)
+            {
+                if (! matchesName(databaseElement, databaseNamePattern))
+                {
+                    continue;
+                }
+
+                if (checkpoint.isFinished(databaseElement.getElementHeader().getGUID()))
+                {
+                    finishedCount++;
+                }
+                else
+                {
+                    databaseElements.add(databaseElement);
+                }
+            }
+
+            if (databasePage.size() < pageSize)
+            {
+                break;
+            }
+
+            startFrom = startFrom + databasePage.size();
+            databasePage = databaseManagerClient.findDatabases(clientUserId, searchString, startFrom, pageSize);
+        }
+
+        if (finishedCount > 0)
+        {
+            System.out.println("Skipping " + finishedCount + " databases that were reported by the earlier run");
+        }
+
+        return databaseElements;
+    }
+
+
+    /**
+     * Return whether the name or qualified name of a database matches a pattern.  The server's search matches any
+     * of the database's properties so its results are checked again here.
+     *
+     * @param databaseElement database to check
+     * @param databaseNamePattern pattern to match (or null to match every database)
+     * @return true if the database matches
+     */
+    static boolean matchesName(DatabaseElement databaseElement,
+                               Pattern         databaseNamePattern)
+    {
+        if (databaseNamePattern == null)
+        {
+            return true;
+        }
+
+        String databaseName  = databaseElement.getDatabaseProperties().getName();
+        String qualifiedName = databaseElement.getDatabaseProperties().getQualifiedName();
+
+        return ((databaseName != null) && databaseNamePattern.matcher(databaseName).matches()) ||
+               ((qualifiedName != null) && databaseNamePattern.matcher(qualifiedName).matches());
+    }
+
+
+    /**
+     * Report on each database using the pool of workers.  The results are handled on this thread as each
+     * database completes: the database is added to the export file (if combined), recorded in the checkpoint
+     * and the progress is displayed.
+     *
+     * @param databaseElements databases to report on
+     * @param exportFileName name of the combined export file or null
+     * @param checkpoint records the completed databases
+     * @return number of databases that failed
+     * @throws IOException problem writing the export file or checkpoint
+     * @throws InterruptedException the export was interrupted
+     */
+    private int reportDatabases(List<DatabaseElement>    databaseElements,
+                                String                   exportFileName,
+                                DatabaseExportCheckpoint checkpoint) throws IOException, InterruptedException
+    {
+        ExecutorService                   executor          = ReportExecutors.newBoundedExecutor("DatabaseExport-", maxConcurrentDatabases);
+        CompletionService<DatabaseResult> completionService = new ExecutorCompletionService<>(executor);
+
+        long startTime      = System.currentTimeMillis();
+        int  completedCount = 0;
+        int  failedCount    = 0;
+
+        try
+        {
+            for (DatabaseElement databaseElement : databaseElements)
+            {
+                completionService.submit(() -> reportDatabase(databaseElement));
+            }
+
+            for (int resultCount = 0; resultCount < databaseElements.size(); resultCount++)
+            {
+                DatabaseResult result;
+
+                try
+                {
+                    result = completionService.take().get();
+                }
+                catch (ExecutionException error)
+                {
+                    /*
+                     * reportDatabase catches its own exceptions so this is unexpected.
+                     */
+                    failedCount++;
+                    System.out.println("There was a " + error.getCause().getClass().getName() + " exception when reporting on a database.  Error message is: " + error.getCause().getMessage());
+                    continue;
+                }
+
+                String databaseName = result.databaseElement.getDatabaseProperties().getName();
+
+                if (result.complete)
+                {
+                    long exportLength = 0;
+
+                    if (exportFileName != null)
+                    {
+                        exportLength = appendToExportFile(new File(exportFileName), new File(result.reportFileName));
+                    }
+
+                    checkpoint.recordFinished(result.databaseElement.getElementHeader().getGUID(), exportLength);
+                    completedCount++;
+                }
+                else
+                {
+                    failedCount++;
+
+                    if ((exportFileName != null) && (result.reportFileName != null))
+                    {
+                        deletePartFile(new File(result.reportFileName));
+                    }
+
+                    if (result.errorMessage != null)
+                    {
+                        System.out.println("Database " + databaseName + " could not be reported: " + result.errorMessage);
+                    }
+                    else
+                    {
+                        System.out.println("Database " + databaseName + " is incomplete since some of its contents could not be retrieved");
+                    }
+                }
+
+                printProgress(databaseName, completedCount, failedCount, databaseElements.size(), startTime);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        return failedCount;
+    }
+
+
+    /**
+     * Write the report for a single database.  This runs on a worker.  Its console output is turned off since
+     * the workers' output would be mixed together.
+     *
+     * @param databaseElement database to report on
+     * @return result for the database
+     */
+    private DatabaseResult reportDatabase(DatabaseElement databaseElement)
+    {
+        String reportFileName = null;
+
+        try
+        {
+            if (combined)
+            {
+                String partFileSuffix = "." + reportFormat.getFileExtension();
+
+                if (reportCompression != ReportCompression.NONE)
+                {
+                    partFileSuffix = partFileSuffix + "." + reportCompression.getFileExtension();
+                }
+
+                reportFileName = File.createTempFile("database-export-", partFileSuffix).getPath();
+            }
+            else
+            {
+                /*
+                 * The database's unique identifier is part of the file name since databases in different
+                 * servers may have the same name.
+                 */
+                reportFileName = "Database " + databaseElement.getDatabaseProperties().getName() + " " + databaseElement.getElementHeader().getGUID();
+
+                if ((reportFormat != ReportFormat.MARKDOWN) || (reportCompression != ReportCompression.NONE))
+                {
+                    reportFileName = reportFileName + "." + reportFormat.getFileExtension();
+                }
+            }
+
+            boolean complete = reportWriter.writeDatabaseReport(databaseElement, reportFileName, reportFormat, false);
+
+            return new DatabaseResult(databaseElement, reportFileName, complete, null);
+        }
+        catch (Exception error)
+        {
+            return new DatabaseResult(databaseElement, reportFileName, false, error.getClass().getName() + " - " + error.getMessage());
+        }
+    }
+
+
+    /**
+     * Make sure the export file only holds the databases recorded in the checkpoint.  Anything written after the
+     * last checkpoint is removed, and without a checkpoint the export file is emptied.
+     *
+     * @param exportFile combined export file
+     * @param checkpoint checkpoint from an earlier run
+     * @throws IOException problem updating the export file
+     */
+    static void prepareExportFile(File                     exportFile,
+                                  DatabaseExportCheckpoint checkpoint) throws IOException
+    {
+        try (RandomAccessFile exportAccess = new RandomAccessFile(exportFile, "rw"))
+        {
+            if (exportAccess.length() < checkpoint.getExportLength())
+            {
+                throw new IOException("Export file " + exportFile.getPath() + " is shorter than recorded in checkpoint file " + checkpoint.getCheckpointFileName());
+            }
+
+            exportAccess.setLength(checkpoint.getExportLength());
+        }
+    }
+
+
+    /**
+     * Add a database's part file to the end of the export file and delete the part file.
+     *
+     * @param exportFile combined export file
+     * @param partFile report for a single database
+     * @return new length of the export file
+     * @throws IOException problem writing the export file
+     */
+    static long appendToExportFile(File exportFile,
+                                   File partFile) throws IOException
+    {
+        try (FileOutputStream exportStream = new FileOutputStream(exportFile, true))
+        {
+            Files.copy(partFile.toPath(), exportStream);
+            exportStream.getFD().sync();
+        }
+
+        deletePartFile(partFile);
+
+        return exportFile.length();
+    }
+
+
+    /**
+     * Delete a database's part file.
+     *
+     * @param partFile report for a single database
+     */
+    private static void deletePartFile(File partFile)
+    {
+        if (partFile.exists() && (! partFile.delete()))
+        {
+            System.out.println("Unable to delete temporary file: " + partFile.getPath());
+        }
+    }
+
+
+    /**
+     * Display the progress of the export with an estimate of the time remaining.  The estimate assumes the
+     * remaining databases take as long on average as those reported so far.
+     *
+     * @param databaseName name of the database that has just completed
+     * @param completedCount number of databases reported successfully
+     * @param failedCount number of databases that failed
+     * @param totalCount number of databases to report on
+     * @param startTime time the reports started (milliseconds)
+     */
+    private void printProgress(String databaseName,
+                               int    completedCount,
+                               int    failedCount,
+                               int    totalCount,
+                               long   startTime)
+    {
+        int  doneCount     = completedCount + failedCount;
+        long elapsedTime   = System.currentTimeMillis() - startTime;
+        long remainingTime = elapsedTime * (totalCount - doneCount) / doneCount;
+
+        String progress = "[" + doneCount + "/" + totalCount + "] " + databaseName + " - elapsed " + formatDuration(elapsedTime);
+
+        if (doneCount < totalCount)
+        {
+            progress = progress + ", about " + formatDuration(remainingTime) + " remaining";
+        }
+
+        if (failedCount > 0)
+        {
+            progress = progress + " (" + failedCount + " failed)";
+        }
+
+        System.out.println(progress);
+    }
+
+
+    /**
+     * Format a duration as hours, minutes and seconds.
+     *
+     * @param duration duration in milliseconds
+     * @return formatted duration, eg 1:05:09
+     */
+    static String formatDuration(long duration)
+    {
+        long seconds = duration / 1000;
+
+        return String.format("%d:%02d:%02d", seconds / 3600, (seconds / 60) % 60, seconds % 60);
+    }
+}
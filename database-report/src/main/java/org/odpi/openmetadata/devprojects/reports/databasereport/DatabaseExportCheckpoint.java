@@ -0,0 +1,167 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+
+
+/**
+ * DatabaseExportCheckpoint records which databases a DatabaseExport has finished so that an export that was
+ * stopped part way through (for example by a crash) carries on where it left off when it is run again.
+ * <br><br>
+ * The checkpoint file has one line for each finished database: its unique identifier followed by the length of
+ * the consolidated export file once the database was added to it (0 when each database has its own report).
+ * A line is only added once the database's content has been written, and the file is synced after each line, so
+ * a line that was cut off by a crash is ignored and that database is exported again.  The length on the last
+ * complete line lets the export remove any content that was written after it.
+ */
+class DatabaseExportCheckpoint implements AutoCloseable
+{
+    private final File        checkpointFile;
+    private final Set<String> finishedDatabaseGUIDs = new HashSet<>();
+    private long              exportLength          = 0;
+
+    private FileOutputStream checkpointStream = null;
+
+
+    /**
+     * Read the checkpoint file if it exists.
+     *
+     * @param checkpointFileName name of the checkpoint file
+     * @throws IOException the file could not be read
+     * @throws NumberFormatException the file is not a checkpoint file
+     */
+    DatabaseExportCheckpoint(String checkpointFileName) throws IOException
+    {
+        this.checkpointFile = new File(checkpointFileName);
+
+        if (checkpointFile.exists())
+        {
+            /*
+             * Only complete lines count - anything after the last new line was cut off by a crash and that
+             * database will be exported again.
+             */
+            String checkpointText = Files.readString(checkpointFile.toPath(), StandardCharsets.UTF_8);
+
+            checkpointText = checkpointText.substring(0, checkpointText.lastIndexOf('\n') + 1);
+
+            for (String line : checkpointText.split("\n"))
+            {
+                String[] fields = line.split(" ");
+
+                if (fields.length == 2)
+                {
+                    finishedDatabaseGUIDs.add(fields[0]);
+                    exportLength = Long.parseLong(fields[1]);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the name of the checkpoint file.
+     *
+     * @return file name
+     */
+    String getCheckpointFileName()
+    {
+        return checkpointFile.getPath();
+    }
+
+
+    /**
+     * Return whether the checkpoint file was left by an earlier run.
+     *
+     * @return boolean
+     */
+    boolean isResuming()
+    {
+        return ! finishedDatabaseGUIDs.isEmpty();
+    }
+
+
+    /**
+     * Return whether a database was finished by an earlier run.
+     *
+     * @param databaseGUID unique identifier of the database
+     * @return boolean
+     */
+    boolean isFinished(String databaseGUID)
+    {
+        return finishedDatabaseGUIDs.contains(databaseGUID);
+    }
+
+
+    /**
+     * Return the length of the consolidated export file when the last database was added to it.
+     *
+     * @return number of bytes
+     */
+    long getExportLength()
+    {
+        return exportLength;
+    }
+
+
+    /**
+     * Record that a database has been exported.  The line is synced to disk before this method returns.
+     *
+     * @param databaseGUID unique identifier of the database
+     * @param exportLength length of the consolidated export file now the database has been added (or 0)
+     * @throws IOException the checkpoint file could not be written
+     */
+    void recordFinished(String databaseGUID,
+                        long   exportLength) throws IOException
+    {
+        if (checkpointStream == null)
+        {
+            checkpointStream = new FileOutputStream(checkpointFile, true);
+        }
+
+        checkpointStream.write((databaseGUID + " " + exportLength + "\n").getBytes(StandardCharsets.UTF_8));
+        checkpointStream.getFD().sync();
+
+        this.finishedDatabaseGUIDs.add(databaseGUID);
+        this.exportLength = exportLength;
+    }
+
+
+    /**
+     * Remove the checkpoint file once the export is complete so the next run starts again.
+     *
+     * @throws IOException the checkpoint file could not be closed
+     */
+    void delete() throws IOException
+    {
+        close();
+
+        if (checkpointFile.exists() && (! checkpointFile.delete()))
+        {
+            System.out.println("Unable to delete checkpoint file: " + checkpointFile.getPath());
+        }
+    }
+
+
+    /**
+     * Close the checkpoint file, leaving it in place for the next run.
+     *
+     * @throws IOException the checkpoint file could not be closed
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (checkpointStream != null)
+        {
+            checkpointStream.close();
+            checkpointStream = null;
+        }
+    }
+}
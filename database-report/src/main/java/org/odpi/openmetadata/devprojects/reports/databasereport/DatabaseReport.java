@@ -5,23 +5,25 @@ package org.odpi.openmetadata.devprojects.reports.databasereport;
 
 import org.odpi.openmetadata.accessservices.datamanager.client.DatabaseManagerClient;
 import org.odpi.openmetadata.accessservices.datamanager.client.MetadataSourceClient;
-import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseColumnElement;
 import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseElement;
 import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseSchemaElement;
 import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseTableElement;
-import org.odpi.openmetadata.accessservices.datamanager.properties.DatabaseColumnProperties;
 import org.odpi.openmetadata.accessservices.datamanager.properties.DatabaseManagerProperties;
-import org.odpi.openmetadata.accessservices.datamanager.properties.DatabaseProperties;
-import org.odpi.openmetadata.accessservices.datamanager.properties.DatabaseSchemaProperties;
-import org.odpi.openmetadata.accessservices.datamanager.properties.DatabaseTableProperties;
 import org.odpi.openmetadata.devprojects.reports.EgeriaReport;
+import org.odpi.openmetadata.devprojects.reports.EgeriaReportOptions;
+import org.odpi.openmetadata.devprojects.reports.ReportCompression;
+import org.odpi.openmetadata.devprojects.reports.ReportFormat;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.http.HttpHelper;
 import org.odpi.openmetadata.platformservices.client.PlatformServicesClient;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.regex.Pattern;
 
 
 /**
@@ -29,28 +31,81 @@ import java.util.List;
  */
 public class DatabaseReport
 {
+    /**
+     * Default number of calls to the Data Manager OMAS that run at the same time while a database is displayed.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_CALLS = 16;
+
+    /**
+     * Default number of schemas, tables or columns requested in each call to the Data Manager OMAS.  It must not be
+     * larger than the maxPageSize configured for the metadata server.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Default number of databases reported or created at the same time in the all, export, samples and workload modes.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_DATABASES = 4;
+
     private final String serverName;
     private final String platformURLRoot;
     private final String clientUserId;
+    private final ReportFormat reportFormat;
+    private final ReportCompression reportCompression;
+    private final int maxConcurrentCalls;
+    private final int pageSize;
+    private final int maxCallsPerSecond;
+    private final DatabaseColumnCache columnCache;
 
 
     private MetadataSourceClient  metadataSourceClient  = null;
     private DatabaseManagerClient databaseManagerClient = null;
 
+    /*
+     * A single reader is used for all of the input since a reader may read ahead of the line it returns.
+     */
+    private BufferedReader consoleReader = null;
+
     /**
      * Set up the parameters for the sample.
      *
      * @param serverName server to call
      * @param platformURLRoot location of server's platform
      * @param clientUserId userId to access the server
+     * @param reportFormat format of the report files
+     * @param reportCompression compression of the report files
+     * @param maxConcurrentCalls number of calls that retrieve the contents of a database at the same time
+     * @param pageSize number of elements requested in each call
+     * @param columnCacheFileName name of the file that saves the columns of each table between runs (or null)
+     * @param maxCallsPerSecond maximum number of calls started each second when creating sample databases (0 for no limit)
      */
-    private DatabaseReport(String serverName,
-                           String platformURLRoot,
-                           String clientUserId)
+    private DatabaseReport(String            serverName,
+                           String            platformURLRoot,
+                           String            clientUserId,
+                           ReportFormat      reportFormat,
+                           ReportCompression reportCompression,
+                           int               maxConcurrentCalls,
+                           int               pageSize,
+                           String            columnCacheFileName,
+                           int               maxCallsPerSecond)
     {
         this.serverName = serverName;
         this.platformURLRoot = platformURLRoot;
         this.clientUserId = clientUserId;
+        this.reportFormat = reportFormat;
+        this.reportCompression = reportCompression;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.pageSize = pageSize;
+        this.maxCallsPerSecond = maxCallsPerSecond;
+
+        if (columnCacheFileName != null)
+        {
+            this.columnCache = new DatabaseColumnCache(columnCacheFileName);
+        }
+        else
+        {
+            this.columnCache = null;
+        }
 
         try
         {
@@ -101,18 +156,25 @@ public class DatabaseReport
      * Request input form the user.
      *
      * @param requestText text that describes the options
-     * @return text from the user broken down into an array of words
+     * @return text from the user broken down into an array of words, or null if there is no more input
      */
     private String[] getUserInput(String requestText)
     {
         try
         {
-            BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+            if (consoleReader == null)
+            {
+                consoleReader = new BufferedReader(new InputStreamReader(System.in));
+            }
+
             System.out.println(requestText);
 
-            String commandLine  = br.readLine();
+            String commandLine  = consoleReader.readLine();
 
-            return commandLine.split(" ");
+            if (commandLine != null)
+            {
+                return commandLine.split(" ");
+            }
         }
         catch (Exception error)
         {
@@ -125,6 +187,8 @@ public class DatabaseReport
 
     /**
      * Locate a database to retrieve.  The user issues a number of search requests to get to a point where they are select a database by guid.
+     * The databases are listed a page (the report's page size) at a time.  The search stops if the input is closed, so a run
+     * with no console does not page through the whole catalog.
      */
     private void locateDatabase()
     {
@@ -132,7 +196,6 @@ public class DatabaseReport
         final String allDatabases = "all";
 
         String command = null;
-        int    pageSize = 10;
         int    startFrom = - pageSize;
 
         try
@@ -158,7 +221,11 @@ public class DatabaseReport
 
                     String[] commandWords = getUserInput(requestText);
 
-                    if (commandWords != null)
+                    if (commandWords == null)
+                    {
+                        break;
+                    }
+                    else
                     {
                         if (commandWords.length > 0)
                         {
@@ -234,39 +301,217 @@ public class DatabaseReport
 
 
     /**
-     * If this is a database then display the contents.
+     * If this is a database then display the contents.  The schemas, tables and columns are retrieved
+     * concurrently by a DatabaseTraversal but the report lists them in the order the server returns them.
+     * A guid that is not known to the server is an invalid command rather than an incomplete report, so a
+     * scheduled job can tell a mistyped guid from a report that is missing some of its contents.
      *
      * @param databaseGUID unique identifier of database
+     * @return SUCCESS if all of the database's contents were reported, INCOMPLETE if some were not, INVALID_COMMAND
+     *         if there is no database with this guid and ERROR if the report failed
      */
-    private void displayDatabase(String databaseGUID)
+    private DatabaseReportExitCode displayDatabase(String databaseGUID)
     {
+        DatabaseReportExitCode exitCode;
+
         try
         {
             DatabaseElement databaseElement = databaseManagerClient.getDatabaseByGUID(clientUserId, databaseGUID);
 
-            EgeriaReport report = new EgeriaReport("Database " + databaseElement.getDatabaseProperties().getName());
+            if ((databaseElement == null) || (databaseElement.getDatabaseProperties() == null))
+            {
+                System.out.println("There is no database with guid " + databaseGUID);
+                exitCode = DatabaseReportExitCode.INVALID_COMMAND;
+            }
+            else if (writeDatabaseReport(databaseElement, getReportFileName("Database " + databaseElement.getDatabaseProperties().getName()), reportFormat, true))
+            {
+                exitCode = DatabaseReportExitCode.SUCCESS;
+            }
+            else
+            {
+                exitCode = DatabaseReportExitCode.INCOMPLETE;
+            }
+        }
+        catch (InvalidParameterException error)
+        {
+            System.out.println("There is no database with guid " + databaseGUID + ".  Error message is: " + error.getMessage());
+            exitCode = DatabaseReportExitCode.INVALID_COMMAND;
+        }
+        catch (Exception error)
+        {
+            System.out.println("There was a " + error.getClass().getName() + " exception when calling the Data Manager OMAS DatabaseManagerClient.  Error message is: " + error.getMessage());
+            exitCode = DatabaseReportExitCode.ERROR;
+        }
+
+        saveColumnCache();
+
+        return exitCode;
+    }
+
+
+    /**
+     * List the databases in the catalog, a page at a time, without waiting for any input.
+     *
+     * @param databaseNameRegex regular expression that the name or qualified name of each database must match (or null for every database)
+     * @throws Exception problem calling the server
+     */
+    private void listDatabases(String databaseNameRegex) throws Exception
+    {
+        Pattern databaseNamePattern = (databaseNameRegex == null) ? null : Pattern.compile(databaseNameRegex);
+        String  searchString        = (databaseNameRegex == null) ? ".*" : databaseNameRegex;
+        int     databaseCount       = 0;
+        int     startFrom           = 0;
+
+        List<DatabaseElement> databases = databaseManagerClient.findDatabases(clientUserId, searchString, startFrom, pageSize);
+
+        while ((databases != null) && (! databases.isEmpty()))
+        {
+            for (DatabaseElement databaseElement : databases)
+            {
+                if (DatabaseExport.matchesName(databaseElement, databaseNamePattern))
+                {
+                    this.displayDatabaseSummary(databaseElement, databaseCount == 0);
+
+                    databaseCount++;
+                }
+            }
+
+            if (databases.size() < pageSize)
+            {
+                break;
+            }
+
+            startFrom = startFrom + databases.size();
+            databases = databaseManagerClient.findDatabases(clientUserId, searchString, startFrom, pageSize);
+        }
+
+        System.out.println("Databases listed: " + databaseCount);
+    }
+
+
+    /**
+     * Add the file extension for the report format to a report name.  Uncompressed markdown reports have no
+     * extension.
+     *
+     * @param reportName name of the report
+     * @return name of the report file
+     */
+    private String getReportFileName(String reportName)
+    {
+        if ((reportFormat != ReportFormat.MARKDOWN) || (reportCompression != ReportCompression.NONE))
+        {
+            return reportName + "." + reportFormat.getFileExtension();
+        }
+
+        return reportName;
+    }
+
+
+    /**
+     * Save the column cache (if there is one) for the next run.
+     */
+    private void saveColumnCache()
+    {
+        if (columnCache != null)
+        {
+            try
+            {
+                columnCache.save();
+            }
+            catch (IOException error)
+            {
+                System.out.println("There was a " + error.getClass().getName() + " exception when saving the column cache.  Error message is: " + error.getMessage());
+            }
+        }
+    }
+
+
+    /**
+     * Write the report for a database.  This is called from the export's workers as well as for a single
+     * database so it must not change the state of this object.
+     *
+     * @param databaseElement database to report on
+     * @param reportFileName name of the report file
+     * @param databaseReportFormat format of the report file
+     * @param echoToConsole should the report also be written to the console
+     * @return true if all of the database's contents were retrieved
+     * @throws IOException problem writing the report
+     */
+    private boolean writeDatabaseReport(DatabaseElement databaseElement,
+                                        String          reportFileName,
+                                        ReportFormat    databaseReportFormat,
+                                        boolean         echoToConsole) throws IOException
+    {
+        String databaseGUID = databaseElement.getElementHeader().getGUID();
+
+        EgeriaReportOptions reportOptions = new EgeriaReportOptions();
+
+        reportOptions.setReportFormat(databaseReportFormat);
+        reportOptions.setCompression(reportCompression);
+        reportOptions.setEchoToConsole(echoToConsole);
+
+        try (DatabaseTraversal traversal = new DatabaseTraversal(databaseManagerClient, clientUserId, maxConcurrentCalls, pageSize, columnCache, null);
+             EgeriaReport      report    = new EgeriaReport(reportFileName, reportOptions))
+        {
+            traversal.startDatabase(databaseGUID);
 
             final String reportTitle = "Database report for: ";
             report.printReportTitle(0, reportTitle + databaseElement.getDatabaseProperties().getName() + " on server: " + serverName);
 
-            report.printElementInTable(0,
-                                       true,
-                                       databaseElement.getElementHeader().getGUID(),
-                                       databaseElement.getDatabaseProperties().getQualifiedName(),
-                                       databaseElement.getDatabaseProperties().getName(),
-                                       databaseElement.getDatabaseProperties().getDescription());
+            report.startElementTable(0);
+            report.printElementRow(databaseGUID,
+                                   databaseElement.getDatabaseProperties().getQualifiedName(),
+                                   databaseElement.getDatabaseProperties().getName(),
+                                   databaseElement.getDatabaseProperties().getDescription());
+            report.endTable();
 
             /*
              * The database may have its tables organized in schemas or directly listed under the database.
              */
-            displayDatabaseSchemas(report, 1, databaseGUID);
-            displayTables(report, 1, databaseGUID);
+            displayDatabaseSchemas(report, traversal, 1, databaseGUID);
+            displayTables(report, traversal, 1, databaseGUID);
+
+            return traversal.getFailedCallCount() == 0;
+        }
+    }
+
+
+    /**
+     * Report on every database in the catalog (or every database with a matching name) using DatabaseExport.
+     *
+     * @param combined should the databases be combined into a single JSON lines export file
+     * @param databaseNameRegex regular expression that the name or qualified name of each database must match (or null for every database)
+     * @param maxConcurrentDatabases number of databases reported at the same time
+     * @return true if every database was reported successfully
+     */
+    private boolean exportDatabases(boolean combined,
+                                    String  databaseNameRegex,
+                                    int     maxConcurrentDatabases)
+    {
+        DatabaseExport databaseExport = new DatabaseExport(databaseManagerClient,
+                                                           clientUserId,
+                                                           this::writeDatabaseReport,
+                                                           reportFormat,
+                                                           reportCompression,
+                                                           combined,
+                                                           (databaseNameRegex == null) ? null : Pattern.compile(databaseNameRegex),
+                                                           maxConcurrentDatabases,
+                                                           pageSize);
+
+        try
+        {
+            return databaseExport.exportDatabases();
         }
         catch (Exception error)
         {
-            System.out.println("There was a " + error.getClass().getName() + " exception when calling the Data Manager OMAS DatabaseManagerClient.  Error message is: " + error.getMessage());
+            System.out.println("There was a " + error.getClass().getName() + " exception when exporting the databases.  Error message is: " + error.getMessage());
+        }
+        finally
+        {
+            saveColumnCache();
         }
 
+        return false;
     }
 
 
@@ -274,29 +519,52 @@ public class DatabaseReport
      * Display the database schemas for a database.
      *
      * @param report report to accumulate content
+     * @param traversal retrieves the contents of the database
      * @param indentLevel level of indent for the report
      * @param databaseGUID unique identifier of the database
      */
-    private void displayDatabaseSchemas(EgeriaReport report,
-                                        int          indentLevel,
-                                        String       databaseGUID)
+    private void displayDatabaseSchemas(EgeriaReport      report,
+                                        DatabaseTraversal traversal,
+                                        int               indentLevel,
+                                        String            databaseGUID)
     {
         try
         {
-            List<DatabaseSchemaElement> databaseSchemaElements = databaseManagerClient.getSchemasForDatabase(clientUserId, databaseGUID, 0, 0);
+            PagedRetrieval<DatabaseSchemaElement> schemaRetrieval = traversal.getSchemasForDatabase(databaseGUID);
+
+            List<DatabaseSchemaElement> schemaPage = schemaRetrieval.getNextPage();
 
-            if (databaseSchemaElements != null)
+            if (schemaPage != null)
             {
-                for (DatabaseSchemaElement databaseSchemaElement : databaseSchemaElements)
+                /*
+                 * All the schemas are listed in one table, followed by a section for each schema's tables.
+                 */
+                List<DatabaseSchemaElement> databaseSchemaElements = new ArrayList<>();
+
+                report.printReportSubheading(indentLevel, "Database schemas");
+                report.startElementTable(indentLevel);
+
+                while (schemaPage != null)
                 {
-                    report.printElementInTable(indentLevel,
-                                               true,
-                                               databaseSchemaElement.getElementHeader().getGUID(),
+                    for (DatabaseSchemaElement databaseSchemaElement : schemaPage)
+                    {
+                        report.printElementRow(databaseSchemaElement.getElementHeader().getGUID(),
                                                databaseSchemaElement.getDatabaseSchemaProperties().getQualifiedName(),
                                                databaseSchemaElement.getDatabaseSchemaProperties().getDisplayName(),
                                                databaseSchemaElement.getDatabaseSchemaProperties().getDescription());
+                    }
 
-                    displayTables(report, indentLevel + 1, databaseSchemaElement.getElementHeader().getGUID());
+                    databaseSchemaElements.addAll(schemaPage);
+                    schemaPage = schemaRetrieval.getNextPage();
+                }
+
+                report.endTable();
+
+                for (DatabaseSchemaElement databaseSchemaElement : databaseSchemaElements)
+                {
+                    report.printReportSubheading(indentLevel + 1, "Database schema: " + databaseSchemaElement.getDatabaseSchemaProperties().getDisplayName());
+
+                    displayTables(report, traversal, indentLevel + 2, databaseSchemaElement.getElementHeader().getGUID());
                 }
             }
             else
@@ -315,33 +583,55 @@ public class DatabaseReport
      * Display the tables for either a database or a database schema.
      *
      * @param report report to accumulate content
+     * @param traversal retrieves the contents of the database
      * @param indentLevel level of indent for the report
      * @param parentGUID unique id for database/database schema
      */
-    private void displayTables(EgeriaReport report,
-                               int          indentLevel,
-                               String       parentGUID)
+    private void displayTables(EgeriaReport      report,
+                               DatabaseTraversal traversal,
+                               int               indentLevel,
+                               String            parentGUID)
     {
         try
         {
-            List<DatabaseTableElement> databaseTableElements = databaseManagerClient.getTablesForDatabaseAsset(clientUserId, parentGUID, 0, 0);
+            PagedRetrieval<DatabaseTableElement> tableRetrieval = traversal.getTablesForDatabaseAsset(parentGUID);
+
+            List<DatabaseTableElement> tablePage = tableRetrieval.getNextPage();
 
-            if (databaseTableElements != null)
+            if (tablePage != null)
             {
-                for (DatabaseTableElement databaseTableElement : databaseTableElements)
+                /*
+                 * All the tables are listed in one table, followed by a section for each database table's columns.
+                 */
+                List<DatabaseTableElement> databaseTableElements = new ArrayList<>();
+
+                report.printReportSubheading(indentLevel, "Database tables");
+                report.startElementTable(indentLevel);
+
+                while (tablePage != null)
                 {
-                    report.printElementInTable(indentLevel,
-                                               true,
-                                               databaseTableElement.getElementHeader().getGUID(),
+                    for (DatabaseTableElement databaseTableElement : tablePage)
+                    {
+                        report.printElementRow(databaseTableElement.getElementHeader().getGUID(),
                                                databaseTableElement.getDatabaseTableProperties().getQualifiedName(),
                                                databaseTableElement.getDatabaseTableProperties().getDisplayName(),
                                                databaseTableElement.getDatabaseTableProperties().getDescription());
+                    }
 
+                    databaseTableElements.addAll(tablePage);
+                    tablePage = tableRetrieval.getNextPage();
+                }
+
+                report.endTable();
+
+                for (DatabaseTableElement databaseTableElement : databaseTableElements)
+                {
                     if (databaseTableElement.getDatabaseColumnCount() > 0)
                     {
-                        report.printReportLine(indentLevel, databaseTableElement.getDatabaseColumnCount() + " database tables ...");
+                        report.printReportSubheading(indentLevel + 1, "Database table: " + databaseTableElement.getDatabaseTableProperties().getDisplayName());
+                        report.printReportLine(indentLevel + 1, databaseTableElement.getDatabaseColumnCount() + " database columns ...");
 
-                        displayColumns(report, indentLevel + 1, databaseTableElement.getElementHeader().getGUID());
+                        displayColumns(report, traversal, indentLevel + 1, databaseTableElement);
                     }
                 }
             }
@@ -361,27 +651,59 @@ public class DatabaseReport
      * Display the columns for a database table.
      *
      * @param report report to accumulate content
+     * @param traversal retrieves the contents of the database
      * @param indentLevel level of indent for the report
-     * @param tableGUID unique id for database table
+     * @param databaseTableElement database table
      */
-    private void displayColumns(EgeriaReport report,
-                                int          indentLevel,
-                                String       tableGUID)
+    private void displayColumns(EgeriaReport         report,
+                                DatabaseTraversal    traversal,
+                                int                  indentLevel,
+                                DatabaseTableElement databaseTableElement)
     {
         try
         {
-            List<DatabaseColumnElement> databaseColumnElements = databaseManagerClient.getColumnsForDatabaseTable(clientUserId, tableGUID, 0, 0);
+            PagedRetrieval<DatabaseColumnSummary> columnRetrieval = traversal.getColumnsForDatabaseTable(databaseTableElement);
 
-            if (databaseColumnElements != null)
+            List<DatabaseColumnSummary> columnPage = columnRetrieval.getNextPage();
+
+            if (columnPage != null)
             {
-                for (DatabaseColumnElement databaseColumnElement : databaseColumnElements)
+                /*
+                 * The columns are written a page at a time so a wide table is not held in memory - unless they
+                 * are collected for the column cache.
+                 */
+                List<DatabaseColumnSummary> columnsToCache = null;
+
+                if (columnCache != null)
                 {
-                    report.printElementInTable(indentLevel,
-                                               true,
-                                               databaseColumnElement.getElementHeader().getGUID(),
-                                               databaseColumnElement.getDatabaseColumnProperties().getQualifiedName(),
-                                               databaseColumnElement.getDatabaseColumnProperties().getDisplayName(),
-                                               databaseColumnElement.getDatabaseColumnProperties().getDescription());
+                    columnsToCache = new ArrayList<>();
+                }
+
+                report.startElementTable(indentLevel);
+
+                while (columnPage != null)
+                {
+                    for (DatabaseColumnSummary column : columnPage)
+                    {
+                        report.printElementRow(column.getGUID(),
+                                               column.getQualifiedName(),
+                                               column.getDisplayName(),
+                                               column.getDescription());
+                    }
+
+                    if (columnsToCache != null)
+                    {
+                        columnsToCache.addAll(columnPage);
+                    }
+
+                    columnPage = columnRetrieval.getNextPage();
+                }
+
+                report.endTable();
+
+                if (columnsToCache != null)
+                {
+                    columnCache.putColumns(databaseTableElement, columnsToCache);
                 }
             }
             else
@@ -397,9 +719,15 @@ public class DatabaseReport
 
 
     /**
-     * Create a set of sample database to test this report
+     * Create a set of sample database to test this report.  The databases are created concurrently by a
+     * SampleDatabaseGenerator, which then writes the throughput and latency of its calls to a report.
+     *
+     * @param maxConcurrentDatabases number of databases created at the same time
+     * @param verifyDatabases should each database be read back and checked once it is created?
+     * @return true if every database was created (and matched when it was read back)
      */
-    private void createSampleDatabases()
+    private boolean createSampleDatabases(int     maxConcurrentDatabases,
+                                          boolean verifyDatabases)
     {
         final String databaseManagerName = "SampleDatabases";
         final String databaseNamePrefix  = "SampleDatabase";
@@ -407,251 +735,329 @@ public class DatabaseReport
 
         String databaseManagerGUID = createSampleDatabaseManager(databaseManagerName);
 
-        createSampleDatabase(databaseManagerGUID, databaseManagerName, databaseNamePrefix + "A", 0, 0, 0, false);
-        createSampleDatabase(databaseManagerGUID, databaseManagerName, databaseNamePrefix + "B", 1, 0, 0, false);
-        createSampleDatabase(databaseManagerGUID, databaseManagerName, databaseNamePrefix + "C", 1, 1, 0, false);
-        createSampleDatabase(databaseManagerGUID, databaseManagerName, databaseNamePrefix + "D", 1, 1, 1, false);
-        createSampleDatabase(databaseManagerGUID, databaseManagerName, databaseNamePrefix + "E", 0, 1, 0, false);
-        createSampleDatabase(databaseManagerGUID, databaseManagerName, databaseNamePrefix + "F", 0, 1, 1, false);
-        createSampleDatabase(databaseManagerGUID, databaseManagerName, databaseNamePrefix + "G", 2, 25, 30, false);
-
-        createSampleDatabase(databaseManagerGUID, databaseManagerName, databaseNamePrefix2 + "A", 0, 0, 0, false);
-        createSampleDatabase(databaseManagerGUID, databaseManagerName, databaseNamePrefix2 + "B", 1, 0, 0, false);
-        createSampleDatabase(databaseManagerGUID, databaseManagerName, databaseNamePrefix2 + "C", 1, 1, 0, false);
-        createSampleDatabase(databaseManagerGUID, databaseManagerName, databaseNamePrefix2 + "D", 1, 1, 1, false);
-        createSampleDatabase(databaseManagerGUID, databaseManagerName, databaseNamePrefix2 + "E", 0, 1, 0, false);
-        createSampleDatabase(databaseManagerGUID, databaseManagerName, databaseNamePrefix2 + "F", 0, 1, 1, false);
-        createSampleDatabase(databaseManagerGUID, databaseManagerName, databaseNamePrefix2 + "G", 2, 25, 30, false);
-    }
-
-
-    /**
-     * Set up the database manager that hosts the databases.
-     *
-     * @param databaseManagerName name of the database manager
-     * @return unique identifier of
-     */
-    private String createSampleDatabaseManager(String databaseManagerName)
-    {
-        try
+        try (SampleCatalogVerifier   verifier  = getSampleCatalogVerifier(verifyDatabases, maxConcurrentDatabases);
+             SampleDatabaseGenerator generator = new SampleDatabaseGenerator(databaseManagerClient,
+                                                                             clientUserId,
+                                                                             databaseManagerGUID,
+                                                                             databaseManagerName,
+                                                                             maxConcurrentCalls,
+                                                                             maxCallsPerSecond,
+                                                                             maxConcurrentDatabases,
+                                                                             verifier))
         {
-            DatabaseManagerProperties databaseManagerProperties = new DatabaseManagerProperties();
+            generator.createDatabase(databaseNamePrefix + "A", 0, 0, 0, false);
+            generator.createDatabase(databaseNamePrefix + "B", 1, 0, 0, false);
+            generator.createDatabase(databaseNamePrefix + "C", 1, 1, 0, false);
+            generator.createDatabase(databaseNamePrefix + "D", 1, 1, 1, false);
+            generator.createDatabase(databaseNamePrefix + "E", 0, 1, 0, false);
+            generator.createDatabase(databaseNamePrefix + "F", 0, 1, 1, false);
+            generator.createDatabase(databaseNamePrefix + "G", 2, 25, 30, false);
+
+            generator.createDatabase(databaseNamePrefix2 + "A", 0, 0, 0, true);
+            generator.createDatabase(databaseNamePrefix2 + "B", 1, 0, 0, true);
+            generator.createDatabase(databaseNamePrefix2 + "C", 1, 1, 0, true);
+            generator.createDatabase(databaseNamePrefix2 + "D", 1, 1, 1, true);
+            generator.createDatabase(databaseNamePrefix2 + "E", 0, 1, 0, true);
+            generator.createDatabase(databaseNamePrefix2 + "F", 0, 1, 1, true);
+            generator.createDatabase(databaseNamePrefix2 + "G", 2, 25, 30, true);
+
+            int     failedDatabaseCount = generator.waitForDatabases();
+            boolean verified            = (verifier == null) || verifier.waitForVerifications();
+
+            try (EgeriaReport report = startGenerationReport("Sample database generation", maxConcurrentDatabases, failedDatabaseCount))
+            {
+                generator.printStatistics(report, 0);
 
-            databaseManagerProperties.setQualifiedName(databaseManagerName);
+                if (verifier != null)
+                {
+                    verifier.printVerification(report, 0);
+                }
+            }
 
-            return  metadataSourceClient.createDatabaseManager(clientUserId, null, null, databaseManagerProperties);
+            return (failedDatabaseCount == 0) && verified;
         }
         catch (Exception error)
         {
-            System.out.println("There was a " + error.getClass().getName() + " exception when calling the Data Manager OMAS DatabaseManagerClient when creating sample databases.  Error message is: " + error.getMessage());
+            System.out.println("There was a " + error.getClass().getName() + " exception when creating sample databases.  Error message is: " + error.getMessage());
         }
 
-        return null;
+        return false;
     }
 
 
     /**
-     * Create a sample database using the following parameters.
+     * Create a synthetic catalog described by a workload profile.  The databases are planned by a
+     * SampleWorkloadPlanner and created concurrently by a SampleDatabaseGenerator, which then writes the number of
+     * elements created and the throughput and latency of its calls to a report named after the profile.
+     * If requested, a SampleCatalogVerifier reads back each database and adds its findings to the report.
      *
-     * @param databaseManagerGUID unique identifier of owning data manager
-     * @param databaseManagerName unique name of identifier of owning data manager
-     * @param databaseName name of database
-     * @param numberOfSchemas number of database schemas to create
-     * @param numberOfTables number of tables to create in each database or schema
-     * @param numberOfColumns number of columns for each table
-     * @param useSchemaType should the tables be connected to schema type or directly to asset?
+     * @param profileFileName name of the JSON file of workload profiles (null for the profiles supplied with the report)
+     * @param profileName name of the profile to use (null for the first profile)
+     * @param maxConcurrentDatabases number of databases created at the same time
+     * @param verifyDatabases should each database be read back and checked once it is created?
+     * @return true if every database was created (and matched when it was read back)
      */
-    private void createSampleDatabase(String  databaseManagerGUID,
-                                      String  databaseManagerName,
-                                      String  databaseName,
-                                      int     numberOfSchemas,
-                                      int     numberOfTables,
-                                      int     numberOfColumns,
-                                      boolean useSchemaType)
+    private boolean createWorkloadDatabases(String  profileFileName,
+                                            String  profileName,
+                                            int     maxConcurrentDatabases,
+                                            boolean verifyDatabases)
     {
-        Date startTime = new Date();
-
         try
         {
-            DatabaseProperties databaseProperties = new DatabaseProperties();
+            SampleWorkloadProfile profile = SampleWorkloadPlanner.getProfile(SampleWorkloadPlanner.loadProfiles(profileFileName), profileName);
 
-            databaseProperties.setQualifiedName(databaseManagerName + ":Database:" + databaseName);
+            if (profile == null)
+            {
+                System.out.println("There is no workload profile called " + profileName);
+                return false;
+            }
+
+            SampleWorkloadPlanner planner = new SampleWorkloadPlanner(profile);
 
-            String databaseGUID = databaseManagerClient.createDatabase(clientUserId, databaseManagerGUID, databaseManagerName, databaseProperties);
+            final String databaseManagerName = "SampleWorkload:" + profile.getName();
 
-            databaseManagerClient.publishDatabase(clientUserId, databaseGUID);
+            String databaseManagerGUID = createSampleDatabaseManager(databaseManagerName);
 
-            if (numberOfSchemas > 0)
+            try (SampleCatalogVerifier   verifier  = getSampleCatalogVerifier(verifyDatabases, maxConcurrentDatabases);
+                 SampleDatabaseGenerator generator = new SampleDatabaseGenerator(databaseManagerClient,
+                                                                                 clientUserId,
+                                                                                 databaseManagerGUID,
+                                                                                 databaseManagerName,
+                                                                                 maxConcurrentCalls,
+                                                                                 maxCallsPerSecond,
+                                                                                 maxConcurrentDatabases,
+                                                                                 verifier))
             {
-                for (int s=0; s < numberOfSchemas; s++)
-                {
-                    String schemaName = "Schema" + s;
+                planner.createDatabases(generator);
 
-                    DatabaseSchemaProperties databaseSchemaProperties = new DatabaseSchemaProperties();
+                int     failedDatabaseCount = generator.waitForDatabases();
+                boolean verified            = (verifier == null) || verifier.waitForVerifications();
 
-                    databaseSchemaProperties.setQualifiedName(databaseName + "." + schemaName);
-                    databaseSchemaProperties.setName(schemaName);
-                    databaseSchemaProperties.setDescription("Database schema definition called " + schemaName + " with " + numberOfTables + " tables.");
+                try (EgeriaReport report = startGenerationReport("Workload " + profile.getName() + " generation", maxConcurrentDatabases, failedDatabaseCount))
+                {
+                    report.printReportLine(0, "Seed", Long.toString(profile.getSeed()));
+                    report.printReportLine(0, "Databases", Long.toString(planner.getDatabaseCount()));
+                    report.printReportLine(0, "Databases using schema types", Long.toString(planner.getSchemaTypeDatabaseCount()));
+                    report.printReportLine(0, "Schemas", Long.toString(planner.getSchemaCount()));
+                    report.printReportLine(0, "Tables", Long.toString(planner.getTableCount()));
+                    report.printReportLine(0, "Columns", Long.toString(planner.getColumnCount()));
 
-                    String databaseSchemaGUID = databaseManagerClient.createDatabaseSchema(clientUserId,
-                                                                                           databaseManagerGUID,
-                                                                                           databaseManagerName,
-                                                                                           databaseGUID,
-                                                                                           databaseSchemaProperties);
+                    generator.printStatistics(report, 0);
 
-                    if (numberOfTables > 0)
+                    if (verifier != null)
                     {
-                        createSampleDatabaseTables(databaseManagerGUID,
-                                                   databaseManagerName,
-                                                   databaseSchemaGUID,
-                                                   schemaName,
-                                                   numberOfTables,
-                                                   numberOfColumns,
-                                                   useSchemaType);
+                        verifier.printVerification(report, 0);
                     }
-
-                    databaseManagerClient.publishDatabaseSchema(clientUserId, databaseSchemaGUID);
                 }
-            }
-            else /* no schemas so tables are created directly under the database */
-            {
-                createSampleDatabaseTables(databaseManagerGUID,
-                                           databaseManagerName,
-                                           databaseGUID,
-                                           databaseName,
-                                           numberOfTables,
-                                           numberOfColumns,
-                                           false);
-            }
-
-            Date endTime = new Date();
 
-            System.out.println("Created " + databaseName + " database in " + (endTime.getTime() - startTime.getTime()) + " milliseconds");
+                return (failedDatabaseCount == 0) && verified;
+            }
         }
         catch (Exception error)
         {
-            System.out.println("There was a " + error.getClass().getName() + " exception when calling the Data Manager OMAS DatabaseManagerClient when creating sample databases.  Error message is: " + error.getMessage());
+            System.out.println("There was a " + error.getClass().getName() + " exception when creating the workload databases.  Error message is: " + error.getMessage());
         }
+
+        return false;
     }
 
 
     /**
-     * Create a sample database tables using the following parameters.
+     * Create the verifier that reads back the sample databases as they are created.
      *
-     * @param databaseManagerGUID unique identifier of owning data manager
-     * @param databaseManagerName unique name of identifier of owning data manager
-     * @param parentGUID unique identifier of parent element
-     * @param parentName unique name of parent element
-     * @param numberOfTables number of tables to create
-     * @param numberOfColumns number of columns for each table
-     * @param useSchemaType should the tables be connected to schema type or directly to asset?
+     * @param verifyDatabases should the databases be read back?
+     * @param maxConcurrentDatabases number of databases read back at the same time
+     * @return verifier or null if the databases are not to be read back
      */
-    private void createSampleDatabaseTables(String  databaseManagerGUID,
-                                            String  databaseManagerName,
-                                            String  parentGUID,
-                                            String  parentName,
-                                            int     numberOfTables,
-                                            int     numberOfColumns,
-                                            boolean useSchemaType)
+    private SampleCatalogVerifier getSampleCatalogVerifier(boolean verifyDatabases,
+                                                           int     maxConcurrentDatabases)
     {
-        try
+        if (verifyDatabases)
         {
-            if (numberOfTables > 0)
-            {
-                String databaseSchemaTypeGUID = null;
+            return new SampleCatalogVerifier(databaseManagerClient, clientUserId, maxConcurrentCalls, pageSize, maxConcurrentDatabases);
+        }
 
-                if (useSchemaType)
-                {
-                    databaseSchemaTypeGUID = databaseManagerClient.createDatabaseSchemaType(clientUserId,
-                                                                                            databaseManagerGUID,
-                                                                                            databaseManagerName,
-                                                                                            "SchemaOf:" + parentName);
-                }
+        return null;
+    }
 
-                for (int t=0; t< numberOfTables; t++)
-                {
-                    String tableName = "Table" + t;
 
-                    DatabaseTableProperties databaseTableProperties = new DatabaseTableProperties();
+    /**
+     * Start the report of a run of the SampleDatabaseGenerator.  The report is also written to the console.
+     *
+     * @param reportName name of the report
+     * @param maxConcurrentDatabases number of databases created at the same time
+     * @param failedDatabaseCount number of databases that could not be created
+     * @return report with its opening lines written
+     * @throws IOException problem writing the report
+     */
+    private EgeriaReport startGenerationReport(String reportName,
+                                               int    maxConcurrentDatabases,
+                                               int    failedDatabaseCount) throws IOException
+    {
+        EgeriaReportOptions reportOptions = new EgeriaReportOptions();
 
-                    databaseTableProperties.setQualifiedName(parentName + "." + tableName);
-                    databaseTableProperties.setDisplayName(tableName);
-                    databaseTableProperties.setDescription("Table definition called " + tableName + " with " + numberOfColumns + " columns.");
+        reportOptions.setReportFormat(reportFormat);
+        reportOptions.setCompression(reportCompression);
+        reportOptions.setEchoToConsole(true);
 
-                    String databaseTableGUID;
+        EgeriaReport report = new EgeriaReport(getReportFileName(reportName), reportOptions);
 
-                    if (useSchemaType)
-                    {
-                        databaseTableGUID = databaseManagerClient.createDatabaseTableForSchemaType(clientUserId,
-                                                                                                   databaseManagerGUID,
-                                                                                                   databaseManagerName,
-                                                                                                   databaseSchemaTypeGUID,
-                                                                                                   databaseTableProperties);
-                    }
-                    else
-                    {
-                        databaseTableGUID = databaseManagerClient.createDatabaseTable(clientUserId,
-                                                                                      databaseManagerGUID,
-                                                                                      databaseManagerName,
-                                                                                      parentGUID,
-                                                                                      databaseTableProperties);
-                    }
+        report.printReportTitle(0, reportName + " on server: " + serverName);
+        report.printReportLine(0, "Concurrent calls", Integer.toString(maxConcurrentCalls));
+        report.printReportLine(0, "Concurrent databases", Integer.toString(maxConcurrentDatabases));
+        report.printReportLine(0, "Calls per second limit", (maxCallsPerSecond > 0) ? Integer.toString(maxCallsPerSecond) : "None");
+        report.printReportLine(0, "Databases that failed", Integer.toString(failedDatabaseCount));
 
-                    if (numberOfColumns > 0)
-                    {
-                        for (int c=0; c< numberOfColumns; c++)
-                        {
-                            String columnName = "Column" + t + "." + c;
+        return report;
+    }
 
-                            DatabaseColumnProperties databaseColumnProperties = new DatabaseColumnProperties();
 
-                            databaseColumnProperties.setQualifiedName(parentName + "." + tableName);
-                            databaseColumnProperties.setDisplayName(tableName);
-                            databaseColumnProperties.setDescription("Column definition called " + columnName + " inside " + tableName + " table.");
-                            databaseColumnProperties.setDataType("string");
+    /**
+     * Set up the database manager that hosts the databases.
+     *
+     * @param databaseManagerName name of the database manager
+     * @return unique identifier of
+     */
+    private String createSampleDatabaseManager(String databaseManagerName)
+    {
+        try
+        {
+            DatabaseManagerProperties databaseManagerProperties = new DatabaseManagerProperties();
 
-                            databaseManagerClient.createDatabaseColumn(clientUserId,
-                                                                       databaseManagerGUID,
-                                                                       databaseManagerName,
-                                                                       databaseTableGUID,
-                                                                       databaseColumnProperties);
-                        }
-                    }
-                }
+            databaseManagerProperties.setQualifiedName(databaseManagerName);
 
-                if (useSchemaType)
-                {
-                    databaseManagerClient.attachSchemaTypeToDatabaseAsset(clientUserId,
-                                                                          databaseManagerGUID,
-                                                                          databaseManagerName,
-                                                                          parentGUID,
-                                                                          databaseSchemaTypeGUID);
-                }
-            }
+            return  metadataSourceClient.createDatabaseManager(clientUserId, null, null, databaseManagerProperties);
         }
         catch (Exception error)
         {
             System.out.println("There was a " + error.getClass().getName() + " exception when calling the Data Manager OMAS DatabaseManagerClient when creating sample databases.  Error message is: " + error.getMessage());
         }
+
+        return null;
+    }
+
+
+    /**
+     * Run the commands of a batch without asking for any input.
+     *
+     * @param batch checked commands
+     * @param maxConcurrentDatabases number of databases reported or created at the same time
+     * @param verifyDatabases should each database created be read back and checked?
+     * @param workloadProfileFileName name of the JSON file of workload profiles (null for the profiles supplied with the report)
+     * @param workloadProfileName name of the workload profile used when generate-workload does not name one (null for the first)
+     * @return most serious exit code of the commands
+     */
+    private DatabaseReportExitCode runBatch(DatabaseReportBatch batch,
+                                           int                 maxConcurrentDatabases,
+                                           boolean             verifyDatabases,
+                                           String              workloadProfileFileName,
+                                           String              workloadProfileName)
+    {
+        return batch.run((commandType, argument) ->
+        {
+            boolean succeeded = true;
+
+            switch (commandType)
+            {
+                case LIST:
+                    listDatabases(argument);
+                    break;
+
+                case REPORT:
+                    return displayDatabase(argument);
+
+                case REPORT_ALL:
+                    succeeded = exportDatabases(false, null, maxConcurrentDatabases);
+                    break;
+
+                case REPORT_BY_NAME:
+                    succeeded = exportDatabases(false, argument, maxConcurrentDatabases);
+                    break;
+
+                case EXPORT:
+                    succeeded = exportDatabases(true, null, maxConcurrentDatabases);
+                    break;
+
+                case GENERATE_SAMPLE:
+                    succeeded = createSampleDatabases(maxConcurrentDatabases, verifyDatabases);
+                    break;
+
+                case GENERATE_WORKLOAD:
+                    succeeded = createWorkloadDatabases(workloadProfileFileName,
+                                                        (argument != null) ? argument : workloadProfileName,
+                                                        maxConcurrentDatabases,
+                                                        verifyDatabases);
+                    break;
+            }
+
+            return succeeded ? DatabaseReportExitCode.SUCCESS : DatabaseReportExitCode.INCOMPLETE;
+        });
     }
 
 
     /**
      * Main program that controls the operation of the platform report.  The parameters are passed space separated.
      * The parameters are used to override the report's default values. If mode is set to "interactive"
-     * the caller is prompted for a command.  Otherwise, it is assumed to be a guid.
+     * the caller is prompted for a command.  If it is "all", there is a report for every database in the catalog
+     * and if it is "export", every database is written to a single JSON lines export file.  If it is "workload",
+     * a synthetic catalog is created from a workload profile.  If it is "batch", the next parameter holds the commands
+     * to run without asking for any input (see DatabaseReportBatch) and the parameters below move one place along -
+     * for example "batch @jobs.txt md".  Otherwise, it is assumed to be a guid.  The databases created in the samples
+     * and workload modes are read back and checked unless parameter 13 is false.  An empty parameter 9, 11, 12 or 13
+     * is the same as leaving it out.  The exit code is one of the values of DatabaseReportExitCode.
      *
-     * @param args 1. service platform URL root, 2. client userId, 3. mode/guid
+     * @param args 1. server name, 2. service platform URL root, 3. client userId, 4. mode/guid (in batch mode followed
+     *             by the commands separated by semicolons, or @ followed by the name of a command file),
+     *             5. report format (md, jsonl or csv - add .gz for a compressed report, eg md.gz),
+     *             6. maximum number of concurrent calls to retrieve a database's contents (1 retrieves them one at a time),
+     *             7. number of schemas, tables or columns requested in each call,
+     *             8. number of databases reported or created at the same time in the all, export, samples and workload modes,
+     *             9. name of the file that saves the columns of each table so unchanged tables are not retrieved again,
+     *             10. maximum number of calls started each second when creating the sample databases (0 for no limit),
+     *             11. name of the JSON file of workload profiles used in the workload mode (empty for the supplied profiles),
+     *             12. name of the workload profile to create (default is the first in the file),
+     *             13. true (the default) to read back and check each database created in the samples and workload modes
      */
     public static void main(String[] args)
     {
         final String interactiveMode = "interactive";
         final String samplesMode     = "samples";
+        final String allMode         = "all";
+        final String exportMode      = "export";
+        final String workloadMode    = "workload";
+        final String batchMode       = "batch";
 
         String serverName = "cocoMDS1";
         String platformURLRoot = "https://localhost:9444";
         String clientUserId = "peterprofile";
         String  mode = samplesMode;
+        ReportFormat reportFormat = ReportFormat.MARKDOWN;
+        ReportCompression reportCompression = ReportCompression.NONE;
+        int maxConcurrentCalls = DEFAULT_MAX_CONCURRENT_CALLS;
+        int pageSize = DEFAULT_PAGE_SIZE;
+        int maxConcurrentDatabases = DEFAULT_MAX_CONCURRENT_DATABASES;
+        String columnCacheFileName = null;
+        int maxCallsPerSecond = 0;
+        String workloadProfileFileName = null;
+        String workloadProfileName = null;
+        boolean verifyDatabases = true;
+        String batchParameter = null;
+        DatabaseReportBatch batch = null;
+
+        if ((args.length > 4) && (batchMode.equals(args[3])))
+        {
+            /*
+             * The batch commands follow the mode, so the rest of the parameters are moved back to their usual places.
+             */
+            batchParameter = args[4];
+
+            String[] remainingArgs = new String[args.length - 1];
+
+            System.arraycopy(args, 0, remainingArgs, 0, 4);
+            System.arraycopy(args, 5, remainingArgs, 4, args.length - 5);
+
+            args = remainingArgs;
+        }
 
         if (args.length > 0)
         {
@@ -673,12 +1079,109 @@ public class DatabaseReport
             mode = args[3];
         }
 
+        if (args.length > 4)
+        {
+            String formatName = args[4];
+
+            reportCompression = ReportCompression.getReportCompression(formatName);
+
+            if (reportCompression != ReportCompression.NONE)
+            {
+                formatName = formatName.substring(0, formatName.length() - reportCompression.getFileExtension().length() - 1);
+            }
+
+            reportFormat = ReportFormat.getReportFormat(formatName);
+
+            if (reportFormat == null)
+            {
+                System.out.println("Unknown report format: " + args[4] + "; use md, jsonl or csv (with .gz for a compressed report)");
+                System.exit(DatabaseReportExitCode.INVALID_COMMAND.getExitCode());
+            }
+        }
+
+        try
+        {
+            if (args.length > 5)
+            {
+                maxConcurrentCalls = Integer.parseInt(args[5]);
+            }
+
+            if (args.length > 6)
+            {
+                pageSize = Integer.parseInt(args[6]);
+            }
+
+            if (args.length > 7)
+            {
+                maxConcurrentDatabases = Integer.parseInt(args[7]);
+            }
+        }
+        catch (NumberFormatException error)
+        {
+            System.out.println("The number of concurrent calls, the page size and the number of concurrent databases must be numbers: " + error.getMessage());
+            System.exit(DatabaseReportExitCode.INVALID_COMMAND.getExitCode());
+        }
+
+        if ((args.length > 8) && (! args[8].isEmpty()))
+        {
+            columnCacheFileName = args[8];
+        }
+
+        if (args.length > 9)
+        {
+            try
+            {
+                maxCallsPerSecond = Integer.parseInt(args[9]);
+            }
+            catch (NumberFormatException error)
+            {
+                System.out.println("The number of calls per second must be a number: " + error.getMessage());
+                System.exit(DatabaseReportExitCode.INVALID_COMMAND.getExitCode());
+            }
+        }
+
+        if ((args.length > 10) && (! args[10].isEmpty()))
+        {
+            workloadProfileFileName = args[10];
+        }
+
+        if ((args.length > 11) && (! args[11].isEmpty()))
+        {
+            workloadProfileName = args[11];
+        }
+
+        if ((args.length > 12) && (! args[12].isEmpty()))
+        {
+            verifyDatabases = Boolean.parseBoolean(args[12]);
+        }
+
+        if (batchMode.equals(mode))
+        {
+            /*
+             * The commands are checked before connecting to the server so a mistake is reported straight away.
+             */
+            try
+            {
+                if (batchParameter == null)
+                {
+                    throw new IllegalArgumentException("The batch mode needs its commands as the parameter after the mode, for example: batch @jobs.txt");
+                }
+
+                batch = DatabaseReportBatch.parse(batchParameter);
+            }
+            catch (Exception error)
+            {
+                System.out.println("The batch commands are not valid: " + error.getMessage());
+                System.exit(DatabaseReportExitCode.INVALID_COMMAND.getExitCode());
+            }
+        }
+
         System.out.println("===============================");
         System.out.println("Database Report   " + new Date());
         System.out.println("===============================");
         System.out.print("Running against server: " + serverName + " at " + platformURLRoot);
 
-        DatabaseReport utility = new DatabaseReport(serverName, platformURLRoot, clientUserId);
+        DatabaseReport utility = new DatabaseReport(serverName, platformURLRoot, clientUserId, reportFormat, reportCompression, maxConcurrentCalls, pageSize, columnCacheFileName, maxCallsPerSecond);
 
         HttpHelper.noStrictSSLIfConfigured();
 
@@ -691,12 +1194,14 @@ public class DatabaseReport
         else
         {
             System.out.println();
-            System.exit(-1);
+            System.exit(DatabaseReportExitCode.SERVER_UNAVAILABLE.getExitCode());
         }
 
         System.out.println("Using userId: " + clientUserId);
         System.out.println();
 
+        DatabaseReportExitCode exitCode = DatabaseReportExitCode.SUCCESS;
+
         try
         {
             if (interactiveMode.equals(mode))
@@ -705,20 +1210,42 @@ public class DatabaseReport
             }
             else if (samplesMode.equals(mode))
             {
-                utility.createSampleDatabases();
+                if (! utility.createSampleDatabases(maxConcurrentDatabases, verifyDatabases))
+                {
+                    exitCode = DatabaseReportExitCode.INCOMPLETE;
+                }
+
                 utility.locateDatabase();
             }
+            else if (workloadMode.equals(mode))
+            {
+                if (! utility.createWorkloadDatabases(workloadProfileFileName, workloadProfileName, maxConcurrentDatabases, verifyDatabases))
+                {
+                    exitCode = DatabaseReportExitCode.INCOMPLETE;
+                }
+            }
+            else if (allMode.equals(mode) || exportMode.equals(mode))
+            {
+                if (! utility.exportDatabases(exportMode.equals(mode), null, maxConcurrentDatabases))
+                {
+                    exitCode = DatabaseReportExitCode.INCOMPLETE;
+                }
+            }
+            else if (batchMode.equals(mode))
+            {
+                exitCode = utility.runBatch(batch, maxConcurrentDatabases, verifyDatabases, workloadProfileFileName, workloadProfileName);
+            }
             else
             {
-                utility.displayDatabase(mode);
+                exitCode = utility.displayDatabase(mode);
             }
         }
         catch (Exception  error)
         {
             System.out.println("Exception: " + error.getClass().getName() + " with message " + error.getMessage());
-            System.exit(-1);
+            exitCode = DatabaseReportExitCode.ERROR;
         }
 
-        System.exit(0);
+        System.exit(exitCode.getExitCode());
     }
 }
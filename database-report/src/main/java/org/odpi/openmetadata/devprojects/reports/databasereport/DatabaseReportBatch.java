@@ -0,0 +1,326 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+
+/**
+ * DatabaseReportBatch runs a list of DatabaseReport commands without asking for any input, so that reports can be
+ * run unattended - for example as a scheduled job.  The commands are either passed as a single parameter, separated
+ * by semicolons, or read from a command file named by a parameter that starts with '@'.  The command file has one
+ * command on each line; blank lines and lines starting with '#' are ignored.
+ * <br><br>
+ * Every command is checked before the first one runs, so a mistake in the last command does not waste a long run.
+ * The commands then run in order.  A command that fails does not stop the batch - the exit code of the batch is the
+ * most serious exit code of its commands.  A line is written to the console as each command starts and finishes,
+ * and when the batch finishes, so the progress can be followed in a job log.
+ */
+class DatabaseReportBatch
+{
+    /**
+     * The commands that may be used in a batch.
+     */
+    enum CommandType
+    {
+        /**
+         * List the databases, optionally only those whose name or qualified name matches a regular expression.
+         */
+        LIST("list", false, true),
+
+        /**
+         * Report on the database with the supplied unique identifier.
+         */
+        REPORT("report", true, false),
+
+        /**
+         * Report on every database in the catalog, each to its own report file.
+         */
+        REPORT_ALL("report-all", false, false),
+
+        /**
+         * Report on every database whose name or qualified name matches a regular expression.
+         */
+        REPORT_BY_NAME("report-by-name", true, true),
+
+        /**
+         * Write every database in the catalog to a single JSON lines export file.
+         */
+        EXPORT("export", false, false),
+
+        /**
+         * Create the sample databases.
+         */
+        GENERATE_SAMPLE("generate-sample", false, false),
+
+        /**
+         * Create the catalog described by a workload profile (optionally named).
+         */
+        GENERATE_WORKLOAD("generate-workload", false, false);
+
+
+        private final String  commandName;
+        private final boolean argumentRequired;
+        private final boolean argumentIsPattern;
+
+
+        /**
+         * Constructor for the enum.
+         *
+         * @param commandName name used in the batch
+         * @param argumentRequired must the command be followed by an argument?
+         * @param argumentIsPattern is the argument a regular expression?
+         */
+        CommandType(String  commandName,
+                    boolean argumentRequired,
+                    boolean argumentIsPattern)
+        {
+            this.commandName = commandName;
+            this.argumentRequired = argumentRequired;
+            this.argumentIsPattern = argumentIsPattern;
+        }
+
+
+        /**
+         * Return the command type with the supplied name.
+         *
+         * @param commandName name used in the batch
+         * @return command type or null if there is no match
+         */
+        static CommandType getCommandType(String commandName)
+        {
+            for (CommandType commandType : CommandType.values())
+            {
+                if (commandType.commandName.equals(commandName))
+                {
+                    return commandType;
+                }
+            }
+
+            return null;
+        }
+
+
+        /**
+         * Return the name used in the batch.
+         *
+         * @return string name
+         */
+        String getCommandName()
+        {
+            return commandName;
+        }
+    }
+
+
+    /**
+     * Runs a single command of the batch.
+     */
+    @FunctionalInterface
+    interface CommandRunner
+    {
+        /**
+         * Run a command.
+         *
+         * @param commandType command to run
+         * @param argument argument of the command (or null)
+         * @return outcome of the command
+         * @throws Exception unexpected problem running the command
+         */
+        DatabaseReportExitCode runCommand(CommandType commandType,
+                                          String      argument) throws Exception;
+    }
+
+
+    /**
+     * A command and its argument, as checked by the parser.
+     */
+    static class Command
+    {
+        private final CommandType commandType;
+        private final String      argument;
+
+        /**
+         * Store the command and its argument.
+         *
+         * @param commandType command to run
+         * @param argument argument of the command (or null)
+         */
+        Command(CommandType commandType,
+                String      argument)
+        {
+            this.commandType = commandType;
+            this.argument = argument;
+        }
+
+
+        /**
+         * Return the command as it would be written in the batch.
+         *
+         * @return command text
+         */
+        @Override
+        public String toString()
+        {
+            if (argument == null)
+            {
+                return commandType.getCommandName();
+            }
+
+            return commandType.getCommandName() + " " + argument;
+        }
+    }
+
+
+    private final List<Command> commands;
+
+
+    /**
+     * Set up the batch from the commands that have been checked.
+     *
+     * @param commands commands to run in order
+     */
+    private DatabaseReportBatch(List<Command> commands)
+    {
+        this.commands = commands;
+    }
+
+
+    /**
+     * Read and check the commands of a batch.  The parameter is either a list of commands separated by semicolons
+     * or '@' followed by the name of a command file.
+     *
+     * @param batchParameter commands or command file name
+     * @return batch ready to run
+     * @throws IOException the command file could not be read
+     * @throws IllegalArgumentException a command is not valid (the message lists every invalid command)
+     */
+    static DatabaseReportBatch parse(String batchParameter) throws IOException
+    {
+        List<String> commandLines;
+
+        if (batchParameter.startsWith("@"))
+        {
+            commandLines = Files.readAllLines(Paths.get(batchParameter.substring(1)), StandardCharsets.UTF_8);
+        }
+        else
+        {
+            commandLines = Arrays.asList(batchParameter.split(";"));
+        }
+
+        List<Command> commands = new ArrayList<>();
+        List<String>  errors   = new ArrayList<>();
+
+        for (String commandLine : commandLines)
+        {
+            String commandText = commandLine.strip();
+
+            if (commandText.isEmpty() || commandText.startsWith("#"))
+            {
+                continue;
+            }
+
+            /*
+             * The argument is the rest of the line so a regular expression may contain spaces.
+             */
+            String[]    commandWords = commandText.split("\\s+", 2);
+            CommandType commandType  = CommandType.getCommandType(commandWords[0]);
+            String      argument     = (commandWords.length > 1) ? commandWords[1] : null;
+
+            if (commandType == null)
+            {
+                errors.add("Unknown command: " + commandText);
+            }
+            else if (commandType.argumentRequired && (argument == null))
+            {
+                errors.add("Command " + commandType.getCommandName() + " needs an argument");
+            }
+            else
+            {
+                try
+                {
+                    if ((argument != null) && commandType.argumentIsPattern)
+                    {
+                        Pattern.compile(argument);
+                    }
+
+                    commands.add(new Command(commandType, argument));
+                }
+                catch (PatternSyntaxException error)
+                {
+                    errors.add("Command " + commandText + " has an invalid regular expression: " + error.getDescription());
+                }
+            }
+        }
+
+        if (commands.isEmpty() && errors.isEmpty())
+        {
+            errors.add("There are no commands to run");
+        }
+
+        if (! errors.isEmpty())
+        {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+
+        return new DatabaseReportBatch(commands);
+    }
+
+
+    /**
+     * Run each command in turn, writing its progress to the console.
+     *
+     * @param commandRunner runs each command
+     * @return most serious exit code of the commands
+     */
+    DatabaseReportExitCode run(CommandRunner commandRunner)
+    {
+        DatabaseReportExitCode batchExitCode = DatabaseReportExitCode.SUCCESS;
+        long                   startTime     = System.currentTimeMillis();
+        int                    failedCount   = 0;
+
+        for (int commandNumber = 1; commandNumber <= commands.size(); commandNumber++)
+        {
+            Command                command          = commands.get(commandNumber - 1);
+            String                 progressPrefix   = "[" + commandNumber + "/" + commands.size() + "] " + command;
+            long                   commandStartTime = System.currentTimeMillis();
+            DatabaseReportExitCode commandExitCode;
+
+            System.out.println(progressPrefix + " - started");
+
+            try
+            {
+                commandExitCode = commandRunner.runCommand(command.commandType, command.argument);
+            }
+            catch (Exception error)
+            {
+                System.out.println("There was a " + error.getClass().getName() + " exception when running command " + command + ".  Error message is: " + error.getMessage());
+                commandExitCode = DatabaseReportExitCode.ERROR;
+            }
+
+            if (commandExitCode != DatabaseReportExitCode.SUCCESS)
+            {
+                failedCount++;
+            }
+
+            batchExitCode = batchExitCode.combine(commandExitCode);
+
+            System.out.println(progressPrefix + " - finished in " + DatabaseExport.formatDuration(System.currentTimeMillis() - commandStartTime) +
+                                       " with exit code " + commandExitCode.getExitCode() + " (" + commandExitCode.getName() + ")");
+        }
+
+        System.out.println("Batch of " + commands.size() + " commands finished in " + DatabaseExport.formatDuration(System.currentTimeMillis() - startTime) +
+                                   " with exit code " + batchExitCode.getExitCode() + " (" + batchExitCode.getName() + ") - " + failedCount + " commands did not succeed");
+
+        return batchExitCode;
+    }
+}
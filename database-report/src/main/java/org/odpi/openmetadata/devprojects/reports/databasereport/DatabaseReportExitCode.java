@@ -0,0 +1,124 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+
+/**
+ * DatabaseReportExitCode lists the exit codes of the DatabaseReport utility so that scripts and schedulers can tell
+ * why a run did not succeed.  When a batch runs several commands, the exit code is the highest code of its commands.
+ */
+public enum DatabaseReportExitCode
+{
+    /**
+     * Every database was reported or created.
+     */
+    SUCCESS(0, "Success", "Every database was reported or created."),
+
+    /**
+     * Some databases could not be reported or created, or did not match when they were read back.
+     */
+    INCOMPLETE(1, "Incomplete", "Some databases could not be reported or created, or did not match when they were read back."),
+
+    /**
+     * The parameters or batch commands are not valid so nothing was run, or a report names a guid that is not a database.
+     */
+    INVALID_COMMAND(2, "Invalid command", "The parameters or batch commands are not valid, or a report names a guid that is not a database."),
+
+    /**
+     * The platform of the metadata server could not be reached.
+     */
+    SERVER_UNAVAILABLE(3, "Server unavailable", "The platform of the metadata server could not be reached."),
+
+    /**
+     * A command failed with an unexpected exception.
+     */
+    ERROR(4, "Error", "A command failed with an unexpected exception.");
+
+
+    private final int    exitCode;
+    private final String name;
+    private final String description;
+
+
+    /**
+     * Constructor for the enum.
+     *
+     * @param exitCode value returned to the operating system
+     * @param name display name
+     * @param description description of the outcome
+     */
+    DatabaseReportExitCode(int    exitCode,
+                           String name,
+                           String description)
+    {
+        this.exitCode = exitCode;
+        this.name = name;
+        this.description = description;
+    }
+
+
+    /**
+     * Return the more serious of this exit code and another.
+     *
+     * @param other other exit code
+     * @return exit code with the higher value
+     */
+    public DatabaseReportExitCode combine(DatabaseReportExitCode other)
+    {
+        if ((other != null) && (other.exitCode > exitCode))
+        {
+            return other;
+        }
+
+        return this;
+    }
+
+
+    /**
+     * Return the value returned to the operating system.
+     *
+     * @return int
+     */
+    public int getExitCode()
+    {
+        return exitCode;
+    }
+
+
+    /**
+     * Return the display name of the exit code.
+     *
+     * @return string name
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Return the description of the outcome.
+     *
+     * @return string description
+     */
+    public String getDescription()
+    {
+        return description;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "DatabaseReportExitCode{" +
+                       "exitCode=" + exitCode +
+                       ", name='" + name + '\'' +
+                       ", description='" + description + '\'' +
+                       '}';
+    }
+}
@@ -0,0 +1,456 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+
+import org.odpi.openmetadata.accessservices.datamanager.client.DatabaseManagerClient;
+import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseColumnElement;
+import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseSchemaElement;
+import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseTableElement;
+import org.odpi.openmetadata.devprojects.reports.RemoteCallRecorder;
+import org.odpi.openmetadata.devprojects.reports.ReportExecutors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * DatabaseTraversal retrieves the schemas, tables and columns of a database concurrently so that the report does
+ * not wait for one REST call per element in turn.  As soon as a page of the database's schemas is returned, the
+ * retrieval of each schema's tables is queued, and as soon as a page of tables is returned, the retrieval of each
+ * table's columns is planned.  At most maxConcurrentCalls calls run at the same time (using virtual threads if the
+ * Java runtime supports them).
+ * <br><br>
+ * The retrieval of columns is planned using the column count of each table so that the time taken depends on the
+ * number of columns rather than the number of tables.  Tables without columns are skipped, and tables whose columns
+ * are in the DatabaseColumnCache (and have not changed) are not retrieved at all.  The other tables are started
+ * in waves: as many tables as fit in a budget of columns (maxConcurrentCalls * pageSize * COLUMN_PAGES_PER_CALL)
+ * are retrieved ahead of the report, so many small tables are retrieved together, and more tables are started as
+ * the report takes them.  A table with more columns than fit in a page has up to WIDE_TABLE_PAGES_AHEAD of its
+ * pages retrieved in parallel.
+ * <br><br>
+ * The report is still written by a single thread in the original order - it reads each PagedRetrieval a page at
+ * a time, and the page it needs has usually been retrieved by the time the report reaches it.  A retrieval that
+ * failed throws its exception when its page is read, at the same point in the report that the serial calls would
+ * have.  The retrieval tasks never wait for each other so they can not exhaust the executor's threads.
+ * <br><br>
+ * The traversal counts the calls that failed so the caller can tell whether the report is complete.  If it is given
+ * a RemoteCallRecorder, every call is timed as well.
+ */
+class DatabaseTraversal implements AutoCloseable
+{
+    /**
+     * Number of pages of columns, for each concurrent call, that may be retrieved ahead of the report.
+     */
+    static final int COLUMN_PAGES_PER_CALL = 2;
+
+    /**
+     * Maximum number of pages of a single table's columns that are retrieved at the same time.
+     */
+    static final int WIDE_TABLE_PAGES_AHEAD = 4;
+
+    private final DatabaseManagerClient databaseManagerClient;
+    private final String                clientUserId;
+    private final int                   pageSize;
+    private final DatabaseColumnCache   columnCache;
+    private final RemoteCallRecorder    callRecorder;
+    private final ExecutorService       executor;
+    private final long                  columnBudget;
+
+    private final Map<String, PagedRetrieval<DatabaseSchemaElement>> schemaRetrievals = new ConcurrentHashMap<>();
+    private final Map<String, PagedRetrieval<DatabaseTableElement>>  tableRetrievals  = new ConcurrentHashMap<>();
+    private final Map<String, PagedRetrieval<DatabaseColumnSummary>> columnRetrievals = new ConcurrentHashMap<>();
+
+    /*
+     * The plan for the column retrievals.  These are guarded by synchronizing on the traversal.
+     */
+    private final Map<String, DatabaseTableElement> waitingTables       = new LinkedHashMap<>();
+    private final Map<String, Integer>              startedColumnCounts = new HashMap<>();
+    private long                                    startedColumnCount  = 0;
+
+    private final AtomicInteger failedCallCount  = new AtomicInteger(0);
+    private final AtomicInteger cachedTableCount = new AtomicInteger(0);
+
+
+    /**
+     * Create the executor for the traversal of a database.
+     *
+     * @param databaseManagerClient client for the Data Manager OMAS
+     * @param clientUserId userId to access the server
+     * @param maxConcurrentCalls maximum number of REST calls that run at the same time
+     * @param pageSize number of elements requested in each call
+     * @param columnCache columns saved by earlier reports (or null)
+     * @param callRecorder times the calls to the server (or null)
+     */
+    DatabaseTraversal(DatabaseManagerClient databaseManagerClient,
+                      String                clientUserId,
+                      int                   maxConcurrentCalls,
+                      int                   pageSize,
+                      DatabaseColumnCache   columnCache,
+                      RemoteCallRecorder    callRecorder)
+    {
+        this.databaseManagerClient = databaseManagerClient;
+        this.clientUserId          = clientUserId;
+        this.pageSize              = Math.max(pageSize, 1);
+        this.columnCache           = columnCache;
+        this.callRecorder          = callRecorder;
+        this.executor              = ReportExecutors.newBoundedExecutor("DatabaseReport-", maxConcurrentCalls);
+        this.columnBudget          = (long) Math.max(maxConcurrentCalls, 1) * this.pageSize * COLUMN_PAGES_PER_CALL;
+    }
+
+
+    /**
+     * Start retrieving the contents of a database.  The tables may be organized in schemas or listed directly
+     * under the database so both are requested.
+     *
+     * @param databaseGUID unique identifier of the database
+     */
+    void startDatabase(String databaseGUID)
+    {
+        schemaRetrievals.computeIfAbsent(databaseGUID, this::startSchemaRetrieval);
+        tableRetrievals.computeIfAbsent(databaseGUID, this::startTableRetrieval);
+    }
+
+
+    /**
+     * Return the retrieval of the schemas of a database.
+     *
+     * @param databaseGUID unique identifier of the database
+     * @return paged retrieval of the schemas
+     */
+    PagedRetrieval<DatabaseSchemaElement> getSchemasForDatabase(String databaseGUID)
+    {
+        PagedRetrieval<DatabaseSchemaElement> retrieval = schemaRetrievals.remove(databaseGUID);
+
+        if (retrieval == null)
+        {
+            retrieval = startSchemaRetrieval(databaseGUID);
+        }
+
+        return retrieval;
+    }
+
+
+    /**
+     * Return the retrieval of the tables of a database or database schema.
+     *
+     * @param parentGUID unique identifier of the database or database schema
+     * @return paged retrieval of the tables
+     */
+    PagedRetrieval<DatabaseTableElement> getTablesForDatabaseAsset(String parentGUID)
+    {
+        PagedRetrieval<DatabaseTableElement> retrieval = tableRetrievals.remove(parentGUID);
+
+        if (retrieval == null)
+        {
+            retrieval = startTableRetrieval(parentGUID);
+        }
+
+        return retrieval;
+    }
+
+
+    /**
+     * Return the retrieval of the columns of a database table.  If the table's retrieval has not been started
+     * yet, it is started now, and taking a table's retrieval makes room for more tables in the column budget.
+     *
+     * @param databaseTableElement table
+     * @return paged retrieval of the columns
+     */
+    PagedRetrieval<DatabaseColumnSummary> getColumnsForDatabaseTable(DatabaseTableElement databaseTableElement)
+    {
+        String tableGUID = databaseTableElement.getElementHeader().getGUID();
+
+        PagedRetrieval<DatabaseColumnSummary> retrieval;
+
+        synchronized (this)
+        {
+            if (waitingTables.remove(tableGUID) != null)
+            {
+                startColumnRetrieval(databaseTableElement);
+            }
+
+            Integer columnCount = startedColumnCounts.remove(tableGUID);
+
+            if (columnCount != null)
+            {
+                startedColumnCount = startedColumnCount - columnCount;
+            }
+
+            retrieval = columnRetrievals.remove(tableGUID);
+
+            startWaitingTables();
+        }
+
+        if (retrieval == null)
+        {
+            retrieval = getCachedColumns(databaseTableElement);
+        }
+
+        if (retrieval == null)
+        {
+            retrieval = newColumnRetrieval(databaseTableElement);
+        }
+
+        return retrieval;
+    }
+
+
+    /**
+     * Return the number of tables whose columns came from the cache.
+     *
+     * @return count
+     */
+    int getCachedTableCount()
+    {
+        return cachedTableCount.get();
+    }
+
+
+    /**
+     * Start retrieving the schemas of a database.  As each page is returned, the retrieval of each schema's tables
+     * is queued.
+     *
+     * @param databaseGUID unique identifier of the database
+     * @return paged retrieval of the schemas
+     */
+    private PagedRetrieval<DatabaseSchemaElement> startSchemaRetrieval(String databaseGUID)
+    {
+        return new PagedRetrieval<>(executor,
+                                    countFailures("getSchemasForDatabase", (startFrom, pageSize) -> databaseManagerClient.getSchemasForDatabase(clientUserId, databaseGUID, startFrom, pageSize)),
+                                    (schemaPage) ->
+                                    {
+                                        for (DatabaseSchemaElement databaseSchemaElement : schemaPage)
+                                        {
+                                            tableRetrievals.computeIfAbsent(databaseSchemaElement.getElementHeader().getGUID(), this::startTableRetrieval);
+                                        }
+                                    },
+                                    pageSize);
+    }
+
+
+    /**
+     * Start retrieving the tables of a database or database schema.  As each page is returned, the retrieval of the
+     * columns of each table that has columns is planned.
+     *
+     * @param parentGUID unique identifier of the database or database schema
+     * @return paged retrieval of the tables
+     */
+    private PagedRetrieval<DatabaseTableElement> startTableRetrieval(String parentGUID)
+    {
+        return new PagedRetrieval<>(executor,
+                                    countFailures("getTablesForDatabaseAsset", (startFrom, pageSize) -> databaseManagerClient.getTablesForDatabaseAsset(clientUserId, parentGUID, startFrom, pageSize)),
+                                    this::planColumnRetrievals,
+                                    pageSize);
+    }
+
+
+    /**
+     * Plan the retrieval of the columns of a page of tables.  This is called on the executor as each page of
+     * tables is returned.  Cached tables are ready at once and the others wait for room in the column budget.
+     *
+     * @param tablePage page of tables
+     */
+    private void planColumnRetrievals(List<DatabaseTableElement> tablePage)
+    {
+        List<DatabaseTableElement> tablesToRetrieve = new ArrayList<>();
+
+        for (DatabaseTableElement databaseTableElement : tablePage)
+        {
+            if (databaseTableElement.getDatabaseColumnCount() > 0)
+            {
+                PagedRetrieval<DatabaseColumnSummary> cachedColumns = getCachedColumns(databaseTableElement);
+
+                if (cachedColumns != null)
+                {
+                    columnRetrievals.put(databaseTableElement.getElementHeader().getGUID(), cachedColumns);
+                }
+                else
+                {
+                    tablesToRetrieve.add(databaseTableElement);
+                }
+            }
+        }
+
+        synchronized (this)
+        {
+            for (DatabaseTableElement databaseTableElement : tablesToRetrieve)
+            {
+                String tableGUID = databaseTableElement.getElementHeader().getGUID();
+
+                if ((! columnRetrievals.containsKey(tableGUID)) && (! startedColumnCounts.containsKey(tableGUID)))
+                {
+                    waitingTables.put(tableGUID, databaseTableElement);
+                }
+            }
+
+            startWaitingTables();
+        }
+    }
+
+
+    /**
+     * Start the waiting tables, in the order their pages were returned, while they fit in the column budget.
+     * The first table is always started if nothing else is so a table that is larger than the budget still runs.
+     */
+    private synchronized void startWaitingTables()
+    {
+        Iterator<DatabaseTableElement> waitingTableIterator = waitingTables.values().iterator();
+
+        while (waitingTableIterator.hasNext())
+        {
+            DatabaseTableElement databaseTableElement = waitingTableIterator.next();
+
+            if ((startedColumnCount > 0) && (startedColumnCount + databaseTableElement.getDatabaseColumnCount() > columnBudget))
+            {
+                break;
+            }
+
+            waitingTableIterator.remove();
+            startColumnRetrieval(databaseTableElement);
+        }
+    }
+
+
+    /**
+     * Start retrieving the columns of a table and count them against the column budget.
+     *
+     * @param databaseTableElement table
+     */
+    private synchronized void startColumnRetrieval(DatabaseTableElement databaseTableElement)
+    {
+        String tableGUID   = databaseTableElement.getElementHeader().getGUID();
+        int    columnCount = databaseTableElement.getDatabaseColumnCount();
+
+        columnRetrievals.put(tableGUID, newColumnRetrieval(databaseTableElement));
+        startedColumnCounts.put(tableGUID, columnCount);
+        startedColumnCount = startedColumnCount + columnCount;
+    }
+
+
+    /**
+     * Return the columns of a table from the cache as a retrieval with a single page.
+     *
+     * @param databaseTableElement table
+     * @return paged retrieval of the columns or null if they are not cached
+     */
+    private PagedRetrieval<DatabaseColumnSummary> getCachedColumns(DatabaseTableElement databaseTableElement)
+    {
+        if (columnCache != null)
+        {
+            List<DatabaseColumnSummary> cachedColumns = columnCache.getColumns(databaseTableElement);
+
+            if (cachedColumns != null)
+            {
+                cachedTableCount.incrementAndGet();
+
+                return new PagedRetrieval<>(cachedColumns);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Create the retrieval of the columns of a database table.  The table's column count means the pages of a
+     * wide table can be requested in parallel.
+     *
+     * @param databaseTableElement table
+     * @return paged retrieval of the columns
+     */
+    private PagedRetrieval<DatabaseColumnSummary> newColumnRetrieval(DatabaseTableElement databaseTableElement)
+    {
+        String tableGUID = databaseTableElement.getElementHeader().getGUID();
+
+        return new PagedRetrieval<>(executor,
+                                    countFailures("getColumnsForDatabaseTable", (startFrom, pageSize) -> summarizeColumns(databaseManagerClient.getColumnsForDatabaseTable(clientUserId, tableGUID, startFrom, pageSize))),
+                                    null,
+                                    pageSize,
+                                    databaseTableElement.getDatabaseColumnCount(),
+                                    WIDE_TABLE_PAGES_AHEAD);
+    }
+
+
+    /**
+     * Keep only the properties of the columns that appear in the report.
+     *
+     * @param databaseColumnElements page of columns from the server
+     * @return page of column summaries or null
+     */
+    private List<DatabaseColumnSummary> summarizeColumns(List<DatabaseColumnElement> databaseColumnElements)
+    {
+        if (databaseColumnElements == null)
+        {
+            return null;
+        }
+
+        List<DatabaseColumnSummary> columns = new ArrayList<>(databaseColumnElements.size());
+
+        for (DatabaseColumnElement databaseColumnElement : databaseColumnElements)
+        {
+            columns.add(new DatabaseColumnSummary(databaseColumnElement));
+        }
+
+        return columns;
+    }
+
+
+    /**
+     * Return the number of calls to the server that failed.
+     *
+     * @return count
+     */
+    int getFailedCallCount()
+    {
+        return failedCallCount.get();
+    }
+
+
+    /**
+     * Add the counting of failed calls to a page retriever, and the timing of each call if there is a call recorder.
+     *
+     * @param methodName name of the DatabaseManagerClient method that the page retriever calls
+     * @param pageRetriever calls the server for a page
+     * @param <T> type of the retrieved elements
+     * @return page retriever that counts its failures
+     */
+    private <T> PagedRetrieval.PageRetriever<T> countFailures(String                          methodName,
+                                                              PagedRetrieval.PageRetriever<T> pageRetriever)
+    {
+        return (startFrom, pageSize) ->
+        {
+            try
+            {
+                if (callRecorder != null)
+                {
+                    return callRecorder.recordCall("DatabaseManagerClient." + methodName, () -> pageRetriever.getPage(startFrom, pageSize));
+                }
+
+                return pageRetriever.getPage(startFrom, pageSize);
+            }
+            catch (Exception error)
+            {
+                failedCallCount.incrementAndGet();
+                throw error;
+            }
+        };
+    }
+
+
+    /**
+     * Stop any retrievals that are still queued or running - for example if the report failed part way through.
+     */
+    @Override
+    public void close()
+    {
+        executor.shutdownNow();
+    }
+}
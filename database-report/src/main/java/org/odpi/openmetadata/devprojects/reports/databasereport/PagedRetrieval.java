@@ -0,0 +1,261 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+
+/**
+ * PagedRetrieval steps through the elements returned by a paged request to the Data Manager OMAS, one page at a
+ * time.  The first page is requested when the retrieval is created and each following page is requested as soon as
+ * the report takes the one before it, so the next page is being retrieved while the current one is written to the
+ * report.  Only one page is requested ahead, so a very wide table is never held in memory all at once.
+ * <br><br>
+ * When the number of elements is known in advance (for example the column count of a table), up to pagesAhead
+ * pages are requested at the same time so a large result is retrieved in parallel.  The pages are still returned
+ * in order.  If the count turns out to be too small, the retrieval carries on a page at a time.
+ * <br><br>
+ * A page size of 0 would ask the server for everything, which the server silently cuts off at its maxPageSize,
+ * so at least one element is always requested and the retrieval continues until a page comes back empty or
+ * shorter than the page size.  The server rejects a page size larger than its maxPageSize.
+ * <br><br>
+ * The pages are requested on the traversal's executor.  A PagedRetrieval must only be read by one thread.
+ *
+ * @param <T> type of the retrieved elements
+ */
+class PagedRetrieval<T>
+{
+    /**
+     * Retrieves one page of elements from the server.
+     *
+     * @param <T> type of the retrieved elements
+     */
+    @FunctionalInterface
+    interface PageRetriever<T>
+    {
+        /**
+         * Retrieve a page of elements.
+         *
+         * @param startFrom index of the first element to return
+         * @param pageSize maximum number of elements to return
+         * @return list of elements or null
+         * @throws Exception problem calling the server
+         */
+        List<T> getPage(int startFrom, int pageSize) throws Exception;
+    }
+
+
+    private final ExecutorService     executor;
+    private final PageRetriever<T>    pageRetriever;
+    private final Consumer<List<T>>   pageListener;
+    private final int                 pageSize;
+    private final int                 expectedElementCount;
+    private final int                 pagesAhead;
+
+    private final Deque<Future<List<T>>> pageRetrievals = new ArrayDeque<>();
+
+    private int     nextStartFrom = 0;
+    private boolean morePages     = true;
+
+
+    /**
+     * Request the first page of a result of unknown size.
+     *
+     * @param executor executor that runs the requests
+     * @param pageRetriever calls the server for a page
+     * @param pageListener called (on the executor) with each page as soon as it is returned, for example to start
+     *                     retrieving the children of the elements
+     * @param pageSize number of elements to request in each call
+     */
+    PagedRetrieval(ExecutorService     executor,
+                   PageRetriever<T>    pageRetriever,
+                   Consumer<List<T>>   pageListener,
+                   int                 pageSize)
+    {
+        this(executor, pageRetriever, pageListener, pageSize, 0, 1);
+    }
+
+
+    /**
+     * Request the first pages of a result whose size is expected to be known.
+     *
+     * @param executor executor that runs the requests
+     * @param pageRetriever calls the server for a page
+     * @param pageListener called (on the executor) with each page as soon as it is returned (or null)
+     * @param pageSize number of elements to request in each call
+     * @param expectedElementCount number of elements expected (0 if not known)
+     * @param pagesAhead maximum number of pages requested at the same time for the expected elements
+     */
+    PagedRetrieval(ExecutorService     executor,
+                   PageRetriever<T>    pageRetriever,
+                   Consumer<List<T>>   pageListener,
+                   int                 pageSize,
+                   int                 expectedElementCount,
+                   int                 pagesAhead)
+    {
+        this.executor             = executor;
+        this.pageRetriever        = pageRetriever;
+        this.pageListener         = pageListener;
+        this.pageSize             = Math.max(pageSize, 1);
+        this.expectedElementCount = expectedElementCount;
+        this.pagesAhead           = Math.max(pagesAhead, 1);
+
+        requestPages();
+    }
+
+
+    /**
+     * Return elements that are already available (for example from a cache) as a single page.
+     *
+     * @param elements elements to return
+     */
+    PagedRetrieval(List<T> elements)
+    {
+        this.executor             = null;
+        this.pageRetriever        = null;
+        this.pageListener         = null;
+        this.pageSize             = 1;
+        this.expectedElementCount = 0;
+        this.pagesAhead           = 1;
+        this.morePages            = false;
+
+        pageRetrievals.add(CompletableFuture.completedFuture(elements));
+    }
+
+
+    /**
+     * Return the next page of elements, waiting for it to be retrieved if necessary, and request the pages after it.
+     *
+     * @return list of elements or null if there are no more
+     * @throws Exception problem retrieving the page
+     */
+    List<T> getNextPage() throws Exception
+    {
+        Future<List<T>> pageRetrieval = pageRetrievals.poll();
+
+        if (pageRetrieval == null)
+        {
+            return null;
+        }
+
+        List<T> page;
+
+        try
+        {
+            page = waitForRetrieval(pageRetrieval);
+        }
+        catch (Exception error)
+        {
+            cancelPages();
+            throw error;
+        }
+
+        if ((page == null) || (page.isEmpty()))
+        {
+            cancelPages();
+
+            return null;
+        }
+
+        if (page.size() < pageSize)
+        {
+            /*
+             * The last page - any pages requested after it will be empty.
+             */
+            cancelPages();
+        }
+        else
+        {
+            requestPages();
+        }
+
+        return page;
+    }
+
+
+    /**
+     * Request pages until pagesAhead pages are outstanding or all the expected elements are requested.  Beyond
+     * the expected elements (or if there is no expected count), a page is only requested once the page before it
+     * has been returned full.
+     */
+    private void requestPages()
+    {
+        while ((morePages) && (pageRetrievals.size() < pagesAhead) && ((nextStartFrom < expectedElementCount) || (pageRetrievals.isEmpty())))
+        {
+            pageRetrievals.add(submitPageRetrieval(nextStartFrom));
+            nextStartFrom = nextStartFrom + pageSize;
+        }
+    }
+
+
+    /**
+     * Stop requesting pages and cancel those still waiting to run.
+     */
+    private void cancelPages()
+    {
+        morePages = false;
+
+        for (Future<List<T>> pageRetrieval : pageRetrievals)
+        {
+            pageRetrieval.cancel(false);
+        }
+
+        pageRetrievals.clear();
+    }
+
+
+    /**
+     * Queue the request for a page.
+     *
+     * @param pageStartFrom index of the first element of the page
+     * @return future for the page
+     */
+    private Future<List<T>> submitPageRetrieval(int pageStartFrom)
+    {
+        return executor.submit(() ->
+        {
+            List<T> page = pageRetriever.getPage(pageStartFrom, pageSize);
+
+            if ((page != null) && (pageListener != null))
+            {
+                pageListener.accept(page);
+            }
+
+            return page;
+        });
+    }
+
+
+    /**
+     * Wait for a page to be retrieved.  The exception from a failed retrieval is thrown as it is so the report
+     * describes it in the same way as an exception from a direct call.
+     *
+     * @param retrieval future for the page
+     * @return retrieved page
+     * @throws Exception problem retrieving the page or the wait was interrupted
+     */
+    private List<T> waitForRetrieval(Future<List<T>> retrieval) throws Exception
+    {
+        try
+        {
+            return retrieval.get();
+        }
+        catch (ExecutionException error)
+        {
+            if (error.getCause() instanceof Exception)
+            {
+                throw (Exception) error.getCause();
+            }
+
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+
+import org.odpi.openmetadata.accessservices.datamanager.client.DatabaseManagerClient;
+import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseElement;
+import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseSchemaElement;
+import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseTableElement;
+import org.odpi.openmetadata.devprojects.reports.EgeriaReport;
+import org.odpi.openmetadata.devprojects.reports.RemoteCallRecorder;
+import org.odpi.openmetadata.devprojects.reports.ReportExecutors;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * SampleCatalogVerifier reads back each database created by a SampleDatabaseGenerator as soon as the generator
+ * has finished writing it, and checks that the server returns the number of schemas, tables and columns that were
+ * created and that no two of the database's elements share a qualified name.  Several databases are read back at
+ * the same time, each using a DatabaseTraversal, so the read path of the server is tested as well as the write path.
+ * <br><br>
+ * Every read call is timed, along with the write-to-read latency of each database: the time from the completion of
+ * its last write to the end of its read back.  If the verification falls behind the generator, this includes the
+ * time the database waited to be read.
+ */
+class SampleCatalogVerifier implements SampleDatabaseGenerator.CreatedDatabaseListener, AutoCloseable
+{
+    private static final String WRITE_TO_READ = "SampleCatalogVerifier.writeToRead";
+
+    private final DatabaseManagerClient databaseManagerClient;
+    private final String                clientUserId;
+    private final int                   maxConcurrentCalls;
+    private final int                   pageSize;
+    private final ExecutorService       executor;
+    private final RemoteCallRecorder    callRecorder = new RemoteCallRecorder();
+    private final List<Future<?>>       verifications = new ArrayList<>();
+
+    private final AtomicLong createdDatabaseCount    = new AtomicLong(0);
+    private final AtomicLong createdSchemaCount      = new AtomicLong(0);
+    private final AtomicLong createdTableCount       = new AtomicLong(0);
+    private final AtomicLong createdColumnCount      = new AtomicLong(0);
+    private final AtomicLong readDatabaseCount       = new AtomicLong(0);
+    private final AtomicLong readSchemaCount         = new AtomicLong(0);
+    private final AtomicLong readTableCount          = new AtomicLong(0);
+    private final AtomicLong readColumnCount         = new AtomicLong(0);
+    private final AtomicLong mismatchedDatabaseCount = new AtomicLong(0);
+    private final AtomicLong duplicateNameCount      = new AtomicLong(0);
+
+
+    /**
+     * Create the executor for the verification of the databases.
+     *
+     * @param databaseManagerClient client for the Data Manager OMAS
+     * @param clientUserId userId to access the server
+     * @param maxConcurrentCalls maximum number of calls that read back a database at the same time
+     * @param pageSize number of elements requested in each call
+     * @param maxConcurrentDatabases maximum number of databases read back at the same time
+     */
+    SampleCatalogVerifier(DatabaseManagerClient databaseManagerClient,
+                          String                clientUserId,
+                          int                   maxConcurrentCalls,
+                          int                   pageSize,
+                          int                   maxConcurrentDatabases)
+    {
+        this.databaseManagerClient = databaseManagerClient;
+        this.clientUserId          = clientUserId;
+        this.maxConcurrentCalls    = maxConcurrentCalls;
+        this.pageSize              = pageSize;
+        this.executor              = ReportExecutors.newBoundedExecutor("SampleCatalogVerifier-", maxConcurrentDatabases);
+    }
+
+
+    /**
+     * Queue the read back of a database that the generator has finished writing.
+     *
+     * @param databaseGUID unique identifier of the database
+     * @param databaseName name of the database
+     * @param withSchemas are the tables organized in schemas?
+     * @param tableColumnCounts number of columns of each table, for each schema (or for the database)
+     */
+    @Override
+    public void databaseCreated(String  databaseGUID,
+                                String  databaseName,
+                                boolean withSchemas,
+                                int[][] tableColumnCounts)
+    {
+        long writeCompletedTime = System.nanoTime();
+        long schemaCount        = 0;
+        long tableCount         = 0;
+        long columnCount        = 0;
+
+        for (int[] parentTableColumnCounts : tableColumnCounts)
+        {
+            if (withSchemas)
+            {
+                schemaCount++;
+            }
+
+            for (int tableColumnCount : parentTableColumnCounts)
+            {
+                tableCount++;
+                columnCount = columnCount + tableColumnCount;
+            }
+        }
+
+        createdDatabaseCount.incrementAndGet();
+        createdSchemaCount.addAndGet(schemaCount);
+        createdTableCount.addAndGet(tableCount);
+        createdColumnCount.addAndGet(columnCount);
+
+        final long expectedSchemaCount = schemaCount;
+        final long expectedTableCount  = tableCount;
+        final long expectedColumnCount = columnCount;
+
+        synchronized (verifications)
+        {
+            verifications.add(executor.submit(() -> verifyDatabase(databaseGUID,
+                                                                   databaseName,
+                                                                   expectedSchemaCount,
+                                                                   expectedTableCount,
+                                                                   expectedColumnCount,
+                                                                   writeCompletedTime)));
+        }
+    }
+
+
+    /**
+     * Read back a database and compare it with what was created.
+     *
+     * @param databaseGUID unique identifier of the database
+     * @param databaseName name of the database
+     * @param expectedSchemaCount number of schemas created
+     * @param expectedTableCount number of tables created
+     * @param expectedColumnCount number of columns created
+     * @param writeCompletedTime time (System.nanoTime()) that the last write of the database completed
+     */
+    private void verifyDatabase(String databaseGUID,
+                                String databaseName,
+                                long   expectedSchemaCount,
+                                long   expectedTableCount,
+                                long   expectedColumnCount,
+                                long   writeCompletedTime)
+    {
+        Set<String> qualifiedNames = new HashSet<>();
+        long        schemaCount    = 0;
+        long        tableCount     = 0;
+        long        columnCount    = 0;
+        long        duplicateCount = 0;
+        boolean     verified       = false;
+
+        try (DatabaseTraversal traversal = new DatabaseTraversal(databaseManagerClient, clientUserId, maxConcurrentCalls, pageSize, null, callRecorder))
+        {
+            traversal.startDatabase(databaseGUID);
+
+            DatabaseElement databaseElement = callRecorder.recordCall("DatabaseManagerClient.getDatabaseByGUID",
+                                                                      () -> databaseManagerClient.getDatabaseByGUID(clientUserId, databaseGUID));
+
+            readDatabaseCount.incrementAndGet();
+
+            /*
+             * The tables may be organized in schemas or directly listed under the database.
+             */
+            List<String> parentGUIDs = new ArrayList<>();
+
+            parentGUIDs.add(databaseGUID);
+
+            PagedRetrieval<DatabaseSchemaElement> schemaRetrieval = traversal.getSchemasForDatabase(databaseGUID);
+
+            for (List<DatabaseSchemaElement> schemaPage = schemaRetrieval.getNextPage(); schemaPage != null; schemaPage = schemaRetrieval.getNextPage())
+            {
+                for (DatabaseSchemaElement databaseSchemaElement : schemaPage)
+                {
+                    schemaCount++;
+                    parentGUIDs.add(databaseSchemaElement.getElementHeader().getGUID());
+
+                    if (! qualifiedNames.add(databaseSchemaElement.getDatabaseSchemaProperties().getQualifiedName()))
+                    {
+                        duplicateCount++;
+                    }
+                }
+            }
+
+            for (String parentGUID : parentGUIDs)
+            {
+                PagedRetrieval<DatabaseTableElement> tableRetrieval = traversal.getTablesForDatabaseAsset(parentGUID);
+
+                for (List<DatabaseTableElement> tablePage = tableRetrieval.getNextPage(); tablePage != null; tablePage = tableRetrieval.getNextPage())
+                {
+                    for (DatabaseTableElement databaseTableElement : tablePage)
+                    {
+                        tableCount++;
+
+                        if (! qualifiedNames.add(databaseTableElement.getDatabaseTableProperties().getQualifiedName()))
+                        {
+                            duplicateCount++;
+                        }
+
+                        if (databaseTableElement.getDatabaseColumnCount() > 0)
+                        {
+                            PagedRetrieval<DatabaseColumnSummary> columnRetrieval = traversal.getColumnsForDatabaseTable(databaseTableElement);
+
+                            for (List<DatabaseColumnSummary> columnPage = columnRetrieval.getNextPage(); columnPage != null; columnPage = columnRetrieval.getNextPage())
+                            {
+                                for (DatabaseColumnSummary column : columnPage)
+                                {
+                                    columnCount++;
+
+                                    if (! qualifiedNames.add(column.getQualifiedName()))
+                                    {
+                                        duplicateCount++;
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+
+            if ((schemaCount == expectedSchemaCount) && (tableCount == expectedTableCount) && (columnCount == expectedColumnCount) && (duplicateCount == 0))
+            {
+                verified = true;
+            }
+            else
+            {
+                System.out.println("Database " + databaseElement.getDatabaseProperties().getQualifiedName() + " was created with " +
+                                           expectedSchemaCount + " schemas, " + expectedTableCount + " tables and " + expectedColumnCount + " columns but has " +
+                                           schemaCount + " schemas, " + tableCount + " tables and " + columnCount + " columns, and " +
+                                           duplicateCount + " duplicate qualified names");
+            }
+        }
+        catch (Exception error)
+        {
+            System.out.println("There was a " + error.getClass().getName() + " exception when reading back sample database " + databaseName + ".  Error message is: " + error.getMessage());
+        }
+
+        readSchemaCount.addAndGet(schemaCount);
+        readTableCount.addAndGet(tableCount);
+        readColumnCount.addAndGet(columnCount);
+        duplicateNameCount.addAndGet(duplicateCount);
+
+        if (! verified)
+        {
+            mismatchedDatabaseCount.incrementAndGet();
+        }
+
+        callRecorder.recordCall(WRITE_TO_READ, System.nanoTime() - writeCompletedTime, ! verified);
+    }
+
+
+    /**
+     * Wait for every database passed to the verifier so far to be read back.
+     *
+     * @return true if every database matched what was created
+     * @throws InterruptedException the wait was interrupted
+     */
+    boolean waitForVerifications() throws InterruptedException
+    {
+        List<Future<?>> pendingVerifications;
+
+        synchronized (verifications)
+        {
+            pendingVerifications = new ArrayList<>(verifications);
+        }
+
+        for (Future<?> verification : pendingVerifications)
+        {
+            try
+            {
+                verification.get();
+            }
+            catch (ExecutionException error)
+            {
+                mismatchedDatabaseCount.incrementAndGet();
+            }
+        }
+
+        return mismatchedDatabaseCount.get() == 0;
+    }
+
+
+    /**
+     * Output the number of elements created and read back, followed by the latency of the read calls and the
+     * write-to-read latency of the databases.
+     *
+     * @param report report to write to
+     * @param indentLevel amount of white space to add before the content
+     * @throws IOException problem writing to the report
+     */
+    void printVerification(EgeriaReport report,
+                           int          indentLevel) throws IOException
+    {
+        report.printReportSubheading(indentLevel, "Read back");
+
+        report.startTable(indentLevel, List.of("Element", "Created", "Read back"));
+        report.printTableRow("Databases", Long.toString(createdDatabaseCount.get()), Long.toString(readDatabaseCount.get()));
+        report.printTableRow("Schemas", Long.toString(createdSchemaCount.get()), Long.toString(readSchemaCount.get()));
+        report.printTableRow("Tables", Long.toString(createdTableCount.get()), Long.toString(readTableCount.get()));
+        report.printTableRow("Columns", Long.toString(createdColumnCount.get()), Long.toString(readColumnCount.get()));
+        report.endTable();
+
+        report.printReportLine(indentLevel, "Databases that did not match", Long.toString(mismatchedDatabaseCount.get()));
+        report.printReportLine(indentLevel, "Duplicate qualified names", Long.toString(duplicateNameCount.get()));
+
+        RemoteCallRecorder.printStatistics(report, indentLevel, callRecorder.getStatistics());
+    }
+
+
+    /**
+     * Stop any verifications that are still queued - for example if the caller was interrupted.
+     */
+    @Override
+    public void close()
+    {
+        executor.shutdownNow();
+    }
+}
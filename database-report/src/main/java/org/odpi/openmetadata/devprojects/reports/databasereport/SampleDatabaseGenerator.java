@@ -0,0 +1,577 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+
+import org.odpi.openmetadata.accessservices.datamanager.client.DatabaseManagerClient;
+import org.odpi.openmetadata.accessservices.datamanager.properties.DatabaseColumnProperties;
+import org.odpi.openmetadata.accessservices.datamanager.properties.DatabaseProperties;
+import org.odpi.openmetadata.accessservices.datamanager.properties.DatabaseSchemaProperties;
+import org.odpi.openmetadata.accessservices.datamanager.properties.DatabaseTableProperties;
+import org.odpi.openmetadata.devprojects.reports.EgeriaReport;
+import org.odpi.openmetadata.devprojects.reports.RemoteCallRecorder;
+import org.odpi.openmetadata.devprojects.reports.RemoteCallStatistics;
+import org.odpi.openmetadata.devprojects.reports.ReportExecutors;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * SampleDatabaseGenerator creates sample databases through the Data Manager OMAS so there is a catalog to report on
+ * and to load-test the metadata server with.  Each create call is queued as soon as the element it belongs to exists,
+ * so the schemas, tables and columns of all of the requested databases are created concurrently.  At most
+ * maxConcurrentCalls calls run at the same time and, if maxCallsPerSecond is set, the calls are spaced out so they
+ * do not start faster than that rate.  At most maxDatabasesInProgress databases are queued at a time - creating
+ * another waits for one to finish - so the calls queued for a very large catalog are not all held in memory.
+ * <br><br>
+ * The names of the elements depend only on the parameters of each database (not on the order that the calls
+ * complete) so the same catalog is created on every run.  The qualified name of each schema, table and column is
+ * built from the names of the elements above it so no two elements share a qualified name.  Every call is timed so
+ * that, once the databases are created, the generator can report the throughput and latency of each type of call -
+ * the write path of the metadata server.  A CreatedDatabaseListener may be passed each database as soon as it is
+ * created.
+ */
+class SampleDatabaseGenerator implements AutoCloseable
+{
+    private static final String CLIENT_NAME      = "DatabaseManagerClient.";
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final DatabaseManagerClient   databaseManagerClient;
+    private final String                  clientUserId;
+    private final String                  databaseManagerGUID;
+    private final String                  databaseManagerName;
+    private final ExecutorService         executor;
+    private final long                    callIntervalNanos;
+    private final RemoteCallRecorder      callRecorder = new RemoteCallRecorder();
+    private final long                    startTime    = System.nanoTime();
+    private final Semaphore               databasesInProgress;
+    private final CreatedDatabaseListener createdDatabaseListener;
+
+    private final List<CompletableFuture<Boolean>> databaseCreations = new ArrayList<>();
+
+    /**
+     * CreatedDatabaseListener is called as each database, with all of its schemas, tables and columns, is created.
+     * It is called on one of the generator's threads so it should queue any long-running work.
+     */
+    @FunctionalInterface
+    interface CreatedDatabaseListener
+    {
+        /**
+         * A database has been created.
+         *
+         * @param databaseGUID unique identifier of the database
+         * @param databaseName name of the database
+         * @param withSchemas are the tables organized in schemas?
+         * @param tableColumnCounts number of columns of each table, for each schema (or for the database)
+         */
+        void databaseCreated(String  databaseGUID,
+                             String  databaseName,
+                             boolean withSchemas,
+                             int[][] tableColumnCounts);
+    }
+
+
+    /*
+     * The time that the next call may start if there is a rate limit.  Guarded by synchronizing on the generator.
+     */
+    private long nextCallTime;
+
+
+    /**
+     * Create the executor for the calls.
+     *
+     * @param databaseManagerClient client for the Data Manager OMAS
+     * @param clientUserId userId to access the server
+     * @param databaseManagerGUID unique identifier of the database manager that owns the databases
+     * @param databaseManagerName unique name of the database manager that owns the databases
+     * @param maxConcurrentCalls maximum number of create calls that run at the same time
+     * @param maxCallsPerSecond maximum number of create calls started each second (0 for no limit)
+     * @param maxDatabasesInProgress maximum number of databases being created at the same time
+     * @param createdDatabaseListener listener to pass each created database to (or null)
+     */
+    SampleDatabaseGenerator(DatabaseManagerClient   databaseManagerClient,
+                            String                  clientUserId,
+                            String                  databaseManagerGUID,
+                            String                  databaseManagerName,
+                            int                     maxConcurrentCalls,
+                            int                     maxCallsPerSecond,
+                            int                     maxDatabasesInProgress,
+                            CreatedDatabaseListener createdDatabaseListener)
+    {
+        this.databaseManagerClient   = databaseManagerClient;
+        this.clientUserId            = clientUserId;
+        this.databaseManagerGUID     = databaseManagerGUID;
+        this.databaseManagerName     = databaseManagerName;
+        this.executor                = ReportExecutors.newBoundedExecutor("SampleDatabaseGenerator-", maxConcurrentCalls);
+        this.databasesInProgress     = new Semaphore(Math.max(maxDatabasesInProgress, 1));
+        this.nextCallTime            = startTime;
+        this.createdDatabaseListener = createdDatabaseListener;
+
+        if (maxCallsPerSecond > 0)
+        {
+            this.callIntervalNanos = (long) (NANOS_PER_SECOND / maxCallsPerSecond);
+        }
+        else
+        {
+            this.callIntervalNanos = 0;
+        }
+    }
+
+
+    /**
+     * Queue the creation of a sample database where every table has the same number of columns.  The method
+     * returns once the database is queued - use waitForDatabases() to wait for the database to be created.
+     *
+     * @param databaseName name of database
+     * @param numberOfSchemas number of database schemas to create
+     * @param numberOfTables number of tables to create in each database or schema
+     * @param numberOfColumns number of columns for each table
+     * @param useSchemaType should the tables be connected to schema type or directly to asset?
+     * @throws InterruptedException interrupted while waiting for room to queue the database
+     */
+    void createDatabase(String  databaseName,
+                        int     numberOfSchemas,
+                        int     numberOfTables,
+                        int     numberOfColumns,
+                        boolean useSchemaType) throws InterruptedException
+    {
+        int[][] tableColumnCounts = new int[Math.max(numberOfSchemas, 1)][Math.max(numberOfTables, 0)];
+
+        for (int[] parentTableColumnCounts : tableColumnCounts)
+        {
+            Arrays.fill(parentTableColumnCounts, numberOfColumns);
+        }
+
+        createDatabase(databaseName, numberOfSchemas > 0, tableColumnCounts, useSchemaType);
+    }
+
+
+    /**
+     * Queue the creation of a sample database.  The method returns once the database is queued - use
+     * waitForDatabases() to wait for the database to be created.
+     *
+     * @param databaseName name of database
+     * @param withSchemas should the tables be organized in schemas or created directly under the database?
+     * @param tableColumnCounts number of columns of each table, for each schema (or a single entry for the
+     *                          tables of a database without schemas)
+     * @param useSchemaType should the tables be connected to schema type or directly to asset?
+     * @throws InterruptedException interrupted while waiting for room to queue the database
+     */
+    void createDatabase(String  databaseName,
+                        boolean withSchemas,
+                        int[][] tableColumnCounts,
+                        boolean useSchemaType) throws InterruptedException
+    {
+        databasesInProgress.acquire();
+
+        final long databaseStartTime = System.nanoTime();
+
+        DatabaseProperties databaseProperties = new DatabaseProperties();
+
+        databaseProperties.setQualifiedName(databaseManagerName + ":Database:" + databaseName);
+
+        CompletableFuture<Boolean> databaseCreation =
+                queueCall("createDatabase",
+                          () -> databaseManagerClient.createDatabase(clientUserId, databaseManagerGUID, databaseManagerName, databaseProperties))
+                .thenCompose(databaseGUID -> queueCall("publishDatabase",
+                                                       () -> { databaseManagerClient.publishDatabase(clientUserId, databaseGUID); return databaseGUID; }))
+                .thenCompose(databaseGUID ->
+                {
+                    if (withSchemas)
+                    {
+                        List<CompletableFuture<String>> schemaCreations = new ArrayList<>();
+
+                        for (int s=0; s < tableColumnCounts.length; s++)
+                        {
+                            schemaCreations.add(createDatabaseSchema(databaseGUID,
+                                                                     databaseName,
+                                                                     "Schema" + s,
+                                                                     tableColumnCounts[s],
+                                                                     useSchemaType));
+                        }
+
+                        return CompletableFuture.allOf(schemaCreations.toArray(new CompletableFuture<?>[0]))
+                                                .thenApply(schemasCreated -> databaseGUID);
+                    }
+                    else if (tableColumnCounts.length > 0) /* no schemas so tables are created directly under the database */
+                    {
+                        return createDatabaseTables(databaseGUID, databaseName, tableColumnCounts[0], useSchemaType)
+                                .thenApply(tablesCreated -> databaseGUID);
+                    }
+
+                    return CompletableFuture.completedFuture(databaseGUID);
+                })
+                .handle((databaseGUID, error) ->
+                {
+                    databasesInProgress.release();
+
+                    if (error != null)
+                    {
+                        Throwable cause = unwrap(error);
+
+                        System.out.println("There was a " + cause.getClass().getName() + " exception when calling the Data Manager OMAS DatabaseManagerClient when creating sample database " + databaseName + ".  Error message is: " + cause.getMessage());
+
+                        return false;
+                    }
+
+                    System.out.println("Created " + databaseName + " database in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - databaseStartTime) + " milliseconds");
+
+                    if (createdDatabaseListener != null)
+                    {
+                        createdDatabaseListener.databaseCreated(databaseGUID, databaseName, withSchemas, tableColumnCounts);
+                    }
+
+                    return true;
+                });
+
+        databaseCreations.add(databaseCreation);
+    }
+
+
+    /**
+     * Queue the creation of a database schema and its tables.  The schema is published once its tables exist.
+     *
+     * @param databaseGUID unique identifier of the database
+     * @param databaseName name of the database
+     * @param schemaName name of the schema
+     * @param tableColumnCounts number of columns of each table to create in the schema
+     * @param useSchemaType should the tables be connected to schema type or directly to asset?
+     * @return future for the schema's unique identifier
+     */
+    private CompletableFuture<String> createDatabaseSchema(String  databaseGUID,
+                                                           String  databaseName,
+                                                           String  schemaName,
+                                                           int[]   tableColumnCounts,
+                                                           boolean useSchemaType)
+    {
+        DatabaseSchemaProperties databaseSchemaProperties = new DatabaseSchemaProperties();
+
+        String schemaQualifiedName = databaseName + "." + schemaName;
+
+        databaseSchemaProperties.setQualifiedName(schemaQualifiedName);
+        databaseSchemaProperties.setName(schemaName);
+        databaseSchemaProperties.setDescription("Database schema definition called " + schemaName + " with " + tableColumnCounts.length + " tables.");
+
+        return queueCall("createDatabaseSchema",
+                         () -> databaseManagerClient.createDatabaseSchema(clientUserId,
+                                                                          databaseManagerGUID,
+                                                                          databaseManagerName,
+                                                                          databaseGUID,
+                                                                          databaseSchemaProperties))
+                .thenCompose(databaseSchemaGUID -> createDatabaseTables(databaseSchemaGUID, schemaQualifiedName, tableColumnCounts, useSchemaType)
+                .thenCompose(tablesCreated -> queueCall("publishDatabaseSchema",
+                                                        () -> { databaseManagerClient.publishDatabaseSchema(clientUserId, databaseSchemaGUID); return databaseSchemaGUID; })));
+    }
+
+
+    /**
+     * Queue the creation of the tables of a database or database schema.  If a schema type is used, the tables
+     * are created for a new schema type which is attached to the parent once all of the tables exist.
+     *
+     * @param parentGUID unique identifier of parent element
+     * @param parentName unique name of parent element
+     * @param tableColumnCounts number of columns of each table to create
+     * @param useSchemaType should the tables be connected to schema type or directly to asset?
+     * @return future that completes when the tables and their columns are created
+     */
+    private CompletableFuture<Void> createDatabaseTables(String  parentGUID,
+                                                         String  parentName,
+                                                         int[]   tableColumnCounts,
+                                                         boolean useSchemaType)
+    {
+        if (tableColumnCounts.length == 0)
+        {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (useSchemaType)
+        {
+            return queueCall("createDatabaseSchemaType",
+                             () -> databaseManagerClient.createDatabaseSchemaType(clientUserId,
+                                                                                  databaseManagerGUID,
+                                                                                  databaseManagerName,
+                                                                                  "SchemaOf:" + parentName))
+                    .thenCompose(databaseSchemaTypeGUID -> createEachTable(databaseSchemaTypeGUID, parentName, tableColumnCounts, true)
+                    .thenCompose(tablesCreated -> queueCall("attachSchemaTypeToDatabaseAsset",
+                                                            () -> { databaseManagerClient.attachSchemaTypeToDatabaseAsset(clientUserId,
+                                                                                                                          databaseManagerGUID,
+                                                                                                                          databaseManagerName,
+                                                                                                                          parentGUID,
+                                                                                                                          databaseSchemaTypeGUID);
+                                                                    return databaseSchemaTypeGUID; })))
+                    .thenAccept(databaseSchemaTypeGUID -> {});
+        }
+
+        return createEachTable(parentGUID, parentName, tableColumnCounts, false);
+    }
+
+
+    /**
+     * Queue the creation of each table of a parent element, and of each table's columns once the table exists.
+     *
+     * @param parentGUID unique identifier of the database, database schema or schema type
+     * @param parentName unique name of the database or database schema - it starts the names of the tables
+     * @param tableColumnCounts number of columns of each table to create
+     * @param forSchemaType is the parent a schema type?
+     * @return future that completes when the tables and their columns are created
+     */
+    private CompletableFuture<Void> createEachTable(String  parentGUID,
+                                                    String  parentName,
+                                                    int[]   tableColumnCounts,
+                                                    boolean forSchemaType)
+    {
+        List<CompletableFuture<Void>> tableCreations = new ArrayList<>();
+
+        for (int t=0; t < tableColumnCounts.length; t++)
+        {
+            String tableName       = "Table" + t;
+            int    numberOfColumns = tableColumnCounts[t];
+
+            DatabaseTableProperties databaseTableProperties = new DatabaseTableProperties();
+
+            String tableQualifiedName = parentName + "." + tableName;
+
+            databaseTableProperties.setQualifiedName(tableQualifiedName);
+            databaseTableProperties.setDisplayName(tableName);
+            databaseTableProperties.setDescription("Table definition called " + tableName + " with " + numberOfColumns + " columns.");
+
+            CompletableFuture<String> tableCreation;
+
+            if (forSchemaType)
+            {
+                tableCreation = queueCall("createDatabaseTableForSchemaType",
+                                          () -> databaseManagerClient.createDatabaseTableForSchemaType(clientUserId,
+                                                                                                       databaseManagerGUID,
+                                                                                                       databaseManagerName,
+                                                                                                       parentGUID,
+                                                                                                       databaseTableProperties));
+            }
+            else
+            {
+                tableCreation = queueCall("createDatabaseTable",
+                                          () -> databaseManagerClient.createDatabaseTable(clientUserId,
+                                                                                          databaseManagerGUID,
+                                                                                          databaseManagerName,
+                                                                                          parentGUID,
+                                                                                          databaseTableProperties));
+            }
+
+            tableCreations.add(tableCreation.thenCompose(databaseTableGUID -> createColumns(databaseTableGUID, tableQualifiedName, tableName, numberOfColumns)));
+        }
+
+        return CompletableFuture.allOf(tableCreations.toArray(new CompletableFuture<?>[0]));
+    }
+
+
+    /**
+     * Queue the creation of the columns of a table.
+     *
+     * @param databaseTableGUID unique identifier of the table
+     * @param tableQualifiedName unique name of the table - it starts the names of the columns
+     * @param tableName name of the table
+     * @param numberOfColumns number of columns to create
+     * @return future that completes when the columns are created
+     */
+    private CompletableFuture<Void> createColumns(String databaseTableGUID,
+                                                  String tableQualifiedName,
+                                                  String tableName,
+                                                  int    numberOfColumns)
+    {
+        List<CompletableFuture<String>> columnCreations = new ArrayList<>();
+
+        for (int c=0; c < numberOfColumns; c++)
+        {
+            String columnName = "Column" + c;
+
+            DatabaseColumnProperties databaseColumnProperties = new DatabaseColumnProperties();
+
+            databaseColumnProperties.setQualifiedName(tableQualifiedName + "." + columnName);
+            databaseColumnProperties.setDisplayName(columnName);
+            databaseColumnProperties.setDescription("Column definition called " + columnName + " inside " + tableName + " table.");
+            databaseColumnProperties.setDataType("string");
+
+            columnCreations.add(queueCall("createDatabaseColumn",
+                                          () -> databaseManagerClient.createDatabaseColumn(clientUserId,
+                                                                                           databaseManagerGUID,
+                                                                                           databaseManagerName,
+                                                                                           databaseTableGUID,
+                                                                                           databaseColumnProperties)));
+        }
+
+        return CompletableFuture.allOf(columnCreations.toArray(new CompletableFuture<?>[0]));
+    }
+
+
+    /**
+     * Queue a call to the Data Manager OMAS on the executor.  The call waits for its turn under the rate limit
+     * and is timed by the call recorder.
+     *
+     * @param methodName name of the DatabaseManagerClient method
+     * @param remoteCall the call to make
+     * @return future for the result of the call
+     */
+    private CompletableFuture<String> queueCall(String                                 methodName,
+                                                RemoteCallRecorder.RemoteCall<String>  remoteCall)
+    {
+        return CompletableFuture.supplyAsync(() ->
+        {
+            try
+            {
+                waitForRateLimit();
+
+                return callRecorder.recordCall(CLIENT_NAME + methodName, remoteCall);
+            }
+            catch (Exception error)
+            {
+                throw new CompletionException(error);
+            }
+        }, executor);
+    }
+
+
+    /**
+     * Wait until the next call may start under the rate limit.  The start times are handed out a fixed interval
+     * apart so the calls are spread evenly over each second rather than arriving in bursts.
+     *
+     * @throws InterruptedException the generator is being shut down
+     */
+    private void waitForRateLimit() throws InterruptedException
+    {
+        if (callIntervalNanos > 0)
+        {
+            long callTime;
+
+            synchronized (this)
+            {
+                callTime     = Math.max(nextCallTime, System.nanoTime());
+                nextCallTime = callTime + callIntervalNanos;
+            }
+
+            long waitNanos = callTime - System.nanoTime();
+
+            if (waitNanos > 0)
+            {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+    }
+
+
+    /**
+     * Wait for all of the queued databases to be created (or fail).
+     *
+     * @return number of databases that could not be created
+     * @throws InterruptedException the wait was interrupted
+     */
+    int waitForDatabases() throws InterruptedException
+    {
+        int failedDatabaseCount = 0;
+
+        for (CompletableFuture<Boolean> databaseCreation : databaseCreations)
+        {
+            try
+            {
+                if (! databaseCreation.get())
+                {
+                    failedDatabaseCount++;
+                }
+            }
+            catch (ExecutionException error)
+            {
+                failedDatabaseCount++;
+            }
+        }
+
+        return failedDatabaseCount;
+    }
+
+
+    /**
+     * Output a table of the throughput and latency of each type of call made so far.  The throughput is the number
+     * of calls divided by the time since the generator was created.
+     *
+     * @param report report to write to
+     * @param indentLevel amount of white space to add before the table
+     * @throws IOException problem writing to the report
+     */
+    void printStatistics(EgeriaReport report,
+                         int          indentLevel) throws IOException
+    {
+        double elapsedSeconds = (System.nanoTime() - startTime) / NANOS_PER_SECOND;
+
+        List<RemoteCallStatistics> statisticsList = callRecorder.getStatistics();
+
+        report.printReportLine(indentLevel, "Elapsed time (s)", format(elapsedSeconds));
+
+        if (statisticsList.isEmpty())
+        {
+            report.printReportLine(indentLevel, "Remote calls", "None");
+            return;
+        }
+
+        report.startTable(indentLevel, List.of("API", "Calls", "Errors", "Calls/s", "p50 (ms)", "p95 (ms)", "p99 (ms)", "Max (ms)"));
+
+        for (RemoteCallStatistics statistics : statisticsList)
+        {
+            report.printTableRow(statistics.getApiName(),
+                                 Long.toString(statistics.getCallCount()),
+                                 Long.toString(statistics.getErrorCount()),
+                                 format(statistics.getCallCount() / elapsedSeconds),
+                                 format(statistics.getP50Millis()),
+                                 format(statistics.getP95Millis()),
+                                 format(statistics.getP99Millis()),
+                                 format(statistics.getMaxMillis()));
+        }
+
+        report.endTable();
+    }
+
+
+    /**
+     * Format a number for the report.
+     *
+     * @param value value
+     * @return formatted value with one decimal place
+     */
+    private static String format(double value)
+    {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+
+    /**
+     * Return the exception that caused a future to fail.
+     *
+     * @param error exception from the future
+     * @return original exception
+     */
+    private static Throwable unwrap(Throwable error)
+    {
+        if ((error instanceof CompletionException) && (error.getCause() != null))
+        {
+            return error.getCause();
+        }
+
+        return error;
+    }
+
+
+    /**
+     * Stop any calls that are still queued - for example if the caller was interrupted.
+     */
+    @Override
+    public void close()
+    {
+        executor.shutdownNow();
+    }
+}
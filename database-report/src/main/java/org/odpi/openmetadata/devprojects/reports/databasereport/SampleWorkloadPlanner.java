@@ -0,0 +1,298 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * SampleWorkloadPlanner turns a SampleWorkloadProfile into databases and passes them to a SampleDatabaseGenerator.
+ * The databases are planned one at a time, so the plan for a very large catalog is never held in memory, and the
+ * random choices come from the profile's seed so the same profile always produces the same catalog.
+ * <br><br>
+ * Each database, schema, table and column counts as one element towards the profile's target (the schema types are
+ * not counted).  The last database is cut short - fewer schemas, tables or columns - so the catalog has exactly the
+ * target number of elements.
+ */
+class SampleWorkloadPlanner
+{
+    /**
+     * Classpath resource holding the profiles that are used when no profile file is named.
+     */
+    static final String DEFAULT_PROFILES_RESOURCE = "/database-workloads.json";
+
+    private final SampleWorkloadProfile profile;
+    private final Random                random;
+    private final double[]              columnCountDistribution;
+
+    private long databaseCount           = 0;
+    private long schemaTypeDatabaseCount = 0;
+    private long schemaCount             = 0;
+    private long tableCount              = 0;
+    private long columnCount             = 0;
+
+
+    /**
+     * Check the profile and set up the distribution of the column counts.
+     *
+     * @param profile shape and size of the catalog
+     * @throws IllegalArgumentException the profile has values that can not be used
+     */
+    SampleWorkloadPlanner(SampleWorkloadProfile profile)
+    {
+        if ((profile.getTargetElementCount() < 1) ||
+            (profile.getSchemasPerDatabase() < 0) ||
+            (profile.getTablesPerSchema() < 1) ||
+            (profile.getMinColumnsPerTable() < 0) ||
+            (profile.getMaxColumnsPerTable() < profile.getMinColumnsPerTable()) ||
+            (profile.getColumnCountSkew() < 0) ||
+            (profile.getSchemaTypeFraction() < 0) ||
+            (profile.getSchemaTypeFraction() > 1))
+        {
+            throw new IllegalArgumentException("Workload profile " + profile.getName() + " needs a positive targetElementCount and tablesPerSchema, " +
+                                                       "maxColumnsPerTable no smaller than minColumnsPerTable, a columnCountSkew of 0 or more " +
+                                                       "and a schemaTypeFraction between 0 and 1: " + profile);
+        }
+
+        this.profile                 = profile;
+        this.random                  = new Random(profile.getSeed());
+        this.columnCountDistribution = getZipfDistribution(profile.getMaxColumnsPerTable() - profile.getMinColumnsPerTable() + 1,
+                                                           profile.getColumnCountSkew());
+    }
+
+
+    /**
+     * Read the workload profiles from a JSON file, or from the profiles supplied with the report if no file is named.
+     *
+     * @param profileFileName name of the file (or null)
+     * @return list of profiles
+     * @throws IOException the file could not be read or parsed
+     */
+    static List<SampleWorkloadProfile> loadProfiles(String profileFileName) throws IOException
+    {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        if (profileFileName != null)
+        {
+            return Arrays.asList(objectMapper.readValue(new File(profileFileName), SampleWorkloadProfile[].class));
+        }
+
+        try (InputStream profileStream = SampleWorkloadPlanner.class.getResourceAsStream(DEFAULT_PROFILES_RESOURCE))
+        {
+            if (profileStream == null)
+            {
+                throw new IOException("Resource " + DEFAULT_PROFILES_RESOURCE + " is missing");
+            }
+
+            return Arrays.asList(objectMapper.readValue(profileStream, SampleWorkloadProfile[].class));
+        }
+    }
+
+
+    /**
+     * Return the profile with the requested name, or the first profile if no name is requested.
+     *
+     * @param profiles profiles read from the file
+     * @param profileName name of the profile (or null)
+     * @return profile or null if it is not found
+     */
+    static SampleWorkloadProfile getProfile(List<SampleWorkloadProfile> profiles,
+                                            String                      profileName)
+    {
+        for (SampleWorkloadProfile profile : profiles)
+        {
+            if ((profileName == null) || (profileName.equals(profile.getName())))
+            {
+                return profile;
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Plan each database in turn and queue it with the generator until the target number of elements is reached.
+     * The generator blocks this method while it has too many databases in progress.
+     *
+     * @param generator generator that creates the databases
+     * @throws InterruptedException the generator was interrupted while waiting for databases to finish
+     */
+    void createDatabases(SampleDatabaseGenerator generator) throws InterruptedException
+    {
+        long remainingElementCount = profile.getTargetElementCount();
+
+        while (remainingElementCount > 0)
+        {
+            String databaseName = profile.getDatabaseNamePrefix() + String.format("%05d", databaseCount);
+            int    parentCount  = Math.max(profile.getSchemasPerDatabase(), 1);
+
+            remainingElementCount--;
+
+            /*
+             * The random choices are made in the same order whatever the target, so with the same seed a
+             * smaller catalog matches the start of a larger one.
+             */
+            boolean useSchemaType = (random.nextDouble() < profile.getSchemaTypeFraction());
+
+            List<int[]> parentTables = new ArrayList<>();
+
+            for (int p=0; (p < parentCount) && (remainingElementCount > 0); p++)
+            {
+                if (profile.getSchemasPerDatabase() > 0)
+                {
+                    schemaCount++;
+                    remainingElementCount--;
+                }
+
+                List<Integer> tableColumnCounts = new ArrayList<>();
+
+                for (int t=0; (t < profile.getTablesPerSchema()) && (remainingElementCount > 0); t++)
+                {
+                    int tableColumnCount = (int) Math.min(nextColumnCount(), remainingElementCount - 1);
+
+                    tableColumnCounts.add(tableColumnCount);
+                    tableCount++;
+                    columnCount           = columnCount + tableColumnCount;
+                    remainingElementCount = remainingElementCount - 1 - tableColumnCount;
+                }
+
+                parentTables.add(tableColumnCounts.stream().mapToInt(Integer::intValue).toArray());
+            }
+
+            if (useSchemaType)
+            {
+                schemaTypeDatabaseCount++;
+            }
+
+            databaseCount++;
+
+            generator.createDatabase(databaseName,
+                                     profile.getSchemasPerDatabase() > 0,
+                                     parentTables.toArray(new int[0][]),
+                                     useSchemaType);
+        }
+    }
+
+
+    /**
+     * Choose the number of columns for a table from the Zipf distribution.
+     *
+     * @return number of columns
+     */
+    private int nextColumnCount()
+    {
+        int rank = Arrays.binarySearch(columnCountDistribution, random.nextDouble());
+
+        if (rank < 0)
+        {
+            rank = -rank - 1;
+        }
+
+        return profile.getMinColumnsPerTable() + Math.min(rank, columnCountDistribution.length - 1);
+    }
+
+
+    /**
+     * Calculate the cumulative probabilities of a Zipf distribution: the chance of rank k (from 1) is proportional
+     * to 1 / k^exponent.
+     *
+     * @param rankCount number of ranks
+     * @param exponent skew of the distribution (0 for an even spread)
+     * @return cumulative probability of each rank
+     */
+    private static double[] getZipfDistribution(int    rankCount,
+                                                double exponent)
+    {
+        double[] distribution = new double[rankCount];
+        double   total        = 0;
+
+        for (int k=0; k < rankCount; k++)
+        {
+            total           = total + 1.0 / Math.pow(k + 1, exponent);
+            distribution[k] = total;
+        }
+
+        for (int k=0; k < rankCount; k++)
+        {
+            distribution[k] = distribution[k] / total;
+        }
+
+        return distribution;
+    }
+
+
+    /**
+     * Return the profile being planned.
+     *
+     * @return profile
+     */
+    SampleWorkloadProfile getProfile()
+    {
+        return profile;
+    }
+
+
+    /**
+     * Return the number of databases planned so far.
+     *
+     * @return count
+     */
+    long getDatabaseCount()
+    {
+        return databaseCount;
+    }
+
+
+    /**
+     * Return the number of databases planned so far whose tables are attached through schema types.
+     *
+     * @return count
+     */
+    long getSchemaTypeDatabaseCount()
+    {
+        return schemaTypeDatabaseCount;
+    }
+
+
+    /**
+     * Return the number of schemas planned so far.
+     *
+     * @return count
+     */
+    long getSchemaCount()
+    {
+        return schemaCount;
+    }
+
+
+    /**
+     * Return the number of tables planned so far.
+     *
+     * @return count
+     */
+    long getTableCount()
+    {
+        return tableCount;
+    }
+
+
+    /**
+     * Return the number of columns planned so far.
+     *
+     * @return count
+     */
+    long getColumnCount()
+    {
+        return columnCount;
+    }
+}
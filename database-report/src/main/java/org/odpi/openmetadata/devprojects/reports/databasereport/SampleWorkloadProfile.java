@@ -0,0 +1,302 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+
+/**
+ * SampleWorkloadProfile describes the shape and size of a synthetic catalog of databases.  The profiles are read
+ * from a JSON file (an array of profiles) and turned into databases by a SampleWorkloadPlanner.  The same profile
+ * and seed always produce the same catalog.
+ */
+public class SampleWorkloadProfile
+{
+    private String name                 = null;
+    private String description          = null;
+    private long   seed                 = 1;
+    private long   targetElementCount   = 0;
+    private String databaseNamePrefix   = "WorkloadDatabase";
+    private int    schemasPerDatabase   = 0;
+    private int    tablesPerSchema      = 1;
+    private int    minColumnsPerTable   = 1;
+    private int    maxColumnsPerTable   = 1;
+    private double columnCountSkew      = 0;
+    private double schemaTypeFraction   = 0;
+
+
+    /**
+     * Default constructor used when the profile is read from a file.
+     */
+    public SampleWorkloadProfile()
+    {
+    }
+
+
+    /**
+     * Return the name used to select the profile.
+     *
+     * @return name
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Set up the name used to select the profile.
+     *
+     * @param name name
+     */
+    public void setName(String name)
+    {
+        this.name = name;
+    }
+
+
+    /**
+     * Return the description of the profile.
+     *
+     * @return text
+     */
+    public String getDescription()
+    {
+        return description;
+    }
+
+
+    /**
+     * Set up the description of the profile.
+     *
+     * @param description text
+     */
+    public void setDescription(String description)
+    {
+        this.description = description;
+    }
+
+
+    /**
+     * Return the seed for the random choices (the column counts and the use of schema types).
+     *
+     * @return seed
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+
+    /**
+     * Set up the seed for the random choices (the column counts and the use of schema types).
+     *
+     * @param seed seed
+     */
+    public void setSeed(long seed)
+    {
+        this.seed = seed;
+    }
+
+
+    /**
+     * Return the number of databases, schemas, tables and columns to create in total.
+     *
+     * @return count
+     */
+    public long getTargetElementCount()
+    {
+        return targetElementCount;
+    }
+
+
+    /**
+     * Set up the number of databases, schemas, tables and columns to create in total.
+     *
+     * @param targetElementCount count
+     */
+    public void setTargetElementCount(long targetElementCount)
+    {
+        this.targetElementCount = targetElementCount;
+    }
+
+
+    /**
+     * Return the start of the name of each database.  The databases are numbered from 0.
+     *
+     * @return name prefix
+     */
+    public String getDatabaseNamePrefix()
+    {
+        return databaseNamePrefix;
+    }
+
+
+    /**
+     * Set up the start of the name of each database.  The databases are numbered from 0.
+     *
+     * @param databaseNamePrefix name prefix
+     */
+    public void setDatabaseNamePrefix(String databaseNamePrefix)
+    {
+        this.databaseNamePrefix = databaseNamePrefix;
+    }
+
+
+    /**
+     * Return the number of schemas in each database (0 to create the tables directly under the database).
+     *
+     * @return count
+     */
+    public int getSchemasPerDatabase()
+    {
+        return schemasPerDatabase;
+    }
+
+
+    /**
+     * Set up the number of schemas in each database (0 to create the tables directly under the database).
+     *
+     * @param schemasPerDatabase count
+     */
+    public void setSchemasPerDatabase(int schemasPerDatabase)
+    {
+        this.schemasPerDatabase = schemasPerDatabase;
+    }
+
+
+    /**
+     * Return the number of tables in each schema (or database if there are no schemas).
+     *
+     * @return count
+     */
+    public int getTablesPerSchema()
+    {
+        return tablesPerSchema;
+    }
+
+
+    /**
+     * Set up the number of tables in each schema (or database if there are no schemas).
+     *
+     * @param tablesPerSchema count
+     */
+    public void setTablesPerSchema(int tablesPerSchema)
+    {
+        this.tablesPerSchema = tablesPerSchema;
+    }
+
+
+    /**
+     * Return the fewest columns a table may have.
+     *
+     * @return count
+     */
+    public int getMinColumnsPerTable()
+    {
+        return minColumnsPerTable;
+    }
+
+
+    /**
+     * Set up the fewest columns a table may have.
+     *
+     * @param minColumnsPerTable count
+     */
+    public void setMinColumnsPerTable(int minColumnsPerTable)
+    {
+        this.minColumnsPerTable = minColumnsPerTable;
+    }
+
+
+    /**
+     * Return the most columns a table may have.
+     *
+     * @return count
+     */
+    public int getMaxColumnsPerTable()
+    {
+        return maxColumnsPerTable;
+    }
+
+
+    /**
+     * Set up the most columns a table may have.
+     *
+     * @param maxColumnsPerTable count
+     */
+    public void setMaxColumnsPerTable(int maxColumnsPerTable)
+    {
+        this.maxColumnsPerTable = maxColumnsPerTable;
+    }
+
+
+    /**
+     * Return the exponent of the Zipf distribution of the column counts.  0 spreads the column counts evenly
+     * between the minimum and maximum; around 1 most tables are narrow and a few are very wide.
+     *
+     * @return exponent
+     */
+    public double getColumnCountSkew()
+    {
+        return columnCountSkew;
+    }
+
+
+    /**
+     * Set up the exponent of the Zipf distribution of the column counts.  0 spreads the column counts evenly
+     * between the minimum and maximum; around 1 most tables are narrow and a few are very wide.
+     *
+     * @param columnCountSkew exponent
+     */
+    public void setColumnCountSkew(double columnCountSkew)
+    {
+        this.columnCountSkew = columnCountSkew;
+    }
+
+
+    /**
+     * Return the fraction of the databases (between 0 and 1) whose tables are attached through a separate schema
+     * type rather than directly - to their schemas, or to the database itself when there are no schemas.
+     *
+     * @return fraction
+     */
+    public double getSchemaTypeFraction()
+    {
+        return schemaTypeFraction;
+    }
+
+
+    /**
+     * Set up the fraction of the databases (between 0 and 1) whose tables are attached through a separate schema
+     * type rather than directly - to their schemas, or to the database itself when there are no schemas.
+     *
+     * @param schemaTypeFraction fraction
+     */
+    public void setSchemaTypeFraction(double schemaTypeFraction)
+    {
+        this.schemaTypeFraction = schemaTypeFraction;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "SampleWorkloadProfile{" +
+                       "name='" + name + '\'' +
+                       ", description='" + description + '\'' +
+                       ", seed=" + seed +
+                       ", targetElementCount=" + targetElementCount +
+                       ", databaseNamePrefix='" + databaseNamePrefix + '\'' +
+                       ", schemasPerDatabase=" + schemasPerDatabase +
+                       ", tablesPerSchema=" + tablesPerSchema +
+                       ", minColumnsPerTable=" + minColumnsPerTable +
+                       ", maxColumnsPerTable=" + maxColumnsPerTable +
+                       ", columnCountSkew=" + columnCountSkew +
+                       ", schemaTypeFraction=" + schemaTypeFraction +
+                       '}';
+    }
+}
@@ -0,0 +1,99 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that the export checkpoint only counts the databases on complete lines.
+ */
+public class DatabaseExportCheckpointTest
+{
+    /**
+     * Check that the databases recorded by one run are finished for the next run, with the export length of the
+     * last database.
+     *
+     * @throws IOException problem with the checkpoint file
+     */
+    @Test public void testRecordedDatabasesFinished() throws IOException
+    {
+        File checkpointFile = File.createTempFile("database-export-", ".checkpoint");
+
+        try
+        {
+            Files.delete(checkpointFile.toPath());
+
+            try (DatabaseExportCheckpoint checkpoint = new DatabaseExportCheckpoint(checkpointFile.getPath()))
+            {
+                assertFalse(checkpoint.isResuming());
+
+                checkpoint.recordFinished("guid-1", 100);
+                checkpoint.recordFinished("guid-2", 250);
+            }
+
+            try (DatabaseExportCheckpoint checkpoint = new DatabaseExportCheckpoint(checkpointFile.getPath()))
+            {
+                assertTrue(checkpoint.isResuming());
+                assertTrue(checkpoint.isFinished("guid-1"));
+                assertTrue(checkpoint.isFinished("guid-2"));
+                assertFalse(checkpoint.isFinished("guid-3"));
+                assertEquals(checkpoint.getExportLength(), 250);
+
+                checkpoint.delete();
+            }
+
+            assertFalse(checkpointFile.exists());
+        }
+        finally
+        {
+            Files.deleteIfExists(checkpointFile.toPath());
+        }
+    }
+
+
+    /**
+     * Check that a last line that was cut off by a crash is ignored, so that database is exported again and the
+     * export length comes from the last complete line.
+     *
+     * @throws IOException problem with the checkpoint file
+     */
+    @Test public void testCutOffLastLineIgnored() throws IOException
+    {
+        File checkpointFile = File.createTempFile("database-export-", ".checkpoint");
+
+        try
+        {
+            Files.writeString(checkpointFile.toPath(), "guid-1 100\nguid-2 250\nguid-3 4", StandardCharsets.UTF_8);
+
+            try (DatabaseExportCheckpoint checkpoint = new DatabaseExportCheckpoint(checkpointFile.getPath()))
+            {
+                assertTrue(checkpoint.isFinished("guid-1"));
+                assertTrue(checkpoint.isFinished("guid-2"));
+                assertFalse(checkpoint.isFinished("guid-3"));
+                assertEquals(checkpoint.getExportLength(), 250);
+            }
+
+            Files.writeString(checkpointFile.toPath(), "guid-1 1", StandardCharsets.UTF_8);
+
+            try (DatabaseExportCheckpoint checkpoint = new DatabaseExportCheckpoint(checkpointFile.getPath()))
+            {
+                assertFalse(checkpoint.isResuming());
+                assertEquals(checkpoint.getExportLength(), 0);
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(checkpointFile.toPath());
+        }
+    }
+}
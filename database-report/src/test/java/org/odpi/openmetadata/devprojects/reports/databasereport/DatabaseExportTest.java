@@ -0,0 +1,218 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+
+/**
+ * Verify that a combined export carries on correctly after it was stopped part way through.
+ */
+public class DatabaseExportTest
+{
+    private File exportDirectory;
+    private File exportFile;
+    private File checkpointFile;
+
+
+    /**
+     * Create a directory for the export file and its checkpoint.
+     *
+     * @throws IOException problem creating the directory
+     */
+    @BeforeMethod public void setUp() throws IOException
+    {
+        exportDirectory = Files.createTempDirectory("database-export-").toFile();
+        exportFile = new File(exportDirectory, "Database export.jsonl.gz");
+        checkpointFile = new File(exportDirectory, "Database export.jsonl.gz.checkpoint");
+    }
+
+
+    /**
+     * Remove the directory and its files.
+     *
+     * @throws IOException problem deleting the files
+     */
+    @AfterMethod public void tearDown() throws IOException
+    {
+        try (Stream<File> files = Files.walk(exportDirectory.toPath()).sorted(Comparator.reverseOrder()).map(Path::toFile))
+        {
+            files.forEach(File::delete);
+        }
+    }
+
+
+    /**
+     * Write a gzip-compressed part file holding a single JSON line, as a worker does for each database.
+     *
+     * @param jsonLine content of the part file
+     * @return part file
+     * @throws IOException problem writing the file
+     */
+    private File writePartFile(String jsonLine) throws IOException
+    {
+        File partFile = File.createTempFile("database-export-", ".jsonl.gz", exportDirectory);
+
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(partFile)), StandardCharsets.UTF_8))
+        {
+            writer.write(jsonLine + "\n");
+        }
+
+        return partFile;
+    }
+
+
+    /**
+     * Read the lines of the gzip-compressed export file.
+     *
+     * @return lines of the export
+     * @throws IOException problem reading the file
+     */
+    private List<String> readExportFile() throws IOException
+    {
+        List<String> lines = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(exportFile)), StandardCharsets.UTF_8)))
+        {
+            String line = reader.readLine();
+
+            while (line != null)
+            {
+                lines.add(line);
+                line = reader.readLine();
+            }
+        }
+
+        return lines;
+    }
+
+
+    /**
+     * Check that the part files appended to the export are read back as one gzip file, and that the part files
+     * are removed.
+     *
+     * @throws IOException problem with the export file
+     */
+    @Test public void testConcatenatedGzipParts() throws IOException
+    {
+        File firstPart  = writePartFile("{\"database\":\"Database1\"}");
+        File secondPart = writePartFile("{\"database\":\"Database2\"}");
+
+        long firstLength  = DatabaseExport.appendToExportFile(exportFile, firstPart);
+        long secondLength = DatabaseExport.appendToExportFile(exportFile, secondPart);
+
+        assertTrue(firstLength > 0);
+        assertTrue(secondLength > firstLength);
+        assertEquals(exportFile.length(), secondLength);
+        assertFalse(firstPart.exists());
+        assertFalse(secondPart.exists());
+        assertEquals(readExportFile(), List.of("{\"database\":\"Database1\"}", "{\"database\":\"Database2\"}"));
+    }
+
+
+    /**
+     * Check that a database added to the export after the last checkpoint (by a run that then crashed) is removed
+     * when the export carries on, so it is only in the export once after it is added again.
+     *
+     * @throws IOException problem with the export file
+     */
+    @Test public void testExportTruncatedToCheckpoint() throws IOException
+    {
+        try (DatabaseExportCheckpoint checkpoint = new DatabaseExportCheckpoint(checkpointFile.getPath()))
+        {
+            DatabaseExport.prepareExportFile(exportFile, checkpoint);
+
+            long exportLength = DatabaseExport.appendToExportFile(exportFile, writePartFile("{\"database\":\"Database1\"}"));
+
+            checkpoint.recordFinished("guid-1", exportLength);
+
+            /*
+             * The second database is added but the run stops before it is recorded.
+             */
+            DatabaseExport.appendToExportFile(exportFile, writePartFile("{\"database\":\"Database2\"}"));
+        }
+
+        try (DatabaseExportCheckpoint checkpoint = new DatabaseExportCheckpoint(checkpointFile.getPath()))
+        {
+            assertTrue(checkpoint.isFinished("guid-1"));
+            assertFalse(checkpoint.isFinished("guid-2"));
+
+            DatabaseExport.prepareExportFile(exportFile, checkpoint);
+
+            assertEquals(exportFile.length(), checkpoint.getExportLength());
+            assertEquals(readExportFile(), List.of("{\"database\":\"Database1\"}"));
+
+            long exportLength = DatabaseExport.appendToExportFile(exportFile, writePartFile("{\"database\":\"Database2\"}"));
+
+            checkpoint.recordFinished("guid-2", exportLength);
+        }
+
+        assertEquals(readExportFile(), List.of("{\"database\":\"Database1\"}", "{\"database\":\"Database2\"}"));
+    }
+
+
+    /**
+     * Check that an export without a checkpoint starts from an empty export file.
+     *
+     * @throws IOException problem with the export file
+     */
+    @Test public void testExportEmptiedWithoutCheckpoint() throws IOException
+    {
+        DatabaseExport.appendToExportFile(exportFile, writePartFile("{\"database\":\"Database1\"}"));
+
+        try (DatabaseExportCheckpoint checkpoint = new DatabaseExportCheckpoint(checkpointFile.getPath()))
+        {
+            DatabaseExport.prepareExportFile(exportFile, checkpoint);
+        }
+
+        assertEquals(exportFile.length(), 0);
+    }
+
+
+    /**
+     * Check that an export file that is shorter than the checkpoint records is rejected rather than carried on,
+     * and is left as it is.
+     *
+     * @throws IOException problem with the export file
+     */
+    @Test public void testExportShorterThanCheckpoint() throws IOException
+    {
+        long exportLength = DatabaseExport.appendToExportFile(exportFile, writePartFile("{\"database\":\"Database1\"}"));
+
+        Files.writeString(checkpointFile.toPath(), "guid-1 " + (exportLength + 10) + "\n", StandardCharsets.UTF_8);
+
+        try (DatabaseExportCheckpoint checkpoint = new DatabaseExportCheckpoint(checkpointFile.getPath()))
+        {
+            IOException error = expectThrows(IOException.class, () -> DatabaseExport.prepareExportFile(exportFile, checkpoint));
+
+            assertTrue(error.getMessage().contains("is shorter than recorded in checkpoint file"));
+        }
+
+        assertEquals(exportFile.length(), exportLength);
+    }
+}
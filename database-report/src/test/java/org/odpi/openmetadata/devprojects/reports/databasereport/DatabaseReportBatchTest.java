@@ -0,0 +1,176 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+
+/**
+ * Verify that the commands of a batch are read and checked before they run, and that the batch ends with the
+ * most serious exit code of its commands.
+ */
+public class DatabaseReportBatchTest
+{
+    /**
+     * Run a batch, recording each command it runs.
+     *
+     * @param batch batch to run
+     * @param exitCodes exit code returned by each command in turn
+     * @param commandsRun commands in the order they were run
+     * @return exit code of the batch
+     */
+    private DatabaseReportExitCode run(DatabaseReportBatch      batch,
+                                       DatabaseReportExitCode[] exitCodes,
+                                       List<String>             commandsRun)
+    {
+        return batch.run((commandType, argument) ->
+        {
+            commandsRun.add((argument == null) ? commandType.getCommandName() : commandType.getCommandName() + " " + argument);
+
+            return exitCodes[commandsRun.size() - 1];
+        });
+    }
+
+
+    /**
+     * Return the commands run by a batch whose commands all succeed.
+     *
+     * @param batch batch to run
+     * @return commands in the order they were run
+     */
+    private List<String> getCommandsRun(DatabaseReportBatch batch)
+    {
+        List<String> commandsRun = new ArrayList<>();
+
+        run(batch, new DatabaseReportExitCode[]{ DatabaseReportExitCode.SUCCESS,
+                                                 DatabaseReportExitCode.SUCCESS,
+                                                 DatabaseReportExitCode.SUCCESS,
+                                                 DatabaseReportExitCode.SUCCESS }, commandsRun);
+
+        return commandsRun;
+    }
+
+
+    /**
+     * Check that the commands separated by semicolons are run in order, with an argument that contains spaces.
+     *
+     * @throws IOException not expected as there is no command file
+     */
+    @Test public void testCommandsSeparatedBySemicolons() throws IOException
+    {
+        DatabaseReportBatch batch = DatabaseReportBatch.parse(" list ;report-by-name Sales .*  ; ;report-all");
+
+        assertEquals(getCommandsRun(batch), List.of("list", "report-by-name Sales .*", "report-all"));
+    }
+
+
+    /**
+     * Check that a command file is read, ignoring its blank lines and comment lines.
+     *
+     * @throws IOException problem with the command file
+     */
+    @Test public void testCommandFile() throws IOException
+    {
+        File commandFile = File.createTempFile("database-report-", ".txt");
+
+        try
+        {
+            Files.writeString(commandFile.toPath(),
+                              "# Nightly reports\n" +
+                                      "\n" +
+                                      "report guid-1\n" +
+                                      "   \n" +
+                                      "  # Export everything\n" +
+                                      "export\n",
+                              StandardCharsets.UTF_8);
+
+            DatabaseReportBatch batch = DatabaseReportBatch.parse("@" + commandFile.getPath());
+
+            assertEquals(getCommandsRun(batch), List.of("report guid-1", "export"));
+        }
+        finally
+        {
+            Files.deleteIfExists(commandFile.toPath());
+        }
+    }
+
+
+    /**
+     * Check that a command file that does not exist is reported as an IOException.
+     */
+    @Test public void testMissingCommandFile()
+    {
+        expectThrows(IOException.class, () -> DatabaseReportBatch.parse("@no-such-directory/no-such-file.txt"));
+    }
+
+
+    /**
+     * Check that every invalid command is listed in the error, so they can all be fixed at once, and that a batch
+     * of only blank lines and comments is rejected.
+     */
+    @Test public void testInvalidCommandsRejected()
+    {
+        IllegalArgumentException error = expectThrows(IllegalArgumentException.class,
+                                                      () -> DatabaseReportBatch.parse("list;reprot guid-1;report;report-by-name Sales[;list (unclosed"));
+
+        assertTrue(error.getMessage().contains("Unknown command: reprot guid-1"), error.getMessage());
+        assertTrue(error.getMessage().contains("Command report needs an argument"), error.getMessage());
+        assertTrue(error.getMessage().contains("Command report-by-name Sales[ has an invalid regular expression: "), error.getMessage());
+        assertTrue(error.getMessage().contains("Command list (unclosed has an invalid regular expression: "), error.getMessage());
+        assertEquals(error.getMessage().split("; ").length, 4);
+
+        error = expectThrows(IllegalArgumentException.class, () -> DatabaseReportBatch.parse(" ; # nothing to do ;"));
+
+        assertEquals(error.getMessage(), "There are no commands to run");
+    }
+
+
+    /**
+     * Check that a failed command does not stop the batch, and that the batch ends with the most serious exit code
+     * of its commands.
+     *
+     * @throws IOException not expected as there is no command file
+     */
+    @Test public void testMostSeriousExitCode() throws IOException
+    {
+        DatabaseReportBatch batch       = DatabaseReportBatch.parse("report guid-1;report no-such-guid;report guid-2");
+        List<String>        commandsRun = new ArrayList<>();
+
+        DatabaseReportExitCode exitCode = run(batch,
+                                              new DatabaseReportExitCode[]{ DatabaseReportExitCode.INCOMPLETE,
+                                                                            DatabaseReportExitCode.INVALID_COMMAND,
+                                                                            DatabaseReportExitCode.SUCCESS },
+                                              commandsRun);
+
+        assertEquals(commandsRun.size(), 3);
+        assertEquals(exitCode, DatabaseReportExitCode.INVALID_COMMAND);
+
+        commandsRun.clear();
+
+        exitCode = batch.run((commandType, argument) ->
+        {
+            commandsRun.add(argument);
+
+            if ("guid-1".equals(argument))
+            {
+                throw new IllegalStateException("Command failed");
+            }
+
+            return DatabaseReportExitCode.SUCCESS;
+        });
+
+        assertEquals(commandsRun, List.of("guid-1", "no-such-guid", "guid-2"));
+        assertEquals(exitCode, DatabaseReportExitCode.ERROR);
+    }
+}
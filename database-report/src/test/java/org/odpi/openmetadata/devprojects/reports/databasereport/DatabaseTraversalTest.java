@@ -0,0 +1,245 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.accessservices.datamanager.client.DatabaseManagerClient;
+import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseColumnElement;
+import org.odpi.openmetadata.accessservices.datamanager.metadataelements.DatabaseTableElement;
+import org.odpi.openmetadata.accessservices.datamanager.properties.DatabaseColumnProperties;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+
+/**
+ * Verify the planning of the column retrievals in a database traversal.
+ */
+public class DatabaseTraversalTest
+{
+    private static final String DATABASE_GUID    = "database-1";
+    private static final String WIDE_TABLE_GUID  = "table-wide";
+    private static final String SMALL_TABLE_GUID = "table-small";
+
+    private static final int WIDE_TABLE_COLUMNS  = 10;
+    private static final int SMALL_TABLE_COLUMNS = 1;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+
+    /**
+     * Data Manager client that returns a database with a wide table and a small table, and records the column
+     * requests for each table.
+     */
+    private static class FakeDatabaseManagerClient extends DatabaseManagerClient
+    {
+        private final Map<String, AtomicInteger> columnRequests = new ConcurrentHashMap<>();
+
+        FakeDatabaseManagerClient() throws InvalidParameterException
+        {
+            super("fakeServer", "https://localhost:9443");
+        }
+
+        @Override
+        public List<DatabaseTableElement> getTablesForDatabaseAsset(String userId,
+                                                                    String databaseAssetGUID,
+                                                                    int    startFrom,
+                                                                    int    pageSize)
+        {
+            List<DatabaseTableElement> tables = new ArrayList<>();
+
+            if ((DATABASE_GUID.equals(databaseAssetGUID)) && (startFrom == 0))
+            {
+                tables.add(newTable(WIDE_TABLE_GUID, WIDE_TABLE_COLUMNS));
+                tables.add(newTable(SMALL_TABLE_GUID, SMALL_TABLE_COLUMNS));
+            }
+
+            return tables;
+        }
+
+        @Override
+        public List<DatabaseColumnElement> getColumnsForDatabaseTable(String userId,
+                                                                      String databaseTableGUID,
+                                                                      int    startFrom,
+                                                                      int    pageSize)
+        {
+            columnRequests.computeIfAbsent(databaseTableGUID, tableGUID -> new AtomicInteger(0)).incrementAndGet();
+
+            int columnCount = (WIDE_TABLE_GUID.equals(databaseTableGUID) ? WIDE_TABLE_COLUMNS : SMALL_TABLE_COLUMNS);
+
+            List<DatabaseColumnElement> columns = new ArrayList<>();
+
+            for (int column = startFrom; (column < startFrom + pageSize) && (column < columnCount); column++)
+            {
+                columns.add(newColumn(databaseTableGUID + "." + column));
+            }
+
+            return columns;
+        }
+
+        /**
+         * Return the number of column requests made for a table.
+         *
+         * @param tableGUID unique identifier of the table
+         * @return count
+         */
+        int getColumnRequestCount(String tableGUID)
+        {
+            AtomicInteger count = columnRequests.get(tableGUID);
+
+            return (count == null ? 0 : count.get());
+        }
+    }
+
+
+    /**
+     * Create an element from its JSON form so the test does not depend on the package of the element header.
+     *
+     * @param guid unique identifier of the element
+     * @param elementClass class of the element
+     * @param <T> type of the element
+     * @return element
+     */
+    private static <T> T newElement(String   guid,
+                                    Class<T> elementClass)
+    {
+        try
+        {
+            return objectMapper.readValue("{\"elementHeader\":{\"class\":\"ElementHeader\",\"guid\":\"" + guid + "\"}}", elementClass);
+        }
+        catch (IOException error)
+        {
+            throw new IllegalStateException(error);
+        }
+    }
+
+
+    /**
+     * Create a table element.
+     *
+     * @param guid unique identifier of the table
+     * @param columnCount number of columns in the table
+     * @return table element
+     */
+    private static DatabaseTableElement newTable(String guid,
+                                                 int    columnCount)
+    {
+        DatabaseTableElement databaseTableElement = newElement(guid, DatabaseTableElement.class);
+
+        databaseTableElement.setDatabaseColumnCount(columnCount);
+
+        return databaseTableElement;
+    }
+
+
+    /**
+     * Create a column element.
+     *
+     * @param qualifiedName unique name of the column (also used as its unique identifier)
+     * @return column element
+     */
+    private static DatabaseColumnElement newColumn(String qualifiedName)
+    {
+        DatabaseColumnElement    databaseColumnElement    = newElement(qualifiedName, DatabaseColumnElement.class);
+        DatabaseColumnProperties databaseColumnProperties = new DatabaseColumnProperties();
+
+        databaseColumnProperties.setQualifiedName(qualifiedName);
+        databaseColumnElement.setDatabaseColumnProperties(databaseColumnProperties);
+
+        return databaseColumnElement;
+    }
+
+
+    /**
+     * Wait for the column requests of a table to reach a count.
+     *
+     * @param client fake client
+     * @param tableGUID unique identifier of the table
+     * @param requestCount number of requests to wait for
+     * @throws InterruptedException interrupted while waiting
+     */
+    private void waitForColumnRequests(FakeDatabaseManagerClient client,
+                                       String                    tableGUID,
+                                       int                       requestCount) throws InterruptedException
+    {
+        for (int attempt = 0; (attempt < 1000) && (client.getColumnRequestCount(tableGUID) < requestCount); attempt++)
+        {
+            Thread.sleep(10);
+        }
+
+        assertEquals(client.getColumnRequestCount(tableGUID), requestCount);
+    }
+
+
+    /**
+     * Read every column of a table.
+     *
+     * @param retrieval paged retrieval of the columns
+     * @return number of columns
+     * @throws Exception problem retrieving a page
+     */
+    private int countColumns(PagedRetrieval<DatabaseColumnSummary> retrieval) throws Exception
+    {
+        int                         columnCount = 0;
+        List<DatabaseColumnSummary> page        = retrieval.getNextPage();
+
+        while (page != null)
+        {
+            columnCount = columnCount + page.size();
+            page = retrieval.getNextPage();
+        }
+
+        return columnCount;
+    }
+
+
+    /**
+     * Check that a table with more columns than the column budget is started ahead of the report when nothing
+     * else is running, and that the table after it waits until the report takes the wide table.
+     *
+     * @throws Exception problem retrieving a page
+     */
+    @Test(timeOut = 60000) public void testColumnBudgetLetsWideTableThrough() throws Exception
+    {
+        FakeDatabaseManagerClient client = new FakeDatabaseManagerClient();
+
+        /*
+         * One concurrent call with a page size of 2 gives a column budget of 4 columns.
+         */
+        try (DatabaseTraversal traversal = new DatabaseTraversal(client, "testUser", 1, 2, null, null))
+        {
+            PagedRetrieval<DatabaseTableElement> tableRetrieval = traversal.getTablesForDatabaseAsset(DATABASE_GUID);
+            List<DatabaseTableElement>           tables         = tableRetrieval.getNextPage();
+
+            assertEquals(tables.size(), 2);
+            assertNull(tableRetrieval.getNextPage());
+
+            /*
+             * The wide table has five pages of columns and the first four are requested ahead of the report.
+             */
+            waitForColumnRequests(client, WIDE_TABLE_GUID, DatabaseTraversal.WIDE_TABLE_PAGES_AHEAD);
+            Thread.sleep(100);
+            assertEquals(client.getColumnRequestCount(SMALL_TABLE_GUID), 0);
+
+            assertEquals(countColumns(traversal.getColumnsForDatabaseTable(tables.get(0))), WIDE_TABLE_COLUMNS);
+
+            /*
+             * Taking the wide table makes room for the small table.
+             */
+            waitForColumnRequests(client, SMALL_TABLE_GUID, 1);
+            assertEquals(countColumns(traversal.getColumnsForDatabaseTable(tables.get(1))), SMALL_TABLE_COLUMNS);
+            assertEquals(client.getColumnRequestCount(SMALL_TABLE_GUID), 1);
+            assertEquals(traversal.getFailedCallCount(), 0);
+        }
+    }
+}
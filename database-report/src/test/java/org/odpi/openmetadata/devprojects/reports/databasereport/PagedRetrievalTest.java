@@ -0,0 +1,243 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+
+/**
+ * Verify that a paged retrieval returns its pages in order, stops at the last page and reports a failed page
+ * at the point it is read.
+ */
+public class PagedRetrievalTest
+{
+    private ExecutorService executor;
+
+    private final Set<Integer> requestedPages = ConcurrentHashMap.newKeySet();
+
+
+    /**
+     * Create the executor that runs the page requests.
+     */
+    @BeforeMethod public void setUp()
+    {
+        executor = Executors.newFixedThreadPool(4);
+        requestedPages.clear();
+    }
+
+
+    /**
+     * Stop the executor.
+     *
+     * @throws InterruptedException interrupted while waiting for the executor
+     */
+    @AfterMethod public void tearDown() throws InterruptedException
+    {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+
+    /**
+     * Return the page of the numbers 0 to elementCount - 1 that starts at startFrom.  The earlier pages take
+     * longer to return so the pages requested together finish out of order.
+     *
+     * @param startFrom index of the first element
+     * @param pageSize maximum number of elements
+     * @param elementCount total number of elements
+     * @return page of numbers (empty after the last element)
+     * @throws InterruptedException interrupted while waiting
+     */
+    private List<Integer> getPage(int startFrom,
+                                  int pageSize,
+                                  int elementCount) throws InterruptedException
+    {
+        requestedPages.add(startFrom);
+
+        Thread.sleep(Math.max(0, 40 - startFrom));
+
+        List<Integer> page = new ArrayList<>();
+
+        for (int element = startFrom; (element < startFrom + pageSize) && (element < elementCount); element++)
+        {
+            page.add(element);
+        }
+
+        return page;
+    }
+
+
+    /**
+     * Read every page of a retrieval.
+     *
+     * @param retrieval paged retrieval
+     * @return elements in the order they were returned
+     * @throws Exception problem retrieving a page
+     */
+    private List<Integer> readAll(PagedRetrieval<Integer> retrieval) throws Exception
+    {
+        List<Integer> elements = new ArrayList<>();
+        List<Integer> page     = retrieval.getNextPage();
+
+        while (page != null)
+        {
+            elements.addAll(page);
+            page = retrieval.getNextPage();
+        }
+
+        return elements;
+    }
+
+
+    /**
+     * Return the numbers 0 to elementCount - 1.
+     *
+     * @param elementCount number of elements
+     * @return list of numbers
+     */
+    private List<Integer> expectedElements(int elementCount)
+    {
+        List<Integer> elements = new ArrayList<>();
+
+        for (int element = 0; element < elementCount; element++)
+        {
+            elements.add(element);
+        }
+
+        return elements;
+    }
+
+
+    /**
+     * Check that the pages requested at the same time for an expected count are returned in order.
+     *
+     * @throws Exception problem retrieving a page
+     */
+    @Test public void testPagesInOrderWithPagesAhead() throws Exception
+    {
+        PagedRetrieval<Integer> retrieval = new PagedRetrieval<>(executor,
+                                                                 (startFrom, pageSize) -> getPage(startFrom, pageSize, 23),
+                                                                 null,
+                                                                 5,
+                                                                 23,
+                                                                 4);
+
+        assertEquals(readAll(retrieval), expectedElements(23));
+        assertEquals(requestedPages, Set.of(0, 5, 10, 15, 20));
+    }
+
+
+    /**
+     * Check that the retrieval stops after a page that is shorter than the page size, without requesting the
+     * page after it.
+     *
+     * @throws Exception problem retrieving a page
+     */
+    @Test public void testStopsAfterShortLastPage() throws Exception
+    {
+        PagedRetrieval<Integer> retrieval = new PagedRetrieval<>(executor,
+                                                                 (startFrom, pageSize) -> getPage(startFrom, pageSize, 12),
+                                                                 null,
+                                                                 5);
+
+        assertEquals(readAll(retrieval), expectedElements(12));
+        assertEquals(requestedPages, Set.of(0, 5, 10));
+        assertNull(retrieval.getNextPage());
+    }
+
+
+    /**
+     * Check that the retrieval carries on a page at a time when there are more elements than expected.
+     *
+     * @throws Exception problem retrieving a page
+     */
+    @Test public void testExpectedCountTooSmall() throws Exception
+    {
+        PagedRetrieval<Integer> retrieval = new PagedRetrieval<>(executor,
+                                                                 (startFrom, pageSize) -> getPage(startFrom, pageSize, 17),
+                                                                 null,
+                                                                 5,
+                                                                 6,
+                                                                 4);
+
+        assertEquals(readAll(retrieval), expectedElements(17));
+        assertEquals(requestedPages, Set.of(0, 5, 10, 15));
+    }
+
+
+    /**
+     * Check that a failed page is only thrown when the report reads it, after the pages before it, and that the
+     * pages requested after it are cancelled.
+     *
+     * @throws Exception problem waiting for the pages
+     */
+    @Test public void testFailedPageThrowsWhenRead() throws Exception
+    {
+        ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+        CountDownLatch  pageFailed           = new CountDownLatch(1);
+        CountDownLatch  releasePage          = new CountDownLatch(1);
+
+        try
+        {
+            PagedRetrieval<Integer> retrieval = new PagedRetrieval<>(singleThreadExecutor,
+                                                                     (startFrom, pageSize) ->
+                                                                     {
+                                                                         requestedPages.add(startFrom);
+
+                                                                         if (startFrom == 5)
+                                                                         {
+                                                                             pageFailed.countDown();
+                                                                             throw new IOException("Page failed");
+                                                                         }
+
+                                                                         if (startFrom == 10)
+                                                                         {
+                                                                             releasePage.await();
+                                                                         }
+
+                                                                         return getPage(startFrom, pageSize, 20);
+                                                                     },
+                                                                     null,
+                                                                     5,
+                                                                     20,
+                                                                     4);
+
+            assertTrue(pageFailed.await(10, TimeUnit.SECONDS));
+            assertEquals(retrieval.getNextPage(), expectedElements(5));
+
+            IOException error = expectThrows(IOException.class, retrieval::getNextPage);
+
+            assertEquals(error.getMessage(), "Page failed");
+
+            releasePage.countDown();
+            singleThreadExecutor.shutdown();
+
+            assertTrue(singleThreadExecutor.awaitTermination(10, TimeUnit.SECONDS));
+            assertFalse(requestedPages.contains(15));
+            assertNull(retrieval.getNextPage());
+        }
+        finally
+        {
+            releasePage.countDown();
+            singleThreadExecutor.shutdownNow();
+        }
+    }
+}
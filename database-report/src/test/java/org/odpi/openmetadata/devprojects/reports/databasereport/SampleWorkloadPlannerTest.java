@@ -0,0 +1,188 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.databasereport;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+
+/**
+ * Verify that a workload profile is planned into exactly the requested number of elements, the same way each time.
+ */
+public class SampleWorkloadPlannerTest
+{
+    /**
+     * Generator that records the planned databases rather than creating them.
+     */
+    private static class PlanRecorder extends SampleDatabaseGenerator
+    {
+        private final List<String> plannedDatabases = new ArrayList<>();
+        private long               elementCount     = 0;
+        private int                schemaTypeCount  = 0;
+
+        PlanRecorder()
+        {
+            super(null, "testUser", "managerGUID", "manager", 1, 0, 1, null);
+        }
+
+        @Override
+        void createDatabase(String  databaseName,
+                            boolean withSchemas,
+                            int[][] tableColumnCounts,
+                            boolean useSchemaType)
+        {
+            plannedDatabases.add(databaseName + " " + withSchemas + " " + useSchemaType + " " + Arrays.deepToString(tableColumnCounts));
+
+            elementCount++;
+
+            for (int[] parentTableColumnCounts : tableColumnCounts)
+            {
+                if (withSchemas)
+                {
+                    elementCount++;
+                }
+
+                for (int tableColumnCount : parentTableColumnCounts)
+                {
+                    elementCount = elementCount + 1 + tableColumnCount;
+                }
+            }
+
+            if (useSchemaType)
+            {
+                schemaTypeCount++;
+            }
+        }
+    }
+
+
+    /**
+     * Plan a profile.
+     *
+     * @param profile profile to plan
+     * @return recorded plan
+     * @throws InterruptedException interrupted while planning
+     */
+    private PlanRecorder plan(SampleWorkloadProfile profile) throws InterruptedException
+    {
+        SampleWorkloadPlanner planner = new SampleWorkloadPlanner(profile);
+
+        try (PlanRecorder planRecorder = new PlanRecorder())
+        {
+            planner.createDatabases(planRecorder);
+
+            assertEquals(planner.getDatabaseCount() + planner.getSchemaCount() + planner.getTableCount() + planner.getColumnCount(),
+                         planRecorder.elementCount);
+            assertEquals(planner.getSchemaTypeDatabaseCount(), planRecorder.schemaTypeCount);
+
+            return planRecorder;
+        }
+    }
+
+
+    /**
+     * Return a flat profile (tables attached directly to their databases).
+     *
+     * @param targetElementCount number of elements to plan
+     * @param seed seed for the random choices
+     * @return profile
+     */
+    private SampleWorkloadProfile getFlatProfile(long targetElementCount,
+                                                 long seed)
+    {
+        SampleWorkloadProfile profile = new SampleWorkloadProfile();
+
+        profile.setName("flat-test");
+        profile.setSeed(seed);
+        profile.setTargetElementCount(targetElementCount);
+        profile.setDatabaseNamePrefix("FlatTestDatabase");
+        profile.setSchemasPerDatabase(0);
+        profile.setTablesPerSchema(10);
+        profile.setMinColumnsPerTable(1);
+        profile.setMaxColumnsPerTable(30);
+        profile.setColumnCountSkew(1.0);
+        profile.setSchemaTypeFraction(0.5);
+
+        return profile;
+    }
+
+
+    /**
+     * Check that each of the profiles supplied with the report, and targets that do not divide evenly into
+     * databases, are planned into exactly the target number of elements.
+     *
+     * @throws IOException problem reading the profiles
+     * @throws InterruptedException interrupted while planning
+     */
+    @Test public void testTargetElementCountReached() throws IOException, InterruptedException
+    {
+        for (SampleWorkloadProfile profile : SampleWorkloadPlanner.loadProfiles(null))
+        {
+            assertEquals(plan(profile).elementCount, profile.getTargetElementCount(), profile.getName());
+
+            profile.setTargetElementCount(profile.getTargetElementCount() + 7);
+
+            assertEquals(plan(profile).elementCount, profile.getTargetElementCount(), profile.getName());
+        }
+
+        for (long targetElementCount = 1; targetElementCount < 200; targetElementCount = targetElementCount + 13)
+        {
+            assertEquals(plan(getFlatProfile(targetElementCount, 42)).elementCount, targetElementCount);
+        }
+    }
+
+
+    /**
+     * Check that the same seed gives the same plan and a different seed gives a different plan.
+     *
+     * @throws InterruptedException interrupted while planning
+     */
+    @Test public void testFixedSeedGivesSamePlan() throws InterruptedException
+    {
+        List<String> firstPlan  = plan(getFlatProfile(5000, 42)).plannedDatabases;
+        List<String> secondPlan = plan(getFlatProfile(5000, 42)).plannedDatabases;
+        List<String> otherPlan  = plan(getFlatProfile(5000, 7)).plannedDatabases;
+
+        assertFalse(firstPlan.isEmpty());
+        assertEquals(secondPlan, firstPlan);
+        assertNotEquals(otherPlan, firstPlan);
+    }
+
+
+    /**
+     * Check that a flat profile mixes databases whose tables are attached through a schema type with databases
+     * whose tables are attached directly.
+     *
+     * @throws InterruptedException interrupted while planning
+     */
+    @Test public void testFlatProfileMixesSchemaTypes() throws InterruptedException
+    {
+        PlanRecorder planRecorder = plan(getFlatProfile(5000, 42));
+
+        assertTrue(planRecorder.schemaTypeCount > 0);
+        assertTrue(planRecorder.schemaTypeCount < planRecorder.plannedDatabases.size());
+    }
+
+
+    /**
+     * Check that a profile with values that can not be used is rejected.
+     */
+    @Test public void testInvalidProfileRejected()
+    {
+        SampleWorkloadProfile profile = getFlatProfile(5000, 42);
+
+        profile.setSchemaTypeFraction(1.5);
+
+        expectThrows(IllegalArgumentException.class, () -> new SampleWorkloadPlanner(profile));
+    }
+}
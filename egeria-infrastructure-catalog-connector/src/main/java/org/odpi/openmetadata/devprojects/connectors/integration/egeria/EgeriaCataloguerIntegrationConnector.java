@@ -747,11 +747,12 @@ public class EgeriaCataloguerIntegrationConnector extends EgeriaInfrastructureIn
 
     /**
      * Use the values from the server configuration to set up the properties for a software server entity.
+     * This is package-private so that the mapping can be benchmarked without starting the connector.
      *
      * @param serverConfig server configuration
      * @return properties
      */
-    private SoftwareServerProperties getSoftwareServerProperties(OMAGServerConfig serverConfig)
+    SoftwareServerProperties getSoftwareServerProperties(OMAGServerConfig serverConfig)
     {
         SoftwareServerProperties softwareServerProperties = new SoftwareServerProperties();
 
@@ -3,1259 +3,567 @@
 package org.odpi.openmetadata.devprojects.reports.platform;
 
 
-import org.odpi.openmetadata.adminservices.client.ConfigurationManagementClient;
-import org.odpi.openmetadata.adminservices.client.OMAGServerConfigurationClient;
-import org.odpi.openmetadata.adminservices.client.OMAGServerOperationsClient;
-import org.odpi.openmetadata.adminservices.client.OMAGServerPlatformConfigurationClient;
-import org.odpi.openmetadata.adminservices.configuration.properties.AccessServiceConfig;
-import org.odpi.openmetadata.adminservices.configuration.properties.CohortConfig;
-import org.odpi.openmetadata.adminservices.configuration.properties.EngineConfig;
-import org.odpi.openmetadata.adminservices.configuration.properties.EngineServiceConfig;
-import org.odpi.openmetadata.adminservices.configuration.properties.IntegrationConnectorConfig;
-import org.odpi.openmetadata.adminservices.configuration.properties.IntegrationServiceConfig;
-import org.odpi.openmetadata.adminservices.configuration.properties.OMAGServerConfig;
-import org.odpi.openmetadata.adminservices.configuration.properties.ViewServiceConfig;
-import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceDescription;
-import org.odpi.openmetadata.adminservices.configuration.registration.GovernanceServicesDescription;
-import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationErrorException;
-import org.odpi.openmetadata.adminservices.properties.OMAGServerServiceStatus;
-import org.odpi.openmetadata.adminservices.properties.ServerActiveStatus;
-import org.odpi.openmetadata.adminservices.properties.ServerServicesStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.odpi.openmetadata.devprojects.reports.EgeriaReport;
-import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
-import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.devprojects.reports.EgeriaReportOptions;
+import org.odpi.openmetadata.devprojects.reports.RemoteCallRecorder;
+import org.odpi.openmetadata.devprojects.reports.RemoteCallStatistics;
+import org.odpi.openmetadata.devprojects.reports.ReportCompression;
+import org.odpi.openmetadata.devprojects.reports.ReportExecutors;
+import org.odpi.openmetadata.devprojects.reports.ReportFormat;
 import org.odpi.openmetadata.http.HttpHelper;
-import org.odpi.openmetadata.platformservices.client.PlatformServicesClient;
-import org.odpi.openmetadata.platformservices.properties.OMAGServerInstanceHistory;
-import org.odpi.openmetadata.platformservices.properties.ServerStatus;
-import org.odpi.openmetadata.repositoryservices.clients.MetadataHighwayServicesClient;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.cohortregistrystore.properties.MemberRegistration;
-import org.odpi.openmetadata.repositoryservices.properties.CohortConnectionStatus;
-import org.odpi.openmetadata.repositoryservices.properties.CohortDescription;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 
 /**
  * EgeriaPlatformReport illustrates the use of the Platform Services, Admin Services and Repository Services to pull
- * together a report of an OMAG Server Platform's services and active servers.
+ * together a report of an OMAG Server Platform's services and active servers.  When it is passed more than one
+ * platform URL root, it runs in fleet mode: the platforms are called concurrently and the report has a section for
+ * each platform followed by a matrix of the cohorts that the servers across the fleet belong to.
  */
-public class EgeriaPlatformReport
+public class EgeriaPlatformReport implements AutoCloseable
 {
-    private final String       serverOfInterest;
-    private final String       platformURLRoot;
-    private final String       clientUserId;
-    private final EgeriaReport report;
+    /**
+     * Default number of servers whose details are collected at the same time.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_SERVERS = 8;
+
+    /**
+     * Default number of seconds to wait for the details of a single server.
+     */
+    public static final int DEFAULT_SERVER_TIMEOUT_SECONDS = 60;
+
+    /**
+     * Default number of seconds to wait for the details of a whole platform in fleet mode.
+     */
+    public static final int DEFAULT_PLATFORM_TIMEOUT_SECONDS = 300;
+
+    private final List<String>              platformURLRoots;
+    private final OMAGPlatformCollector     collector;
+    private final OMAGPlatformSnapshotStore snapshotStore;
+    private final OMAGSnapshotComparator    snapshotComparator = new OMAGSnapshotComparator();
+    private final EgeriaReport              report;
+    private final String                    metricsFileName;
+    private final boolean                   streamServers;
 
     /**
      * Set up the parameters for the sample.
      *
      * @param serverOfInterest server to restrict the results
-     * @param platformURLRoot location of server
+     * @param platformURLRoots locations of the platforms - more than one means fleet mode
      * @param clientUserId userId to access the server
+     * @param reportFormat format of the report file
+     * @param reportCompression compression of the report file
+     * @param maxConcurrentServers number of servers whose details are collected at the same time
+     * @param serverTimeoutSeconds number of seconds to wait for the details of a single server
+     * @param platformTimeoutSeconds number of seconds to wait for the details of a whole platform in fleet mode
+     * @param snapshotFileName file used to save the details between runs (null means no snapshot)
+     * @param streamServers print each server of a single platform as soon as it is collected
      * @throws IOException problem writing file
      */
-    private EgeriaPlatformReport(String serverOfInterest,
-                                 String platformURLRoot,
-                                 String clientUserId) throws IOException
+    private EgeriaPlatformReport(String            serverOfInterest,
+                                 List<String>      platformURLRoots,
+                                 String            clientUserId,
+                                 ReportFormat      reportFormat,
+                                 ReportCompression reportCompression,
+                                 int               maxConcurrentServers,
+                                 int               serverTimeoutSeconds,
+                                 int               platformTimeoutSeconds,
+                                 String            snapshotFileName,
+                                 boolean           streamServers) throws IOException
     {
-        final String reportFileName  = "egeria-platform-report.md";
+        final String platformReportFileName = "egeria-platform-report";
+        final String fleetReportFileName    = "egeria-fleet-report";
+        final String metricsFileSuffix      = "-metrics.json";
+
+        this.platformURLRoots = platformURLRoots;
+
+        /*
+         * Streaming is only asked for when the memory used matters more than listing the servers that have been
+         * configured but have never run.  It is not used when the servers are needed together - to save a
+         * snapshot or because the report is about a single server anyway.
+         */
+        this.streamServers = streamServers && (platformURLRoots.size() == 1) && (serverOfInterest == null) && (snapshotFileName == null);
+        this.collector = new OMAGPlatformCollector(clientUserId,
+                                                   serverOfInterest,
+                                                   maxConcurrentServers,
+                                                   serverTimeoutSeconds,
+                                                   platformTimeoutSeconds,
+                                                   true,
+                                                   false);
+
+        if (snapshotFileName == null)
+        {
+            this.snapshotStore = null;
+        }
+        else
+        {
+            this.snapshotStore = new OMAGPlatformSnapshotStore(snapshotFileName);
+        }
+
+        String reportFileNameBase = (platformURLRoots.size() == 1 ? platformReportFileName : fleetReportFileName);
+        String reportFileName     = reportFileNameBase + "." + reportFormat.getFileExtension();
+
+        this.metricsFileName = reportFileNameBase + metricsFileSuffix;
 
-        this.serverOfInterest = serverOfInterest;
-        this.platformURLRoot = platformURLRoot;
-        this.clientUserId = clientUserId;
+        EgeriaReportOptions reportOptions = new EgeriaReportOptions();
 
-        report = new EgeriaReport(reportFileName);
+        reportOptions.setReportFormat(reportFormat);
+        reportOptions.setCompression(reportCompression);
+
+        report = new EgeriaReport(reportFileName, reportOptions);
     }
 
 
     /**
      * This runs the sample.
+     *
+     * @return true if the report completed successfully
      */
-    private void run()
+    private boolean run()
     {
-        int indentLevel = 0;
+        final int indentLevel = 0;
 
         try
         {
-            /*
-             * This client is from the platform services module and queries the runtime state of the platform and the servers that are running on it.
-             */
-            PlatformServicesClient platformServicesClient = new PlatformServicesClient("EgeriaPlatform", platformURLRoot);
-
-            /*
-             * This outputs the report title
-             */
-            final String reportTitle = "Platform report for: ";
-
-            report.printReportTitle(indentLevel, reportTitle + platformURLRoot);
-
-            int detailIndentLevel = indentLevel + 1;
-
-            report.printReportSubheading(detailIndentLevel, "Platform deployment");
-
-            /*
-             * This is the first call to the platform and determines the version of the software.
-             * If the platform is not running, or the remote service is not an OMAG Server Platform,
-             * the report utility fails at this point.
-             */
-            String platformOrigin = platformServicesClient.getPlatformOrigin(clientUserId);
-
-            report.printReportLine(detailIndentLevel + 1, "Egeria version", platformOrigin.replace("\n", ""));
-
-            /*
-             * These clients are from the admin services module. The platform configuration client manages the configuration of the platform.
-             * The configuration management client manages and moves configuration documents for OMAG Servers.  It will be able to
-             * work with all configuration documents that are visible to the platform - not just those servers intended to
-             * run on this platform.
-             */
-            OMAGServerPlatformConfigurationClient platformConfigurationClient   = new OMAGServerPlatformConfigurationClient(clientUserId, platformURLRoot);
-            ConfigurationManagementClient         configurationManagementClient = new ConfigurationManagementClient(clientUserId, platformURLRoot);
-
-            /*
-             * Extract information about the connector that manages the configuration document store.
-             * This is where the configuration for the OMAG Servers is maintained.
-             */
-            report.printConnection(detailIndentLevel + 1,
-                                   "Configuration document store connector",
-                                   platformConfigurationClient.getConfigurationStoreConnection());
-
-            /*
-             * Extract information about the connector that manages the authorization of requests to the platform.
-             */
-            report.printConnection(detailIndentLevel + 1,
-                                   "Platform security connector",
-                                   platformConfigurationClient.getPlatformSecurityConnection());
-
-            /*
-             * List the registered services
-             */
-            report.printReportSubheading(detailIndentLevel, "Registered services");
-
-            report.printRegisteredServices(detailIndentLevel + 1, platformServicesClient.getAccessServices(clientUserId));
-            report.printRegisteredServices(detailIndentLevel + 1, platformServicesClient.getEngineServices(clientUserId));
-            report.printRegisteredServices(detailIndentLevel + 1, platformServicesClient.getIntegrationServices(clientUserId));
-            report.printRegisteredServices(detailIndentLevel + 1, platformServicesClient.getViewServices(clientUserId));
-
-            /*
-             * Collect server details.
-             */
-            Map<String, OMAGServerDetails> serverDetailsMap = new HashMap<>();
-
-            if (serverOfInterest == null)
+            Map<String, OMAGPlatformSnapshot> previousSnapshots = loadSnapshots();
+
+            if (streamServers)
             {
-                report.printReportSubheading(detailIndentLevel, "Platform servers");
+                String platformURLRoot = platformURLRoots.get(0);
 
                 /*
-                 * Output requested for all servers
+                 * The platform's own details are collected first, then each server is printed as soon as it has been
+                 * collected so only a few servers are held in memory at a time.
                  */
-                Set<OMAGServerConfig> configuredServers = configurationManagementClient.getAllServerConfigurations();
+                OMAGPlatformDetails platformDetails = collector.collectPlatformDeployment(platformURLRoot);
 
-                if (configuredServers != null)
-                {
-                    for (OMAGServerConfig serverConfig : configuredServers)
-                    {
-                        OMAGServerDetails currentDetails = serverDetailsMap.get(serverConfig.getLocalServerName());
+                final String reportTitle = "Platform report for: ";
 
-                        if (currentDetails == null)
-                        {
-                            currentDetails = new OMAGServerDetails(serverConfig.getLocalServerName());
-                        }
+                report.printReportTitle(indentLevel, reportTitle + platformURLRoot);
 
-                        currentDetails.setConfiguration(serverConfig);
+                platformDetails.printDeployment(report, indentLevel + 1);
 
-                        serverDetailsMap.put(serverConfig.getLocalServerName(), currentDetails);
-                    }
-                }
+                collector.streamServerDetails(platformURLRoot, serverDetails -> serverDetails.printServer(report, indentLevel + 2));
+            }
+            else if (platformURLRoots.size() == 1)
+            {
+                String platformURLRoot = platformURLRoots.get(0);
 
-                List<String> serverList = platformServicesClient.getKnownServers(clientUserId);
+                /*
+                 * If the platform is not running, or the remote service is not an OMAG Server Platform,
+                 * the report utility fails at this point.
+                 */
+                OMAGPlatformDetails platformDetails = collector.collectPlatformDetails(platformURLRoot, previousSnapshots.get(platformURLRoot));
 
-                if (serverList != null)
-                {
-                    for (String serverName : serverList)
-                    {
-                        if (serverName != null)
-                        {
-                            ServerStatus platformServerStatus = platformServicesClient.getServerStatus(clientUserId, serverName);
-
-                            if (platformServerStatus != null)
-                            {
-                                OMAGServerDetails currentDetails = serverDetailsMap.get(serverName);
-
-                                if (currentDetails == null)
-                                {
-                                    currentDetails = new OMAGServerDetails(serverName);
-                                }
-
-                                currentDetails.setServerStartTime(platformServerStatus.getServerStartTime());
-                                currentDetails.setServerEndTime(platformServerStatus.getServerEndTime());
-                                currentDetails.setServerHistory(platformServerStatus.getServerHistory());
-                            }
-                        }
-                    }
-                }
+                saveSnapshots(Collections.singletonList(platformDetails), previousSnapshots);
 
-                serverList = platformServicesClient.getActiveServers(clientUserId);
+                /*
+                 * This outputs the report title
+                 */
+                final String reportTitle = "Platform report for: ";
 
-                if (serverList != null)
-                {
-                    for (String serverName : serverList)
-                    {
-                        if (serverName != null)
-                        {
-                            /*
-                             * This client provides specific details of a running server - it is provided by the Admin Services mon
-                             */
-                            OMAGServerOperationsClient serverOperationsClient = new OMAGServerOperationsClient(clientUserId,
-                                                                                                               serverName,
-                                                                                                               platformURLRoot);
-
-                            ServerServicesStatus adminServerStatus = serverOperationsClient.getServerStatus();
-
-                            if (adminServerStatus != null)
-                            {
-                                OMAGServerDetails currentDetails = serverDetailsMap.get(serverName);
-
-                                if (currentDetails == null)
-                                {
-                                    currentDetails = new OMAGServerDetails(serverName);
-                                }
-
-                                currentDetails.setServerActiveStatus(adminServerStatus.getServerActiveStatus());
-                                currentDetails.setServerType(adminServerStatus.getServerType());
-                                currentDetails.setServices(adminServerStatus.getServices());
-                            }
-                        }
-                    }
-                }
+                report.printReportTitle(indentLevel, reportTitle + platformURLRoot);
+
+                platformDetails.printPlatform(report, indentLevel + 1);
             }
             else
             {
-                report.printReportSubheading(detailIndentLevel, "Server of interest");
-
-                OMAGServerDetails serverDetails = new OMAGServerDetails(serverOfInterest);
-
-                OMAGServerConfigurationClient configurationClient = new OMAGServerConfigurationClient(clientUserId, serverOfInterest, platformURLRoot);
-
-                OMAGServerConfig serverConfig = configurationClient.getOMAGServerConfig();
+                /*
+                 * In fleet mode a platform that fails or does not respond is reported with a collection error
+                 * and the report carries on with the other platforms.
+                 */
+                List<OMAGPlatformDetails> fleetDetails = collector.collectFleetDetails(platformURLRoots, previousSnapshots);
 
-                if (serverConfig != null)
-                {
-                    serverDetails.setConfiguration(serverConfig);
-                }
+                saveSnapshots(fleetDetails, previousSnapshots);
 
-                try
-                {
-                    org.odpi.openmetadata.platformservices.properties.ServerStatus platformServerStatus = platformServicesClient.getServerStatus(clientUserId, serverOfInterest);
+                final String reportTitle = "Fleet report for ";
 
-                    if (platformServerStatus != null)
-                    {
-                        serverDetails.setServerStartTime(platformServerStatus.getServerStartTime());
-                        serverDetails.setServerEndTime(platformServerStatus.getServerEndTime());
-                        serverDetails.setServerHistory(platformServerStatus.getServerHistory());
-                    }
-                }
-                catch (InvalidParameterException serverNotRunningException)
-                {
-                    // nothing to do - simply that the server is not running
-                }
+                report.printReportTitle(indentLevel, reportTitle + fleetDetails.size() + " platforms");
 
-                try
+                for (OMAGPlatformDetails platformDetails : fleetDetails)
                 {
-                    OMAGServerOperationsClient serverOperationsClient = new OMAGServerOperationsClient(clientUserId,
-                                                                                                       serverOfInterest,
-                                                                                                       platformURLRoot);
-
-                    ServerServicesStatus adminServerStatus = serverOperationsClient.getServerStatus();
+                    report.printReportSubheading(indentLevel + 1, "Platform: " + platformDetails.getPlatformURLRoot());
 
-                    if (adminServerStatus != null)
-                    {
-                        serverDetails.setServerActiveStatus(adminServerStatus.getServerActiveStatus());
-                        serverDetails.setServerType(adminServerStatus.getServerType());
-                        serverDetails.setServices(adminServerStatus.getServices());
-                    }
-                }
-                catch (OMAGConfigurationErrorException serverNotRunningException)
-                {
-                    // nothing to do - simply that the server is not running
+                    platformDetails.printPlatform(report, indentLevel + 2);
                 }
 
-                serverDetailsMap.put(serverOfInterest, serverDetails);
+                printCohortMembership(fleetDetails, indentLevel + 1);
             }
 
+            List<RemoteCallStatistics> callStatistics = collector.getCallRecorder().getStatistics();
 
-            /*
-             * Add runtime information about the cohorts.
-             */
-            for (OMAGServerDetails serverDetails : serverDetailsMap.values())
-            {
-                if (serverDetails != null)
-                {
-                    MetadataHighwayServicesClient metadataHighwayServicesClient = new MetadataHighwayServicesClient(serverDetails.getServerName(), platformURLRoot);
-
-                    try
-                    {
-                        List<CohortDescription> cohorts = metadataHighwayServicesClient.getCohortDescriptions(clientUserId);
-
-                        if (cohorts != null)
-                        {
-                            for (CohortDescription cohortDescription : cohorts)
-                            {
-                                if (cohortDescription != null)
-                                {
-                                    OMAGServerDetails.OMAGCohortDetails cohortDetails = serverDetails.getCohortDetails(cohortDescription.getCohortName());
-
-                                    cohortDetails.setConnectionStatus(cohortDescription.getConnectionStatus());
-
-                                    cohortDetails.setLocalRegistration(metadataHighwayServicesClient.getLocalRegistration(clientUserId,
-                                                                                                                          cohortDescription.getCohortName()));
-
-                                    cohortDetails.setRemoteRegistrations(metadataHighwayServicesClient.getRemoteRegistrations(clientUserId,
-                                                                                                                              cohortDescription.getCohortName()));
-                                }
-                            }
-                        }
-                    }
-                    catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException serverNotRunningException)
-                    {
-                        // nothing to do - simply that the server is not running
-                    }
-                }
-            }
-
-            /*
-             * Now all of the details about the servers is assembled, it can be printed out.
-             */
-            for (OMAGServerDetails serverDetails : serverDetailsMap.values())
-            {
-                if (serverDetails != null)
-                {
-                    serverDetails.printServer(detailIndentLevel + 1);
-                }
-            }
+            report.printReportSubheading(indentLevel + 1, "Appendix: remote call latency");
+            RemoteCallRecorder.printStatistics(report, indentLevel + 2, callStatistics);
 
             report.closeReport();
+
+            saveMetrics(callStatistics);
         }
         catch (Exception error)
         {
             System.out.println("There was an " + error.getClass().getName() + " exception when calling the platform.  Error message is: " + error.getMessage());
-            System.exit(-1);
+            return false;
         }
+
+        return true;
     }
 
 
     /**
-     * OMAGServerDetails provides a cache to assemble details about a server.  It is initialized through a
-     * series of set method calls that pass information retrieved from the OMAG Server Platform.  It extracts the
-     * interesting values that are to form part of the server report.  Once all that is known about the server has
-     * been assembled
+     * Write the statistics for the remote calls to a JSON file alongside the report so that they can be collected
+     * by monitoring tools and compared between runs.
+     *
+     * @param callStatistics statistics for each API
+     * @throws IOException problem writing the metrics file
      */
-    private class OMAGServerDetails
+    private void saveMetrics(List<RemoteCallStatistics> callStatistics) throws IOException
     {
-        private String                          serverName;
-        private String                          serverType           = null;
-        private OMAGServerConfig                configuration        = null;
-        private ServerActiveStatus              serverActiveStatus   = ServerActiveStatus.UNKNOWN;
-        private Date                            serverStartTime      = null;
-        private Date                            serverEndTime        = null;
-        private List<OMAGServerInstanceHistory> serverHistory        = null;
-        private Map<String, OMAGServiceDetails> serviceDetailsMap    = new HashMap<>();
-        private Map<String, OMAGCohortDetails>  cohortDetailsMap     = new HashMap<>();
-
-
-        /**
-         * Constructor assumes the server name is known.
-         *
-         * @param serverName name of the subject of this object
-         */
-        OMAGServerDetails(String serverName)
-        {
-            this.serverName = serverName;
-        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode   metrics      = objectMapper.createObjectNode();
 
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
-        /**
-         * Retrieve the name of the server.
-         *
-         * @return string name
-         */
-        String getServerName()
-        {
-            return serverName;
-        }
+        metrics.set("reportTime", objectMapper.valueToTree(new Date()));
+        metrics.set("platformURLRoots", objectMapper.valueToTree(platformURLRoots));
+        metrics.set("remoteCalls", objectMapper.valueToTree(callStatistics));
 
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File(metricsFileName), metrics);
+    }
 
-        /**
-         * The configuration identifies the server and the services that it runs.
-         *
-         * @param configuration configuration document for the server
-         */
-        void setConfiguration(OMAGServerConfig configuration)
-        {
-            this.configuration = configuration;
 
-            if (configuration != null)
+    /**
+     * Read the snapshots saved by the previous run.  A snapshot that can not be read is reported and ignored, which
+     * means this run fetches everything.
+     *
+     * @return map of platform URL root to snapshot (empty if snapshots are not in use)
+     */
+    private Map<String, OMAGPlatformSnapshot> loadSnapshots()
+    {
+        if (snapshotStore != null)
+        {
+            try
             {
-                serverType = configuration.getLocalServerType();
-
-                if (configuration.getRepositoryServicesConfig() != null)
-                {
-                    if (configuration.getRepositoryServicesConfig().getCohortConfigList() != null)
-                    {
-                        for (CohortConfig cohortConfig : configuration.getRepositoryServicesConfig().getCohortConfigList())
-                        {
-                            OMAGCohortDetails currentDetails = this.getCohortDetails(cohortConfig.getCohortName());
-
-                            if (cohortConfig.getCohortRegistryConnection() != null)
-                            {
-                                currentDetails.setConnection("Cohort Registry Store", cohortConfig.getCohortRegistryConnection());
-                            }
-
-                            if (cohortConfig.getCohortOMRSRegistrationTopicConnection() != null)
-                            {
-                                currentDetails.setConnection("Cohort Registration Topic", cohortConfig.getCohortOMRSRegistrationTopicConnection());
-                            }
-
-                            if (cohortConfig.getCohortOMRSTypesTopicConnection() != null)
-                            {
-                                currentDetails.setConnection("Cohort Types Topic", cohortConfig.getCohortOMRSTypesTopicConnection());
-                            }
-
-                            if (cohortConfig.getCohortOMRSInstancesTopicConnection() != null)
-                            {
-                                currentDetails.setConnection("Cohort Instances Topic", cohortConfig.getCohortOMRSInstancesTopicConnection());
-                            }
-
-                            if (cohortConfig.getCohortOMRSTopicConnection() != null)
-                            {
-                                currentDetails.setConnection("Cohort OMRS Topic (deprecated)", cohortConfig.getCohortOMRSTopicConnection());
-                            }
-                        }
-                    }
-                }
-
-                if (configuration.getAccessServicesConfig() != null)
-                {
-                    for (AccessServiceConfig accessServiceConfig : configuration.getAccessServicesConfig())
-                    {
-                        if (accessServiceConfig != null)
-                        {
-                            OMAGServiceDetails currentDetails = serviceDetailsMap.get(accessServiceConfig.getAccessServiceFullName());
-
-                            if (currentDetails == null)
-                            {
-                                currentDetails = new OMAGServiceDetails(accessServiceConfig.getAccessServiceFullName());
-                            }
-
-                            currentDetails.setServiceOptions(accessServiceConfig.getAccessServiceOptions());
-                            currentDetails.setConnection("InTopic", accessServiceConfig.getAccessServiceInTopic());
-                            currentDetails.setConnection("OutTopic", accessServiceConfig.getAccessServiceInTopic());
-
-                            serviceDetailsMap.put(accessServiceConfig.getAccessServiceFullName(), currentDetails);
-                        }
-                    }
-                }
-
-                if (configuration.getEngineHostServicesConfig() != null)
-                {
-                    OMAGServiceDetails currentDetails = serviceDetailsMap.get(GovernanceServicesDescription.ENGINE_HOST_SERVICES.getServiceName());
-
-                    if (currentDetails == null)
-                    {
-                        currentDetails = new OMAGServiceDetails(GovernanceServicesDescription.ENGINE_HOST_SERVICES.getServiceName());
-                    }
-
-                    currentDetails.setPartnerService(configuration.getEngineHostServicesConfig().getOMAGServerName(),
-                                                     configuration.getEngineHostServicesConfig().getOMAGServerPlatformRootURL(),
-                                                     AccessServiceDescription.GOVERNANCE_ENGINE_OMAS.getAccessServiceFullName());
-
-                    if (configuration.getEngineHostServicesConfig().getEngineServiceConfigs() != null)
-                    {
-                        for (EngineServiceConfig engineServiceConfig : configuration.getEngineHostServicesConfig().getEngineServiceConfigs())
-                        {
-                            if (engineServiceConfig != null)
-                            {
-                                OMAGServiceDetails nestedDetails = serviceDetailsMap.get(engineServiceConfig.getEngineServiceFullName());
-
-                                if (nestedDetails == null)
-                                {
-                                    nestedDetails = new OMAGServiceDetails(engineServiceConfig.getEngineServiceFullName());
-                                }
-
-                                nestedDetails.setServiceOptions(engineServiceConfig.getEngineServiceOptions());
-                                nestedDetails.setPartnerService(engineServiceConfig.getOMAGServerName(),
-                                                                engineServiceConfig.getOMAGServerPlatformRootURL(),
-                                                                engineServiceConfig.getEngineServicePartnerOMAS());
-
-                                if (engineServiceConfig.getEngines() != null)
-                                {
-                                    for (EngineConfig engineConfig : engineServiceConfig.getEngines())
-                                    {
-                                        if (engineConfig != null)
-                                        {
-                                            OMAGServiceDetails engineServiceDetails = new OMAGServiceDetails(engineConfig.getEngineQualifiedName());
-
-                                            engineServiceDetails.setServiceId(engineConfig.getEngineId());
-                                            engineServiceDetails.setServiceUserId(engineConfig.getEngineUserId());
-
-                                            nestedDetails.addNestedService(engineConfig.getEngineQualifiedName(), engineServiceDetails);
-                                        }
-                                    }
-                                }
-
-                                serviceDetailsMap.put(engineServiceConfig.getEngineServiceFullName(), currentDetails);
-                            }
-                        }
-                    }
-                }
-
-                if (configuration.getIntegrationServicesConfig() != null)
-                {
-                    for (IntegrationServiceConfig integrationServiceConfig : configuration.getIntegrationServicesConfig())
-                    {
-                        if (integrationServiceConfig != null)
-                        {
-                            OMAGServiceDetails currentDetails = serviceDetailsMap.get(integrationServiceConfig.getIntegrationServiceFullName());
-
-                            if (currentDetails == null)
-                            {
-                                currentDetails = new OMAGServiceDetails(integrationServiceConfig.getIntegrationServiceFullName());
-                            }
-
-                            currentDetails.setServiceOptions(integrationServiceConfig.getIntegrationServiceOptions());
-                            currentDetails.setPartnerService(integrationServiceConfig.getOMAGServerName(),
-                                                             integrationServiceConfig.getOMAGServerPlatformRootURL(),
-                                                             integrationServiceConfig.getIntegrationServicePartnerOMAS());
-
-                            if (integrationServiceConfig.getIntegrationConnectorConfigs() != null)
-                            {
-                                for (IntegrationConnectorConfig connectorConfig : integrationServiceConfig.getIntegrationConnectorConfigs())
-                                {
-                                    if (connectorConfig != null)
-                                    {
-                                        String nestedServiceName = "Integration Connector: " + connectorConfig.getConnectorName();
-
-                                        OMAGServiceDetails connectorConfigDetails = new OMAGServiceDetails(nestedServiceName);
-
-                                        connectorConfigDetails.setServiceUserId(connectorConfig.getConnectorUserId());
-                                        connectorConfigDetails.setServiceId(connectorConfig.getConnectorId());
-                                        connectorConfigDetails.setConnection("Integration Connector Implementation", connectorConfig.getConnection());
-
-                                        currentDetails.addNestedService(nestedServiceName, connectorConfigDetails);
-                                    }
-                                }
-                            }
-
-                            serviceDetailsMap.put(integrationServiceConfig.getIntegrationServiceFullName(), currentDetails);
-                        }
-                    }
-                }
-
-                if (configuration.getViewServicesConfig() != null)
-                {
-                    for (ViewServiceConfig viewServiceConfig : configuration.getViewServicesConfig())
-                    {
-                        if (viewServiceConfig != null)
-                        {
-                            OMAGServiceDetails currentDetails = serviceDetailsMap.get(viewServiceConfig.getViewServiceFullName());
-
-                            if (currentDetails == null)
-                            {
-                                currentDetails = new OMAGServiceDetails(viewServiceConfig.getViewServiceFullName());
-                            }
-
-                            currentDetails.setServiceOptions(viewServiceConfig.getViewServiceOptions());
-                            currentDetails.setPartnerService(viewServiceConfig.getOMAGServerName(),
-                                                             viewServiceConfig.getOMAGServerPlatformRootURL(),
-                                                             null);
-
-                            serviceDetailsMap.put(viewServiceConfig.getViewServiceFullName(), currentDetails);
-                        }
-                    }
-                }
-
-                if (configuration.getDataEngineProxyConfig() != null)
-                {
-                    OMAGServiceDetails currentDetails = serviceDetailsMap.get(GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceName());
-
-                    if (currentDetails == null)
-                    {
-                        currentDetails = new OMAGServiceDetails(GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceName());
-                    }
-
-                    currentDetails.setPartnerService(configuration.getDataEngineProxyConfig().getAccessServiceServerName(),
-                                                     configuration.getDataEngineProxyConfig().getAccessServiceRootURL(),
-                                                     AccessServiceDescription.DATA_ENGINE_OMAS.getAccessServiceFullName());
-
-                    serviceDetailsMap.put(GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceName(),
-                                          currentDetails);
-                }
-
-                if (configuration.getOpenLineageServerConfig() != null)
-                {
-                    OMAGServiceDetails currentDetails = serviceDetailsMap.get(GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceName());
-
-                    if (currentDetails == null)
-                    {
-                        currentDetails = new OMAGServiceDetails(GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceName());
-                    }
-
-                    currentDetails.setPartnerService(configuration.getOpenLineageServerConfig().getAccessServiceConfig().getServerName(),
-                                                     configuration.getOpenLineageServerConfig().getAccessServiceConfig().getServerPlatformUrlRoot(),
-                                                     AccessServiceDescription.ASSET_LINEAGE_OMAS.getAccessServiceFullName());
-
-                    serviceDetailsMap.put(GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceName(),
-                                          currentDetails);
-                }
+                return snapshotStore.loadSnapshots();
+            }
+            catch (IOException error)
+            {
+                System.out.println("There was an " + error.getClass().getName() + " exception when reading snapshot file " +
+                                           snapshotStore.getSnapshotFileName() + ".  Error message is: " + error.getMessage());
             }
         }
 
-
-        /**
-         * The server type show where the server fits in the architecture.
-         *
-         * @param serverType name of the server type
-         */
-        void setServerType(String serverType)
-        {
-            this.serverType = serverType;
-        }
-
-
-        /**
-         * Is the server stopped, starting or running?
-         *
-         * @param serverActiveStatus what is the server status (null if not running)
-         */
-        void setServerActiveStatus(ServerActiveStatus serverActiveStatus)
-        {
-            this.serverActiveStatus = serverActiveStatus;
-        }
-
-
-        /**
-         * The time that the server last started.
-         *
-         * @param serverStartTime date/time or null
-         */
-        void setServerStartTime(Date serverStartTime)
-        {
-            this.serverStartTime = serverStartTime;
-        }
-
-
-        /**
-         * The time that the server shut down - will be null if server started or never run.
-         *
-         * @param serverEndTime date/time or null
-         */
-        void setServerEndTime(Date serverEndTime)
-        {
-            this.serverEndTime = serverEndTime;
-        }
+        return new HashMap<>();
+    }
 
 
-        /**
-         * This lists the times that the server has run on the platform instance.
-         *
-         * @param serverHistory server history list
-         */
-        void setServerHistory(List<OMAGServerInstanceHistory> serverHistory)
+    /**
+     * Compare the details collected from each platform with the previous run and save them for the next run.  A
+     * platform that could not be collected keeps its previous snapshot.
+     *
+     * @param platformDetailsList details collected from each platform
+     * @param previousSnapshots snapshots saved by the previous run, keyed by platform URL root
+     * @throws IOException problem writing the snapshot file
+     */
+    private void saveSnapshots(List<OMAGPlatformDetails>         platformDetailsList,
+                               Map<String, OMAGPlatformSnapshot> previousSnapshots) throws IOException
+    {
+        if (snapshotStore != null)
         {
-            this.serverHistory = serverHistory;
-        }
-
+            Map<String, OMAGPlatformSnapshot> snapshots = new TreeMap<>(previousSnapshots);
 
-        /**
-         * List the services that are currently running - null if the server is not running.
-         *
-         * @param services list of server status
-         */
-        void setServices(List<OMAGServerServiceStatus> services)
-        {
-            if (services != null)
+            for (OMAGPlatformDetails platformDetails : platformDetailsList)
             {
-                for (OMAGServerServiceStatus serviceStatus : services)
+                if (! platformDetails.hasCollectionError())
                 {
-                    OMAGServiceDetails currentDetails = serviceDetailsMap.get(serviceStatus.getServiceName());
+                    OMAGPlatformSnapshot previousSnapshot = previousSnapshots.get(platformDetails.getPlatformURLRoot());
+                    OMAGPlatformSnapshot currentSnapshot  = platformDetails.getSnapshot(previousSnapshot);
 
-                    if (currentDetails == null)
+                    if (previousSnapshot != null)
                     {
-                        currentDetails = new OMAGServiceDetails(serviceStatus.getServiceName());
+                        platformDetails.setChanges(previousSnapshot.getSnapshotTime(),
+                                                   snapshotComparator.getChanges(previousSnapshot, currentSnapshot));
                     }
 
-                    currentDetails.setServiceStatus(serviceStatus.getServiceStatus());
-
-                    serviceDetailsMap.put(serviceStatus.getServiceName(), currentDetails);
+                    snapshots.put(platformDetails.getPlatformURLRoot(), currentSnapshot);
                 }
             }
+
+            snapshotStore.saveSnapshots(snapshots.values());
         }
+    }
 
 
-        /**
-         * Return the cohort details for the named cohort.
-         *
-         * @param cohortName name of the cohort.
-         *
-         * @return corresponding details
-         */
-        OMAGCohortDetails getCohortDetails(String cohortName)
-        {
-            OMAGCohortDetails cohortDetails = cohortDetailsMap.get(cohortName);
+    /**
+     * Print a matrix showing which servers, across all of the platforms in the fleet, are members of which cohorts.
+     * Each cell shows the server's connection status for the cohort.
+     *
+     * @param fleetDetails details of each platform
+     * @param indentLevel spacing for the matrix
+     * @throws IOException problem writing to the report
+     */
+    private void printCohortMembership(List<OMAGPlatformDetails> fleetDetails,
+                                       int                       indentLevel) throws IOException
+    {
+        Set<String> cohortNames = new TreeSet<>();
 
-            if (cohortDetails == null)
+        for (OMAGPlatformDetails platformDetails : fleetDetails)
+        {
+            for (OMAGServerDetails serverDetails : platformDetails.getServerDetailsMap().values())
             {
-                cohortDetails = new OMAGCohortDetails(cohortName);
-
-                cohortDetailsMap.put(cohortName, cohortDetails);
+                cohortNames.addAll(serverDetails.getCohortNames());
             }
-
-            return cohortDetails;
         }
 
-        /**
-         * Output the details that have been collected about the server.
-         *
-         * @param indentLevel amount of white space to add before each line of the report
-         */
-        void printServer(int indentLevel) throws IOException
-        {
-            report.printReportSubheading(indentLevel,"Server: " +  serverName);
-
-            int detailIndentLevel = indentLevel + 1;
-
-            report.printReportLine(detailIndentLevel, "Type", serverType);
+        report.printReportSubheading(indentLevel, "Cohort membership");
 
-            if (configuration != null)
-            {
-                report.printReportLine(detailIndentLevel, "Description", configuration.getLocalServerDescription());
-                report.printReportLine(detailIndentLevel, "UserId", configuration.getLocalServerUserId());
-
-                if (configuration.getServerSecurityConnection() != null)
-                {
-                    report.printConnection(detailIndentLevel, "Security Connector", configuration.getServerSecurityConnection());
-                }
+        if (cohortNames.isEmpty())
+        {
+            report.printReportLine(indentLevel + 1, "Cohorts", "None");
+            return;
+        }
 
-                if (configuration.getRepositoryServicesConfig() != null)
-                {
-                    if (configuration.getRepositoryServicesConfig().getLocalRepositoryConfig() != null)
-                    {
-                        report.printReportSubheading(detailIndentLevel,"Local Repository");
-
-                        if (configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getLocalRepositoryMode() != null)
-                        {
-                            report.printReportLine(detailIndentLevel + 1,
-                                                   "Local Repository Mode",
-                                                   configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getLocalRepositoryMode().getName());
-                        }
-
-                        if (configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getLocalRepositoryLocalConnection() != null)
-                        {
-                            report.printConnection(detailIndentLevel + 1,
-                                                   "Local Repository Connector",
-                                                   configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getLocalRepositoryLocalConnection());
-                        }
-
-                        if (configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getEventMapperConnection() != null)
-                        {
-                            report.printConnection(detailIndentLevel + 1,
-                                                   "Local Repository Event Mapper Connector",
-                                                   configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getEventMapperConnection());
-                        }
-
-                        if (configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getLocalRepositoryRemoteConnection() != null)
-                        {
-                            report.printConnection(detailIndentLevel + 1,
-                                                   "Local Repository Remote Connector",
-                                                   configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getLocalRepositoryRemoteConnection());
-                        }
-                    }
-                }
-            }
+        List<String> columnHeadings = new ArrayList<>();
 
-            report.printReportSubheading(detailIndentLevel,"Runtime Status");
+        columnHeadings.add("Platform");
+        columnHeadings.add("Server");
+        columnHeadings.addAll(cohortNames);
 
-            if (serverStartTime != null)
-            {
-                report.printReportLine(detailIndentLevel + 1,"Last Start Time", serverStartTime.toString());
-            }
+        report.startTable(indentLevel + 1, columnHeadings);
 
-            if (serverEndTime != null)
-            {
-                report.printReportLine(detailIndentLevel + 1,"Last End Time", serverEndTime.toString());
-            }
+        for (OMAGPlatformDetails platformDetails : fleetDetails)
+        {
+            Map<String, OMAGServerDetails> serverDetailsMap = platformDetails.getServerDetailsMap();
 
-            if ((serverActiveStatus != null) && (serverActiveStatus != ServerActiveStatus.UNKNOWN))
+            for (String serverName : new TreeSet<>(serverDetailsMap.keySet()))
             {
-                report.printReportLine(detailIndentLevel + 1,"Server Active Status", serverActiveStatus.getName());
-            }
+                OMAGServerDetails serverDetails = serverDetailsMap.get(serverName);
+                String[]          cells         = new String[columnHeadings.size()];
+                int               column        = 0;
 
-            if (serverHistory != null)
-            {
-                report.printReportSubheading(detailIndentLevel + 1,"History");
+                cells[column++] = platformDetails.getPlatformURLRoot();
+                cells[column++] = serverName;
 
-                for (OMAGServerInstanceHistory instanceHistory : serverHistory)
+                for (String cohortName : cohortNames)
                 {
-                    if (instanceHistory.getStartTime() != null)
-                    {
-                        report.printReportLine(detailIndentLevel + 2,"Start Time", instanceHistory.getStartTime().toString());
-                    }
-                    if (instanceHistory.getEndTime() != null)
-                    {
-                        report.printReportLine(detailIndentLevel + 2,"End Time", instanceHistory.getEndTime().toString());
-                    }
+                    cells[column++] = serverDetails.getCohortMembership(cohortName);
                 }
-            }
-
-            report.printReportSubheading(detailIndentLevel,"Services");
 
-            for (OMAGServiceDetails serviceDetails : serviceDetailsMap.values())
-            {
-                serviceDetails.printService(detailIndentLevel + 1);
-            }
-
-            if (! cohortDetailsMap.isEmpty())
-            {
-                report.printReportSubheading(detailIndentLevel, "Cohorts");
-
-                for (OMAGCohortDetails cohortDetails : cohortDetailsMap.values())
-                {
-                    cohortDetails.printCohort(detailIndentLevel + 1);
-                }
+                report.printTableRow(cells);
             }
         }
 
-
-        /**
-         * OMAGServiceDetails caches details about a particular service.
-         */
-        private class OMAGServiceDetails
-        {
-            private String                          serviceName;
-            private String                          serviceId          = null;
-            private String                          serviceUserId      = null;
-            private ServerActiveStatus              serviceStatus      = ServerActiveStatus.UNKNOWN;
-            private Map<String, Object>             serviceOptions     = null;
-            private String                          partnerServerName  = null;
-            private String                          partnerURLRoot     = null;
-            private String                          partnerServiceName = null;
-            private Map<String, Connection>         connectors         = null;
-            private Map<String, OMAGServiceDetails> nestedServices     = null;
-
-
-            /**
-             * Constructor requires the service name.
-             *
-             * @param serviceName display name of the service.
-             */
-            OMAGServiceDetails(String serviceName)
-            {
-                this.serviceName = serviceName;
-            }
-
-
-            /**
-             * Set up the unique identifier for the service.
-             *
-             * @param serviceId string Id
-             */
-            void setServiceId(String serviceId)
-            {
-                this.serviceId = serviceId;
-            }
+        report.endTable();
+    }
 
 
-            /**
-             * Set up the user Id assigned to this service.
-             *
-             * @param serviceUserId user Id
-             */
-            void setServiceUserId(String serviceUserId)
-            {
-                this.serviceUserId = serviceUserId;
-            }
+    /**
+     * Close the report file.  This is safe to call after the report has completed.
+     *
+     * @throws IOException problem writing file
+     */
+    @Override
+    public void close() throws IOException
+    {
+        report.close();
+    }
 
 
-            /**
-             * Set up the current status.
-             *
-             * @param serviceStatus server instance status enum value
-             */
-            void setServiceStatus(ServerActiveStatus serviceStatus)
-            {
-                this.serviceStatus = serviceStatus;
-            }
+    /**
+     * Main program that controls the operation of the platform report.  The parameters are passed space separated.
+     * They are used to override the report's default values.  Use "all" as the server name to report on all servers
+     * when a report format is also supplied.
+     *
+     * @param args 1. service platform URL root (or a comma-separated list of URL roots for a fleet report),
+     *             2. client userId, 3. server name, 4. report format (md, jsonl or csv - add .gz for a compressed
+     *             report, eg md.gz), 5. number of servers to collect concurrently, 6. timeout in seconds for each
+     *             server, 7. timeout in seconds for each platform of a fleet, 8. snapshot file used to report the
+     *             changes since the previous run (empty for no snapshot), 9. true to print each server as soon as it
+     *             is collected
+     */
+    public static void main(String[] args)
+    {
+        final String allServers = "all";
 
+        String       serverName = null; // means all servers
+        List<String> platformURLRoots = List.of("https://localhost:9443");
+        String       clientUserId = "garygeeke";
+        ReportFormat reportFormat = ReportFormat.MARKDOWN;
 
-            /**
-             * Save the service options as printable strings.
-             *
-             * @param serviceOptions configured service options
-             */
-            void setServiceOptions(Map<String, Object> serviceOptions)
-            {
-                this.serviceOptions = serviceOptions;
-            }
+        ReportCompression reportCompression = ReportCompression.NONE;
 
+        int maxConcurrentServers = DEFAULT_MAX_CONCURRENT_SERVERS;
+        int serverTimeoutSeconds = DEFAULT_SERVER_TIMEOUT_SECONDS;
+        int platformTimeoutSeconds = DEFAULT_PLATFORM_TIMEOUT_SECONDS;
 
-            /**
-             * Set up details of the partner service that this service is dependent on.
-             *
-             * @param partnerServerName name of the partner server
-             * @param partnerURLRoot URL for the hosting platform
-             * @param partnerServiceName service that is called in the partner server
-             */
-            void setPartnerService(String partnerServerName,
-                                   String partnerURLRoot,
-                                   String partnerServiceName)
-            {
-                this.partnerServerName = partnerServerName;
-                this.partnerURLRoot = partnerURLRoot;
-                this.partnerServiceName = partnerServiceName;
-            }
+        String  snapshotFileName = null;
+        boolean streamServers    = false;
 
+        if (args.length > 0)
+        {
+            platformURLRoots = new ArrayList<>();
 
-            /**
-             * Add details of a connector configured for this service.
-             *
-             * @param connectorName name/label for the connection
-             * @param connection configuration information
-             */
-            void setConnection(String     connectorName,
-                               Connection connection)
+            for (String platformURLRoot : args[0].split(","))
             {
-                if (connection != null)
+                if (! platformURLRoot.isBlank())
                 {
-                    if (connectors == null)
-                    {
-                        connectors = new HashMap<>();
-                    }
-
-                    Connection existingConnection = connectors.put(connectorName, connection);
-
-                    if (existingConnection != null)
-                    {
-                        System.out.println("Error: two connectors of the same name: " + connectorName + " in service: " + serviceName);
-                        System.out.println("       existing connection: " + existingConnection);
-                        System.out.println("       new connection: " + connection);
-                    }
+                    platformURLRoots.add(platformURLRoot.trim());
                 }
             }
 
-
-            /**
-             * Add details of a service that is nested in this service.
-             *
-             * @param serviceName nested service name
-             * @param serviceDetails description of the nested service
-             */
-            void addNestedService(String             serviceName,
-                                  OMAGServiceDetails serviceDetails)
+            if (platformURLRoots.isEmpty())
             {
-                if (nestedServices == null)
-                {
-                    nestedServices = new HashMap<>();
-                }
-
-                OMAGServiceDetails existingService = nestedServices.put(serviceName, serviceDetails);
-
-                if (existingService != null)
-                {
-                    System.out.println("Error: two nested services of same name: " + serviceName + " in service: " + this.serviceName);
-                    System.out.println("       existing nested service: " + existingService);
-                    System.out.println("       new nested service: " + serviceDetails);
-                }
+                System.out.println("No platform URL root supplied");
+                System.exit(-1);
             }
+        }
 
-
-            /**
-             * Print out details of the service that have been collected from the different APIs.
-             *
-             * @param indentLevel spacing for the service
-             *
-             * @throws IOException problem writing to the report
-             */
-            void printService(int indentLevel) throws IOException
-            {
-                report.printReportSubheading(indentLevel, "Service: " + serviceName);
-
-                int detailIndentLevel = indentLevel + 1;
-
-                if (serviceId != null)
-                {
-                    report.printReportLine(detailIndentLevel, "Service Id", serviceId);
-                }
-
-                if (serviceUserId != null)
-                {
-                    report.printReportLine(detailIndentLevel, "Service UserId", serviceUserId);
-                }
-
-                if ((serviceStatus != null) && (serviceStatus != ServerActiveStatus.UNKNOWN))
-                {
-                    report.printReportLine(detailIndentLevel, "Service Status", serviceStatus.getName());
-                }
-
-                if (partnerServerName != null)
-                {
-                    report.printReportSubheading(detailIndentLevel, "Partner Service:");
-                    report.printReportLine(detailIndentLevel + 1, "Partner Server", partnerServerName);
-                    report.printReportLine(detailIndentLevel + 1, "Partner URL root", partnerURLRoot);
-                    report.printReportLine(detailIndentLevel + 1, "Calling Service Name", partnerServiceName);
-                }
-
-                if (serviceOptions != null)
-                {
-                    report.printReportSubheading(detailIndentLevel, "Service Options");
-                    for (String optionName : serviceOptions.keySet())
-                    {
-                        if (optionName != null)
-                        {
-                            report.printReportLine(detailIndentLevel + 1, optionName, serviceOptions.get(optionName).toString());
-                        }
-                    }
-                }
-
-                if (nestedServices != null)
-                {
-                    report.printReportSubheading(detailIndentLevel, "Nested Services");
-
-                    for (OMAGServiceDetails nestedService : nestedServices.values())
-                    {
-                        if (nestedService != null)
-                        {
-                            nestedService.printService(detailIndentLevel + 1);
-                        }
-                    }
-                }
-
-                if (connectors != null)
-                {
-                    if (connectors.size() > 1)
-                    {
-                        report.printReportSubheading(detailIndentLevel, "Connectors");
-                        detailIndentLevel = detailIndentLevel + 1;
-                    }
-
-                    for (String connectorName : connectors.keySet())
-                    {
-                        report.printConnection(detailIndentLevel, connectorName, connectors.get(connectorName));
-                    }
-                }
-            }
+        if (args.length > 1)
+        {
+            clientUserId = args[1];
         }
 
+        if ((args.length > 2) && (! allServers.equals(args[2])))
+        {
+            serverName = args[2];
+        }
 
-        /**
-         * OMAGCohortDetails caches details about a particular cohort.
-         */
-        private class OMAGCohortDetails
+        if (args.length > 3)
         {
-            private String                   cohortName;
-            private CohortConnectionStatus   connectionStatus    = null;
-            private Map<String, Connection>  connectors          = null;
-            private MemberRegistration       localRegistration   = null;
-            private List<MemberRegistration> remoteRegistrations = null;
-
-
-            /**
-             * Constructor requires the cohort name.
-             *
-             * @param cohortName display name of the cohort.
-             */
-            OMAGCohortDetails(String cohortName)
-            {
-                this.cohortName = cohortName;
-            }
+            String formatName = args[3];
 
+            reportCompression = ReportCompression.getReportCompression(formatName);
 
-            /**
-             * Set up the current status of the server's connection to the cohort.
-             *
-             * @param connectionStatus enum
-             */
-            void setConnectionStatus(CohortConnectionStatus connectionStatus)
+            if (reportCompression != ReportCompression.NONE)
             {
-                this.connectionStatus = connectionStatus;
+                formatName = formatName.substring(0, formatName.length() - reportCompression.getFileExtension().length() - 1);
             }
 
+            reportFormat = ReportFormat.getReportFormat(formatName);
 
-            /**
-             * Add details of a connector configured for this cohort.
-             *
-             * @param connectorName name/label for the connection
-             * @param connection configuration information
-             */
-            void setConnection(String     connectorName,
-                               Connection connection)
+            if (reportFormat == null)
             {
-                if (connection != null)
-                {
-                    if (connectors == null)
-                    {
-                        connectors = new HashMap<>();
-                    }
-
-                    Connection existingConnection = connectors.put(connectorName, connection);
-
-                    if (existingConnection != null)
-                    {
-                        System.out.println("Error: two connectors of the same name: " + connectorName + " in service: " + cohortName);
-                        System.out.println("       existing connection: " + existingConnection);
-                        System.out.println("       new connection: " + connection);
-                    }
-                }
+                System.out.println("Unknown report format: " + args[3] + "; use md, jsonl or csv (with .gz for a compressed report)");
+                System.exit(-1);
             }
+        }
 
-
-            /**
-             * Set up information about the server's information that it sends out when it registers with a cohort.
-             *
-             * @param localRegistration local registration details
-             */
-            void setLocalRegistration(MemberRegistration localRegistration)
+        try
+        {
+            if (args.length > 4)
             {
-                this.localRegistration = localRegistration;
+                maxConcurrentServers = Integer.parseInt(args[4]);
             }
 
-
-            /**
-             * Set up the list of responses that this server has received from the other members of the cohort.
-             *
-             * @param remoteRegistrations list of responses from remote cohort members
-             */
-            void setRemoteRegistrations(List<MemberRegistration> remoteRegistrations)
+            if (args.length > 5)
             {
-                this.remoteRegistrations = remoteRegistrations;
+                serverTimeoutSeconds = Integer.parseInt(args[5]);
             }
 
-
-            /**
-             * Print out details of the cohort that have been collected from the different APIs.
-             *
-             * @param indentLevel spacing for the cohort content
-             *
-             * @throws IOException problem writing to the report
-             */
-            void printCohort(int indentLevel) throws IOException
+            if (args.length > 6)
             {
-                report.printReportSubheading(indentLevel, "Cohort: " + cohortName);
-
-                int detailIndentLevel = indentLevel + 1;
-
-                if (connectionStatus != null)
-                {
-                    report.printReportLine(detailIndentLevel, "Cohort Connection Status", connectionStatus.getStatusName());
-                }
-
-                if (connectors != null)
-                {
-                    if (connectors.size() > 1)
-                    {
-                        report.printReportSubheading(detailIndentLevel, "Cohort Connectors");
-                        detailIndentLevel = detailIndentLevel + 1;
-                    }
-
-                    for (String connectorName : connectors.keySet())
-                    {
-                        report.printConnection(detailIndentLevel, connectorName, connectors.get(connectorName));
-                    }
-                }
-
-                if (localRegistration != null)
-                {
-                    report.printReportSubheading(detailIndentLevel, "Local registration to " + cohortName);
-
-                    report.printReportLine(detailIndentLevel + 1, "Metadata Collection Id", localRegistration.getMetadataCollectionId());
-                    report.printReportLine(detailIndentLevel + 1, "Metadata Collection Name", localRegistration.getMetadataCollectionName());
-
-                    if (localRegistration.getRegistrationTime() != null)
-                    {
-                        report.printReportLine(detailIndentLevel + 1, "First registration time with cohort", localRegistration.getRegistrationTime().toString());
-                    }
-                }
-
-                if (remoteRegistrations != null)
-                {
-                    report.printReportSubheading(detailIndentLevel, "Registrations received from members of " + cohortName);
-
-                    for (MemberRegistration remoteRegistration : remoteRegistrations)
-                    {
-                        if (remoteRegistration != null)
-                        {
-                            report.printReportSubheading(detailIndentLevel + 1, "Registration from " + remoteRegistration.getServerName());
-
-                            report.printReportLine(detailIndentLevel + 2, "Metadata Collection Id", localRegistration.getMetadataCollectionId());
-                            report.printReportLine(detailIndentLevel + 2, "Metadata Collection Name", localRegistration.getMetadataCollectionName());
-                            report.printReportLine(detailIndentLevel + 2, "Server Type", localRegistration.getServerType());
-                            report.printReportLine(detailIndentLevel + 2, "Organization", localRegistration.getOrganizationName());
-
-                            if (remoteRegistration.getRegistrationTime() != null)
-                            {
-                                report.printReportLine(detailIndentLevel + 2, "First registration time with this member", remoteRegistration.getRegistrationTime().toString());
-                            }
-                        }
-                    }
-                }
+                platformTimeoutSeconds = Integer.parseInt(args[6]);
             }
         }
-    }
-
-
-    /**
-     * Main program that controls the operation of the platform report.  The parameters are passed space separated.
-     * They are used to override the report's default values.
-     *
-     * @param args 1. service platform URL root, 2. client userId, 3. server name,
-     */
-    public static void main(String[] args)
-    {
-        String  serverName = null; // means all servers
-        String  platformURLRoot = "https://localhost:9443";
-        String  clientUserId = "garygeeke";
-
-        if (args.length > 0)
+        catch (NumberFormatException error)
         {
-            platformURLRoot = args[0];
+            System.out.println("The number of concurrent servers and the timeouts (in seconds) must be numbers: " + error.getMessage());
+            System.exit(-1);
         }
 
-        if (args.length > 1)
+        if ((args.length > 7) && (! args[7].isEmpty()))
         {
-            clientUserId = args[1];
+            snapshotFileName = args[7];
         }
 
-        if (args.length > 2)
+        if (args.length > 8)
         {
-            serverName = args[2];
+            streamServers = Boolean.parseBoolean(args[8]);
         }
 
         System.out.println("===============================");
         System.out.println("OMAG Server Platform Report:    " + new Date().toString());
         System.out.println("===============================");
-        System.out.println("Running against platform: " + platformURLRoot);
+        if (platformURLRoots.size() == 1)
+        {
+            System.out.println("Running against platform: " + platformURLRoots.get(0));
+        }
+        else
+        {
+            System.out.println("Running against platforms: " + platformURLRoots);
+            System.out.println("Platform timeout: " + platformTimeoutSeconds + " seconds");
+        }
         if (serverName != null)
         {
             System.out.println("Focused on server: " + serverName);
         }
         System.out.println("Using userId: " + clientUserId);
+        System.out.println("Report format: " + reportFormat.getName() + ", compression: " + reportCompression.getName());
+        if (snapshotFileName != null)
+        {
+            if (serverName == null)
+            {
+                System.out.println("Snapshot file: " + snapshotFileName);
+            }
+            else
+            {
+                System.out.println("Snapshot file: not used when the report focuses on one server");
+                snapshotFileName = null;
+            }
+        }
+        if (streamServers)
+        {
+            if ((platformURLRoots.size() == 1) && (serverName == null) && (snapshotFileName == null))
+            {
+                System.out.println("Streaming servers: servers that have never run are not listed");
+            }
+            else
+            {
+                System.out.println("Streaming servers: not used for a fleet, a single server or a snapshot");
+            }
+        }
+        System.out.println("Concurrent servers: " + maxConcurrentServers + (ReportExecutors.virtualThreadsAvailable() ? " (virtual threads)" : "") +
+                                   ", server timeout: " + serverTimeoutSeconds + " seconds");
         System.out.println();
 
         HttpHelper.noStrictSSLIfConfigured();
 
-        try
+        boolean successful;
+
+        try (EgeriaPlatformReport report = new EgeriaPlatformReport(serverName,
+                                                                    platformURLRoots,
+                                                                    clientUserId,
+                                                                    reportFormat,
+                                                                    reportCompression,
+                                                                    maxConcurrentServers,
+                                                                    serverTimeoutSeconds,
+                                                                    platformTimeoutSeconds,
+                                                                    snapshotFileName,
+                                                                    streamServers))
         {
-            EgeriaPlatformReport report = new EgeriaPlatformReport(serverName, platformURLRoot, clientUserId);
-
-            report.run();
+            successful = report.run();
         }
         catch (Exception  error)
         {
             System.out.println("Exception: " + error.getClass().getName() + " with message " + error.getMessage());
+            successful = false;
+        }
+
+        if (! successful)
+        {
             System.exit(-1);
         }
     }
@@ -0,0 +1,453 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.platform;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.odpi.openmetadata.devprojects.reports.ReportExecutors;
+import org.odpi.openmetadata.http.HttpHelper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * EgeriaPlatformWatch is a long-running companion to EgeriaPlatformReport.  It polls one or more OMAG Server Platforms
+ * on a schedule and keeps a model of their servers in memory.  Each cycle is compared with the previous one and
+ * the differences (servers started or stopped, services changing status, cohort members joining or leaving, and so on)
+ * are appended to a JSON-lines events file, followed by a record of the cycle's latency and errors, including the
+ * count and latency of the calls to each Egeria API.
+ */
+public class EgeriaPlatformWatch implements AutoCloseable
+{
+    /**
+     * Default number of seconds between the end of one polling cycle and the start of the next.
+     */
+    public static final int DEFAULT_POLL_INTERVAL_SECONDS = 60;
+
+    /**
+     * Default number of seconds that each poll interval is randomly lengthened or shortened by.
+     */
+    public static final int DEFAULT_JITTER_SECONDS = 10;
+
+    /**
+     * Default name of the events file.
+     */
+    public static final String DEFAULT_EVENTS_FILE_NAME = "egeria-platform-events.jsonl";
+
+    private static final String CHANGE_RECORD_TYPE = "change";
+    private static final String CYCLE_RECORD_TYPE  = "cycle";
+
+    private final List<String>                      platformURLRoots;
+    private final OMAGPlatformCollector             collector;
+    private final OMAGSnapshotComparator            snapshotComparator = new OMAGSnapshotComparator();
+    private final Map<String, OMAGPlatformSnapshot> platformSnapshots  = new HashMap<>();
+    private final int                               pollIntervalSeconds;
+    private final int                               jitterSeconds;
+    private final long                              maxCycles;
+    private final BufferedWriter                    eventsWriter;
+    private final ObjectMapper                      objectMapper       = new ObjectMapper();
+
+    private volatile boolean running = true;
+
+
+    /**
+     * Set up the parameters for the watch.
+     *
+     * @param platformURLRoots locations of the platforms
+     * @param clientUserId userId to access the platforms
+     * @param pollIntervalSeconds number of seconds between polling cycles
+     * @param jitterSeconds maximum number of seconds to add to or take from each poll interval
+     * @param eventsFileName file that the events are appended to
+     * @param maxCycles number of cycles to run (0 means until the watch is stopped)
+     * @param maxConcurrentServers number of servers whose details are collected at the same time
+     * @param serverTimeoutSeconds number of seconds to wait for the details of a single server
+     * @throws IOException problem opening the events file
+     */
+    private EgeriaPlatformWatch(List<String> platformURLRoots,
+                                String       clientUserId,
+                                int          pollIntervalSeconds,
+                                int          jitterSeconds,
+                                String       eventsFileName,
+                                long         maxCycles,
+                                int          maxConcurrentServers,
+                                int          serverTimeoutSeconds) throws IOException
+    {
+        this.platformURLRoots = platformURLRoots;
+        this.pollIntervalSeconds = pollIntervalSeconds;
+        this.jitterSeconds = jitterSeconds;
+        this.maxCycles = maxCycles;
+
+        /*
+         * The platform's connectors and registered services are not watched, and running servers are always
+         * polled again because their services and cohort registrations can change while they run.  A platform
+         * may take up to a poll interval to respond before it is reported as an error for the cycle.
+         */
+        this.collector = new OMAGPlatformCollector(clientUserId,
+                                                   null,
+                                                   maxConcurrentServers,
+                                                   serverTimeoutSeconds,
+                                                   Math.max(pollIntervalSeconds, serverTimeoutSeconds),
+                                                   false,
+                                                   true);
+
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        this.eventsWriter = Files.newBufferedWriter(Paths.get(eventsFileName),
+                                                    StandardCharsets.UTF_8,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.APPEND);
+    }
+
+
+    /**
+     * Poll the platforms until the maximum number of cycles is reached or the watch is stopped.
+     *
+     * @return true if the watch ended normally
+     */
+    private boolean run()
+    {
+        long cycleNumber = 0;
+
+        try
+        {
+            while (running && ((maxCycles == 0) || (cycleNumber < maxCycles)))
+            {
+                cycleNumber++;
+
+                OMAGPlatformWatchCycle cycle = pollPlatforms(cycleNumber);
+
+                System.out.println("Cycle " + cycleNumber + " (" + cycle.getDurationMillis() + " ms): " +
+                                           (cycle.getBaseline() ? "baseline, " : cycle.getChangeCount() + " changes, ") +
+                                           cycle.getRefreshedServerCount() + " of " + cycle.getServerCount() + " servers refreshed, " +
+                                           (cycle.getPlatformErrorCount() + cycle.getServerErrorCount()) + " errors");
+
+                if (running && ((maxCycles == 0) || (cycleNumber < maxCycles)))
+                {
+                    Thread.sleep(getNextDelayMillis());
+                }
+            }
+
+            return true;
+        }
+        catch (InterruptedException interrupted)
+        {
+            Thread.currentThread().interrupt();
+            return ! running;
+        }
+        catch (Exception error)
+        {
+            System.out.println("There was an " + error.getClass().getName() + " exception when calling the platform.  Error message is: " + error.getMessage());
+            return false;
+        }
+    }
+
+
+    /**
+     * Run one polling cycle.  Each platform's new snapshot is compared with the one held in memory from the previous
+     * cycle and the changes are written to the events file.  A platform that could not be polled keeps its previous
+     * snapshot so its servers are not reported as removed and then added again.
+     *
+     * @param cycleNumber number of this cycle
+     * @return metrics for the cycle (already written to the events file)
+     * @throws InterruptedException the watch was stopped while waiting for the platforms
+     * @throws IOException problem writing to the events file
+     */
+    private OMAGPlatformWatchCycle pollPlatforms(long cycleNumber) throws InterruptedException, IOException
+    {
+        OMAGPlatformWatchCycle cycle      = new OMAGPlatformWatchCycle();
+        long                   cycleStart = System.currentTimeMillis();
+        Map<String, Long>      latencies  = new LinkedHashMap<>();
+        List<String>           errors     = new ArrayList<>();
+
+        cycle.setCycleNumber(cycleNumber);
+        cycle.setStartTime(new Date(cycleStart));
+        cycle.setBaseline(platformSnapshots.isEmpty());
+        cycle.setPlatformCount(platformURLRoots.size());
+
+        List<OMAGPlatformDetails> fleetDetails = collector.collectFleetDetails(platformURLRoots, platformSnapshots);
+
+        cycle.setDurationMillis(System.currentTimeMillis() - cycleStart);
+
+        for (OMAGPlatformDetails platformDetails : fleetDetails)
+        {
+            String platformURLRoot = platformDetails.getPlatformURLRoot();
+
+            latencies.put(platformURLRoot, platformDetails.getCollectionTimeMillis());
+
+            if (platformDetails.hasCollectionError())
+            {
+                cycle.setPlatformErrorCount(cycle.getPlatformErrorCount() + 1);
+                errors.add(platformURLRoot + ": " + platformDetails.getCollectionError());
+                continue;
+            }
+
+            Map<String, String> serverErrors = platformDetails.getServerCollectionErrors();
+
+            for (String serverName : serverErrors.keySet())
+            {
+                errors.add(platformURLRoot + " " + serverName + ": " + serverErrors.get(serverName));
+            }
+
+            cycle.setServerCount(cycle.getServerCount() + platformDetails.getServerDetailsMap().size());
+            cycle.setServerErrorCount(cycle.getServerErrorCount() + serverErrors.size());
+            cycle.setRefreshedServerCount(cycle.getRefreshedServerCount() + platformDetails.getRefreshedServerCount());
+
+            OMAGPlatformSnapshot previousSnapshot = platformSnapshots.get(platformURLRoot);
+            OMAGPlatformSnapshot currentSnapshot  = platformDetails.getSnapshot(previousSnapshot);
+
+            if (previousSnapshot != null)
+            {
+                for (OMAGServerChange change : snapshotComparator.getChanges(previousSnapshot, currentSnapshot))
+                {
+                    writeRecord(CHANGE_RECORD_TYPE, change);
+                    cycle.setChangeCount(cycle.getChangeCount() + 1);
+                }
+            }
+
+            platformSnapshots.put(platformURLRoot, currentSnapshot);
+        }
+
+        cycle.setPlatformLatencyMillis(latencies);
+        cycle.setErrors(errors);
+        cycle.setRemoteCalls(collector.getCallRecorder().getAndResetStatistics());
+
+        writeRecord(CYCLE_RECORD_TYPE, cycle);
+
+        /*
+         * Flushing at the end of each cycle means the events file can be tailed by other processes.
+         */
+        eventsWriter.flush();
+
+        return cycle;
+    }
+
+
+    /**
+     * Return the number of milliseconds to wait before the next cycle.  The jitter spreads the polls of several
+     * watches (or several restarts of the same watch) so they do not all call the platforms at the same moment.
+     *
+     * @return delay
+     */
+    private long getNextDelayMillis()
+    {
+        long intervalMillis = TimeUnit.SECONDS.toMillis(pollIntervalSeconds);
+        long jitterMillis   = TimeUnit.SECONDS.toMillis(jitterSeconds);
+
+        if (jitterMillis > 0)
+        {
+            intervalMillis += ThreadLocalRandom.current().nextLong(-jitterMillis, jitterMillis + 1);
+        }
+
+        return Math.max(intervalMillis, 0);
+    }
+
+
+    /**
+     * Append a single JSON record to the events file.  The record type is added as the first property so that
+     * consumers can tell the change events from the cycle records.
+     *
+     * @param recordType type of record
+     * @param recordBean bean holding the properties of the record
+     * @throws IOException problem writing to the events file
+     */
+    private void writeRecord(String recordType,
+                             Object recordBean) throws IOException
+    {
+        ObjectNode record = objectMapper.createObjectNode();
+
+        record.put("recordType", recordType);
+        record.setAll((ObjectNode) objectMapper.valueToTree(recordBean));
+
+        eventsWriter.write(objectMapper.writeValueAsString(record));
+        eventsWriter.newLine();
+    }
+
+
+    /**
+     * Stop the watch after the current cycle.
+     */
+    private void stop()
+    {
+        running = false;
+    }
+
+
+    /**
+     * Close the events file.
+     *
+     * @throws IOException problem writing file
+     */
+    @Override
+    public void close() throws IOException
+    {
+        eventsWriter.close();
+    }
+
+
+    /**
+     * Main program that controls the operation of the platform watch.  The parameters are passed space separated.
+     * They are used to override the watch's default values.  The watch runs until the maximum number of cycles is
+     * reached or the process is stopped (for example with Ctrl-C).
+     *
+     * @param args 1. service platform URL root (or a comma-separated list of URL roots), 2. client userId,
+     *             3. number of seconds between polls, 4. number of seconds of jitter on each poll, 5. events file,
+     *             6. number of cycles to run (0 means until stopped), 7. number of servers to collect concurrently,
+     *             8. timeout in seconds for each server
+     */
+    public static void main(String[] args)
+    {
+        List<String> platformURLRoots = List.of("https://localhost:9443");
+        String       clientUserId = "garygeeke";
+        String       eventsFileName = DEFAULT_EVENTS_FILE_NAME;
+
+        int  pollIntervalSeconds = DEFAULT_POLL_INTERVAL_SECONDS;
+        int  jitterSeconds = DEFAULT_JITTER_SECONDS;
+        long maxCycles = 0;
+        int  maxConcurrentServers = EgeriaPlatformReport.DEFAULT_MAX_CONCURRENT_SERVERS;
+        int  serverTimeoutSeconds = EgeriaPlatformReport.DEFAULT_SERVER_TIMEOUT_SECONDS;
+
+        if (args.length > 0)
+        {
+            platformURLRoots = new ArrayList<>();
+
+            for (String platformURLRoot : args[0].split(","))
+            {
+                if (! platformURLRoot.isBlank())
+                {
+                    platformURLRoots.add(platformURLRoot.trim());
+                }
+            }
+
+            if (platformURLRoots.isEmpty())
+            {
+                System.out.println("No platform URL root supplied");
+                System.exit(-1);
+            }
+        }
+
+        if (args.length > 1)
+        {
+            clientUserId = args[1];
+        }
+
+        try
+        {
+            if (args.length > 2)
+            {
+                pollIntervalSeconds = Integer.parseInt(args[2]);
+            }
+
+            if (args.length > 3)
+            {
+                jitterSeconds = Integer.parseInt(args[3]);
+            }
+
+            if (args.length > 5)
+            {
+                maxCycles = Long.parseLong(args[5]);
+            }
+
+            if (args.length > 6)
+            {
+                maxConcurrentServers = Integer.parseInt(args[6]);
+            }
+
+            if (args.length > 7)
+            {
+                serverTimeoutSeconds = Integer.parseInt(args[7]);
+            }
+        }
+        catch (NumberFormatException error)
+        {
+            System.out.println("The poll interval, jitter, number of cycles, number of concurrent servers and timeout must be numbers: " + error.getMessage());
+            System.exit(-1);
+        }
+
+        if (args.length > 4)
+        {
+            eventsFileName = args[4];
+        }
+
+        System.out.println("===============================");
+        System.out.println("OMAG Server Platform Watch:     " + new Date().toString());
+        System.out.println("===============================");
+        System.out.println("Watching platforms: " + platformURLRoots);
+        System.out.println("Using userId: " + clientUserId);
+        System.out.println("Poll interval: " + pollIntervalSeconds + " seconds (+/- " + jitterSeconds + " seconds)" +
+                                   (maxCycles == 0 ? "" : ", cycles: " + maxCycles));
+        System.out.println("Events file: " + eventsFileName);
+        System.out.println("Concurrent servers: " + maxConcurrentServers + (ReportExecutors.virtualThreadsAvailable() ? " (virtual threads)" : "") +
+                                   ", server timeout: " + serverTimeoutSeconds + " seconds");
+        System.out.println();
+
+        HttpHelper.noStrictSSLIfConfigured();
+
+        boolean successful;
+
+        try (EgeriaPlatformWatch watch = new EgeriaPlatformWatch(platformURLRoots,
+                                                                 clientUserId,
+                                                                 pollIntervalSeconds,
+                                                                 jitterSeconds,
+                                                                 eventsFileName,
+                                                                 maxCycles,
+                                                                 maxConcurrentServers,
+                                                                 serverTimeoutSeconds))
+        {
+            /*
+             * When the process is stopped, the watch is interrupted and given a few seconds to close the events file.
+             */
+            final Thread watchThread  = Thread.currentThread();
+            final Thread shutdownHook = new Thread(() ->
+            {
+                watch.stop();
+                watchThread.interrupt();
+
+                try
+                {
+                    watchThread.join(TimeUnit.SECONDS.toMillis(5));
+                }
+                catch (InterruptedException interrupted)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+            successful = watch.run();
+
+            if (watch.running)
+            {
+                /*
+                 * The watch finished its cycles on its own so the hook is no longer needed.
+                 */
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            }
+        }
+        catch (Exception  error)
+        {
+            System.out.println("Exception: " + error.getClass().getName() + " with message " + error.getMessage());
+            successful = false;
+        }
+
+        if (! successful)
+        {
+            System.exit(-1);
+        }
+    }
+}
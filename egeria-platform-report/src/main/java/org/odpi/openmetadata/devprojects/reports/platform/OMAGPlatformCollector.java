@@ -0,0 +1,963 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.platform;
+
+
+import org.odpi.openmetadata.adminservices.client.ConfigurationManagementClient;
+import org.odpi.openmetadata.adminservices.client.OMAGServerConfigurationClient;
+import org.odpi.openmetadata.adminservices.client.OMAGServerOperationsClient;
+import org.odpi.openmetadata.adminservices.client.OMAGServerPlatformConfigurationClient;
+import org.odpi.openmetadata.adminservices.configuration.properties.OMAGServerConfig;
+import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationErrorException;
+import org.odpi.openmetadata.adminservices.properties.ServerServicesStatus;
+import org.odpi.openmetadata.devprojects.reports.EgeriaClientRegistry;
+import org.odpi.openmetadata.devprojects.reports.RemoteCallRecorder;
+import org.odpi.openmetadata.devprojects.reports.ReportExecutors;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
+import org.odpi.openmetadata.platformservices.client.PlatformServicesClient;
+import org.odpi.openmetadata.platformservices.properties.ServerStatus;
+import org.odpi.openmetadata.repositoryservices.clients.MetadataHighwayServicesClient;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.odpi.openmetadata.repositoryservices.properties.CohortDescription;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+
+/**
+ * OMAGPlatformCollector makes the calls to one or more OMAG Server Platforms that gather the details of the platforms
+ * and their servers.  The calls for different platforms, and for the servers on each platform, run concurrently on
+ * bounded executors with timeouts.  It is used by both the platform report and the platform watch.
+ * The Egeria clients are held in an EgeriaClientRegistry so each one is created once per server (or platform) and
+ * then reused - in particular for every polling cycle of the platform watch.  The server clients are bound to their
+ * server's name so a single report run still creates them for every server; only the platform clients are shared
+ * between its servers.  Every remote call is timed by a RemoteCallRecorder so the report can show which Egeria
+ * APIs are slow.
+ */
+public class OMAGPlatformCollector
+{
+    /**
+     * Number of hours that a snapshot can be used to skip fetching the configuration of unchanged servers.  After this,
+     * the configuration of every server is fetched again so that servers that have been configured but not started
+     * are picked up.
+     */
+    public static final int FULL_REFRESH_HOURS = 24;
+
+    private final String  clientUserId;
+    private final String  serverOfInterest;
+    private final int     maxConcurrentServers;
+    private final int     serverTimeoutSeconds;
+    private final int     platformTimeoutSeconds;
+    private final boolean collectDeployment;
+    private final boolean refreshRunningServers;
+
+    private final EgeriaClientRegistry clientRegistry = new EgeriaClientRegistry();
+    private final RemoteCallRecorder   callRecorder   = new RemoteCallRecorder();
+
+
+    /**
+     * A collection task that records when it starts running.  Its timeout is measured from that point, rather than
+     * from when the collector starts waiting for it, so a task that waited in the executor's queue still gets its
+     * full time and a task that started long ago is not given extra time.
+     *
+     * @param <T> type of the result
+     */
+    private static class TimedTask<T> implements Callable<T>
+    {
+        private final Callable<T>    task;
+        private final CountDownLatch started   = new CountDownLatch(1);
+        private final Future<T>      future;
+        private volatile long        startTime = 0;
+
+        /**
+         * Submit the task to the executor.
+         *
+         * @param executor executor to run the task
+         * @param task calls to make
+         */
+        TimedTask(ExecutorService executor,
+                  Callable<T>     task)
+        {
+            this.task = task;
+            this.future = executor.submit(this);
+        }
+
+
+        /**
+         * Record the start time and run the task.  This runs on one of the executor's threads.
+         *
+         * @return result of the task
+         * @throws Exception problem from the task
+         */
+        @Override
+        public T call() throws Exception
+        {
+            startTime = System.nanoTime();
+            started.countDown();
+
+            return task.call();
+        }
+
+
+        /**
+         * Wait for the result of the task.  The task fails with a timeout if it does not finish within the timeout of
+         * starting, or if it has not finished by the deadline.  Either way the task is cancelled.
+         *
+         * @param timeoutSeconds number of seconds the task may run for
+         * @param deadline time (System.nanoTime()) that the collector stops waiting for any task
+         * @return result of the task
+         * @throws InterruptedException the collector was interrupted while waiting
+         * @throws ExecutionException the task failed
+         * @throws TimeoutException the task did not finish in time
+         */
+        T get(int  timeoutSeconds,
+              long deadline) throws InterruptedException, ExecutionException, TimeoutException
+        {
+            try
+            {
+                if (! started.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS))
+                {
+                    throw new TimeoutException("Not collected before the time allowed for the whole collection had run out");
+                }
+
+                long taskDeadline = startTime + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+
+                if (deadline - taskDeadline < 0)
+                {
+                    taskDeadline = deadline;
+                }
+
+                return future.get(taskDeadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+            catch (TimeoutException timeout)
+            {
+                future.cancel(true);
+
+                if (timeout.getMessage() == null)
+                {
+                    throw new TimeoutException("No response from the platform within " + timeoutSeconds + " seconds");
+                }
+
+                throw timeout;
+            }
+        }
+    }
+
+
+    /**
+     * Set up the parameters for collecting from the platforms.
+     *
+     * @param clientUserId userId to access the platforms
+     * @param serverOfInterest server to restrict the results (null means all servers)
+     * @param maxConcurrentServers number of servers on each platform whose details are collected at the same time
+     * @param serverTimeoutSeconds number of seconds to wait for the details of a single server
+     * @param platformTimeoutSeconds number of seconds to wait for the details of a whole platform in fleet mode
+     * @param collectDeployment should the platform's connectors and registered services be collected?
+     * @param refreshRunningServers should the runtime details of running servers be fetched even if they have not restarted?
+     */
+    public OMAGPlatformCollector(String  clientUserId,
+                                 String  serverOfInterest,
+                                 int     maxConcurrentServers,
+                                 int     serverTimeoutSeconds,
+                                 int     platformTimeoutSeconds,
+                                 boolean collectDeployment,
+                                 boolean refreshRunningServers)
+    {
+        this.clientUserId = clientUserId;
+        this.serverOfInterest = serverOfInterest;
+        this.maxConcurrentServers = maxConcurrentServers;
+        this.serverTimeoutSeconds = serverTimeoutSeconds;
+        this.platformTimeoutSeconds = platformTimeoutSeconds;
+        this.collectDeployment = collectDeployment;
+        this.refreshRunningServers = refreshRunningServers;
+    }
+
+
+    /**
+     * Return the recorder that times the remote calls made by the collector.
+     *
+     * @return recorder
+     */
+    RemoteCallRecorder getCallRecorder()
+    {
+        return callRecorder;
+    }
+
+
+    /**
+     * Collect the details of each platform in the fleet.  The platforms are called concurrently, and each one's
+     * servers are then collected concurrently too.  A platform that does not respond within the platform timeout is
+     * reported with a collection error so that it can not stall the whole report.
+     *
+     * @param platformURLRoots locations of the platforms
+     * @param previousSnapshots snapshots saved by the previous run, keyed by platform URL root
+     * @return details of each platform in the order the platforms were listed
+     * @throws InterruptedException the report was interrupted while waiting for the platforms
+     */
+    List<OMAGPlatformDetails> collectFleetDetails(List<String>                      platformURLRoots,
+                                                  Map<String, OMAGPlatformSnapshot> previousSnapshots) throws InterruptedException
+    {
+        long                      fleetStart   = System.currentTimeMillis();
+        List<OMAGPlatformDetails> fleetDetails = new ArrayList<>();
+        ExecutorService           executor     = ReportExecutors.newBoundedExecutor("EgeriaFleetReport-", platformURLRoots.size());
+
+        /*
+         * Every platform has its own thread so they all start straight away, and the whole fleet is collected
+         * within the platform timeout.
+         */
+        long fleetDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(platformTimeoutSeconds);
+
+        try
+        {
+            Map<String, TimedTask<OMAGPlatformDetails>> collectionTasks = new LinkedHashMap<>();
+
+            for (String platformURLRoot : platformURLRoots)
+            {
+                collectionTasks.computeIfAbsent(platformURLRoot, url -> new TimedTask<>(executor, () -> collectPlatformDetails(url, previousSnapshots.get(url))));
+            }
+
+            for (String platformURLRoot : collectionTasks.keySet())
+            {
+                TimedTask<OMAGPlatformDetails> collectionTask = collectionTasks.get(platformURLRoot);
+
+                try
+                {
+                    fleetDetails.add(collectionTask.get(platformTimeoutSeconds, fleetDeadline));
+                }
+                catch (TimeoutException timeout)
+                {
+                    OMAGPlatformDetails partialDetails = new OMAGPlatformDetails(platformURLRoot);
+
+                    partialDetails.setCollectionError(timeout.getMessage());
+                    partialDetails.setCollectionTimeMillis(System.currentTimeMillis() - fleetStart);
+                    fleetDetails.add(partialDetails);
+                }
+                catch (ExecutionException error)
+                {
+                    Throwable cause = error.getCause();
+
+                    OMAGPlatformDetails partialDetails = new OMAGPlatformDetails(platformURLRoot);
+
+                    partialDetails.setCollectionError(cause.getClass().getName() + ": " + cause.getMessage());
+                    partialDetails.setCollectionTimeMillis(System.currentTimeMillis() - fleetStart);
+                    fleetDetails.add(partialDetails);
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        return fleetDetails;
+    }
+
+
+    /**
+     * Test whether the snapshot from the previous run can be used to skip fetching the configuration of every server.
+     *
+     * @param previousSnapshot snapshot from the previous run (may be null)
+     * @return boolean flag
+     */
+    private boolean isIncremental(OMAGPlatformSnapshot previousSnapshot)
+    {
+        if ((serverOfInterest != null) ||
+            (previousSnapshot == null) ||
+            (previousSnapshot.getServers() == null) ||
+            (previousSnapshot.getFullRefreshTime() == null))
+        {
+            return false;
+        }
+
+        long snapshotAge = System.currentTimeMillis() - previousSnapshot.getFullRefreshTime().getTime();
+
+        return snapshotAge < TimeUnit.HOURS.toMillis(FULL_REFRESH_HOURS);
+    }
+
+
+    /**
+     * Call a platform for its deployment details and its registered services (if requested).  The servers are
+     * collected separately, either all at once by collectPlatformDetails() or one by one by streamServerDetails().
+     *
+     * @param platformURLRoot location of the platform
+     * @return details of the platform (without its servers)
+     * @throws Exception problem calling the platform
+     */
+    OMAGPlatformDetails collectPlatformDeployment(String platformURLRoot) throws Exception
+    {
+        OMAGPlatformDetails platformDetails = new OMAGPlatformDetails(platformURLRoot);
+
+        /*
+         * This client is from the platform services module and queries the runtime state of the platform and the servers that are running on it.
+         */
+        PlatformServicesClient platformServicesClient = getPlatformServicesClient(platformURLRoot);
+
+        /*
+         * This is the first call to the platform and determines the version of the software.
+         */
+        platformDetails.setPlatformOrigin(callRecorder.recordCall("PlatformServicesClient.getPlatformOrigin",
+                                                                   () -> platformServicesClient.getPlatformOrigin(clientUserId)));
+
+        if (collectDeployment)
+        {
+            /*
+             * This client is from the admin services module and manages the configuration of the platform.
+             */
+            OMAGServerPlatformConfigurationClient platformConfigurationClient = clientRegistry.getClient(OMAGServerPlatformConfigurationClient.class,
+                                                                                                         null,
+                                                                                                         platformURLRoot,
+                                                                                                         () -> new OMAGServerPlatformConfigurationClient(clientUserId, platformURLRoot));
+
+            /*
+             * Extract information about the connector that manages the configuration document store (where the configuration
+             * for the OMAG Servers is maintained) and the connector that manages the authorization of requests to the platform.
+             */
+            platformDetails.setConfigurationStoreConnection(callRecorder.recordCall("OMAGServerPlatformConfigurationClient.getConfigurationStoreConnection",
+                                                                                    platformConfigurationClient::getConfigurationStoreConnection));
+            platformDetails.setPlatformSecurityConnection(callRecorder.recordCall("OMAGServerPlatformConfigurationClient.getPlatformSecurityConnection",
+                                                                                  platformConfigurationClient::getPlatformSecurityConnection));
+
+            /*
+             * List the registered services
+             */
+            platformDetails.setRegisteredServices(callRecorder.recordCall("PlatformServicesClient.getAccessServices",
+                                                                          () -> platformServicesClient.getAccessServices(clientUserId)),
+                                                  callRecorder.recordCall("PlatformServicesClient.getEngineServices",
+                                                                          () -> platformServicesClient.getEngineServices(clientUserId)),
+                                                  callRecorder.recordCall("PlatformServicesClient.getIntegrationServices",
+                                                                          () -> platformServicesClient.getIntegrationServices(clientUserId)),
+                                                  callRecorder.recordCall("PlatformServicesClient.getViewServices",
+                                                                          () -> platformServicesClient.getViewServices(clientUserId)));
+        }
+
+        platformDetails.setServersHeading(serverOfInterest == null ? "Platform servers" : "Server of interest");
+
+        return platformDetails;
+    }
+
+
+    /**
+     * Call a platform for its deployment details, its registered services and the details of its servers.  If there
+     * is a recent snapshot from the previous run, the servers are rebuilt from it and only the servers whose status
+     * shows that they have been started or stopped since are fetched again.
+     *
+     * @param platformURLRoot location of the platform
+     * @param previousSnapshot snapshot of the platform saved by the previous run (may be null)
+     * @return details of the platform
+     * @throws Exception problem calling the platform
+     */
+    OMAGPlatformDetails collectPlatformDetails(String               platformURLRoot,
+                                               OMAGPlatformSnapshot previousSnapshot) throws Exception
+    {
+        long                   collectionStart        = System.currentTimeMillis();
+        OMAGPlatformDetails    platformDetails        = collectPlatformDeployment(platformURLRoot);
+        PlatformServicesClient platformServicesClient = getPlatformServicesClient(platformURLRoot);
+
+        /*
+         * Collect server details.  The platform is asked which servers it knows about, then the calls for
+         * each server are fanned out across a bounded executor.
+         */
+        Map<String, OMAGServerDetails> serverDetailsMap = platformDetails.getServerDetailsMap();
+
+        Set<String> knownServers;
+        Set<String> activeServers;
+
+        if (serverOfInterest == null)
+        {
+            if (isIncremental(previousSnapshot))
+            {
+                /*
+                 * Start from the servers saved by the previous run.  Fetching every configuration document
+                 * is the most expensive call, so it is only made when the snapshot is too old.
+                 */
+                platformDetails.setFullRefreshTime(previousSnapshot.getFullRefreshTime());
+
+                for (OMAGServerSnapshot serverSnapshot : previousSnapshot.getServers().values())
+                {
+                    serverDetailsMap.put(serverSnapshot.getServerName(), new OMAGServerDetails(serverSnapshot));
+                }
+            }
+            else
+            {
+                /*
+                 * Output requested for all servers
+                 */
+                platformDetails.setFullRefreshTime(new Date());
+
+                Set<OMAGServerConfig> configuredServers = getAllServerConfigurations(platformURLRoot);
+
+                if (configuredServers != null)
+                {
+                    for (OMAGServerConfig serverConfig : configuredServers)
+                    {
+                        if ((serverConfig != null) && (serverConfig.getLocalServerName() != null))
+                        {
+                            serverDetailsMap.computeIfAbsent(serverConfig.getLocalServerName(), OMAGServerDetails::new).setConfiguration(serverConfig);
+                        }
+                    }
+                }
+            }
+
+            knownServers = getServerNames(callRecorder.recordCall("PlatformServicesClient.getKnownServers",
+                                                                  () -> platformServicesClient.getKnownServers(clientUserId)));
+            activeServers = getServerNames(callRecorder.recordCall("PlatformServicesClient.getActiveServers",
+                                                                   () -> platformServicesClient.getActiveServers(clientUserId)));
+
+            for (String serverName : knownServers)
+            {
+                serverDetailsMap.computeIfAbsent(serverName, OMAGServerDetails::new);
+            }
+
+            for (String serverName : activeServers)
+            {
+                serverDetailsMap.computeIfAbsent(serverName, OMAGServerDetails::new);
+            }
+        }
+        else
+        {
+            OMAGServerDetails serverDetails = new OMAGServerDetails(serverOfInterest);
+
+            OMAGServerConfigurationClient configurationClient = getConfigurationClient(serverOfInterest, platformURLRoot);
+
+            OMAGServerConfig serverConfig = callRecorder.recordCall("OMAGServerConfigurationClient.getOMAGServerConfig",
+                                                                    configurationClient::getOMAGServerConfig);
+
+            if (serverConfig != null)
+            {
+                serverDetails.setConfiguration(serverConfig);
+            }
+
+            serverDetailsMap.put(serverOfInterest, serverDetails);
+
+            knownServers = Collections.singleton(serverOfInterest);
+            activeServers = Collections.singleton(serverOfInterest);
+        }
+
+        collectServerDetails(platformServicesClient, platformURLRoot, serverDetailsMap, knownServers, activeServers);
+
+        platformDetails.setCollectionTimeMillis(System.currentTimeMillis() - collectionStart);
+
+        return platformDetails;
+    }
+
+
+    /**
+     * Call a platform for the details of each of its servers and pass them to the consumer one at a time, in server
+     * name order.  At most maxConcurrentServers servers are being collected at once and each server is handed to the
+     * consumer (and then released) as soon as it and the servers before it are complete.  This means the memory used
+     * depends on the concurrency level rather than the number of servers on the platform.  To keep to this, the
+     * servers are listed with the platform's names-only calls (its known and active servers) and each server's
+     * configuration document is fetched by the task that collects the server.  The platform can only list the
+     * configuration documents in full, so servers that have been configured but have never run on the platform are
+     * not included - they are reported when the servers are collected by collectPlatformDetails().
+     *
+     * @param platformURLRoot location of the platform
+     * @param serverDetailsConsumer receives the details of each server
+     * @throws Exception problem calling the platform or from the consumer
+     */
+    void streamServerDetails(String                platformURLRoot,
+                             ServerDetailsConsumer serverDetailsConsumer) throws Exception
+    {
+        PlatformServicesClient platformServicesClient = getPlatformServicesClient(platformURLRoot);
+
+        Set<String> knownServers = getServerNames(callRecorder.recordCall("PlatformServicesClient.getKnownServers",
+                                                                          () -> platformServicesClient.getKnownServers(clientUserId)));
+        Set<String> activeServers = getServerNames(callRecorder.recordCall("PlatformServicesClient.getActiveServers",
+                                                                           () -> platformServicesClient.getActiveServers(clientUserId)));
+
+        Set<String> serverNames = new TreeSet<>(knownServers);
+
+        serverNames.addAll(activeServers);
+
+        ExecutorService executor = ReportExecutors.newBoundedExecutor("EgeriaPlatformReport-", maxConcurrentServers);
+
+        try
+        {
+            Iterator<String>                    serverNameIterator = serverNames.iterator();
+            Deque<String>                       windowNames        = new ArrayDeque<>();
+            Deque<TimedTask<OMAGServerDetails>> windowTasks        = new ArrayDeque<>();
+            Deque<Long>                         windowDeadlines    = new ArrayDeque<>();
+
+            while (serverNameIterator.hasNext() || (! windowTasks.isEmpty()))
+            {
+                /*
+                 * Keep the window full so the platform always has maxConcurrentServers requests to work on.
+                 */
+                while (serverNameIterator.hasNext() && (windowTasks.size() < Math.max(maxConcurrentServers, 1)))
+                {
+                    final String serverName = serverNameIterator.next();
+
+                    windowNames.addLast(serverName);
+                    windowTasks.addLast(new TimedTask<>(executor, () -> collectStreamedServer(platformServicesClient,
+                                                                                              platformURLRoot,
+                                                                                              serverName,
+                                                                                              knownServers.contains(serverName),
+                                                                                              activeServers.contains(serverName))));
+
+                    /*
+                     * The window is the same size as the executor so the task should start at once.  It is allowed
+                     * one timeout to get a thread (which may still be held by a cancelled call) and one to run.
+                     */
+                    windowDeadlines.addLast(System.nanoTime() + 2 * TimeUnit.SECONDS.toNanos(serverTimeoutSeconds));
+                }
+
+                String                       serverName     = windowNames.removeFirst();
+                TimedTask<OMAGServerDetails> collectionTask = windowTasks.removeFirst();
+                long                         deadline       = windowDeadlines.removeFirst();
+                OMAGServerDetails            serverDetails;
+
+                try
+                {
+                    serverDetails = collectionTask.get(serverTimeoutSeconds, deadline);
+                }
+                catch (TimeoutException timeout)
+                {
+                    serverDetails = new OMAGServerDetails(serverName);
+                    serverDetails.setCollectionError(timeout.getMessage());
+                }
+                catch (ExecutionException error)
+                {
+                    Throwable cause = error.getCause();
+
+                    serverDetails = new OMAGServerDetails(serverName);
+                    serverDetails.setCollectionError(cause.getClass().getName() + ": " + cause.getMessage());
+                }
+
+                serverDetailsConsumer.accept(serverDetails);
+
+                /*
+                 * The server's clients are not needed again in this run.
+                 */
+                clientRegistry.releaseClients(serverName, platformURLRoot);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+
+    /**
+     * Make all of the calls for a single server when its details are being streamed.  This runs on one of the
+     * executor's threads.
+     *
+     * @param platformServicesClient client for the platform services
+     * @param platformURLRoot location of the platform
+     * @param serverName name of the server
+     * @param knownServer has the server run on the platform?
+     * @param activeServer is the server running on the platform?
+     * @return the server details
+     * @throws Exception unexpected error from the platform
+     */
+    private OMAGServerDetails collectStreamedServer(PlatformServicesClient platformServicesClient,
+                                                    String                 platformURLRoot,
+                                                    String                 serverName,
+                                                    boolean                knownServer,
+                                                    boolean                activeServer) throws Exception
+    {
+        OMAGServerDetails             serverDetails       = new OMAGServerDetails(serverName);
+        OMAGServerConfigurationClient configurationClient = getConfigurationClient(serverName, platformURLRoot);
+
+        try
+        {
+            serverDetails.setConfiguration(callRecorder.recordCall("OMAGServerConfigurationClient.getOMAGServerConfig",
+                                                                   configurationClient::getOMAGServerConfig));
+        }
+        catch (OMAGConfigurationErrorException configurationError)
+        {
+            // nothing to do - the server has run on the platform but its configuration document has since been removed
+        }
+
+        ServerStatus platformServerStatus = null;
+
+        if (knownServer)
+        {
+            platformServerStatus = getPlatformServerStatus(platformServicesClient, serverName);
+        }
+
+        return collectServerDetails(platformServicesClient, platformURLRoot, serverDetails, platformServerStatus, activeServer);
+    }
+
+
+    /**
+     * Receives the details of each server as they are streamed by streamServerDetails().
+     */
+    @FunctionalInterface
+    interface ServerDetailsConsumer
+    {
+        /**
+         * Process the details of a server.
+         *
+         * @param serverDetails details of the server
+         * @throws IOException problem writing the details
+         */
+        void accept(OMAGServerDetails serverDetails) throws IOException;
+    }
+
+
+    /**
+     * Return the client for the platform services.
+     *
+     * @param platformURLRoot location of the platform
+     * @return client
+     * @throws Exception problem creating the client
+     */
+    private PlatformServicesClient getPlatformServicesClient(String platformURLRoot) throws Exception
+    {
+        return clientRegistry.getClient(PlatformServicesClient.class,
+                                        null,
+                                        platformURLRoot,
+                                        () -> new PlatformServicesClient("EgeriaPlatform", platformURLRoot));
+    }
+
+
+    /**
+     * Return the configuration documents for every server that is visible to the platform.  The configuration
+     * management client from the admin services module will be able to work with all configuration documents
+     * that are visible to the platform - not just those servers intended to run on this platform.
+     *
+     * @param platformURLRoot location of the platform
+     * @return set of configuration documents (may be null)
+     * @throws Exception problem calling the platform
+     */
+    private Set<OMAGServerConfig> getAllServerConfigurations(String platformURLRoot) throws Exception
+    {
+        ConfigurationManagementClient configurationManagementClient = clientRegistry.getClient(ConfigurationManagementClient.class,
+                                                                                               null,
+                                                                                               platformURLRoot,
+                                                                                               () -> new ConfigurationManagementClient(clientUserId, platformURLRoot));
+
+        return callRecorder.recordCall("ConfigurationManagementClient.getAllServerConfigurations",
+                                       configurationManagementClient::getAllServerConfigurations);
+    }
+
+
+    /**
+     * Turn a list of server names returned by the platform into a set, skipping nulls.
+     *
+     * @param serverList list from the platform (may be null)
+     * @return set of server names
+     */
+    private Set<String> getServerNames(List<String> serverList)
+    {
+        Set<String> serverNames = new HashSet<>();
+
+        if (serverList != null)
+        {
+            for (String serverName : serverList)
+            {
+                if (serverName != null)
+                {
+                    serverNames.add(serverName);
+                }
+            }
+        }
+
+        return serverNames;
+    }
+
+
+    /**
+     * Call the platform for the runtime details of each server.  The calls for different servers run concurrently on
+     * a bounded executor (using virtual threads if the Java runtime supports them).  The results are merged back into
+     * the server details map.  A server that does not respond within the timeout of its calls starting is reported
+     * with the details that are already known (its configuration) and a collection error.  The servers are submitted
+     * and waited for in name order, and the whole collection is limited to the time taken by the executor to work
+     * through every server at the timeout.
+     *
+     * @param platformServicesClient client for the platform services
+     * @param platformURLRoot location of the platform
+     * @param serverDetailsMap map of server name to details - the configuration is already filled in
+     * @param knownServers servers that have run on the platform
+     * @param activeServers servers that are running on the platform
+     * @throws InterruptedException the report was interrupted while waiting for the servers
+     */
+    private void collectServerDetails(PlatformServicesClient         platformServicesClient,
+                                      String                         platformURLRoot,
+                                      Map<String, OMAGServerDetails> serverDetailsMap,
+                                      Set<String>                    knownServers,
+                                      Set<String>                    activeServers) throws InterruptedException
+    {
+        ExecutorService executor    = ReportExecutors.newBoundedExecutor("EgeriaPlatformReport-", maxConcurrentServers);
+        int             concurrency = Math.max(maxConcurrentServers, 1);
+        long            rounds      = (serverDetailsMap.size() + concurrency - 1) / concurrency;
+        long            deadline    = System.nanoTime() + rounds * TimeUnit.SECONDS.toNanos(serverTimeoutSeconds);
+
+        try
+        {
+            Map<String, TimedTask<OMAGServerDetails>> collectionTasks = new LinkedHashMap<>();
+
+            for (OMAGServerDetails serverDetails : new TreeMap<>(serverDetailsMap).values())
+            {
+                final String serverName = serverDetails.getServerName();
+
+                collectionTasks.put(serverName, new TimedTask<>(executor, () -> refreshServerDetails(platformServicesClient,
+                                                                                                     platformURLRoot,
+                                                                                                     serverDetails,
+                                                                                                     knownServers.contains(serverName),
+                                                                                                     activeServers.contains(serverName))));
+            }
+
+            for (String serverName : collectionTasks.keySet())
+            {
+                TimedTask<OMAGServerDetails> collectionTask = collectionTasks.get(serverName);
+
+                try
+                {
+                    serverDetailsMap.put(serverName, collectionTask.get(serverTimeoutSeconds, deadline));
+                }
+                catch (TimeoutException timeout)
+                {
+                    /*
+                     * The task may still be updating its details object so it is replaced with a new one.
+                     */
+                    OMAGServerDetails partialDetails = new OMAGServerDetails(serverName);
+
+                    partialDetails.setConfiguration(serverDetailsMap.get(serverName).getConfiguration());
+                    partialDetails.setCollectionError(timeout.getMessage());
+
+                    serverDetailsMap.put(serverName, partialDetails);
+                }
+                catch (ExecutionException error)
+                {
+                    Throwable cause = error.getCause();
+
+                    serverDetailsMap.get(serverName).setCollectionError(cause.getClass().getName() + ": " + cause.getMessage());
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+
+    /**
+     * Bring the details of a single server up to date.  Details rebuilt from a snapshot are kept if the platform's status
+     * for the server shows it has not been started or stopped since; otherwise the server's configuration and runtime
+     * details are fetched again.  In watch mode the runtime details of running servers are always fetched again, since
+     * their services and cohort registrations can change while they run.  This runs on one of the executor's threads.
+     *
+     * @param platformServicesClient client for the platform services
+     * @param platformURLRoot location of the platform
+     * @param serverDetails details of the server - either new or rebuilt from a snapshot
+     * @param knownServer has the server run on the platform?
+     * @param activeServer is the server running on the platform?
+     * @return the server details
+     * @throws Exception unexpected error from the platform
+     */
+    private OMAGServerDetails refreshServerDetails(PlatformServicesClient platformServicesClient,
+                                                   String                 platformURLRoot,
+                                                   OMAGServerDetails      serverDetails,
+                                                   boolean                knownServer,
+                                                   boolean                activeServer) throws Exception
+    {
+        String       serverName           = serverDetails.getServerName();
+        ServerStatus platformServerStatus = null;
+
+        if (knownServer)
+        {
+            platformServerStatus = getPlatformServerStatus(platformServicesClient, serverName);
+        }
+
+        if (! serverDetails.isFromSnapshot())
+        {
+            return collectServerDetails(platformServicesClient, platformURLRoot, serverDetails, platformServerStatus, activeServer);
+        }
+
+        OMAGServerDetails refreshedDetails = new OMAGServerDetails(serverName);
+
+        if (serverDetails.matchesStatus(platformServerStatus, activeServer))
+        {
+            if ((! refreshRunningServers) || (! activeServer))
+            {
+                return serverDetails;
+            }
+
+            /*
+             * The server has not restarted so its configuration is still the one that it is running with.
+             */
+            refreshedDetails.setConfiguration(serverDetails.getConfiguration());
+        }
+        else
+        {
+            try
+            {
+                OMAGServerConfigurationClient configurationClient = getConfigurationClient(serverName, platformURLRoot);
+
+                refreshedDetails.setConfiguration(callRecorder.recordCall("OMAGServerConfigurationClient.getOMAGServerConfig",
+                                                                          configurationClient::getOMAGServerConfig));
+            }
+            catch (OMAGConfigurationErrorException configurationError)
+            {
+                refreshedDetails.setConfiguration(serverDetails.getConfiguration());
+            }
+        }
+
+        return collectServerDetails(platformServicesClient, platformURLRoot, refreshedDetails, platformServerStatus, activeServer);
+    }
+
+
+    /**
+     * Return the client for a server's configuration document.
+     *
+     * @param serverName name of the server
+     * @param platformURLRoot location of the platform
+     * @return client
+     * @throws Exception problem creating the client
+     */
+    private OMAGServerConfigurationClient getConfigurationClient(String serverName,
+                                                                 String platformURLRoot) throws Exception
+    {
+        return clientRegistry.getClient(OMAGServerConfigurationClient.class,
+                                        serverName,
+                                        platformURLRoot,
+                                        () -> new OMAGServerConfigurationClient(clientUserId, serverName, platformURLRoot));
+    }
+
+
+    /**
+     * Ask the platform for the start/stop history of a server.
+     *
+     * @param platformServicesClient client for the platform services
+     * @param serverName name of the server
+     * @return status or null if the server has not run on the platform
+     * @throws Exception unexpected error from the platform
+     */
+    private ServerStatus getPlatformServerStatus(PlatformServicesClient platformServicesClient,
+                                                 String                 serverName) throws Exception
+    {
+        try
+        {
+            return callRecorder.recordCall("PlatformServicesClient.getServerStatus",
+                                           () -> platformServicesClient.getServerStatus(clientUserId, serverName));
+        }
+        catch (InvalidParameterException serverNotRunningException)
+        {
+            // nothing to do - simply that the server is not running
+            return null;
+        }
+    }
+
+
+    /**
+     * Make the calls to the platform for a single server.  This runs on one of the executor's threads.
+     *
+     * @param platformServicesClient client for the platform services
+     * @param platformURLRoot location of the platform
+     * @param serverDetails details of the server to fill in
+     * @param platformServerStatus start/stop history of the server from the platform (null if it has not run)
+     * @param activeServer is the server running on the platform?
+     * @return the server details
+     * @throws Exception unexpected error from the platform
+     */
+    private OMAGServerDetails collectServerDetails(PlatformServicesClient platformServicesClient,
+                                                   String                 platformURLRoot,
+                                                   OMAGServerDetails      serverDetails,
+                                                   ServerStatus           platformServerStatus,
+                                                   boolean                activeServer) throws Exception
+    {
+        String serverName = serverDetails.getServerName();
+
+        serverDetails.setActiveOnPlatform(activeServer);
+
+        if (platformServerStatus != null)
+        {
+            serverDetails.setServerStartTime(platformServerStatus.getServerStartTime());
+            serverDetails.setServerEndTime(platformServerStatus.getServerEndTime());
+            serverDetails.setServerHistory(platformServerStatus.getServerHistory());
+        }
+
+        if (activeServer)
+        {
+            try
+            {
+                /*
+                 * This client provides specific details of a running server - it is provided by the Admin Services module.
+                 */
+                OMAGServerOperationsClient serverOperationsClient = clientRegistry.getClient(OMAGServerOperationsClient.class,
+                                                                                             serverName,
+                                                                                             platformURLRoot,
+                                                                                             () -> new OMAGServerOperationsClient(clientUserId,
+                                                                                                                                  serverName,
+                                                                                                                                  platformURLRoot));
+
+                ServerServicesStatus adminServerStatus = callRecorder.recordCall("OMAGServerOperationsClient.getServerStatus",
+                                                                                 serverOperationsClient::getServerStatus);
+
+                if (adminServerStatus != null)
+                {
+                    serverDetails.setServerActiveStatus(adminServerStatus.getServerActiveStatus());
+                    serverDetails.setServerType(adminServerStatus.getServerType());
+                    serverDetails.setServices(adminServerStatus.getServices());
+                }
+            }
+            catch (OMAGConfigurationErrorException serverNotRunningException)
+            {
+                // nothing to do - simply that the server is not running
+            }
+        }
+
+        /*
+         * Add runtime information about the cohorts.
+         */
+        MetadataHighwayServicesClient metadataHighwayServicesClient = clientRegistry.getClient(MetadataHighwayServicesClient.class,
+                                                                                               serverName,
+                                                                                               platformURLRoot,
+                                                                                               () -> new MetadataHighwayServicesClient(serverName, platformURLRoot));
+
+        try
+        {
+            List<CohortDescription> cohorts = callRecorder.recordCall("MetadataHighwayServicesClient.getCohortDescriptions",
+                                                                      () -> metadataHighwayServicesClient.getCohortDescriptions(clientUserId));
+
+            if (cohorts != null)
+            {
+                for (CohortDescription cohortDescription : cohorts)
+                {
+                    if (cohortDescription != null)
+                    {
+                        OMAGServerDetails.OMAGCohortDetails cohortDetails = serverDetails.getCohortDetails(cohortDescription.getCohortName());
+
+                        cohortDetails.setConnectionStatus(cohortDescription.getConnectionStatus());
+
+                        cohortDetails.setLocalRegistration(callRecorder.recordCall("MetadataHighwayServicesClient.getLocalRegistration",
+                                                                                   () -> metadataHighwayServicesClient.getLocalRegistration(clientUserId,
+                                                                                                                                            cohortDescription.getCohortName())));
+
+                        cohortDetails.setRemoteRegistrations(callRecorder.recordCall("MetadataHighwayServicesClient.getRemoteRegistrations",
+                                                                                     () -> metadataHighwayServicesClient.getRemoteRegistrations(clientUserId,
+                                                                                                                                                cohortDescription.getCohortName())));
+                    }
+                }
+            }
+        }
+        catch (RepositoryErrorException serverNotRunningException)
+        {
+            // nothing to do - simply that the server is not running
+        }
+
+        return serverDetails;
+    }
+}
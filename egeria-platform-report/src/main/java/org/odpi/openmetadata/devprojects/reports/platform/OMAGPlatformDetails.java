@@ -0,0 +1,405 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.platform;
+
+
+import org.odpi.openmetadata.commonservices.ffdc.rest.RegisteredOMAGService;
+import org.odpi.openmetadata.devprojects.reports.EgeriaReport;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * OMAGPlatformDetails provides a cache to assemble details about an OMAG Server Platform and the servers that are
+ * visible to it.  Like OMAGServerDetails, it is filled in by a single collection task and then printed to the
+ * report with printPlatform().  This means the platforms of a fleet can be collected concurrently and still be
+ * printed one after another.
+ */
+public class OMAGPlatformDetails
+{
+    private String                         platformURLRoot;
+    private String                         platformOrigin               = null;
+    private Connection                     configurationStoreConnection = null;
+    private Connection                     platformSecurityConnection   = null;
+    private List<RegisteredOMAGService>    accessServices               = null;
+    private List<RegisteredOMAGService>    engineServices               = null;
+    private List<RegisteredOMAGService>    integrationServices          = null;
+    private List<RegisteredOMAGService>    viewServices                 = null;
+    private String                         serversHeading               = null;
+    private Map<String, OMAGServerDetails> serverDetailsMap             = new ConcurrentHashMap<>();
+    private String                         collectionError              = null;
+    private Date                           fullRefreshTime              = null;
+    private Date                           previousSnapshotTime         = null;
+    private List<OMAGServerChange>         changes                      = null;
+    private long                           collectionTimeMillis         = 0;
+
+
+    /**
+     * Constructor assumes the platform URL root is known.
+     *
+     * @param platformURLRoot network address of the platform
+     */
+    OMAGPlatformDetails(String platformURLRoot)
+    {
+        this.platformURLRoot = platformURLRoot;
+    }
+
+
+    /**
+     * Return the network address of the platform.
+     *
+     * @return URL root
+     */
+    String getPlatformURLRoot()
+    {
+        return platformURLRoot;
+    }
+
+
+    /**
+     * Set up the description of the Egeria software that the platform is running.
+     *
+     * @param platformOrigin version string returned by the platform
+     */
+    void setPlatformOrigin(String platformOrigin)
+    {
+        if (platformOrigin != null)
+        {
+            this.platformOrigin = platformOrigin.replace("\n", "");
+        }
+    }
+
+
+    /**
+     * Set up the connection for the connector that manages the configuration document store.
+     *
+     * @param configurationStoreConnection connection
+     */
+    void setConfigurationStoreConnection(Connection configurationStoreConnection)
+    {
+        this.configurationStoreConnection = configurationStoreConnection;
+    }
+
+
+    /**
+     * Set up the connection for the connector that authorizes requests to the platform.
+     *
+     * @param platformSecurityConnection connection
+     */
+    void setPlatformSecurityConnection(Connection platformSecurityConnection)
+    {
+        this.platformSecurityConnection = platformSecurityConnection;
+    }
+
+
+    /**
+     * Set up the services that are registered with the platform.
+     *
+     * @param accessServices registered access services
+     * @param engineServices registered engine services
+     * @param integrationServices registered integration services
+     * @param viewServices registered view services
+     */
+    void setRegisteredServices(List<RegisteredOMAGService> accessServices,
+                               List<RegisteredOMAGService> engineServices,
+                               List<RegisteredOMAGService> integrationServices,
+                               List<RegisteredOMAGService> viewServices)
+    {
+        this.accessServices = accessServices;
+        this.engineServices = engineServices;
+        this.integrationServices = integrationServices;
+        this.viewServices = viewServices;
+    }
+
+
+    /**
+     * Set up the heading for the list of servers.  This depends on whether the report covers all servers or just one.
+     *
+     * @param serversHeading heading
+     */
+    void setServersHeading(String serversHeading)
+    {
+        this.serversHeading = serversHeading;
+    }
+
+
+    /**
+     * Return the map of server name to server details.  It can be updated concurrently by the server collection tasks.
+     *
+     * @return map
+     */
+    Map<String, OMAGServerDetails> getServerDetailsMap()
+    {
+        return serverDetailsMap;
+    }
+
+
+    /**
+     * Record that the details of the platform could not be completely collected - for example because the platform
+     * did not respond within the timeout.
+     *
+     * @param collectionError description of the problem
+     */
+    void setCollectionError(String collectionError)
+    {
+        this.collectionError = collectionError;
+    }
+
+
+    /**
+     * Return whether the details of the platform could not be collected.
+     *
+     * @return boolean flag
+     */
+    boolean hasCollectionError()
+    {
+        return collectionError != null;
+    }
+
+
+    /**
+     * Return the description of the problem that stopped the details of the platform being collected.
+     *
+     * @return description or null
+     */
+    String getCollectionError()
+    {
+        return collectionError;
+    }
+
+
+    /**
+     * Return the number of milliseconds taken to collect the details of the platform.
+     *
+     * @return elapsed time
+     */
+    long getCollectionTimeMillis()
+    {
+        return collectionTimeMillis;
+    }
+
+
+    /**
+     * Set up the number of milliseconds taken to collect the details of the platform.
+     *
+     * @param collectionTimeMillis elapsed time
+     */
+    void setCollectionTimeMillis(long collectionTimeMillis)
+    {
+        this.collectionTimeMillis = collectionTimeMillis;
+    }
+
+
+    /**
+     * Return the number of servers whose details were fetched from the platform rather than rebuilt from a snapshot.
+     *
+     * @return count
+     */
+    int getRefreshedServerCount()
+    {
+        int refreshedServers = 0;
+
+        for (OMAGServerDetails serverDetails : serverDetailsMap.values())
+        {
+            if (! serverDetails.isFromSnapshot())
+            {
+                refreshedServers++;
+            }
+        }
+
+        return refreshedServers;
+    }
+
+
+    /**
+     * Return the collection errors of the servers whose details could not be collected, keyed by server name.
+     *
+     * @return map of server name to description of the problem
+     */
+    Map<String, String> getServerCollectionErrors()
+    {
+        Map<String, String> serverErrors = new TreeMap<>();
+
+        for (OMAGServerDetails serverDetails : serverDetailsMap.values())
+        {
+            if (serverDetails.hasCollectionError())
+            {
+                serverErrors.put(serverDetails.getServerName(), serverDetails.getCollectionError());
+            }
+        }
+
+        return serverErrors;
+    }
+
+
+    /**
+     * Set up when the configuration of every server was last fetched from the platform.  This is carried forward
+     * from the previous snapshot when only the changed servers are fetched.
+     *
+     * @param fullRefreshTime date/time
+     */
+    void setFullRefreshTime(Date fullRefreshTime)
+    {
+        this.fullRefreshTime = fullRefreshTime;
+    }
+
+
+    /**
+     * Build the snapshot of the platform to save for the next run.  A server whose details could not be collected
+     * this time keeps its previous snapshot, so a slow server does not show up as a change on the following run.
+     *
+     * @param previousSnapshot snapshot saved by the previous run (may be null)
+     * @return new snapshot
+     */
+    OMAGPlatformSnapshot getSnapshot(OMAGPlatformSnapshot previousSnapshot)
+    {
+        OMAGPlatformSnapshot            snapshot = new OMAGPlatformSnapshot();
+        Map<String, OMAGServerSnapshot> servers  = new TreeMap<>();
+
+        snapshot.setPlatformURLRoot(platformURLRoot);
+        snapshot.setSnapshotTime(new Date());
+        snapshot.setFullRefreshTime(fullRefreshTime);
+
+        for (OMAGServerDetails serverDetails : serverDetailsMap.values())
+        {
+            if (! serverDetails.hasCollectionError())
+            {
+                servers.put(serverDetails.getServerName(), serverDetails.getSnapshot());
+            }
+            else if ((previousSnapshot != null) &&
+                     (previousSnapshot.getServers() != null) &&
+                     (previousSnapshot.getServers().get(serverDetails.getServerName()) != null))
+            {
+                servers.put(serverDetails.getServerName(), previousSnapshot.getServers().get(serverDetails.getServerName()));
+            }
+        }
+
+        snapshot.setServers(servers);
+
+        return snapshot;
+    }
+
+
+    /**
+     * Set up the changes found by comparing this run with the previous run.
+     *
+     * @param previousSnapshotTime when the previous snapshot was taken
+     * @param changes list of changes
+     */
+    void setChanges(Date                   previousSnapshotTime,
+                    List<OMAGServerChange> changes)
+    {
+        this.previousSnapshotTime = previousSnapshotTime;
+        this.changes = changes;
+    }
+
+
+    /**
+     * Output the details that have been collected about the platform.  The servers are printed in name order
+     * so the report does not depend on the order that the collection tasks finished.  When the platform has been
+     * compared with the previous run's snapshot, the changes come first.
+     *
+     * @param report report to write to
+     * @param indentLevel amount of white space to add before each line of the report
+     * @throws IOException problem writing to the report
+     */
+    void printPlatform(EgeriaReport report,
+                       int          indentLevel) throws IOException
+    {
+        if (changes != null)
+        {
+            printChanges(report, indentLevel);
+        }
+
+        printDeployment(report, indentLevel);
+
+        if (collectionError == null)
+        {
+            for (String serverName : new TreeSet<>(serverDetailsMap.keySet()))
+            {
+                serverDetailsMap.get(serverName).printServer(report, indentLevel + 1);
+            }
+        }
+    }
+
+
+    /**
+     * Output the deployment details of the platform and its registered services, ending with the heading for the
+     * servers.  This is used on its own when the servers are streamed to the report as they are collected.
+     *
+     * @param report report to write to
+     * @param indentLevel amount of white space to add before each line of the report
+     * @throws IOException problem writing to the report
+     */
+    void printDeployment(EgeriaReport report,
+                         int          indentLevel) throws IOException
+    {
+        report.printReportSubheading(indentLevel, "Platform deployment");
+
+        if (platformOrigin != null)
+        {
+            report.printReportLine(indentLevel + 1, "Egeria version", platformOrigin);
+        }
+
+        if (collectionError != null)
+        {
+            report.printReportLine(indentLevel + 1, "Collection Error", collectionError);
+            return;
+        }
+
+        report.printConnection(indentLevel + 1, "Configuration document store connector", configurationStoreConnection);
+        report.printConnection(indentLevel + 1, "Platform security connector", platformSecurityConnection);
+
+        report.printReportSubheading(indentLevel, "Registered services");
+
+        report.printRegisteredServices(indentLevel + 1, accessServices);
+        report.printRegisteredServices(indentLevel + 1, engineServices);
+        report.printRegisteredServices(indentLevel + 1, integrationServices);
+        report.printRegisteredServices(indentLevel + 1, viewServices);
+
+        if (serversHeading != null)
+        {
+            report.printReportSubheading(indentLevel, serversHeading);
+        }
+    }
+
+
+    /**
+     * Output the changes since the previous run and how many servers had to be fetched from the platform to find them.
+     *
+     * @param report report to write to
+     * @param indentLevel amount of white space to add before each line of the report
+     * @throws IOException problem writing to the report
+     */
+    private void printChanges(EgeriaReport report,
+                              int          indentLevel) throws IOException
+    {
+        report.printReportSubheading(indentLevel, "Changes since last run");
+
+        report.printReportLine(indentLevel + 1, "Previous run", String.valueOf(previousSnapshotTime));
+        report.printReportLine(indentLevel + 1, "Servers refreshed", getRefreshedServerCount() + " of " + serverDetailsMap.size());
+
+        if (changes.isEmpty())
+        {
+            report.printReportLine(indentLevel + 1, "Changes", "None");
+        }
+        else
+        {
+            report.startTable(indentLevel + 1, List.of("Server", "Change"));
+
+            for (OMAGServerChange change : changes)
+            {
+                report.printTableRow(change.getServerName(), change.getDescription());
+            }
+
+            report.endTable();
+        }
+    }
+}
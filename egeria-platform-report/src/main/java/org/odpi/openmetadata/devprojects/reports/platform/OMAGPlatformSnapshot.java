@@ -0,0 +1,134 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.platform;
+
+
+import java.util.Date;
+import java.util.Map;
+
+
+/**
+ * OMAGPlatformSnapshot is the saved form of the server details collected from one platform.  It records when
+ * it was taken and when the servers' configuration was last fetched in full, so a later run can decide whether
+ * an incremental collection is good enough.
+ */
+public class OMAGPlatformSnapshot
+{
+    private String                          platformURLRoot = null;
+    private Date                            snapshotTime    = null;
+    private Date                            fullRefreshTime = null;
+    private Map<String, OMAGServerSnapshot> servers         = null;
+
+
+    /**
+     * Default constructor used when the snapshot is read from disk.
+     */
+    public OMAGPlatformSnapshot()
+    {
+    }
+
+
+    /**
+     * Return the network address of the platform.
+     *
+     * @return URL root
+     */
+    public String getPlatformURLRoot()
+    {
+        return platformURLRoot;
+    }
+
+
+    /**
+     * Set up the network address of the platform.
+     *
+     * @param platformURLRoot URL root
+     */
+    public void setPlatformURLRoot(String platformURLRoot)
+    {
+        this.platformURLRoot = platformURLRoot;
+    }
+
+
+    /**
+     * Return when the snapshot was taken.
+     *
+     * @return date/time
+     */
+    public Date getSnapshotTime()
+    {
+        return snapshotTime;
+    }
+
+
+    /**
+     * Set up when the snapshot was taken.
+     *
+     * @param snapshotTime date/time
+     */
+    public void setSnapshotTime(Date snapshotTime)
+    {
+        this.snapshotTime = snapshotTime;
+    }
+
+
+    /**
+     * Return when the configuration of every server was last fetched from the platform.
+     *
+     * @return date/time
+     */
+    public Date getFullRefreshTime()
+    {
+        return fullRefreshTime;
+    }
+
+
+    /**
+     * Set up when the configuration of every server was last fetched from the platform.
+     *
+     * @param fullRefreshTime date/time
+     */
+    public void setFullRefreshTime(Date fullRefreshTime)
+    {
+        this.fullRefreshTime = fullRefreshTime;
+    }
+
+
+    /**
+     * Return the saved details of each server, keyed by server name.
+     *
+     * @return map of server name to snapshot
+     */
+    public Map<String, OMAGServerSnapshot> getServers()
+    {
+        return servers;
+    }
+
+
+    /**
+     * Set up the saved details of each server, keyed by server name.
+     *
+     * @param servers map of server name to snapshot
+     */
+    public void setServers(Map<String, OMAGServerSnapshot> servers)
+    {
+        this.servers = servers;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMAGPlatformSnapshot{" +
+                       "platformURLRoot='" + platformURLRoot + '\'' +
+                       ", snapshotTime=" + snapshotTime +
+                       ", fullRefreshTime=" + fullRefreshTime +
+                       ", servers=" + servers +
+                       '}';
+    }
+}
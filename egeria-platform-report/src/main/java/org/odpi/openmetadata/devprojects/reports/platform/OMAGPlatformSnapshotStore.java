@@ -0,0 +1,98 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.platform;
+
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * OMAGPlatformSnapshotStore saves the server details collected from each platform to a local JSON file so that
+ * the next run of the platform report can skip the servers that have not changed and describe what has changed
+ * (using OMAGSnapshotComparator).  The file holds one OMAGPlatformSnapshot for each platform, keyed by platform URL root.
+ */
+public class OMAGPlatformSnapshotStore
+{
+    private final File         snapshotFile;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+
+    /**
+     * Constructor takes the name of the snapshot file.
+     *
+     * @param snapshotFileName name of the file (it does not need to exist yet)
+     */
+    public OMAGPlatformSnapshotStore(String snapshotFileName)
+    {
+        this.snapshotFile = new File(snapshotFileName);
+
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+
+    /**
+     * Return the name of the snapshot file.
+     *
+     * @return file name
+     */
+    public String getSnapshotFileName()
+    {
+        return snapshotFile.getPath();
+    }
+
+
+    /**
+     * Read the snapshots saved by the previous run.
+     *
+     * @return map of platform URL root to snapshot (empty if there is no snapshot file)
+     * @throws IOException the file could not be read or parsed
+     */
+    public Map<String, OMAGPlatformSnapshot> loadSnapshots() throws IOException
+    {
+        Map<String, OMAGPlatformSnapshot> snapshots = new HashMap<>();
+
+        if (snapshotFile.exists())
+        {
+            OMAGPlatformSnapshot[] savedSnapshots = objectMapper.readValue(snapshotFile, OMAGPlatformSnapshot[].class);
+
+            if (savedSnapshots != null)
+            {
+                for (OMAGPlatformSnapshot savedSnapshot : savedSnapshots)
+                {
+                    if ((savedSnapshot != null) && (savedSnapshot.getPlatformURLRoot() != null))
+                    {
+                        snapshots.put(savedSnapshot.getPlatformURLRoot(), savedSnapshot);
+                    }
+                }
+            }
+        }
+
+        return snapshots;
+    }
+
+
+    /**
+     * Save the snapshots for the next run.  The file is written alongside the old one and then moved into place
+     * so an interrupted run does not leave a partial snapshot behind.
+     *
+     * @param snapshots snapshots to save
+     * @throws IOException the file could not be written
+     */
+    public void saveSnapshots(Collection<OMAGPlatformSnapshot> snapshots) throws IOException
+    {
+        File workingFile = new File(snapshotFile.getPath() + ".tmp");
+
+        objectMapper.writeValue(workingFile, snapshots);
+
+        Files.move(workingFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,352 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.platform;
+
+
+import org.odpi.openmetadata.devprojects.reports.RemoteCallStatistics;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * OMAGPlatformWatchCycle records the latency and error metrics for one polling cycle of the platform watch.
+ * One is written to the events file after the change events of each cycle.
+ */
+public class OMAGPlatformWatchCycle
+{
+    private long                       cycleNumber           = 0;
+    private Date                       startTime             = null;
+    private long                       durationMillis        = 0;
+    private boolean                    baseline              = false;
+    private int                        platformCount         = 0;
+    private int                        platformErrorCount    = 0;
+    private int                        serverCount           = 0;
+    private int                        serverErrorCount      = 0;
+    private int                        refreshedServerCount  = 0;
+    private int                        changeCount           = 0;
+    private Map<String, Long>          platformLatencyMillis = null;
+    private List<String>               errors                = null;
+    private List<RemoteCallStatistics> remoteCalls           = null;
+
+
+    /**
+     * Default constructor.
+     */
+    public OMAGPlatformWatchCycle()
+    {
+    }
+
+
+    /**
+     * Return the number of the cycle (starting at 1).
+     *
+     * @return cycle number
+     */
+    public long getCycleNumber()
+    {
+        return cycleNumber;
+    }
+
+
+    /**
+     * Set up the number of the cycle (starting at 1).
+     *
+     * @param cycleNumber cycle number
+     */
+    public void setCycleNumber(long cycleNumber)
+    {
+        this.cycleNumber = cycleNumber;
+    }
+
+
+    /**
+     * Return when the cycle started.
+     *
+     * @return date/time
+     */
+    public Date getStartTime()
+    {
+        return startTime;
+    }
+
+
+    /**
+     * Set up when the cycle started.
+     *
+     * @param startTime date/time
+     */
+    public void setStartTime(Date startTime)
+    {
+        this.startTime = startTime;
+    }
+
+
+    /**
+     * Return the number of milliseconds taken to poll every platform.
+     *
+     * @return elapsed time
+     */
+    public long getDurationMillis()
+    {
+        return durationMillis;
+    }
+
+
+    /**
+     * Set up the number of milliseconds taken to poll every platform.
+     *
+     * @param durationMillis elapsed time
+     */
+    public void setDurationMillis(long durationMillis)
+    {
+        this.durationMillis = durationMillis;
+    }
+
+
+    /**
+     * Return whether this cycle only set up the in-memory model, so it could not detect any changes.
+     *
+     * @return boolean flag
+     */
+    public boolean getBaseline()
+    {
+        return baseline;
+    }
+
+
+    /**
+     * Set up whether this cycle only set up the in-memory model, so it could not detect any changes.
+     *
+     * @param baseline boolean flag
+     */
+    public void setBaseline(boolean baseline)
+    {
+        this.baseline = baseline;
+    }
+
+
+    /**
+     * Return the number of platforms polled.
+     *
+     * @return count
+     */
+    public int getPlatformCount()
+    {
+        return platformCount;
+    }
+
+
+    /**
+     * Set up the number of platforms polled.
+     *
+     * @param platformCount count
+     */
+    public void setPlatformCount(int platformCount)
+    {
+        this.platformCount = platformCount;
+    }
+
+
+    /**
+     * Return the number of platforms that could not be polled.
+     *
+     * @return count
+     */
+    public int getPlatformErrorCount()
+    {
+        return platformErrorCount;
+    }
+
+
+    /**
+     * Set up the number of platforms that could not be polled.
+     *
+     * @param platformErrorCount count
+     */
+    public void setPlatformErrorCount(int platformErrorCount)
+    {
+        this.platformErrorCount = platformErrorCount;
+    }
+
+
+    /**
+     * Return the number of servers visible to the platforms that were polled.
+     *
+     * @return count
+     */
+    public int getServerCount()
+    {
+        return serverCount;
+    }
+
+
+    /**
+     * Set up the number of servers visible to the platforms that were polled.
+     *
+     * @param serverCount count
+     */
+    public void setServerCount(int serverCount)
+    {
+        this.serverCount = serverCount;
+    }
+
+
+    /**
+     * Return the number of servers whose details could not be collected.
+     *
+     * @return count
+     */
+    public int getServerErrorCount()
+    {
+        return serverErrorCount;
+    }
+
+
+    /**
+     * Set up the number of servers whose details could not be collected.
+     *
+     * @param serverErrorCount count
+     */
+    public void setServerErrorCount(int serverErrorCount)
+    {
+        this.serverErrorCount = serverErrorCount;
+    }
+
+
+    /**
+     * Return the number of servers whose details were fetched from the platforms in this cycle.
+     *
+     * @return count
+     */
+    public int getRefreshedServerCount()
+    {
+        return refreshedServerCount;
+    }
+
+
+    /**
+     * Set up the number of servers whose details were fetched from the platforms in this cycle.
+     *
+     * @param refreshedServerCount count
+     */
+    public void setRefreshedServerCount(int refreshedServerCount)
+    {
+        this.refreshedServerCount = refreshedServerCount;
+    }
+
+
+    /**
+     * Return the number of change events written for this cycle.
+     *
+     * @return count
+     */
+    public int getChangeCount()
+    {
+        return changeCount;
+    }
+
+
+    /**
+     * Set up the number of change events written for this cycle.
+     *
+     * @param changeCount count
+     */
+    public void setChangeCount(int changeCount)
+    {
+        this.changeCount = changeCount;
+    }
+
+
+    /**
+     * Return the number of milliseconds taken to poll each platform, keyed by platform URL root.
+     *
+     * @return map of platform URL root to elapsed time
+     */
+    public Map<String, Long> getPlatformLatencyMillis()
+    {
+        return platformLatencyMillis;
+    }
+
+
+    /**
+     * Set up the number of milliseconds taken to poll each platform, keyed by platform URL root.
+     *
+     * @param platformLatencyMillis map of platform URL root to elapsed time
+     */
+    public void setPlatformLatencyMillis(Map<String, Long> platformLatencyMillis)
+    {
+        this.platformLatencyMillis = platformLatencyMillis;
+    }
+
+
+    /**
+     * Return the descriptions of the platform and server errors in this cycle.
+     *
+     * @return list of error descriptions
+     */
+    public List<String> getErrors()
+    {
+        return errors;
+    }
+
+
+    /**
+     * Set up the descriptions of the platform and server errors in this cycle.
+     *
+     * @param errors list of error descriptions
+     */
+    public void setErrors(List<String> errors)
+    {
+        this.errors = errors;
+    }
+
+
+    /**
+     * Return the count and latency of the calls made to each Egeria API during the cycle.
+     *
+     * @return list of statistics
+     */
+    public List<RemoteCallStatistics> getRemoteCalls()
+    {
+        return remoteCalls;
+    }
+
+
+    /**
+     * Set up the count and latency of the calls made to each Egeria API during the cycle.
+     *
+     * @param remoteCalls list of statistics
+     */
+    public void setRemoteCalls(List<RemoteCallStatistics> remoteCalls)
+    {
+        this.remoteCalls = remoteCalls;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMAGPlatformWatchCycle{" +
+                       "cycleNumber=" + cycleNumber +
+                       ", startTime=" + startTime +
+                       ", durationMillis=" + durationMillis +
+                       ", baseline=" + baseline +
+                       ", platformCount=" + platformCount +
+                       ", platformErrorCount=" + platformErrorCount +
+                       ", serverCount=" + serverCount +
+                       ", serverErrorCount=" + serverErrorCount +
+                       ", refreshedServerCount=" + refreshedServerCount +
+                       ", changeCount=" + changeCount +
+                       ", platformLatencyMillis=" + platformLatencyMillis +
+                       ", errors=" + errors +
+                       ", remoteCalls=" + remoteCalls +
+                       '}';
+    }
+}
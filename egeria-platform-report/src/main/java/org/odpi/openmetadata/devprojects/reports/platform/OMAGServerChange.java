@@ -0,0 +1,314 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.platform;
+
+
+import java.util.Date;
+
+
+/**
+ * OMAGServerChange describes a single change to a server found by comparing two snapshots of its platform.
+ * The subject is the service or cohort that changed (if any) and the member is the remote cohort member that
+ * joined or left.  Changes are shown in the platform report and written as events by the platform watch.
+ */
+public class OMAGServerChange
+{
+    private ServerChangeType changeType      = null;
+    private Date             detectedTime    = null;
+    private String           platformURLRoot = null;
+    private String           serverName      = null;
+    private String           subjectName     = null;
+    private String           memberName      = null;
+    private String           previousValue   = null;
+    private String           currentValue    = null;
+
+
+    /**
+     * Default constructor.
+     */
+    public OMAGServerChange()
+    {
+    }
+
+
+    /**
+     * Constructor used when the change is detected.
+     *
+     * @param changeType type of change
+     * @param serverName name of the server that changed
+     * @param subjectName name of the service or cohort that changed (may be null)
+     * @param previousValue value before the change (may be null)
+     * @param currentValue value after the change (may be null)
+     */
+    public OMAGServerChange(ServerChangeType changeType,
+                            String           serverName,
+                            String           subjectName,
+                            String           previousValue,
+                            String           currentValue)
+    {
+        this.changeType = changeType;
+        this.serverName = serverName;
+        this.subjectName = subjectName;
+        this.previousValue = previousValue;
+        this.currentValue = currentValue;
+    }
+
+
+    /**
+     * Return the type of change.
+     *
+     * @return enum
+     */
+    public ServerChangeType getChangeType()
+    {
+        return changeType;
+    }
+
+
+    /**
+     * Set up the type of change.
+     *
+     * @param changeType enum
+     */
+    public void setChangeType(ServerChangeType changeType)
+    {
+        this.changeType = changeType;
+    }
+
+
+    /**
+     * Return when the change was detected (the time of the later snapshot).
+     *
+     * @return date/time
+     */
+    public Date getDetectedTime()
+    {
+        return detectedTime;
+    }
+
+
+    /**
+     * Set up when the change was detected (the time of the later snapshot).
+     *
+     * @param detectedTime date/time
+     */
+    public void setDetectedTime(Date detectedTime)
+    {
+        this.detectedTime = detectedTime;
+    }
+
+
+    /**
+     * Return the network address of the platform that the server runs on.
+     *
+     * @return URL root
+     */
+    public String getPlatformURLRoot()
+    {
+        return platformURLRoot;
+    }
+
+
+    /**
+     * Set up the network address of the platform that the server runs on.
+     *
+     * @param platformURLRoot URL root
+     */
+    public void setPlatformURLRoot(String platformURLRoot)
+    {
+        this.platformURLRoot = platformURLRoot;
+    }
+
+
+    /**
+     * Return the name of the server that changed.
+     *
+     * @return server name
+     */
+    public String getServerName()
+    {
+        return serverName;
+    }
+
+
+    /**
+     * Set up the name of the server that changed.
+     *
+     * @param serverName server name
+     */
+    public void setServerName(String serverName)
+    {
+        this.serverName = serverName;
+    }
+
+
+    /**
+     * Return the name of the service or cohort that changed.
+     *
+     * @return name or null
+     */
+    public String getSubjectName()
+    {
+        return subjectName;
+    }
+
+
+    /**
+     * Set up the name of the service or cohort that changed.
+     *
+     * @param subjectName name or null
+     */
+    public void setSubjectName(String subjectName)
+    {
+        this.subjectName = subjectName;
+    }
+
+
+    /**
+     * Return the name of the cohort member that joined or left.
+     *
+     * @return server name or null
+     */
+    public String getMemberName()
+    {
+        return memberName;
+    }
+
+
+    /**
+     * Set up the name of the cohort member that joined or left.
+     *
+     * @param memberName server name or null
+     */
+    public void setMemberName(String memberName)
+    {
+        this.memberName = memberName;
+    }
+
+
+    /**
+     * Return the value before the change.
+     *
+     * @return value or null
+     */
+    public String getPreviousValue()
+    {
+        return previousValue;
+    }
+
+
+    /**
+     * Set up the value before the change.
+     *
+     * @param previousValue value or null
+     */
+    public void setPreviousValue(String previousValue)
+    {
+        this.previousValue = previousValue;
+    }
+
+
+    /**
+     * Return the value after the change.
+     *
+     * @return value or null
+     */
+    public String getCurrentValue()
+    {
+        return currentValue;
+    }
+
+
+    /**
+     * Set up the value after the change.
+     *
+     * @param currentValue value or null
+     */
+    public void setCurrentValue(String currentValue)
+    {
+        this.currentValue = currentValue;
+    }
+
+
+    /**
+     * Return a sentence describing the change for the report.
+     *
+     * @return description
+     */
+    public String getDescription()
+    {
+        if (changeType == null)
+        {
+            return null;
+        }
+
+        switch (changeType)
+        {
+            case NEW_SERVER:
+                return "New server";
+
+            case SERVER_REMOVED:
+                return "Server no longer visible to the platform";
+
+            case SERVER_STARTED:
+                return (currentValue == null) ? "Now running" : "Started at " + currentValue;
+
+            case SERVER_STOPPED:
+                return (currentValue == null) ? "No longer running" : "Stopped at " + currentValue;
+
+            case SERVER_STATUS_CHANGED:
+                return "Server status changed from " + previousValue + " to " + currentValue;
+
+            case CONFIGURATION_CHANGED:
+                return "Configuration changed";
+
+            case SERVICE_ADDED:
+                return "Service " + subjectName + " added (" + currentValue + ")";
+
+            case SERVICE_REMOVED:
+                return "Service " + subjectName + " removed";
+
+            case SERVICE_STATUS_CHANGED:
+                return "Service " + subjectName + " changed from " + previousValue + " to " + currentValue;
+
+            case COHORT_JOINED:
+                return "Joined cohort " + subjectName;
+
+            case COHORT_LEFT:
+                return "Left cohort " + subjectName;
+
+            case COHORT_CONNECTION_CHANGED:
+                return "Connection to cohort " + subjectName + " changed from " + previousValue + " to " + currentValue;
+
+            case COHORT_MEMBER_JOINED:
+                return "Member " + memberName + " joined cohort " + subjectName;
+
+            case COHORT_MEMBER_LEFT:
+                return "Member " + memberName + " left cohort " + subjectName;
+
+            default:
+                return changeType.getName();
+        }
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMAGServerChange{" +
+                       "changeType=" + changeType +
+                       ", detectedTime=" + detectedTime +
+                       ", platformURLRoot='" + platformURLRoot + '\'' +
+                       ", serverName='" + serverName + '\'' +
+                       ", subjectName='" + subjectName + '\'' +
+                       ", memberName='" + memberName + '\'' +
+                       ", previousValue='" + previousValue + '\'' +
+                       ", currentValue='" + currentValue + '\'' +
+                       '}';
+    }
+}
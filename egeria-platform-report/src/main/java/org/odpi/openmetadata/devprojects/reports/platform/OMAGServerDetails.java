@@ -0,0 +1,1193 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.platform;
+
+
+import org.odpi.openmetadata.adminservices.configuration.properties.AccessServiceConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.CohortConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.EngineConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.EngineServiceConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.IntegrationConnectorConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.IntegrationServiceConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.OMAGServerConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.ViewServiceConfig;
+import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceDescription;
+import org.odpi.openmetadata.adminservices.configuration.registration.GovernanceServicesDescription;
+import org.odpi.openmetadata.adminservices.properties.OMAGServerServiceStatus;
+import org.odpi.openmetadata.adminservices.properties.ServerActiveStatus;
+import org.odpi.openmetadata.devprojects.reports.EgeriaReport;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.platformservices.properties.OMAGServerInstanceHistory;
+import org.odpi.openmetadata.platformservices.properties.ServerStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.cohortregistrystore.properties.MemberRegistration;
+import org.odpi.openmetadata.repositoryservices.properties.CohortConnectionStatus;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+
+/**
+ * OMAGServerDetails provides a cache to assemble details about a server.  It is initialized through a
+ * series of set method calls that pass information retrieved from the OMAG Server Platform.  It extracts the
+ * interesting values that are to form part of the server report.  Once all that is known about the server has
+ * been assembled, it is printed to the report with printServer().
+ * <br><br>
+ * Each instance is filled in by a single collection task, so it does not need to be thread-safe itself.  The
+ * report hands it between threads through a concurrent map and the task's Future.
+ */
+public class OMAGServerDetails
+{
+    private String                          serverName;
+    private String                          serverType           = null;
+    private OMAGServerConfig                configuration        = null;
+    private ServerActiveStatus              serverActiveStatus   = ServerActiveStatus.UNKNOWN;
+    private Date                            serverStartTime      = null;
+    private Date                            serverEndTime        = null;
+    private List<OMAGServerInstanceHistory> serverHistory        = null;
+    private List<OMAGServerServiceStatus>   services             = null;
+    private boolean                         activeOnPlatform     = false;
+    private Map<String, OMAGServiceDetails> serviceDetailsMap    = new HashMap<>();
+    private Map<String, OMAGCohortDetails>  cohortDetailsMap     = new HashMap<>();
+    private String                          collectionError      = null;
+    private boolean                         fromSnapshot         = false;
+
+
+    /**
+     * Constructor assumes the server name is known.
+     *
+     * @param serverName name of the subject of this object
+     */
+    OMAGServerDetails(String serverName)
+    {
+        this.serverName = serverName;
+    }
+
+
+    /**
+     * Constructor rebuilds the details saved by a previous run.  The saved values are passed through the same
+     * set methods, in the same order, as values retrieved from the platform.
+     *
+     * @param snapshot saved details of the server
+     */
+    OMAGServerDetails(OMAGServerSnapshot snapshot)
+    {
+        this.serverName = snapshot.getServerName();
+        this.fromSnapshot = true;
+
+        setConfiguration(snapshot.getConfiguration());
+        setActiveOnPlatform(snapshot.getActiveOnPlatform());
+        setServerStartTime(snapshot.getServerStartTime());
+        setServerEndTime(snapshot.getServerEndTime());
+        setServerHistory(snapshot.getServerHistory());
+
+        if (snapshot.getServerActiveStatus() != null)
+        {
+            setServerActiveStatus(snapshot.getServerActiveStatus());
+        }
+
+        if (snapshot.getServerType() != null)
+        {
+            setServerType(snapshot.getServerType());
+        }
+
+        setServices(snapshot.getServices());
+
+        if (snapshot.getCohorts() != null)
+        {
+            for (OMAGServerSnapshot.OMAGCohortSnapshot cohortSnapshot : snapshot.getCohorts())
+            {
+                OMAGCohortDetails cohortDetails = getCohortDetails(cohortSnapshot.getCohortName());
+
+                cohortDetails.setConnectionStatus(cohortSnapshot.getConnectionStatus());
+                cohortDetails.setLocalRegistration(cohortSnapshot.getLocalRegistration());
+                cohortDetails.setRemoteRegistrations(cohortSnapshot.getRemoteRegistrations());
+            }
+        }
+    }
+
+
+    /**
+     * Return the values that were retrieved from the platform for this server so they can be saved for the next run.
+     *
+     * @return snapshot
+     */
+    OMAGServerSnapshot getSnapshot()
+    {
+        OMAGServerSnapshot snapshot = new OMAGServerSnapshot();
+
+        snapshot.setServerName(serverName);
+        snapshot.setActiveOnPlatform(activeOnPlatform);
+        snapshot.setConfiguration(configuration);
+        snapshot.setServerActiveStatus(serverActiveStatus);
+        snapshot.setServerStartTime(serverStartTime);
+        snapshot.setServerEndTime(serverEndTime);
+        snapshot.setServerHistory(serverHistory);
+        snapshot.setServerType(serverType);
+        snapshot.setServices(services);
+
+        List<OMAGServerSnapshot.OMAGCohortSnapshot> cohorts = new ArrayList<>();
+
+        for (OMAGCohortDetails cohortDetails : cohortDetailsMap.values())
+        {
+            if ((cohortDetails.getConnectionStatus() != null) ||
+                (cohortDetails.getLocalRegistration() != null) ||
+                (cohortDetails.getRemoteRegistrations() != null))
+            {
+                OMAGServerSnapshot.OMAGCohortSnapshot cohortSnapshot = new OMAGServerSnapshot.OMAGCohortSnapshot();
+
+                cohortSnapshot.setCohortName(cohortDetails.getCohortName());
+                cohortSnapshot.setConnectionStatus(cohortDetails.getConnectionStatus());
+                cohortSnapshot.setLocalRegistration(cohortDetails.getLocalRegistration());
+                cohortSnapshot.setRemoteRegistrations(cohortDetails.getRemoteRegistrations());
+
+                cohorts.add(cohortSnapshot);
+            }
+        }
+
+        if (! cohorts.isEmpty())
+        {
+            snapshot.setCohorts(cohorts);
+        }
+
+        return snapshot;
+    }
+
+
+    /**
+     * Return whether these details were rebuilt from a previous run's snapshot rather than retrieved from the platform.
+     *
+     * @return boolean flag
+     */
+    boolean isFromSnapshot()
+    {
+        return fromSnapshot;
+    }
+
+
+    /**
+     * Test whether the status that the platform has just returned for the server shows that it has not been started
+     * or stopped since these details were saved.  A server's configuration only takes effect when it starts,
+     * so the start and end times and the length of its history are cheap indicators of change.
+     *
+     * @param platformServerStatus status from the platform (null if the platform has no history for the server)
+     * @param activeServer is the server running on the platform?
+     * @return true if the saved details are still current
+     */
+    boolean matchesStatus(ServerStatus platformServerStatus,
+                          boolean      activeServer)
+    {
+        if ((! fromSnapshot) || (activeServer != activeOnPlatform))
+        {
+            return false;
+        }
+
+        if (platformServerStatus == null)
+        {
+            return (serverStartTime == null) && (serverEndTime == null);
+        }
+
+        return Objects.equals(serverStartTime, platformServerStatus.getServerStartTime()) &&
+               Objects.equals(serverEndTime, platformServerStatus.getServerEndTime()) &&
+               (getHistorySize(serverHistory) == getHistorySize(platformServerStatus.getServerHistory()));
+    }
+
+
+    /**
+     * Return the number of entries in a server history list.
+     *
+     * @param serverHistory list or null
+     * @return count
+     */
+    private int getHistorySize(List<OMAGServerInstanceHistory> serverHistory)
+    {
+        if (serverHistory == null)
+        {
+            return 0;
+        }
+
+        return serverHistory.size();
+    }
+
+
+    /**
+     * Retrieve the name of the server.
+     *
+     * @return string name
+     */
+    String getServerName()
+    {
+        return serverName;
+    }
+
+
+    /**
+     * Return the configuration document for the server.
+     *
+     * @return configuration or null if it is not known
+     */
+    OMAGServerConfig getConfiguration()
+    {
+        return configuration;
+    }
+
+
+    /**
+     * The configuration identifies the server and the services that it runs.
+     *
+     * @param configuration configuration document for the server
+     */
+    void setConfiguration(OMAGServerConfig configuration)
+    {
+        this.configuration = configuration;
+
+        if (configuration != null)
+        {
+            serverType = configuration.getLocalServerType();
+
+            if (configuration.getRepositoryServicesConfig() != null)
+            {
+                if (configuration.getRepositoryServicesConfig().getCohortConfigList() != null)
+                {
+                    for (CohortConfig cohortConfig : configuration.getRepositoryServicesConfig().getCohortConfigList())
+                    {
+                        OMAGCohortDetails currentDetails = this.getCohortDetails(cohortConfig.getCohortName());
+
+                        if (cohortConfig.getCohortRegistryConnection() != null)
+                        {
+                            currentDetails.setConnection("Cohort Registry Store", cohortConfig.getCohortRegistryConnection());
+                        }
+
+                        if (cohortConfig.getCohortOMRSRegistrationTopicConnection() != null)
+                        {
+                            currentDetails.setConnection("Cohort Registration Topic", cohortConfig.getCohortOMRSRegistrationTopicConnection());
+                        }
+
+                        if (cohortConfig.getCohortOMRSTypesTopicConnection() != null)
+                        {
+                            currentDetails.setConnection("Cohort Types Topic", cohortConfig.getCohortOMRSTypesTopicConnection());
+                        }
+
+                        if (cohortConfig.getCohortOMRSInstancesTopicConnection() != null)
+                        {
+                            currentDetails.setConnection("Cohort Instances Topic", cohortConfig.getCohortOMRSInstancesTopicConnection());
+                        }
+
+                        if (cohortConfig.getCohortOMRSTopicConnection() != null)
+                        {
+                            currentDetails.setConnection("Cohort OMRS Topic (deprecated)", cohortConfig.getCohortOMRSTopicConnection());
+                        }
+                    }
+                }
+            }
+
+            if (configuration.getAccessServicesConfig() != null)
+            {
+                for (AccessServiceConfig accessServiceConfig : configuration.getAccessServicesConfig())
+                {
+                    if (accessServiceConfig != null)
+                    {
+                        OMAGServiceDetails currentDetails = serviceDetailsMap.get(accessServiceConfig.getAccessServiceFullName());
+
+                        if (currentDetails == null)
+                        {
+                            currentDetails = new OMAGServiceDetails(accessServiceConfig.getAccessServiceFullName());
+                        }
+
+                        currentDetails.setServiceOptions(accessServiceConfig.getAccessServiceOptions());
+                        currentDetails.setConnection("InTopic", accessServiceConfig.getAccessServiceInTopic());
+                        currentDetails.setConnection("OutTopic", accessServiceConfig.getAccessServiceInTopic());
+
+                        serviceDetailsMap.put(accessServiceConfig.getAccessServiceFullName(), currentDetails);
+                    }
+                }
+            }
+
+            if (configuration.getEngineHostServicesConfig() != null)
+            {
+                OMAGServiceDetails currentDetails = serviceDetailsMap.get(GovernanceServicesDescription.ENGINE_HOST_SERVICES.getServiceName());
+
+                if (currentDetails == null)
+                {
+                    currentDetails = new OMAGServiceDetails(GovernanceServicesDescription.ENGINE_HOST_SERVICES.getServiceName());
+                }
+
+                currentDetails.setPartnerService(configuration.getEngineHostServicesConfig().getOMAGServerName(),
+                                                 configuration.getEngineHostServicesConfig().getOMAGServerPlatformRootURL(),
+                                                 AccessServiceDescription.GOVERNANCE_ENGINE_OMAS.getAccessServiceFullName());
+
+                if (configuration.getEngineHostServicesConfig().getEngineServiceConfigs() != null)
+                {
+                    for (EngineServiceConfig engineServiceConfig : configuration.getEngineHostServicesConfig().getEngineServiceConfigs())
+                    {
+                        if (engineServiceConfig != null)
+                        {
+                            OMAGServiceDetails nestedDetails = serviceDetailsMap.get(engineServiceConfig.getEngineServiceFullName());
+
+                            if (nestedDetails == null)
+                            {
+                                nestedDetails = new OMAGServiceDetails(engineServiceConfig.getEngineServiceFullName());
+                            }
+
+                            nestedDetails.setServiceOptions(engineServiceConfig.getEngineServiceOptions());
+                            nestedDetails.setPartnerService(engineServiceConfig.getOMAGServerName(),
+                                                            engineServiceConfig.getOMAGServerPlatformRootURL(),
+                                                            engineServiceConfig.getEngineServicePartnerOMAS());
+
+                            if (engineServiceConfig.getEngines() != null)
+                            {
+                                for (EngineConfig engineConfig : engineServiceConfig.getEngines())
+                                {
+                                    if (engineConfig != null)
+                                    {
+                                        OMAGServiceDetails engineServiceDetails = new OMAGServiceDetails(engineConfig.getEngineQualifiedName());
+
+                                        engineServiceDetails.setServiceId(engineConfig.getEngineId());
+                                        engineServiceDetails.setServiceUserId(engineConfig.getEngineUserId());
+
+                                        nestedDetails.addNestedService(engineConfig.getEngineQualifiedName(), engineServiceDetails);
+                                    }
+                                }
+                            }
+
+                            serviceDetailsMap.put(engineServiceConfig.getEngineServiceFullName(), currentDetails);
+                        }
+                    }
+                }
+            }
+
+            if (configuration.getIntegrationServicesConfig() != null)
+            {
+                for (IntegrationServiceConfig integrationServiceConfig : configuration.getIntegrationServicesConfig())
+                {
+                    if (integrationServiceConfig != null)
+                    {
+                        OMAGServiceDetails currentDetails = serviceDetailsMap.get(integrationServiceConfig.getIntegrationServiceFullName());
+
+                        if (currentDetails == null)
+                        {
+                            currentDetails = new OMAGServiceDetails(integrationServiceConfig.getIntegrationServiceFullName());
+                        }
+
+                        currentDetails.setServiceOptions(integrationServiceConfig.getIntegrationServiceOptions());
+                        currentDetails.setPartnerService(integrationServiceConfig.getOMAGServerName(),
+                                                         integrationServiceConfig.getOMAGServerPlatformRootURL(),
+                                                         integrationServiceConfig.getIntegrationServicePartnerOMAS());
+
+                        if (integrationServiceConfig.getIntegrationConnectorConfigs() != null)
+                        {
+                            for (IntegrationConnectorConfig connectorConfig : integrationServiceConfig.getIntegrationConnectorConfigs())
+                            {
+                                if (connectorConfig != null)
+                                {
+                                    String nestedServiceName = "Integration Connector: " + connectorConfig.getConnectorName();
+
+                                    OMAGServiceDetails connectorConfigDetails = new OMAGServiceDetails(nestedServiceName);
+
+                                    connectorConfigDetails.setServiceUserId(connectorConfig.getConnectorUserId());
+                                    connectorConfigDetails.setServiceId(connectorConfig.getConnectorId());
+                                    connectorConfigDetails.setConnection("Integration Connector Implementation", connectorConfig.getConnection());
+
+                                    currentDetails.addNestedService(nestedServiceName, connectorConfigDetails);
+                                }
+                            }
+                        }
+
+                        serviceDetailsMap.put(integrationServiceConfig.getIntegrationServiceFullName(), currentDetails);
+                    }
+                }
+            }
+
+            if (configuration.getViewServicesConfig() != null)
+            {
+                for (ViewServiceConfig viewServiceConfig : configuration.getViewServicesConfig())
+                {
+                    if (viewServiceConfig != null)
+                    {
+                        OMAGServiceDetails currentDetails = serviceDetailsMap.get(viewServiceConfig.getViewServiceFullName());
+
+                        if (currentDetails == null)
+                        {
+                            currentDetails = new OMAGServiceDetails(viewServiceConfig.getViewServiceFullName());
+                        }
+
+                        currentDetails.setServiceOptions(viewServiceConfig.getViewServiceOptions());
+                        currentDetails.setPartnerService(viewServiceConfig.getOMAGServerName(),
+                                                         viewServiceConfig.getOMAGServerPlatformRootURL(),
+                                                         null);
+
+                        serviceDetailsMap.put(viewServiceConfig.getViewServiceFullName(), currentDetails);
+                    }
+                }
+            }
+
+            if (configuration.getDataEngineProxyConfig() != null)
+            {
+                OMAGServiceDetails currentDetails = serviceDetailsMap.get(GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceName());
+
+                if (currentDetails == null)
+                {
+                    currentDetails = new OMAGServiceDetails(GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceName());
+                }
+
+                currentDetails.setPartnerService(configuration.getDataEngineProxyConfig().getAccessServiceServerName(),
+                                                 configuration.getDataEngineProxyConfig().getAccessServiceRootURL(),
+                                                 AccessServiceDescription.DATA_ENGINE_OMAS.getAccessServiceFullName());
+
+                serviceDetailsMap.put(GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceName(),
+                                      currentDetails);
+            }
+
+            if (configuration.getOpenLineageServerConfig() != null)
+            {
+                OMAGServiceDetails currentDetails = serviceDetailsMap.get(GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceName());
+
+                if (currentDetails == null)
+                {
+                    currentDetails = new OMAGServiceDetails(GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceName());
+                }
+
+                currentDetails.setPartnerService(configuration.getOpenLineageServerConfig().getAccessServiceConfig().getServerName(),
+                                                 configuration.getOpenLineageServerConfig().getAccessServiceConfig().getServerPlatformUrlRoot(),
+                                                 AccessServiceDescription.ASSET_LINEAGE_OMAS.getAccessServiceFullName());
+
+                serviceDetailsMap.put(GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceName(),
+                                      currentDetails);
+            }
+        }
+    }
+
+
+    /**
+     * Record whether the server is running on the platform.
+     *
+     * @param activeOnPlatform boolean flag
+     */
+    void setActiveOnPlatform(boolean activeOnPlatform)
+    {
+        this.activeOnPlatform = activeOnPlatform;
+    }
+
+
+    /**
+     * The server type show where the server fits in the architecture.
+     *
+     * @param serverType name of the server type
+     */
+    void setServerType(String serverType)
+    {
+        this.serverType = serverType;
+    }
+
+
+    /**
+     * Is the server stopped, starting or running?
+     *
+     * @param serverActiveStatus what is the server status (null if not running)
+     */
+    void setServerActiveStatus(ServerActiveStatus serverActiveStatus)
+    {
+        this.serverActiveStatus = serverActiveStatus;
+    }
+
+
+    /**
+     * The time that the server last started.
+     *
+     * @param serverStartTime date/time or null
+     */
+    void setServerStartTime(Date serverStartTime)
+    {
+        this.serverStartTime = serverStartTime;
+    }
+
+
+    /**
+     * The time that the server shut down - will be null if server started or never run.
+     *
+     * @param serverEndTime date/time or null
+     */
+    void setServerEndTime(Date serverEndTime)
+    {
+        this.serverEndTime = serverEndTime;
+    }
+
+
+    /**
+     * This lists the times that the server has run on the platform instance.
+     *
+     * @param serverHistory server history list
+     */
+    void setServerHistory(List<OMAGServerInstanceHistory> serverHistory)
+    {
+        this.serverHistory = serverHistory;
+    }
+
+
+    /**
+     * List the services that are currently running - null if the server is not running.
+     *
+     * @param services list of server status
+     */
+    void setServices(List<OMAGServerServiceStatus> services)
+    {
+        this.services = services;
+
+        if (services != null)
+        {
+            for (OMAGServerServiceStatus serviceStatus : services)
+            {
+                OMAGServiceDetails currentDetails = serviceDetailsMap.get(serviceStatus.getServiceName());
+
+                if (currentDetails == null)
+                {
+                    currentDetails = new OMAGServiceDetails(serviceStatus.getServiceName());
+                }
+
+                currentDetails.setServiceStatus(serviceStatus.getServiceStatus());
+
+                serviceDetailsMap.put(serviceStatus.getServiceName(), currentDetails);
+            }
+        }
+    }
+
+
+    /**
+     * Record that the details of the server could not be completely collected - for example because the platform
+     * did not respond within the timeout.
+     *
+     * @param collectionError description of the problem
+     */
+    void setCollectionError(String collectionError)
+    {
+        this.collectionError = collectionError;
+    }
+
+
+    /**
+     * Return the description of the problem that stopped the details of the server being collected.
+     *
+     * @return description or null
+     */
+    String getCollectionError()
+    {
+        return collectionError;
+    }
+
+
+    /**
+     * Return whether the details of the server could not be completely collected.
+     *
+     * @return boolean flag
+     */
+    boolean hasCollectionError()
+    {
+        return collectionError != null;
+    }
+
+
+    /**
+     * Return the cohort details for the named cohort.
+     *
+     * @param cohortName name of the cohort.
+     *
+     * @return corresponding details
+     */
+    OMAGCohortDetails getCohortDetails(String cohortName)
+    {
+        OMAGCohortDetails cohortDetails = cohortDetailsMap.get(cohortName);
+
+        if (cohortDetails == null)
+        {
+            cohortDetails = new OMAGCohortDetails(cohortName);
+
+            cohortDetailsMap.put(cohortName, cohortDetails);
+        }
+
+        return cohortDetails;
+    }
+
+
+    /**
+     * Return the names of the cohorts that the server is configured to join or is connected to.
+     *
+     * @return set of cohort names
+     */
+    Set<String> getCohortNames()
+    {
+        return cohortDetailsMap.keySet();
+    }
+
+
+    /**
+     * Return a short description of the server's membership of a cohort for the cohort membership matrix.
+     *
+     * @param cohortName name of the cohort
+     * @return connection status, "Configured" if the server is not connected, or null if the server is not a member
+     */
+    String getCohortMembership(String cohortName)
+    {
+        OMAGCohortDetails cohortDetails = cohortDetailsMap.get(cohortName);
+
+        if (cohortDetails == null)
+        {
+            return null;
+        }
+
+        if (cohortDetails.getConnectionStatus() == null)
+        {
+            return "Configured";
+        }
+
+        return cohortDetails.getConnectionStatus().getStatusName();
+    }
+
+
+    /**
+     * Output the details that have been collected about the server.
+     *
+     * @param report report to write to
+     * @param indentLevel amount of white space to add before each line of the report
+     * @throws IOException problem writing to the report
+     */
+    void printServer(EgeriaReport report,
+                     int          indentLevel) throws IOException
+    {
+        report.printReportSubheading(indentLevel,"Server: " +  serverName);
+
+        int detailIndentLevel = indentLevel + 1;
+
+        report.printReportLine(detailIndentLevel, "Type", serverType);
+
+        if (configuration != null)
+        {
+            report.printReportLine(detailIndentLevel, "Description", configuration.getLocalServerDescription());
+            report.printReportLine(detailIndentLevel, "UserId", configuration.getLocalServerUserId());
+
+            if (configuration.getServerSecurityConnection() != null)
+            {
+                report.printConnection(detailIndentLevel, "Security Connector", configuration.getServerSecurityConnection());
+            }
+
+            if (configuration.getRepositoryServicesConfig() != null)
+            {
+                if (configuration.getRepositoryServicesConfig().getLocalRepositoryConfig() != null)
+                {
+                    report.printReportSubheading(detailIndentLevel,"Local Repository");
+
+                    if (configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getLocalRepositoryMode() != null)
+                    {
+                        report.printReportLine(detailIndentLevel + 1,
+                                               "Local Repository Mode",
+                                               configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getLocalRepositoryMode().getName());
+                    }
+
+                    if (configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getLocalRepositoryLocalConnection() != null)
+                    {
+                        report.printConnection(detailIndentLevel + 1,
+                                               "Local Repository Connector",
+                                               configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getLocalRepositoryLocalConnection());
+                    }
+
+                    if (configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getEventMapperConnection() != null)
+                    {
+                        report.printConnection(detailIndentLevel + 1,
+                                               "Local Repository Event Mapper Connector",
+                                               configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getEventMapperConnection());
+                    }
+
+                    if (configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getLocalRepositoryRemoteConnection() != null)
+                    {
+                        report.printConnection(detailIndentLevel + 1,
+                                               "Local Repository Remote Connector",
+                                               configuration.getRepositoryServicesConfig().getLocalRepositoryConfig().getLocalRepositoryRemoteConnection());
+                    }
+                }
+            }
+        }
+
+        report.printReportSubheading(detailIndentLevel,"Runtime Status");
+
+        if (serverStartTime != null)
+        {
+            report.printReportLine(detailIndentLevel + 1,"Last Start Time", serverStartTime.toString());
+        }
+
+        if (serverEndTime != null)
+        {
+            report.printReportLine(detailIndentLevel + 1,"Last End Time", serverEndTime.toString());
+        }
+
+        if ((serverActiveStatus != null) && (serverActiveStatus != ServerActiveStatus.UNKNOWN))
+        {
+            report.printReportLine(detailIndentLevel + 1,"Server Active Status", serverActiveStatus.getName());
+        }
+
+        if (collectionError != null)
+        {
+            report.printReportLine(detailIndentLevel + 1,"Collection Error", collectionError);
+        }
+
+        if (serverHistory != null)
+        {
+            report.printReportSubheading(detailIndentLevel + 1,"History");
+
+            for (OMAGServerInstanceHistory instanceHistory : serverHistory)
+            {
+                if (instanceHistory.getStartTime() != null)
+                {
+                    report.printReportLine(detailIndentLevel + 2,"Start Time", instanceHistory.getStartTime().toString());
+                }
+                if (instanceHistory.getEndTime() != null)
+                {
+                    report.printReportLine(detailIndentLevel + 2,"End Time", instanceHistory.getEndTime().toString());
+                }
+            }
+        }
+
+        report.printReportSubheading(detailIndentLevel,"Services");
+
+        for (OMAGServiceDetails serviceDetails : serviceDetailsMap.values())
+        {
+            serviceDetails.printService(report, detailIndentLevel + 1);
+        }
+
+        if (! cohortDetailsMap.isEmpty())
+        {
+            report.printReportSubheading(detailIndentLevel, "Cohorts");
+
+            for (OMAGCohortDetails cohortDetails : cohortDetailsMap.values())
+            {
+                cohortDetails.printCohort(report, detailIndentLevel + 1);
+            }
+        }
+    }
+
+
+    /**
+     * OMAGServiceDetails caches details about a particular service.
+     */
+    static class OMAGServiceDetails
+    {
+        private String                          serviceName;
+        private String                          serviceId          = null;
+        private String                          serviceUserId      = null;
+        private ServerActiveStatus              serviceStatus      = ServerActiveStatus.UNKNOWN;
+        private Map<String, Object>             serviceOptions     = null;
+        private String                          partnerServerName  = null;
+        private String                          partnerURLRoot     = null;
+        private String                          partnerServiceName = null;
+        private Map<String, Connection>         connectors         = null;
+        private Map<String, OMAGServiceDetails> nestedServices     = null;
+
+
+        /**
+         * Constructor requires the service name.
+         *
+         * @param serviceName display name of the service.
+         */
+        OMAGServiceDetails(String serviceName)
+        {
+            this.serviceName = serviceName;
+        }
+
+
+        /**
+         * Set up the unique identifier for the service.
+         *
+         * @param serviceId string Id
+         */
+        void setServiceId(String serviceId)
+        {
+            this.serviceId = serviceId;
+        }
+
+
+        /**
+         * Set up the user Id assigned to this service.
+         *
+         * @param serviceUserId user Id
+         */
+        void setServiceUserId(String serviceUserId)
+        {
+            this.serviceUserId = serviceUserId;
+        }
+
+
+        /**
+         * Set up the current status.
+         *
+         * @param serviceStatus server instance status enum value
+         */
+        void setServiceStatus(ServerActiveStatus serviceStatus)
+        {
+            this.serviceStatus = serviceStatus;
+        }
+
+
+        /**
+         * Save the service options as printable strings.
+         *
+         * @param serviceOptions configured service options
+         */
+        void setServiceOptions(Map<String, Object> serviceOptions)
+        {
+            this.serviceOptions = serviceOptions;
+        }
+
+
+        /**
+         * Set up details of the partner service that this service is dependent on.
+         *
+         * @param partnerServerName name of the partner server
+         * @param partnerURLRoot URL for the hosting platform
+         * @param partnerServiceName service that is called in the partner server
+         */
+        void setPartnerService(String partnerServerName,
+                               String partnerURLRoot,
+                               String partnerServiceName)
+        {
+            this.partnerServerName = partnerServerName;
+            this.partnerURLRoot = partnerURLRoot;
+            this.partnerServiceName = partnerServiceName;
+        }
+
+
+        /**
+         * Add details of a connector configured for this service.
+         *
+         * @param connectorName name/label for the connection
+         * @param connection configuration information
+         */
+        void setConnection(String     connectorName,
+                           Connection connection)
+        {
+            if (connection != null)
+            {
+                if (connectors == null)
+                {
+                    connectors = new HashMap<>();
+                }
+
+                Connection existingConnection = connectors.put(connectorName, connection);
+
+                if (existingConnection != null)
+                {
+                    System.out.println("Error: two connectors of the same name: " + connectorName + " in service: " + serviceName);
+                    System.out.println("       existing connection: " + existingConnection);
+                    System.out.println("       new connection: " + connection);
+                }
+            }
+        }
+
+
+        /**
+         * Add details of a service that is nested in this service.
+         *
+         * @param serviceName nested service name
+         * @param serviceDetails description of the nested service
+         */
+        void addNestedService(String             serviceName,
+                              OMAGServiceDetails serviceDetails)
+        {
+            if (nestedServices == null)
+            {
+                nestedServices = new HashMap<>();
+            }
+
+            OMAGServiceDetails existingService = nestedServices.put(serviceName, serviceDetails);
+
+            if (existingService != null)
+            {
+                System.out.println("Error: two nested services of same name: " + serviceName + " in service: " + this.serviceName);
+                System.out.println("       existing nested service: " + existingService);
+                System.out.println("       new nested service: " + serviceDetails);
+            }
+        }
+
+
+        /**
+         * Print out details of the service that have been collected from the different APIs.
+         *
+         * @param report report to write to
+         * @param indentLevel spacing for the service
+         *
+         * @throws IOException problem writing to the report
+         */
+        void printService(EgeriaReport report,
+                          int          indentLevel) throws IOException
+        {
+            report.printReportSubheading(indentLevel, "Service: " + serviceName);
+
+            int detailIndentLevel = indentLevel + 1;
+
+            if (serviceId != null)
+            {
+                report.printReportLine(detailIndentLevel, "Service Id", serviceId);
+            }
+
+            if (serviceUserId != null)
+            {
+                report.printReportLine(detailIndentLevel, "Service UserId", serviceUserId);
+            }
+
+            if ((serviceStatus != null) && (serviceStatus != ServerActiveStatus.UNKNOWN))
+            {
+                report.printReportLine(detailIndentLevel, "Service Status", serviceStatus.getName());
+            }
+
+            if (partnerServerName != null)
+            {
+                report.printReportSubheading(detailIndentLevel, "Partner Service:");
+                report.printReportLine(detailIndentLevel + 1, "Partner Server", partnerServerName);
+                report.printReportLine(detailIndentLevel + 1, "Partner URL root", partnerURLRoot);
+                report.printReportLine(detailIndentLevel + 1, "Calling Service Name", partnerServiceName);
+            }
+
+            if (serviceOptions != null)
+            {
+                report.printReportSubheading(detailIndentLevel, "Service Options");
+                for (String optionName : serviceOptions.keySet())
+                {
+                    if (optionName != null)
+                    {
+                        report.printReportLine(detailIndentLevel + 1, optionName, serviceOptions.get(optionName).toString());
+                    }
+                }
+            }
+
+            if (nestedServices != null)
+            {
+                report.printReportSubheading(detailIndentLevel, "Nested Services");
+
+                for (OMAGServiceDetails nestedService : nestedServices.values())
+                {
+                    if (nestedService != null)
+                    {
+                        nestedService.printService(report, detailIndentLevel + 1);
+                    }
+                }
+            }
+
+            if (connectors != null)
+            {
+                if (connectors.size() > 1)
+                {
+                    report.printReportSubheading(detailIndentLevel, "Connectors");
+                    detailIndentLevel = detailIndentLevel + 1;
+                }
+
+                for (String connectorName : connectors.keySet())
+                {
+                    report.printConnection(detailIndentLevel, connectorName, connectors.get(connectorName));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * OMAGCohortDetails caches details about a particular cohort.
+     */
+    static class OMAGCohortDetails
+    {
+        private String                   cohortName;
+        private CohortConnectionStatus   connectionStatus    = null;
+        private Map<String, Connection>  connectors          = null;
+        private MemberRegistration       localRegistration   = null;
+        private List<MemberRegistration> remoteRegistrations = null;
+
+
+        /**
+         * Constructor requires the cohort name.
+         *
+         * @param cohortName display name of the cohort.
+         */
+        OMAGCohortDetails(String cohortName)
+        {
+            this.cohortName = cohortName;
+        }
+
+
+        /**
+         * Return the name of the cohort.
+         *
+         * @return display name of the cohort
+         */
+        String getCohortName()
+        {
+            return cohortName;
+        }
+
+
+        /**
+         * Set up the current status of the server's connection to the cohort.
+         *
+         * @param connectionStatus enum
+         */
+        void setConnectionStatus(CohortConnectionStatus connectionStatus)
+        {
+            this.connectionStatus = connectionStatus;
+        }
+
+
+        /**
+         * Return the current status of the server's connection to the cohort.
+         *
+         * @return enum or null if the server is not connected
+         */
+        CohortConnectionStatus getConnectionStatus()
+        {
+            return connectionStatus;
+        }
+
+
+        /**
+         * Add details of a connector configured for this cohort.
+         *
+         * @param connectorName name/label for the connection
+         * @param connection configuration information
+         */
+        void setConnection(String     connectorName,
+                           Connection connection)
+        {
+            if (connection != null)
+            {
+                if (connectors == null)
+                {
+                    connectors = new HashMap<>();
+                }
+
+                Connection existingConnection = connectors.put(connectorName, connection);
+
+                if (existingConnection != null)
+                {
+                    System.out.println("Error: two connectors of the same name: " + connectorName + " in service: " + cohortName);
+                    System.out.println("       existing connection: " + existingConnection);
+                    System.out.println("       new connection: " + connection);
+                }
+            }
+        }
+
+
+        /**
+         * Set up information about the server's information that it sends out when it registers with a cohort.
+         *
+         * @param localRegistration local registration details
+         */
+        void setLocalRegistration(MemberRegistration localRegistration)
+        {
+            this.localRegistration = localRegistration;
+        }
+
+
+        /**
+         * Return the registration information that the server sends out to the cohort.
+         *
+         * @return local registration details or null
+         */
+        MemberRegistration getLocalRegistration()
+        {
+            return localRegistration;
+        }
+
+
+        /**
+         * Set up the list of responses that this server has received from the other members of the cohort.
+         *
+         * @param remoteRegistrations list of responses from remote cohort members
+         */
+        void setRemoteRegistrations(List<MemberRegistration> remoteRegistrations)
+        {
+            this.remoteRegistrations = remoteRegistrations;
+        }
+
+
+        /**
+         * Return the list of responses that this server has received from the other members of the cohort.
+         *
+         * @return list of responses or null
+         */
+        List<MemberRegistration> getRemoteRegistrations()
+        {
+            return remoteRegistrations;
+        }
+
+
+        /**
+         * Print out details of the cohort that have been collected from the different APIs.
+         *
+         * @param report report to write to
+         * @param indentLevel spacing for the cohort content
+         *
+         * @throws IOException problem writing to the report
+         */
+        void printCohort(EgeriaReport report,
+                         int          indentLevel) throws IOException
+        {
+            report.printReportSubheading(indentLevel, "Cohort: " + cohortName);
+
+            int detailIndentLevel = indentLevel + 1;
+
+            if (connectionStatus != null)
+            {
+                report.printReportLine(detailIndentLevel, "Cohort Connection Status", connectionStatus.getStatusName());
+            }
+
+            if (connectors != null)
+            {
+                if (connectors.size() > 1)
+                {
+                    report.printReportSubheading(detailIndentLevel, "Cohort Connectors");
+                    detailIndentLevel = detailIndentLevel + 1;
+                }
+
+                for (String connectorName : connectors.keySet())
+                {
+                    report.printConnection(detailIndentLevel, connectorName, connectors.get(connectorName));
+                }
+            }
+
+            if (localRegistration != null)
+            {
+                report.printReportSubheading(detailIndentLevel, "Local registration to " + cohortName);
+
+                report.printReportLine(detailIndentLevel + 1, "Metadata Collection Id", localRegistration.getMetadataCollectionId());
+                report.printReportLine(detailIndentLevel + 1, "Metadata Collection Name", localRegistration.getMetadataCollectionName());
+
+                if (localRegistration.getRegistrationTime() != null)
+                {
+                    report.printReportLine(detailIndentLevel + 1, "First registration time with cohort", localRegistration.getRegistrationTime().toString());
+                }
+            }
+
+            if (remoteRegistrations != null)
+            {
+                report.printReportSubheading(detailIndentLevel, "Registrations received from members of " + cohortName);
+
+                for (MemberRegistration remoteRegistration : remoteRegistrations)
+                {
+                    if (remoteRegistration != null)
+                    {
+                        report.printReportSubheading(detailIndentLevel + 1, "Registration from " + remoteRegistration.getServerName());
+
+                        report.printReportLine(detailIndentLevel + 2, "Metadata Collection Id", localRegistration.getMetadataCollectionId());
+                        report.printReportLine(detailIndentLevel + 2, "Metadata Collection Name", localRegistration.getMetadataCollectionName());
+                        report.printReportLine(detailIndentLevel + 2, "Server Type", localRegistration.getServerType());
+                        report.printReportLine(detailIndentLevel + 2, "Organization", localRegistration.getOrganizationName());
+
+                        if (remoteRegistration.getRegistrationTime() != null)
+                        {
+                            report.printReportLine(detailIndentLevel + 2, "First registration time with this member", remoteRegistration.getRegistrationTime().toString());
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
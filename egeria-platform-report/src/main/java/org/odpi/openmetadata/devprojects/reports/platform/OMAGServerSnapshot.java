@@ -0,0 +1,410 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.platform;
+
+
+import org.odpi.openmetadata.adminservices.configuration.properties.OMAGServerConfig;
+import org.odpi.openmetadata.adminservices.properties.OMAGServerServiceStatus;
+import org.odpi.openmetadata.adminservices.properties.ServerActiveStatus;
+import org.odpi.openmetadata.platformservices.properties.OMAGServerInstanceHistory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.cohortregistrystore.properties.MemberRegistration;
+import org.odpi.openmetadata.repositoryservices.properties.CohortConnectionStatus;
+
+import java.util.Date;
+import java.util.List;
+
+
+/**
+ * OMAGServerSnapshot is the saved form of an OMAGServerDetails.  It holds the values that were returned by the
+ * platform (rather than the report's view of them) so that the details can be rebuilt on a later run by passing
+ * them through the same set methods.
+ */
+public class OMAGServerSnapshot
+{
+    private String                          serverName         = null;
+    private boolean                         activeOnPlatform   = false;
+    private OMAGServerConfig                configuration      = null;
+    private String                          serverType         = null;
+    private ServerActiveStatus              serverActiveStatus = null;
+    private Date                            serverStartTime    = null;
+    private Date                            serverEndTime      = null;
+    private List<OMAGServerInstanceHistory> serverHistory      = null;
+    private List<OMAGServerServiceStatus>   services           = null;
+    private List<OMAGCohortSnapshot>        cohorts            = null;
+
+
+    /**
+     * Default constructor used when the snapshot is read from disk.
+     */
+    public OMAGServerSnapshot()
+    {
+    }
+
+
+    /**
+     * Return the name of the server.
+     *
+     * @return string name
+     */
+    public String getServerName()
+    {
+        return serverName;
+    }
+
+
+    /**
+     * Set up the name of the server.
+     *
+     * @param serverName string name
+     */
+    public void setServerName(String serverName)
+    {
+        this.serverName = serverName;
+    }
+
+
+    /**
+     * Return whether the server was running on the platform when the snapshot was taken.
+     *
+     * @return boolean flag
+     */
+    public boolean getActiveOnPlatform()
+    {
+        return activeOnPlatform;
+    }
+
+
+    /**
+     * Set up whether the server was running on the platform when the snapshot was taken.
+     *
+     * @param activeOnPlatform boolean flag
+     */
+    public void setActiveOnPlatform(boolean activeOnPlatform)
+    {
+        this.activeOnPlatform = activeOnPlatform;
+    }
+
+
+    /**
+     * Return the configuration document for the server.
+     *
+     * @return configuration or null
+     */
+    public OMAGServerConfig getConfiguration()
+    {
+        return configuration;
+    }
+
+
+    /**
+     * Set up the configuration document for the server.
+     *
+     * @param configuration configuration or null
+     */
+    public void setConfiguration(OMAGServerConfig configuration)
+    {
+        this.configuration = configuration;
+    }
+
+
+    /**
+     * Return the type of server returned by the running server.
+     *
+     * @return type name or null
+     */
+    public String getServerType()
+    {
+        return serverType;
+    }
+
+
+    /**
+     * Set up the type of server returned by the running server.
+     *
+     * @param serverType type name or null
+     */
+    public void setServerType(String serverType)
+    {
+        this.serverType = serverType;
+    }
+
+
+    /**
+     * Return the status of the running server.
+     *
+     * @return status or null
+     */
+    public ServerActiveStatus getServerActiveStatus()
+    {
+        return serverActiveStatus;
+    }
+
+
+    /**
+     * Set up the status of the running server.
+     *
+     * @param serverActiveStatus status or null
+     */
+    public void setServerActiveStatus(ServerActiveStatus serverActiveStatus)
+    {
+        this.serverActiveStatus = serverActiveStatus;
+    }
+
+
+    /**
+     * Return the time that the server last started.
+     *
+     * @return date/time or null
+     */
+    public Date getServerStartTime()
+    {
+        return serverStartTime;
+    }
+
+
+    /**
+     * Set up the time that the server last started.
+     *
+     * @param serverStartTime date/time or null
+     */
+    public void setServerStartTime(Date serverStartTime)
+    {
+        this.serverStartTime = serverStartTime;
+    }
+
+
+    /**
+     * Return the time that the server last shut down.
+     *
+     * @return date/time or null
+     */
+    public Date getServerEndTime()
+    {
+        return serverEndTime;
+    }
+
+
+    /**
+     * Set up the time that the server last shut down.
+     *
+     * @param serverEndTime date/time or null
+     */
+    public void setServerEndTime(Date serverEndTime)
+    {
+        this.serverEndTime = serverEndTime;
+    }
+
+
+    /**
+     * Return the times that the server has run on the platform instance.
+     *
+     * @return server history list or null
+     */
+    public List<OMAGServerInstanceHistory> getServerHistory()
+    {
+        return serverHistory;
+    }
+
+
+    /**
+     * Set up the times that the server has run on the platform instance.
+     *
+     * @param serverHistory server history list or null
+     */
+    public void setServerHistory(List<OMAGServerInstanceHistory> serverHistory)
+    {
+        this.serverHistory = serverHistory;
+    }
+
+
+    /**
+     * Return the status of the services that were running in the server.
+     *
+     * @return list of service status or null
+     */
+    public List<OMAGServerServiceStatus> getServices()
+    {
+        return services;
+    }
+
+
+    /**
+     * Set up the status of the services that were running in the server.
+     *
+     * @param services list of service status or null
+     */
+    public void setServices(List<OMAGServerServiceStatus> services)
+    {
+        this.services = services;
+    }
+
+
+    /**
+     * Return the runtime details of the cohorts that the server was connected to.
+     *
+     * @return list of cohorts or null
+     */
+    public List<OMAGCohortSnapshot> getCohorts()
+    {
+        return cohorts;
+    }
+
+
+    /**
+     * Set up the runtime details of the cohorts that the server was connected to.
+     *
+     * @param cohorts list of cohorts or null
+     */
+    public void setCohorts(List<OMAGCohortSnapshot> cohorts)
+    {
+        this.cohorts = cohorts;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMAGServerSnapshot{" +
+                       "serverName='" + serverName + '\'' +
+                       ", activeOnPlatform=" + activeOnPlatform +
+                       ", serverType='" + serverType + '\'' +
+                       ", serverActiveStatus=" + serverActiveStatus +
+                       ", serverStartTime=" + serverStartTime +
+                       ", serverEndTime=" + serverEndTime +
+                       ", serverHistory=" + serverHistory +
+                       ", services=" + services +
+                       ", cohorts=" + cohorts +
+                       '}';
+    }
+
+
+    /**
+     * OMAGCohortSnapshot is the saved form of the runtime details of a cohort.  The cohort's connectors come
+     * from the server's configuration so they are not saved again here.
+     */
+    public static class OMAGCohortSnapshot
+    {
+        private String                   cohortName          = null;
+        private CohortConnectionStatus   connectionStatus    = null;
+        private MemberRegistration       localRegistration   = null;
+        private List<MemberRegistration> remoteRegistrations = null;
+
+
+        /**
+         * Default constructor used when the snapshot is read from disk.
+         */
+        public OMAGCohortSnapshot()
+        {
+        }
+
+
+        /**
+         * Return the name of the cohort.
+         *
+         * @return string name
+         */
+        public String getCohortName()
+        {
+            return cohortName;
+        }
+
+
+        /**
+         * Set up the name of the cohort.
+         *
+         * @param cohortName string name
+         */
+        public void setCohortName(String cohortName)
+        {
+            this.cohortName = cohortName;
+        }
+
+
+        /**
+         * Return the status of the server's connection to the cohort.
+         *
+         * @return enum or null
+         */
+        public CohortConnectionStatus getConnectionStatus()
+        {
+            return connectionStatus;
+        }
+
+
+        /**
+         * Set up the status of the server's connection to the cohort.
+         *
+         * @param connectionStatus enum or null
+         */
+        public void setConnectionStatus(CohortConnectionStatus connectionStatus)
+        {
+            this.connectionStatus = connectionStatus;
+        }
+
+
+        /**
+         * Return the registration that the server sends to the cohort.
+         *
+         * @return registration or null
+         */
+        public MemberRegistration getLocalRegistration()
+        {
+            return localRegistration;
+        }
+
+
+        /**
+         * Set up the registration that the server sends to the cohort.
+         *
+         * @param localRegistration registration or null
+         */
+        public void setLocalRegistration(MemberRegistration localRegistration)
+        {
+            this.localRegistration = localRegistration;
+        }
+
+
+        /**
+         * Return the registrations received from the other members of the cohort.
+         *
+         * @return list of registrations or null
+         */
+        public List<MemberRegistration> getRemoteRegistrations()
+        {
+            return remoteRegistrations;
+        }
+
+
+        /**
+         * Set up the registrations received from the other members of the cohort.
+         *
+         * @param remoteRegistrations list of registrations or null
+         */
+        public void setRemoteRegistrations(List<MemberRegistration> remoteRegistrations)
+        {
+            this.remoteRegistrations = remoteRegistrations;
+        }
+
+
+        /**
+         * Standard toString method.
+         *
+         * @return print out of variables in a JSON-style
+         */
+        @Override
+        public String toString()
+        {
+            return "OMAGCohortSnapshot{" +
+                           "cohortName='" + cohortName + '\'' +
+                           ", connectionStatus=" + connectionStatus +
+                           ", localRegistration=" + localRegistration +
+                           ", remoteRegistrations=" + remoteRegistrations +
+                           '}';
+        }
+    }
+}
@@ -0,0 +1,381 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.platform;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.adminservices.properties.OMAGServerServiceStatus;
+import org.odpi.openmetadata.adminservices.properties.ServerActiveStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.cohortregistrystore.properties.MemberRegistration;
+import org.odpi.openmetadata.repositoryservices.properties.CohortConnectionStatus;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+
+/**
+ * OMAGSnapshotComparator compares two snapshots of the same platform and returns the changes to its servers.
+ * It is used by the platform report to describe the changes since the last run and by the platform watch to
+ * produce change events.
+ */
+public class OMAGSnapshotComparator
+{
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+
+    /**
+     * Default constructor.
+     */
+    public OMAGSnapshotComparator()
+    {
+    }
+
+
+    /**
+     * Compare two snapshots of a platform.
+     *
+     * @param previousSnapshot earlier snapshot
+     * @param currentSnapshot later snapshot
+     * @return list of changes in server name order
+     * @throws IOException problem comparing the configuration documents
+     */
+    public List<OMAGServerChange> getChanges(OMAGPlatformSnapshot previousSnapshot,
+                                             OMAGPlatformSnapshot currentSnapshot) throws IOException
+    {
+        List<OMAGServerChange> changes = new ArrayList<>();
+
+        Map<String, OMAGServerSnapshot> previousServers = getServers(previousSnapshot);
+        Map<String, OMAGServerSnapshot> currentServers  = getServers(currentSnapshot);
+
+        TreeSet<String> serverNames = new TreeSet<>(previousServers.keySet());
+
+        serverNames.addAll(currentServers.keySet());
+
+        for (String serverName : serverNames)
+        {
+            OMAGServerSnapshot previousServer = previousServers.get(serverName);
+            OMAGServerSnapshot currentServer  = currentServers.get(serverName);
+
+            if (previousServer == null)
+            {
+                changes.add(new OMAGServerChange(ServerChangeType.NEW_SERVER, serverName, null, null, null));
+            }
+            else if (currentServer == null)
+            {
+                changes.add(new OMAGServerChange(ServerChangeType.SERVER_REMOVED, serverName, null, null, null));
+            }
+            else
+            {
+                addServerChanges(serverName, previousServer, currentServer, changes);
+            }
+        }
+
+        for (OMAGServerChange change : changes)
+        {
+            change.setPlatformURLRoot(currentSnapshot.getPlatformURLRoot());
+            change.setDetectedTime(currentSnapshot.getSnapshotTime());
+        }
+
+        return changes;
+    }
+
+
+    /**
+     * Return the server snapshots of a platform snapshot, sorted by server name.
+     *
+     * @param platformSnapshot snapshot or null
+     * @return map of server name to snapshot
+     */
+    private Map<String, OMAGServerSnapshot> getServers(OMAGPlatformSnapshot platformSnapshot)
+    {
+        if ((platformSnapshot == null) || (platformSnapshot.getServers() == null))
+        {
+            return new TreeMap<>();
+        }
+
+        return new TreeMap<>(platformSnapshot.getServers());
+    }
+
+
+    /**
+     * Compare two snapshots of the same server.
+     *
+     * @param serverName name of the server
+     * @param previousServer snapshot from the previous run
+     * @param currentServer snapshot from this run
+     * @param changes list to add the changes to
+     * @throws IOException problem comparing the configuration documents
+     */
+    private void addServerChanges(String                 serverName,
+                                  OMAGServerSnapshot     previousServer,
+                                  OMAGServerSnapshot     currentServer,
+                                  List<OMAGServerChange> changes) throws IOException
+    {
+        boolean newEndTime   = (currentServer.getServerEndTime() != null) &&
+                               (! Objects.equals(previousServer.getServerEndTime(), currentServer.getServerEndTime()));
+        boolean newStartTime = (currentServer.getServerStartTime() != null) &&
+                               (! Objects.equals(previousServer.getServerStartTime(), currentServer.getServerStartTime()));
+
+        /*
+         * A server that was restarted between the two snapshots has both a new end time and a new start time.
+         */
+        if (newEndTime || (previousServer.getActiveOnPlatform() && ! currentServer.getActiveOnPlatform()))
+        {
+            changes.add(new OMAGServerChange(ServerChangeType.SERVER_STOPPED,
+                                             serverName,
+                                             null,
+                                             null,
+                                             newEndTime ? currentServer.getServerEndTime().toString() : null));
+        }
+
+        if (newStartTime || (currentServer.getActiveOnPlatform() && ! previousServer.getActiveOnPlatform()))
+        {
+            changes.add(new OMAGServerChange(ServerChangeType.SERVER_STARTED,
+                                             serverName,
+                                             null,
+                                             null,
+                                             newStartTime ? currentServer.getServerStartTime().toString() : null));
+        }
+
+        if ((previousServer.getActiveOnPlatform() == currentServer.getActiveOnPlatform()) &&
+            (previousServer.getServerActiveStatus() != currentServer.getServerActiveStatus()))
+        {
+            changes.add(new OMAGServerChange(ServerChangeType.SERVER_STATUS_CHANGED,
+                                             serverName,
+                                             null,
+                                             getStatusName(previousServer.getServerActiveStatus()),
+                                             getStatusName(currentServer.getServerActiveStatus())));
+        }
+
+        if (! objectMapper.writeValueAsString(previousServer.getConfiguration()).equals(objectMapper.writeValueAsString(currentServer.getConfiguration())))
+        {
+            changes.add(new OMAGServerChange(ServerChangeType.CONFIGURATION_CHANGED, serverName, null, null, null));
+        }
+
+        addServiceChanges(serverName, previousServer.getServices(), currentServer.getServices(), changes);
+        addCohortChanges(serverName, previousServer.getCohorts(), currentServer.getCohorts(), changes);
+    }
+
+
+    /**
+     * Compare the status of the services running in the server.
+     *
+     * @param serverName name of the server
+     * @param previousServices service status from the previous run
+     * @param currentServices service status from this run
+     * @param changes list to add the changes to
+     */
+    private void addServiceChanges(String                        serverName,
+                                   List<OMAGServerServiceStatus> previousServices,
+                                   List<OMAGServerServiceStatus> currentServices,
+                                   List<OMAGServerChange>        changes)
+    {
+        Map<String, ServerActiveStatus> previousStatus = new TreeMap<>();
+        Map<String, ServerActiveStatus> currentStatus  = new TreeMap<>();
+
+        if (previousServices != null)
+        {
+            for (OMAGServerServiceStatus serviceStatus : previousServices)
+            {
+                previousStatus.put(serviceStatus.getServiceName(), serviceStatus.getServiceStatus());
+            }
+        }
+
+        if (currentServices != null)
+        {
+            for (OMAGServerServiceStatus serviceStatus : currentServices)
+            {
+                currentStatus.put(serviceStatus.getServiceName(), serviceStatus.getServiceStatus());
+            }
+        }
+
+        for (String serviceName : currentStatus.keySet())
+        {
+            if (! previousStatus.containsKey(serviceName))
+            {
+                changes.add(new OMAGServerChange(ServerChangeType.SERVICE_ADDED,
+                                                 serverName,
+                                                 serviceName,
+                                                 null,
+                                                 getStatusName(currentStatus.get(serviceName))));
+            }
+            else if (previousStatus.get(serviceName) != currentStatus.get(serviceName))
+            {
+                changes.add(new OMAGServerChange(ServerChangeType.SERVICE_STATUS_CHANGED,
+                                                 serverName,
+                                                 serviceName,
+                                                 getStatusName(previousStatus.get(serviceName)),
+                                                 getStatusName(currentStatus.get(serviceName))));
+            }
+        }
+
+        for (String serviceName : previousStatus.keySet())
+        {
+            if (! currentStatus.containsKey(serviceName))
+            {
+                changes.add(new OMAGServerChange(ServerChangeType.SERVICE_REMOVED, serverName, serviceName, null, null));
+            }
+        }
+    }
+
+
+    /**
+     * Compare the server's membership of its cohorts.
+     *
+     * @param serverName name of the server
+     * @param previousCohorts cohorts from the previous run
+     * @param currentCohorts cohorts from this run
+     * @param changes list to add the changes to
+     */
+    private void addCohortChanges(String                                      serverName,
+                                  List<OMAGServerSnapshot.OMAGCohortSnapshot> previousCohorts,
+                                  List<OMAGServerSnapshot.OMAGCohortSnapshot> currentCohorts,
+                                  List<OMAGServerChange>                      changes)
+    {
+        Map<String, OMAGServerSnapshot.OMAGCohortSnapshot> previousCohortMap = getCohortMap(previousCohorts);
+        Map<String, OMAGServerSnapshot.OMAGCohortSnapshot> currentCohortMap  = getCohortMap(currentCohorts);
+
+        for (String cohortName : currentCohortMap.keySet())
+        {
+            OMAGServerSnapshot.OMAGCohortSnapshot previousCohort = previousCohortMap.get(cohortName);
+            OMAGServerSnapshot.OMAGCohortSnapshot currentCohort  = currentCohortMap.get(cohortName);
+
+            if (previousCohort == null)
+            {
+                changes.add(new OMAGServerChange(ServerChangeType.COHORT_JOINED, serverName, cohortName, null, null));
+                continue;
+            }
+
+            if (previousCohort.getConnectionStatus() != currentCohort.getConnectionStatus())
+            {
+                changes.add(new OMAGServerChange(ServerChangeType.COHORT_CONNECTION_CHANGED,
+                                                 serverName,
+                                                 cohortName,
+                                                 getStatusName(previousCohort.getConnectionStatus()),
+                                                 getStatusName(currentCohort.getConnectionStatus())));
+            }
+
+            TreeSet<String> previousMembers = getMemberNames(previousCohort.getRemoteRegistrations());
+            TreeSet<String> currentMembers  = getMemberNames(currentCohort.getRemoteRegistrations());
+
+            for (String memberName : currentMembers)
+            {
+                if (! previousMembers.contains(memberName))
+                {
+                    OMAGServerChange change = new OMAGServerChange(ServerChangeType.COHORT_MEMBER_JOINED, serverName, cohortName, null, null);
+
+                    change.setMemberName(memberName);
+                    changes.add(change);
+                }
+            }
+
+            for (String memberName : previousMembers)
+            {
+                if (! currentMembers.contains(memberName))
+                {
+                    OMAGServerChange change = new OMAGServerChange(ServerChangeType.COHORT_MEMBER_LEFT, serverName, cohortName, null, null);
+
+                    change.setMemberName(memberName);
+                    changes.add(change);
+                }
+            }
+        }
+
+        for (String cohortName : previousCohortMap.keySet())
+        {
+            if (! currentCohortMap.containsKey(cohortName))
+            {
+                changes.add(new OMAGServerChange(ServerChangeType.COHORT_LEFT, serverName, cohortName, null, null));
+            }
+        }
+    }
+
+
+    /**
+     * Turn a list of cohort snapshots into a map keyed by cohort name.
+     *
+     * @param cohorts list or null
+     * @return map of cohort name to snapshot
+     */
+    private Map<String, OMAGServerSnapshot.OMAGCohortSnapshot> getCohortMap(List<OMAGServerSnapshot.OMAGCohortSnapshot> cohorts)
+    {
+        Map<String, OMAGServerSnapshot.OMAGCohortSnapshot> cohortMap = new TreeMap<>();
+
+        if (cohorts != null)
+        {
+            for (OMAGServerSnapshot.OMAGCohortSnapshot cohort : cohorts)
+            {
+                if ((cohort != null) && (cohort.getCohortName() != null))
+                {
+                    cohortMap.put(cohort.getCohortName(), cohort);
+                }
+            }
+        }
+
+        return cohortMap;
+    }
+
+
+    /**
+     * Return the names of the servers that have registered with a cohort.
+     *
+     * @param registrations list of registrations or null
+     * @return sorted set of server names
+     */
+    private TreeSet<String> getMemberNames(List<MemberRegistration> registrations)
+    {
+        TreeSet<String> memberNames = new TreeSet<>();
+
+        if (registrations != null)
+        {
+            for (MemberRegistration registration : registrations)
+            {
+                if ((registration != null) && (registration.getServerName() != null))
+                {
+                    memberNames.add(registration.getServerName());
+                }
+            }
+        }
+
+        return memberNames;
+    }
+
+
+    /**
+     * Return the display name of a server or service status.
+     *
+     * @param status status or null
+     * @return name
+     */
+    private String getStatusName(ServerActiveStatus status)
+    {
+        if (status == null)
+        {
+            return ServerActiveStatus.UNKNOWN.getName();
+        }
+
+        return status.getName();
+    }
+
+
+    /**
+     * Return the display name of a cohort connection status.
+     *
+     * @param status status or null
+     * @return name
+     */
+    private String getStatusName(CohortConnectionStatus status)
+    {
+        if (status == null)
+        {
+            return "Not connected";
+        }
+
+        return status.getStatusName();
+    }
+}
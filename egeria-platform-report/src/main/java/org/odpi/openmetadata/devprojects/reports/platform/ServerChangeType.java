@@ -0,0 +1,152 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.platform;
+
+
+/**
+ * ServerChangeType describes the kinds of change that are detected by comparing the details of a server
+ * collected at two different times.
+ */
+public enum ServerChangeType
+{
+    /**
+     * The server is visible to the platform for the first time.
+     */
+    NEW_SERVER(0, "New Server", "The server is visible to the platform for the first time."),
+
+    /**
+     * The server is no longer visible to the platform.
+     */
+    SERVER_REMOVED(1, "Server Removed", "The server is no longer visible to the platform."),
+
+    /**
+     * The server has been started on the platform.
+     */
+    SERVER_STARTED(2, "Server Started", "The server has been started on the platform."),
+
+    /**
+     * The server has been shut down.
+     */
+    SERVER_STOPPED(3, "Server Stopped", "The server has been shut down."),
+
+    /**
+     * The status reported by the running server has changed.
+     */
+    SERVER_STATUS_CHANGED(4, "Server Status Changed", "The status reported by the running server has changed."),
+
+    /**
+     * The server is running with a different configuration document.
+     */
+    CONFIGURATION_CHANGED(5, "Configuration Changed", "The server is running with a different configuration document."),
+
+    /**
+     * A service has started in the server.
+     */
+    SERVICE_ADDED(6, "Service Added", "A service has started in the server."),
+
+    /**
+     * A service is no longer running in the server.
+     */
+    SERVICE_REMOVED(7, "Service Removed", "A service is no longer running in the server."),
+
+    /**
+     * The status of a service running in the server has changed.
+     */
+    SERVICE_STATUS_CHANGED(8, "Service Status Changed", "The status of a service running in the server has changed."),
+
+    /**
+     * The server has joined a cohort.
+     */
+    COHORT_JOINED(9, "Cohort Joined", "The server has joined a cohort."),
+
+    /**
+     * The server is no longer a member of a cohort.
+     */
+    COHORT_LEFT(10, "Cohort Left", "The server is no longer a member of a cohort."),
+
+    /**
+     * The status of the server's connection to a cohort has changed.
+     */
+    COHORT_CONNECTION_CHANGED(11, "Cohort Connection Changed", "The status of the server's connection to a cohort has changed."),
+
+    /**
+     * Another member of one of the server's cohorts has registered with the cohort.
+     */
+    COHORT_MEMBER_JOINED(12, "Cohort Member Joined", "Another member of one of the server's cohorts has registered with the cohort."),
+
+    /**
+     * A member of one of the server's cohorts has left the cohort.
+     */
+    COHORT_MEMBER_LEFT(13, "Cohort Member Left", "A member of one of the server's cohorts has left the cohort.");
+
+
+    private final int    ordinal;
+    private final String name;
+    private final String description;
+
+
+    /**
+     * Constructor for the enum.
+     *
+     * @param ordinal numerical identifier
+     * @param name display name
+     * @param description description of the change
+     */
+    ServerChangeType(int    ordinal,
+                     String name,
+                     String description)
+    {
+        this.ordinal = ordinal;
+        this.name = name;
+        this.description = description;
+    }
+
+
+    /**
+     * Return the numerical identifier of the change type.
+     *
+     * @return int
+     */
+    public int getOrdinal()
+    {
+        return ordinal;
+    }
+
+
+    /**
+     * Return the display name of the change type.
+     *
+     * @return string name
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Return the description of the change type.
+     *
+     * @return string description
+     */
+    public String getDescription()
+    {
+        return description;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "ServerChangeType{" +
+                       "ordinal=" + ordinal +
+                       ", name='" + name + '\'' +
+                       ", description='" + description + '\'' +
+                       '}';
+    }
+}
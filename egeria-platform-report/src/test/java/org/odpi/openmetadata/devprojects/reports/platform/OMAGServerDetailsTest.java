@@ -0,0 +1,148 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.platform;
+
+import org.odpi.openmetadata.adminservices.properties.ServerActiveStatus;
+import org.odpi.openmetadata.platformservices.properties.OMAGServerInstanceHistory;
+import org.odpi.openmetadata.platformservices.properties.ServerStatus;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify the check that decides whether the details of a server saved by a previous run are still current.
+ */
+public class OMAGServerDetailsTest
+{
+    private static final Date START_TIME = new Date(1000);
+    private static final Date END_TIME   = new Date(500);
+
+
+    /**
+     * Return a server history with the requested number of entries.
+     *
+     * @param historySize number of entries
+     * @return history
+     */
+    private List<OMAGServerInstanceHistory> getServerHistory(int historySize)
+    {
+        List<OMAGServerInstanceHistory> serverHistory = new ArrayList<>();
+
+        for (int entry = 0; entry < historySize; entry++)
+        {
+            serverHistory.add(new OMAGServerInstanceHistory(new Date(entry * 100L), new Date(entry * 100L + 50)));
+        }
+
+        return serverHistory;
+    }
+
+
+    /**
+     * Return the details of a running server rebuilt from a snapshot with a start time, an end time and a
+     * history of two earlier runs.
+     *
+     * @return server details
+     */
+    private OMAGServerDetails getSavedServerDetails()
+    {
+        OMAGServerSnapshot snapshot = new OMAGServerSnapshot();
+
+        snapshot.setServerName("server1");
+        snapshot.setActiveOnPlatform(true);
+        snapshot.setServerActiveStatus(ServerActiveStatus.RUNNING);
+        snapshot.setServerStartTime(START_TIME);
+        snapshot.setServerEndTime(END_TIME);
+        snapshot.setServerHistory(getServerHistory(2));
+
+        return new OMAGServerDetails(snapshot);
+    }
+
+
+    /**
+     * Return the status of the server as the platform reports it.
+     *
+     * @param serverStartTime time the server last started
+     * @param serverEndTime time the server last stopped
+     * @param historySize number of earlier runs
+     * @return server status
+     */
+    private ServerStatus getPlatformServerStatus(Date serverStartTime,
+                                                 Date serverEndTime,
+                                                 int  historySize)
+    {
+        ServerStatus serverStatus = new ServerStatus();
+
+        serverStatus.setServerName("server1");
+        serverStatus.setIsActive(true);
+        serverStatus.setServerStartTime(serverStartTime);
+        serverStatus.setServerEndTime(serverEndTime);
+        serverStatus.setServerHistory(getServerHistory(historySize));
+
+        return serverStatus;
+    }
+
+
+    /**
+     * Check that the saved details are current when the platform reports the same start time, end time and
+     * length of history, and that a copy of the times is enough.
+     */
+    @Test public void testUnchangedStatusMatches()
+    {
+        assertTrue(getSavedServerDetails().matchesStatus(getPlatformServerStatus(new Date(START_TIME.getTime()),
+                                                                                 new Date(END_TIME.getTime()),
+                                                                                 2),
+                                                         true));
+    }
+
+
+    /**
+     * Check that a new start time, a new end time or a longer history each show that the server has been
+     * restarted since the details were saved.
+     */
+    @Test public void testChangedStatusDoesNotMatch()
+    {
+        OMAGServerDetails serverDetails = getSavedServerDetails();
+
+        assertFalse(serverDetails.matchesStatus(getPlatformServerStatus(new Date(2000), END_TIME, 2), true));
+        assertFalse(serverDetails.matchesStatus(getPlatformServerStatus(START_TIME, new Date(1500), 2), true));
+        assertFalse(serverDetails.matchesStatus(getPlatformServerStatus(START_TIME, null, 2), true));
+        assertFalse(serverDetails.matchesStatus(getPlatformServerStatus(START_TIME, END_TIME, 3), true));
+        assertFalse(serverDetails.matchesStatus(getPlatformServerStatus(START_TIME, END_TIME, 0), true));
+    }
+
+
+    /**
+     * Check that the saved details are not current when the server has stopped or when the platform no longer
+     * has a history for a server that had one.
+     */
+    @Test public void testActivityChangeDoesNotMatch()
+    {
+        OMAGServerDetails serverDetails = getSavedServerDetails();
+
+        assertFalse(serverDetails.matchesStatus(getPlatformServerStatus(START_TIME, END_TIME, 2), false));
+        assertFalse(serverDetails.matchesStatus(null, true));
+    }
+
+
+    /**
+     * Check that a server that has never run matches when the platform has no history for it, and that details
+     * collected from the platform in this run are never treated as saved details.
+     */
+    @Test public void testNeverRunAndCollectedDetails()
+    {
+        OMAGServerSnapshot snapshot = new OMAGServerSnapshot();
+
+        snapshot.setServerName("server2");
+        snapshot.setActiveOnPlatform(false);
+
+        assertTrue(new OMAGServerDetails(snapshot).matchesStatus(null, false));
+        assertFalse(new OMAGServerDetails(snapshot).matchesStatus(null, true));
+        assertFalse(new OMAGServerDetails("server2").matchesStatus(null, false));
+    }
+}
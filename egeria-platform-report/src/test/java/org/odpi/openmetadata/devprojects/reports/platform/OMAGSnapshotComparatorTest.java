@@ -0,0 +1,298 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports.platform;
+
+import org.odpi.openmetadata.adminservices.properties.OMAGServerServiceStatus;
+import org.odpi.openmetadata.adminservices.properties.ServerActiveStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.cohortregistrystore.properties.MemberRegistration;
+import org.odpi.openmetadata.repositoryservices.properties.CohortConnectionStatus;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify the changes found by comparing two snapshots of a platform.
+ */
+public class OMAGSnapshotComparatorTest
+{
+    private static final String PLATFORM_URL_ROOT = "https://localhost:9443";
+
+    private final OMAGSnapshotComparator comparator = new OMAGSnapshotComparator();
+
+
+    /**
+     * Return a snapshot of a platform.
+     *
+     * @param snapshotTime time of the snapshot
+     * @param servers snapshots of the servers
+     * @return platform snapshot
+     */
+    private OMAGPlatformSnapshot getPlatformSnapshot(long                  snapshotTime,
+                                                     OMAGServerSnapshot... servers)
+    {
+        OMAGPlatformSnapshot            platformSnapshot = new OMAGPlatformSnapshot();
+        Map<String, OMAGServerSnapshot> serverMap        = new HashMap<>();
+
+        for (OMAGServerSnapshot server : servers)
+        {
+            serverMap.put(server.getServerName(), server);
+        }
+
+        platformSnapshot.setPlatformURLRoot(PLATFORM_URL_ROOT);
+        platformSnapshot.setSnapshotTime(new Date(snapshotTime));
+        platformSnapshot.setServers(serverMap);
+
+        return platformSnapshot;
+    }
+
+
+    /**
+     * Return a snapshot of a server.
+     *
+     * @param serverName name of the server
+     * @param activeOnPlatform is the server running?
+     * @param serverActiveStatus status reported by the server
+     * @return server snapshot
+     */
+    private OMAGServerSnapshot getServerSnapshot(String             serverName,
+                                                 boolean            activeOnPlatform,
+                                                 ServerActiveStatus serverActiveStatus)
+    {
+        OMAGServerSnapshot serverSnapshot = new OMAGServerSnapshot();
+
+        serverSnapshot.setServerName(serverName);
+        serverSnapshot.setActiveOnPlatform(activeOnPlatform);
+        serverSnapshot.setServerActiveStatus(serverActiveStatus);
+
+        return serverSnapshot;
+    }
+
+
+    /**
+     * Return a snapshot of a server's membership of a cohort.
+     *
+     * @param cohortName name of the cohort
+     * @param connectionStatus status of the server's connection to the cohort
+     * @param memberNames names of the other members of the cohort
+     * @return cohort snapshot
+     */
+    private OMAGServerSnapshot.OMAGCohortSnapshot getCohortSnapshot(String                 cohortName,
+                                                                    CohortConnectionStatus connectionStatus,
+                                                                    String...              memberNames)
+    {
+        OMAGServerSnapshot.OMAGCohortSnapshot cohortSnapshot = new OMAGServerSnapshot.OMAGCohortSnapshot();
+        List<MemberRegistration>              registrations  = new ArrayList<>();
+
+        for (String memberName : memberNames)
+        {
+            MemberRegistration registration = new MemberRegistration();
+
+            registration.setServerName(memberName);
+            registrations.add(registration);
+        }
+
+        cohortSnapshot.setCohortName(cohortName);
+        cohortSnapshot.setConnectionStatus(connectionStatus);
+        cohortSnapshot.setRemoteRegistrations(registrations);
+
+        return cohortSnapshot;
+    }
+
+
+    /**
+     * Return the status of a service.
+     *
+     * @param serviceName name of the service
+     * @param serviceStatus status of the service
+     * @return service status
+     */
+    private OMAGServerServiceStatus getServiceStatus(String             serviceName,
+                                                     ServerActiveStatus serviceStatus)
+    {
+        OMAGServerServiceStatus serverServiceStatus = new OMAGServerServiceStatus();
+
+        serverServiceStatus.setServiceName(serviceName);
+        serverServiceStatus.setServiceStatus(serviceStatus);
+
+        return serverServiceStatus;
+    }
+
+
+    /**
+     * Return the changes between two snapshots as server name and description, in the order they are returned.
+     *
+     * @param previousSnapshot earlier snapshot
+     * @param currentSnapshot later snapshot
+     * @return list of descriptions
+     * @throws IOException problem comparing the configuration documents
+     */
+    private List<String> getChangeDescriptions(OMAGPlatformSnapshot previousSnapshot,
+                                               OMAGPlatformSnapshot currentSnapshot) throws IOException
+    {
+        List<String> descriptions = new ArrayList<>();
+
+        for (OMAGServerChange change : comparator.getChanges(previousSnapshot, currentSnapshot))
+        {
+            assertEquals(change.getPlatformURLRoot(), PLATFORM_URL_ROOT);
+            assertEquals(change.getDetectedTime(), currentSnapshot.getSnapshotTime());
+
+            descriptions.add(change.getServerName() + ": " + change.getDescription());
+        }
+
+        return descriptions;
+    }
+
+
+    /**
+     * Check that identical snapshots have no changes.
+     *
+     * @throws IOException problem comparing the configuration documents
+     */
+    @Test public void testNoChanges() throws IOException
+    {
+        OMAGPlatformSnapshot previousSnapshot = getPlatformSnapshot(1000, getServerSnapshot("server1", true, ServerActiveStatus.RUNNING));
+        OMAGPlatformSnapshot currentSnapshot  = getPlatformSnapshot(2000, getServerSnapshot("server1", true, ServerActiveStatus.RUNNING));
+
+        assertTrue(comparator.getChanges(previousSnapshot, currentSnapshot).isEmpty());
+    }
+
+
+    /**
+     * Check that a server that appears is new, a server that disappears is removed, and that every server is
+     * new when there is no previous snapshot.
+     *
+     * @throws IOException problem comparing the configuration documents
+     */
+    @Test public void testServerAddedAndRemoved() throws IOException
+    {
+        OMAGPlatformSnapshot previousSnapshot = getPlatformSnapshot(1000,
+                                                                    getServerSnapshot("server1", true, ServerActiveStatus.RUNNING),
+                                                                    getServerSnapshot("server2", true, ServerActiveStatus.RUNNING));
+        OMAGPlatformSnapshot currentSnapshot  = getPlatformSnapshot(2000,
+                                                                    getServerSnapshot("server2", true, ServerActiveStatus.RUNNING),
+                                                                    getServerSnapshot("server3", false, null));
+
+        assertEquals(getChangeDescriptions(previousSnapshot, currentSnapshot),
+                     List.of("server1: Server no longer visible to the platform", "server3: New server"));
+
+        assertEquals(getChangeDescriptions(null, currentSnapshot),
+                     List.of("server2: New server", "server3: New server"));
+    }
+
+
+    /**
+     * Check that a change of the status reported by a running server is a status change, and that a server
+     * that stops or starts is reported as stopped or started rather than as a status change.
+     *
+     * @throws IOException problem comparing the configuration documents
+     */
+    @Test public void testStatusFlip() throws IOException
+    {
+        OMAGPlatformSnapshot previousSnapshot = getPlatformSnapshot(1000,
+                                                                    getServerSnapshot("server1", true, ServerActiveStatus.STARTING),
+                                                                    getServerSnapshot("server2", true, ServerActiveStatus.RUNNING),
+                                                                    getServerSnapshot("server3", false, ServerActiveStatus.INACTIVE));
+        OMAGPlatformSnapshot currentSnapshot  = getPlatformSnapshot(2000,
+                                                                    getServerSnapshot("server1", true, ServerActiveStatus.RUNNING),
+                                                                    getServerSnapshot("server2", false, ServerActiveStatus.INACTIVE),
+                                                                    getServerSnapshot("server3", true, ServerActiveStatus.RUNNING));
+
+        assertEquals(getChangeDescriptions(previousSnapshot, currentSnapshot),
+                     List.of("server1: Server status changed from " + ServerActiveStatus.STARTING.getName() + " to " + ServerActiveStatus.RUNNING.getName(),
+                             "server2: No longer running",
+                             "server3: Now running"));
+    }
+
+
+    /**
+     * Check that a server that was restarted between the snapshots, so is running in both, is reported as
+     * stopped and then started.
+     *
+     * @throws IOException problem comparing the configuration documents
+     */
+    @Test public void testRestartBetweenSnapshots() throws IOException
+    {
+        OMAGServerSnapshot previousServer = getServerSnapshot("server1", true, ServerActiveStatus.RUNNING);
+        OMAGServerSnapshot currentServer  = getServerSnapshot("server1", true, ServerActiveStatus.RUNNING);
+
+        previousServer.setServerStartTime(new Date(100));
+        currentServer.setServerStartTime(new Date(1500));
+        currentServer.setServerEndTime(new Date(1400));
+
+        List<OMAGServerChange> changes = comparator.getChanges(getPlatformSnapshot(1000, previousServer), getPlatformSnapshot(2000, currentServer));
+
+        assertEquals(changes.size(), 2);
+        assertEquals(changes.get(0).getChangeType(), ServerChangeType.SERVER_STOPPED);
+        assertEquals(changes.get(0).getCurrentValue(), new Date(1400).toString());
+        assertEquals(changes.get(1).getChangeType(), ServerChangeType.SERVER_STARTED);
+        assertEquals(changes.get(1).getCurrentValue(), new Date(1500).toString());
+    }
+
+
+    /**
+     * Check that services that start, stop or change status are reported.
+     *
+     * @throws IOException problem comparing the configuration documents
+     */
+    @Test public void testServiceChanges() throws IOException
+    {
+        OMAGServerSnapshot previousServer = getServerSnapshot("server1", true, ServerActiveStatus.RUNNING);
+        OMAGServerSnapshot currentServer  = getServerSnapshot("server1", true, ServerActiveStatus.RUNNING);
+
+        previousServer.setServices(List.of(getServiceStatus("Asset Consumer OMAS", ServerActiveStatus.RUNNING),
+                                           getServiceStatus("Data Manager OMAS", ServerActiveStatus.STARTING)));
+        currentServer.setServices(List.of(getServiceStatus("Data Manager OMAS", ServerActiveStatus.RUNNING),
+                                          getServiceStatus("Governance Engine OMAS", ServerActiveStatus.RUNNING)));
+
+        assertEquals(getChangeDescriptions(getPlatformSnapshot(1000, previousServer), getPlatformSnapshot(2000, currentServer)),
+                     List.of("server1: Service Data Manager OMAS changed from " + ServerActiveStatus.STARTING.getName() + " to " + ServerActiveStatus.RUNNING.getName(),
+                             "server1: Service Governance Engine OMAS added (" + ServerActiveStatus.RUNNING.getName() + ")",
+                             "server1: Service Asset Consumer OMAS removed"));
+    }
+
+
+    /**
+     * Check that the members that join and leave a cohort are reported with the cohort, along with the cohorts
+     * that the server joins and leaves and changes to its connection.
+     *
+     * @throws IOException problem comparing the configuration documents
+     */
+    @Test public void testCohortMemberJoinedAndLeft() throws IOException
+    {
+        OMAGServerSnapshot previousServer = getServerSnapshot("server1", true, ServerActiveStatus.RUNNING);
+        OMAGServerSnapshot currentServer  = getServerSnapshot("server1", true, ServerActiveStatus.RUNNING);
+
+        previousServer.setCohorts(List.of(getCohortSnapshot("cohort1", CohortConnectionStatus.CONNECTED, "server2", "server3"),
+                                          getCohortSnapshot("cohort2", CohortConnectionStatus.CONNECTED, "server4")));
+        currentServer.setCohorts(List.of(getCohortSnapshot("cohort1", CohortConnectionStatus.CONNECTED, "server3", "server5"),
+                                         getCohortSnapshot("cohort3", CohortConnectionStatus.CONNECTED)));
+
+        List<OMAGServerChange> changes = comparator.getChanges(getPlatformSnapshot(1000, previousServer), getPlatformSnapshot(2000, currentServer));
+
+        assertEquals(changes.size(), 4);
+        assertEquals(changes.get(0).getChangeType(), ServerChangeType.COHORT_MEMBER_JOINED);
+        assertEquals(changes.get(0).getSubjectName(), "cohort1");
+        assertEquals(changes.get(0).getMemberName(), "server5");
+        assertEquals(changes.get(1).getChangeType(), ServerChangeType.COHORT_MEMBER_LEFT);
+        assertEquals(changes.get(1).getSubjectName(), "cohort1");
+        assertEquals(changes.get(1).getMemberName(), "server2");
+        assertEquals(changes.get(2).getDescription(), "Joined cohort cohort3");
+        assertEquals(changes.get(3).getDescription(), "Left cohort cohort2");
+
+        currentServer.setCohorts(List.of(getCohortSnapshot("cohort1", CohortConnectionStatus.DISCONNECTED, "server2", "server3"),
+                                         getCohortSnapshot("cohort2", CohortConnectionStatus.CONNECTED, "server4")));
+
+        assertEquals(getChangeDescriptions(getPlatformSnapshot(1000, previousServer), getPlatformSnapshot(2000, currentServer)),
+                     List.of("server1: Connection to cohort cohort1 changed from " + CohortConnectionStatus.CONNECTED.getStatusName() +
+                                     " to " + CohortConnectionStatus.DISCONNECTED.getStatusName()));
+    }
+}
@@ -0,0 +1,416 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+
+/**
+ * AsyncReportSink hands each record of the report to a dedicated writer thread through a bounded queue.
+ * The writer thread passes the records to the report file's sink and (optionally) the console's sink.
+ * This means the report program can carry on retrieving information from remote servers while earlier records
+ * are formatted and written.
+ * <br><br>
+ * With the DROP_CONSOLE_ECHO policy, only the echo of lines and table rows is dropped when the queue is full.
+ * Titles and the start and end of tables are always echoed so the console's tables stay well-formed.
+ * <br><br>
+ * Errors from the writer thread are reported to the report program on its next call to this sink.  Once the
+ * writer thread has failed it carries on taking records off the queue (without writing them) so the report
+ * program is never left waiting for room in the queue.
+ */
+public class AsyncReportSink implements ReportSink
+{
+    /**
+     * Default number of records that can be waiting for the writer thread.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 8192;
+
+    /**
+     * A single call to a report sink.
+     */
+    private interface ReportRecord
+    {
+        /**
+         * Pass the content of the record to a sink.
+         *
+         * @param sink destination
+         * @throws IOException problem writing the report
+         */
+        void writeTo(ReportSink sink) throws IOException;
+    }
+
+    /**
+     * The queue entry holds the record and whether it should also be echoed to the console.
+     */
+    private static class QueueEntry
+    {
+        private final ReportRecord record;
+        private final boolean      echoToConsole;
+        private final boolean      lastRecord;
+
+        QueueEntry(ReportRecord record,
+                   boolean      echoToConsole,
+                   boolean      lastRecord)
+        {
+            this.record = record;
+            this.echoToConsole = echoToConsole;
+            this.lastRecord = lastRecord;
+        }
+    }
+
+    private final ReportSink               reportSink;
+    private final ReportSink               consoleSink;
+    private final ReportBackpressurePolicy backpressurePolicy;
+    private final BlockingQueue<QueueEntry> queue;
+    private final Thread                   writerThread;
+
+    private volatile Exception   writerError     = null;
+    private volatile boolean     closed          = false;
+    private long                 droppedEchoes   = 0;
+
+
+    /**
+     * Constructor starts the writer thread.
+     *
+     * @param reportSink sink for the report file
+     * @param consoleSink sink for the console (null for no console output)
+     * @param queueCapacity maximum number of records waiting for the writer thread (values less than 1 mean the default)
+     * @param backpressurePolicy what to do when the queue is full (null means BLOCK)
+     */
+    public AsyncReportSink(ReportSink               reportSink,
+                           ReportSink               consoleSink,
+                           int                      queueCapacity,
+                           ReportBackpressurePolicy backpressurePolicy)
+    {
+        this.reportSink = reportSink;
+        this.consoleSink = consoleSink;
+
+        if (backpressurePolicy == null)
+        {
+            this.backpressurePolicy = ReportBackpressurePolicy.BLOCK;
+        }
+        else
+        {
+            this.backpressurePolicy = backpressurePolicy;
+        }
+
+        if (queueCapacity < 1)
+        {
+            queue = new ArrayBlockingQueue<>(DEFAULT_QUEUE_CAPACITY);
+        }
+        else
+        {
+            queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        writerThread = new Thread(this::drainQueue, "EgeriaReportWriter");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+
+    /**
+     * Return the number of records that were not echoed to the console because the queue was full.
+     *
+     * @return count
+     */
+    public long getDroppedEchoCount()
+    {
+        return droppedEchoes;
+    }
+
+
+    /**
+     * The writer thread takes records off the queue and passes them to the sinks until the last record is received.
+     */
+    private void drainQueue()
+    {
+        try
+        {
+            while (true)
+            {
+                QueueEntry entry = queue.take();
+
+                /*
+                 * After a failure the records are still taken off the queue so the report program is not
+                 * blocked waiting for room - it sees the failure on its next call.
+                 */
+                if (writerError == null)
+                {
+                    try
+                    {
+                        if (((entry.echoToConsole) || (entry.lastRecord)) && (consoleSink != null))
+                        {
+                            entry.record.writeTo(consoleSink);
+                        }
+
+                        entry.record.writeTo(reportSink);
+                    }
+                    catch (IOException | RuntimeException error)
+                    {
+                        writerError = error;
+                    }
+                }
+
+                if (entry.lastRecord)
+                {
+                    return;
+                }
+            }
+        }
+        catch (InterruptedException interrupted)
+        {
+            writerError = new InterruptedIOException("Report writer thread interrupted");
+        }
+    }
+
+
+    /**
+     * Throw any error that the writer thread has hit.
+     *
+     * @throws IOException error from the writer thread
+     */
+    private void checkWriterError() throws IOException
+    {
+        Exception error = writerError;
+
+        if (error != null)
+        {
+            throw new IOException("The report writer thread failed: " + error.getMessage(), error);
+        }
+    }
+
+
+    /**
+     * Add a record to the queue, applying the backpressure policy if the queue is full.
+     *
+     * @param record record to write
+     * @param content is the record a line or row of content (rather than part of the structure of the report)?
+     * @throws IOException the writer thread has failed, the report is closed, or this thread was interrupted
+     */
+    private void enqueue(ReportRecord record,
+                         boolean      content) throws IOException
+    {
+        checkWriterError();
+
+        if (closed)
+        {
+            throw new IOException("The report has been closed");
+        }
+
+        putEntry(record, content, false);
+    }
+
+
+    /**
+     * Add an entry to the queue, applying the backpressure policy if the queue is full.  Only the console echo of
+     * content may be dropped.
+     *
+     * @param record record to write
+     * @param content is the record a line or row of content (rather than part of the structure of the report)?
+     * @param lastRecord is this the last record for the writer thread?
+     * @throws IOException this thread was interrupted
+     */
+    private void putEntry(ReportRecord record,
+                          boolean      content,
+                          boolean      lastRecord) throws IOException
+    {
+        try
+        {
+            if (! queue.offer(new QueueEntry(record, true, lastRecord)))
+            {
+                boolean echoToConsole = true;
+
+                if ((content) && (backpressurePolicy == ReportBackpressurePolicy.DROP_CONSOLE_ECHO))
+                {
+                    echoToConsole = false;
+                    droppedEchoes++;
+                }
+
+                queue.put(new QueueEntry(record, echoToConsole, lastRecord));
+            }
+        }
+        catch (InterruptedException interrupted)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while waiting for the report writer thread");
+        }
+    }
+
+
+    /**
+     * Queue the title of the report.
+     *
+     * @param indentLevel nesting level of the title
+     * @param reportTitle text of the title
+     * @throws IOException the writer thread has failed
+     */
+    @Override
+    public void printReportTitle(int    indentLevel,
+                                 String reportTitle) throws IOException
+    {
+        enqueue(sink -> sink.printReportTitle(indentLevel, reportTitle), false);
+    }
+
+
+    /**
+     * Queue a subheading.
+     *
+     * @param indentLevel nesting level of the subheading
+     * @param titleText text of the subheading
+     * @throws IOException the writer thread has failed
+     */
+    @Override
+    public void printReportSubheading(int    indentLevel,
+                                      String titleText) throws IOException
+    {
+        enqueue(sink -> sink.printReportSubheading(indentLevel, titleText), false);
+    }
+
+
+    /**
+     * Queue a labelled value.
+     *
+     * @param indentLevel nesting level of the line
+     * @param elementLabel label of the element
+     * @param elementText value of the element (may be null)
+     * @throws IOException the writer thread has failed
+     */
+    @Override
+    public void printReportLine(int    indentLevel,
+                                String elementLabel,
+                                String elementText) throws IOException
+    {
+        enqueue(sink -> sink.printReportLine(indentLevel, elementLabel, elementText), true);
+    }
+
+
+    /**
+     * Queue a line of free-form text.
+     *
+     * @param indentLevel nesting level of the line
+     * @param reportText text to output
+     * @throws IOException the writer thread has failed
+     */
+    @Override
+    public void printReportLine(int    indentLevel,
+                                String reportText) throws IOException
+    {
+        enqueue(sink -> sink.printReportLine(indentLevel, reportText), true);
+    }
+
+
+    /**
+     * Queue the start of a table.
+     *
+     * @param indentLevel nesting level of the table
+     * @param columnHeadings headings of the columns
+     * @throws IOException the writer thread has failed
+     */
+    @Override
+    public void startTable(int          indentLevel,
+                           List<String> columnHeadings) throws IOException
+    {
+        enqueue(sink -> sink.startTable(indentLevel, columnHeadings), false);
+    }
+
+
+    /**
+     * Queue a row of the current table.
+     *
+     * @param cells values of the cells in column order
+     * @throws IOException the writer thread has failed
+     */
+    @Override
+    public void printTableRow(String... cells) throws IOException
+    {
+        enqueue(sink -> sink.printTableRow(cells), true);
+    }
+
+
+    /**
+     * Queue the end of the current table.
+     *
+     * @throws IOException the writer thread has failed
+     */
+    @Override
+    public void endTable() throws IOException
+    {
+        enqueue(ReportSink::endTable, false);
+    }
+
+
+    /**
+     * Queue the summary of a metadata element.
+     *
+     * @param indentLevel nesting level of the table
+     * @param firstElement is the first element (so column headings needed)
+     * @param guid unique identifier
+     * @param qualifiedName unique name
+     * @param displayName display name
+     * @param description description
+     * @throws IOException the writer thread has failed
+     */
+    @Override
+    public void printElementInTable(int     indentLevel,
+                                    boolean firstElement,
+                                    String  guid,
+                                    String  qualifiedName,
+                                    String  displayName,
+                                    String  description) throws IOException
+    {
+        /*
+         * The first element starts a table so its echo is never dropped.
+         */
+        enqueue(sink -> sink.printElementInTable(indentLevel, firstElement, guid, qualifiedName, displayName, description), ! firstElement);
+    }
+
+
+    /**
+     * Ask the writer thread to push the content it has written so far to its destination.
+     *
+     * @throws IOException the writer thread has failed
+     */
+    @Override
+    public void flush() throws IOException
+    {
+        enqueue(ReportSink::flush, false);
+    }
+
+
+    /**
+     * Queue the end of the report and wait for the writer thread to write every outstanding record.
+     * When this method returns, all content has been passed to the sinks and flushed.
+     *
+     * @throws IOException the writer thread has failed (including with a RuntimeException from a sink, which is
+     *                     the cause), or this thread was interrupted while waiting
+     */
+    @Override
+    public void closeReport() throws IOException
+    {
+        if (! closed)
+        {
+            closed = true;
+
+            putEntry(ReportSink::closeReport, false, true);
+
+            try
+            {
+                writerThread.join();
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+
+                throw new InterruptedIOException("Interrupted while waiting for the report writer thread to finish");
+            }
+
+            checkWriterError();
+        }
+    }
+}
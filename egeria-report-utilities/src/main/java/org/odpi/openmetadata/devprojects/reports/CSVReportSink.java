@@ -0,0 +1,210 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+
+/**
+ * CSVReportSink formats the report as comma-separated values (RFC 4180).  Every record has the same columns, so
+ * titles, lines and table rows can be loaded into a single table.  The section column holds the headings that
+ * the record sits under, separated by " / ".
+ */
+public class CSVReportSink extends StructuredReportSink
+{
+    private static final String HEADER_ROW = "type,level,section,label,value,guid,qualifiedName,displayName,description\r\n";
+    private static final String SECTION_SEPARATOR = " / ";
+
+
+    /**
+     * Constructor writes the header row.
+     *
+     * @param reportWriter destination for the formatted report
+     * @param flushPolicy how often to push buffered content to the destination
+     * @throws IOException problem writing the report
+     */
+    public CSVReportSink(Writer            reportWriter,
+                         ReportFlushPolicy flushPolicy) throws IOException
+    {
+        super(reportWriter, flushPolicy);
+
+        reportWriter.write(HEADER_ROW);
+    }
+
+
+    /**
+     * Write a single record to the report as a CSV row.
+     *
+     * @param recordType type of record
+     * @param indentLevel nesting level of the record
+     * @param sectionPath headings that this record sits under (outermost first)
+     * @param label label or heading text
+     * @param value value or free-form text
+     * @param guid unique identifier of an element
+     * @param qualifiedName unique name of an element
+     * @param displayName display name of an element
+     * @param description description of an element
+     * @throws IOException problem writing the report
+     */
+    @Override
+    protected void writeRecord(String       recordType,
+                               int          indentLevel,
+                               List<String> sectionPath,
+                               String       label,
+                               String       value,
+                               String       guid,
+                               String       qualifiedName,
+                               String       displayName,
+                               String       description) throws IOException
+    {
+        reportWriter.write(recordType);
+        reportWriter.write(',');
+        reportWriter.write(ReportPrefixes.getLevelNumber(indentLevel));
+        reportWriter.write(',');
+        writeSection(sectionPath);
+
+        reportWriter.write(',');
+        writeField(label);
+        reportWriter.write(',');
+        writeField(value);
+        reportWriter.write(',');
+        writeField(guid);
+        reportWriter.write(',');
+        writeField(qualifiedName);
+        reportWriter.write(',');
+        writeField(displayName);
+        reportWriter.write(',');
+        writeField(description);
+        reportWriter.write("\r\n");
+    }
+
+
+    /**
+     * Write the section field.  The headings are written one after another (with the separator between them)
+     * rather than being joined into a temporary string.
+     *
+     * @param sectionPath headings that the record sits under (outermost first)
+     * @throws IOException problem writing the report
+     */
+    private void writeSection(List<String> sectionPath) throws IOException
+    {
+        boolean needsQuotes = false;
+
+        for (String heading : sectionPath)
+        {
+            if (needsQuotes(heading))
+            {
+                needsQuotes = true;
+                break;
+            }
+        }
+
+        if (needsQuotes)
+        {
+            reportWriter.write('"');
+        }
+
+        boolean firstHeading = true;
+
+        for (String heading : sectionPath)
+        {
+            if (heading != null)
+            {
+                if (! firstHeading)
+                {
+                    reportWriter.write(SECTION_SEPARATOR);
+                }
+
+                writeText(heading, needsQuotes);
+                firstHeading = false;
+            }
+        }
+
+        if (needsQuotes)
+        {
+            reportWriter.write('"');
+        }
+    }
+
+
+    /**
+     * Write a single field, quoting it if it contains a separator, quote or line break.  Null is written as an empty field.
+     *
+     * @param fieldValue value to write
+     * @throws IOException problem writing the report
+     */
+    private void writeField(String fieldValue) throws IOException
+    {
+        if (fieldValue != null)
+        {
+            if (needsQuotes(fieldValue))
+            {
+                reportWriter.write('"');
+                writeText(fieldValue, true);
+                reportWriter.write('"');
+            }
+            else
+            {
+                reportWriter.write(fieldValue);
+            }
+        }
+    }
+
+
+    /**
+     * Determine whether a value contains a separator, quote or line break.
+     *
+     * @param fieldValue value to test
+     * @return boolean flag
+     */
+    private boolean needsQuotes(String fieldValue)
+    {
+        if (fieldValue != null)
+        {
+            for (int i = 0; i < fieldValue.length(); i++)
+            {
+                char c = fieldValue.charAt(i);
+
+                if ((c == ',') || (c == '"') || (c == '\n') || (c == '\r'))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Write the text of a field, doubling any quotes if the field is quoted.
+     *
+     * @param fieldValue value to write
+     * @param quoted is the field surrounded by quotes?
+     * @throws IOException problem writing the report
+     */
+    private void writeText(String  fieldValue,
+                           boolean quoted) throws IOException
+    {
+        if ((quoted) && (fieldValue.indexOf('"') >= 0))
+        {
+            for (int i = 0; i < fieldValue.length(); i++)
+            {
+                char c = fieldValue.charAt(i);
+
+                if (c == '"')
+                {
+                    reportWriter.write('"');
+                }
+
+                reportWriter.write(c);
+            }
+        }
+        else
+        {
+            reportWriter.write(fieldValue);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.List;
+
+
+/**
+ * ConsoleReportSink displays the report on a console (typically stdout) using indentation to show the structure
+ * of the report.  Each line is assembled in a buffer in front of the console and pushed out when it is complete.
+ */
+public class ConsoleReportSink extends WriterReportSink
+{
+    private static final int    CONSOLE_BUFFER_SIZE = 8 * 1024;
+    private static final String LINE_SEPARATOR      = System.lineSeparator();
+
+    private final ReportTableRenderer tableRenderer;
+
+
+    /**
+     * Constructor supplies the console to write to.  Each line is displayed as soon as it is complete.
+     *
+     * @param console destination - typically System.out
+     */
+    public ConsoleReportSink(PrintStream console)
+    {
+        this(console, ReportFlushPolicy.LINE);
+    }
+
+
+    /**
+     * Constructor supplies the console to write to and how often to display the buffered lines.
+     *
+     * @param console destination - typically System.out
+     * @param flushPolicy how often to push buffered content to the console
+     */
+    public ConsoleReportSink(PrintStream       console,
+                             ReportFlushPolicy flushPolicy)
+    {
+        super(new BufferedWriter(new OutputStreamWriter(console, Charset.defaultCharset()), CONSOLE_BUFFER_SIZE), flushPolicy);
+
+        this.tableRenderer = new ReportTableRenderer(reportWriter, LINE_SEPARATOR, ReportTableRenderer.DEFAULT_LOOK_AHEAD_ROWS);
+    }
+
+
+    /**
+     * Output the indentation and text of a line, followed by the line separator.
+     *
+     * @param indentLevel number of spaces to indent
+     * @param text text to display
+     * @throws IOException problem writing to the console
+     */
+    private void writeLine(int    indentLevel,
+                           String text) throws IOException
+    {
+        reportWriter.write(ReportPrefixes.getSpaceIndent(indentLevel));
+        reportWriter.write(String.valueOf(text));
+        reportWriter.write(LINE_SEPARATOR);
+    }
+
+
+    /**
+     * Display the title of the report.
+     *
+     * @param indentLevel number of spaces to indent
+     * @param reportTitle text of the title
+     * @throws IOException problem writing to the console
+     */
+    @Override
+    public void printReportTitle(int    indentLevel,
+                                 String reportTitle) throws IOException
+    {
+        tableRenderer.endTable();
+
+        writeLine(indentLevel, reportTitle);
+
+        flushIfNeeded(true);
+    }
+
+
+    /**
+     * Display a subheading.
+     *
+     * @param indentLevel number of spaces to indent
+     * @param titleText text of the subheading
+     * @throws IOException problem writing to the console
+     */
+    @Override
+    public void printReportSubheading(int    indentLevel,
+                                      String titleText) throws IOException
+    {
+        tableRenderer.endTable();
+
+        writeLine(indentLevel, titleText);
+
+        flushIfNeeded(true);
+    }
+
+
+    /**
+     * Display a labelled value.
+     *
+     * @param indentLevel number of spaces to indent
+     * @param elementLabel label of the element
+     * @param elementText value of the element (may be null)
+     * @throws IOException problem writing to the console
+     */
+    @Override
+    public void printReportLine(int    indentLevel,
+                                String elementLabel,
+                                String elementText) throws IOException
+    {
+        tableRenderer.endTable();
+
+        reportWriter.write(ReportPrefixes.getSpaceIndent(indentLevel));
+        reportWriter.write(String.valueOf(elementLabel));
+        reportWriter.write(": ");
+        reportWriter.write(elementText == null ? "<null>" : elementText);
+        reportWriter.write(LINE_SEPARATOR);
+
+        flushIfNeeded(false);
+    }
+
+
+    /**
+     * Display free-form text.
+     *
+     * @param indentLevel number of spaces to indent
+     * @param reportText text to display
+     * @throws IOException problem writing to the console
+     */
+    @Override
+    public void printReportLine(int    indentLevel,
+                                String reportText) throws IOException
+    {
+        tableRenderer.endTable();
+
+        writeLine(indentLevel, reportText);
+
+        flushIfNeeded(false);
+    }
+
+
+    /**
+     * Start a new table.  The heading is written once the column widths have been worked out.
+     *
+     * @param indentLevel number of spaces to indent
+     * @param columnHeadings headings of the columns
+     * @throws IOException problem writing to the console
+     */
+    @Override
+    public void startTable(int          indentLevel,
+                           List<String> columnHeadings) throws IOException
+    {
+        tableRenderer.startTable(ReportPrefixes.getSpaceIndent(indentLevel), columnHeadings);
+    }
+
+
+    /**
+     * Output a row of the current table.
+     *
+     * @param cells values of the cells in column order
+     * @throws IOException problem writing to the console
+     */
+    @Override
+    public void printTableRow(String... cells) throws IOException
+    {
+        tableRenderer.printTableRow(cells);
+
+        flushIfNeeded(false);
+    }
+
+
+    /**
+     * End the current table.
+     *
+     * @throws IOException problem writing to the console
+     */
+    @Override
+    public void endTable() throws IOException
+    {
+        tableRenderer.endTable();
+
+        flushIfNeeded(false);
+    }
+
+
+    /**
+     * Display the summary of a metadata element as a row in a table.
+     *
+     * @param indentLevel number of spaces to indent
+     * @param firstElement is the first element (so a new table with column headings is needed)
+     * @param guid unique identifier
+     * @param qualifiedName unique name
+     * @param displayName display name
+     * @param description description
+     * @throws IOException problem writing to the console
+     */
+    @Override
+    public void printElementInTable(int     indentLevel,
+                                    boolean firstElement,
+                                    String  guid,
+                                    String  qualifiedName,
+                                    String  displayName,
+                                    String  description) throws IOException
+    {
+        if ((firstElement) || (! ELEMENT_COLUMN_HEADINGS.equals(tableRenderer.getColumnHeadings())))
+        {
+            startTable(indentLevel, ELEMENT_COLUMN_HEADINGS);
+        }
+
+        printTableRow(guid, qualifiedName, displayName, description);
+    }
+
+
+    /**
+     * Display any rows still held back by an open table and push all buffered content to the console.
+     *
+     * @throws IOException problem writing to the console
+     */
+    @Override
+    public void closeReport() throws IOException
+    {
+        tableRenderer.endTable();
+
+        super.closeReport();
+    }
+}
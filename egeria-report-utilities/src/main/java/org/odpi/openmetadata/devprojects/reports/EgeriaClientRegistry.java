@@ -0,0 +1,230 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * EgeriaClientRegistry holds the Egeria clients that a report program has created so they can be reused for the
+ * rest of the run.  Each Egeria client builds its own REST client connector (and with it an HTTP client and
+ * connection pool) when it is constructed, so creating a new client for every call to every server repeats this work
+ * many times over.  Clients are keyed by their type, the server they call (null for platform-level clients) and
+ * the platform URL root.  A registry is intended to be used with a single userId since the admin clients are
+ * created for a particular user.
+ * <p>
+ * The registry is safe to use from the concurrent collection tasks: a client is created at most once for each key.
+ */
+public class EgeriaClientRegistry
+{
+    private final Map<ClientKey, Object> clients     = new ConcurrentHashMap<>();
+    private final AtomicLong             reusedCount = new AtomicLong(0);
+
+
+    /**
+     * Creates a new client.  The Egeria client constructors throw a variety of checked exceptions (typically
+     * for a bad URL) so the factory is allowed to as well.
+     *
+     * @param <T> type of client
+     */
+    @FunctionalInterface
+    public interface ClientFactory<T>
+    {
+        /**
+         * Create the client.
+         *
+         * @return new client
+         * @throws Exception problem creating the client
+         */
+        T createClient() throws Exception;
+    }
+
+
+    /**
+     * Default constructor.
+     */
+    public EgeriaClientRegistry()
+    {
+    }
+
+
+    /**
+     * Return the client for the type, server and platform, creating it with the factory if this is the first request.
+     *
+     * @param clientType class of the client
+     * @param serverName name of the server that the client calls (null for a platform-level client)
+     * @param platformURLRoot location of the platform
+     * @param clientFactory creates the client if it is not already registered
+     * @param <T> type of client
+     * @return client
+     * @throws Exception the factory failed to create the client (nothing is registered in this case)
+     */
+    public <T> T getClient(Class<T>         clientType,
+                           String           serverName,
+                           String           platformURLRoot,
+                           ClientFactory<T> clientFactory) throws Exception
+    {
+        ClientKey clientKey = new ClientKey(clientType, serverName, platformURLRoot);
+        Object    client    = clients.get(clientKey);
+
+        if (client != null)
+        {
+            reusedCount.incrementAndGet();
+            return clientType.cast(client);
+        }
+
+        try
+        {
+            return clientType.cast(clients.computeIfAbsent(clientKey, key -> createClient(clientFactory)));
+        }
+        catch (ClientCreationException creationError)
+        {
+            throw (Exception) creationError.getCause();
+        }
+    }
+
+
+    /**
+     * Remove the clients for a server so they can be garbage collected.  This is used by callers that work through
+     * the servers one at a time and will not call the server again.
+     *
+     * @param serverName name of the server
+     * @param platformURLRoot location of the platform
+     */
+    public void releaseClients(String serverName,
+                               String platformURLRoot)
+    {
+        clients.keySet().removeIf(clientKey -> Objects.equals(clientKey.serverName, serverName) &&
+                                               Objects.equals(clientKey.platformURLRoot, platformURLRoot));
+    }
+
+
+    /**
+     * Call the factory, wrapping any checked exception so it can pass out of ConcurrentHashMap.computeIfAbsent().
+     *
+     * @param clientFactory factory to call
+     * @return new client
+     */
+    private static Object createClient(ClientFactory<?> clientFactory)
+    {
+        try
+        {
+            return clientFactory.createClient();
+        }
+        catch (Exception error)
+        {
+            throw new ClientCreationException(error);
+        }
+    }
+
+
+    /**
+     * Return the number of clients that have been created.
+     *
+     * @return count
+     */
+    public int getClientCount()
+    {
+        return clients.size();
+    }
+
+
+    /**
+     * Return the number of requests that were satisfied by an existing client.
+     *
+     * @return count
+     */
+    public long getReusedCount()
+    {
+        return reusedCount.get();
+    }
+
+
+    /**
+     * Carries a checked exception from a client factory out of computeIfAbsent().
+     */
+    private static class ClientCreationException extends RuntimeException
+    {
+        private static final long serialVersionUID = 1L;
+
+
+        /**
+         * Constructor takes the exception from the factory.
+         *
+         * @param cause exception from the factory
+         */
+        ClientCreationException(Exception cause)
+        {
+            super(cause);
+        }
+    }
+
+
+    /**
+     * ClientKey identifies a client by its type, server and platform.
+     */
+    private static class ClientKey
+    {
+        private final Class<?> clientType;
+        private final String   serverName;
+        private final String   platformURLRoot;
+
+
+        /**
+         * Constructor takes the values that identify the client.
+         *
+         * @param clientType class of the client
+         * @param serverName name of the server (may be null)
+         * @param platformURLRoot location of the platform
+         */
+        ClientKey(Class<?> clientType,
+                  String   serverName,
+                  String   platformURLRoot)
+        {
+            this.clientType = clientType;
+            this.serverName = serverName;
+            this.platformURLRoot = platformURLRoot;
+        }
+
+
+        /**
+         * Compare the values that identify the client.
+         *
+         * @param objectToCompare test object
+         * @return boolean result
+         */
+        @Override
+        public boolean equals(Object objectToCompare)
+        {
+            if (this == objectToCompare)
+            {
+                return true;
+            }
+            if (! (objectToCompare instanceof ClientKey))
+            {
+                return false;
+            }
+
+            ClientKey that = (ClientKey) objectToCompare;
+
+            return Objects.equals(clientType, that.clientType) &&
+                           Objects.equals(serverName, that.serverName) &&
+                           Objects.equals(platformURLRoot, that.platformURLRoot);
+        }
+
+
+        /**
+         * Hash code for the values that identify the client.
+         *
+         * @return int
+         */
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(clientType, serverName, platformURLRoot);
+        }
+    }
+}
@@ -7,18 +7,43 @@ package org.odpi.openmetadata.devprojects.reports;
 import org.odpi.openmetadata.commonservices.ffdc.rest.RegisteredOMAGService;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 
 /**
- * EgeriaReport provides utilities to allow a report to print to the screen and create a markdown file at the same time.
+ * EgeriaReport provides utilities to allow a report to print to the screen and create a report file at the same time.
+ * The format of the report file is controlled by the ReportSink that is created from the options.  By default, this is
+ * a markdown document.
+ * <br><br>
+ * The report holds the report file open until it is closed, so it should be used in a try-with-resources block
+ * (or closeReport() called in a finally block).
  */
-public class EgeriaReport
+public class EgeriaReport implements AutoCloseable
 {
-    private final FileOutputStream fileOutStream;
+    /**
+     * The report file is always written in UTF-8 rather than the platform's default encoding.
+     */
+    public static final Charset REPORT_CHARSET = StandardCharsets.UTF_8;
+
+    private final String                 reportFileName;
+    private final FileOutputStream       reportFileStream;
+    private final GZIPOutputStream       compressedStream;
+    private final MappedFileReportWriter mappedWriter;
+    private final Writer                 reportWriter;
+    private final ReportSink             reportSink;
+    private final ReportSink             consoleSink;
+
+    private boolean closed = false;
 
 
     /**
@@ -29,14 +54,7 @@ public class EgeriaReport
      */
     public String getSpaceIndent(int indentLevel)
     {
-        StringBuilder indent = new StringBuilder();
-
-        for (int i=0; i<indentLevel; i++)
-        {
-            indent.append("   ");
-        }
-
-        return indent.toString();
+        return ReportPrefixes.getSpaceIndent(indentLevel);
     }
 
 
@@ -48,31 +66,7 @@ public class EgeriaReport
      */
     public String getHeadingLevel(int indentLevel)
     {
-        if (indentLevel > 5)
-        {
-            /*
-             * Indent level is more than mark down supports so need to be creative.
-             */
-            StringBuilder indent = new StringBuilder("###### ");
-
-            for (int i = 5; i < indentLevel; i++)
-            {
-                indent.append("==");
-            }
-
-            return indent.append("> ").toString();
-        }
-        else
-        {
-            StringBuilder indent = new StringBuilder("#");
-
-            for (int i = 0; i < indentLevel; i++)
-            {
-                indent.append("#");
-            }
-
-            return indent.append(" ").toString();
-        }
+        return ReportPrefixes.getHeadingLevel(indentLevel);
     }
 
 
@@ -86,11 +80,12 @@ public class EgeriaReport
     public void printReportTitle(int    indentLevel,
                                  String reportTitle) throws IOException
     {
-        System.out.println(getSpaceIndent(indentLevel) + reportTitle);
-
-        String reportString = getHeadingLevel(indentLevel) + reportTitle + "\n\n";
+        if (consoleSink != null)
+        {
+            consoleSink.printReportTitle(indentLevel, reportTitle);
+        }
 
-        fileOutStream.write(reportString.getBytes());
+        reportSink.printReportTitle(indentLevel, reportTitle);
     }
 
 
@@ -104,11 +99,12 @@ public class EgeriaReport
     public void printReportSubheading(int    indentLevel,
                                       String titleText) throws IOException
     {
-        System.out.println(getSpaceIndent(indentLevel) + titleText);
-
-        String reportString = getHeadingLevel(indentLevel) + titleText + "\n";
+        if (consoleSink != null)
+        {
+            consoleSink.printReportSubheading(indentLevel, titleText);
+        }
 
-        fileOutStream.write(reportString.getBytes());
+        reportSink.printReportSubheading(indentLevel, titleText);
     }
 
 
@@ -124,22 +120,12 @@ public class EgeriaReport
                                 String elementLabel,
                                 String elementText) throws IOException
     {
-        if (elementText == null)
+        if (consoleSink != null)
         {
-            System.out.println(getSpaceIndent(indentLevel) + elementLabel + ": " + "<null>");
-
-            String reportString = "* **" + elementLabel + "**: " + "*null*" + "\n";
-
-            fileOutStream.write(reportString.getBytes());
+            consoleSink.printReportLine(indentLevel, elementLabel, elementText);
         }
-        else
-        {
-            System.out.println(getSpaceIndent(indentLevel) + elementLabel + ": " + elementText);
-
-            String reportString = "* **" + elementLabel + "**: " + elementText + "\n";
 
-            fileOutStream.write(reportString.getBytes());
-        }
+        reportSink.printReportLine(indentLevel, elementLabel, elementText);
     }
 
 
@@ -153,17 +139,105 @@ public class EgeriaReport
     public void printReportLine(int    indentLevel,
                                 String reportText) throws IOException
     {
-        System.out.println(getSpaceIndent(indentLevel) + reportText);
+        if (consoleSink != null)
+        {
+            consoleSink.printReportLine(indentLevel, reportText);
+        }
+
+        reportSink.printReportLine(indentLevel, reportText);
+    }
+
+
+    /**
+     * Start a new table.  The column headings are written once, as soon as the widths of the columns have been
+     * worked out from the first rows.  The table ends with endTable() or with the next line that is not a table row.
+     *
+     * @param indentLevel number of spaces to indent
+     * @param columnHeadings headings of the columns
+     * @throws IOException problem writing report
+     */
+    public void startTable(int          indentLevel,
+                           List<String> columnHeadings) throws IOException
+    {
+        if (consoleSink != null)
+        {
+            consoleSink.startTable(indentLevel, columnHeadings);
+        }
 
-        fileOutStream.write(reportText.getBytes());
+        reportSink.startTable(indentLevel, columnHeadings);
     }
 
 
     /**
-     * Prints out information about a metadata element as a single line in a table.
+     * Start a new table for summarizing metadata elements with printElementRow().
      *
      * @param indentLevel number of spaces to indent
-     * @param firstElement is the the first element (so column headings needed)
+     * @throws IOException problem writing report
+     */
+    public void startElementTable(int indentLevel) throws IOException
+    {
+        startTable(indentLevel, ReportSink.ELEMENT_COLUMN_HEADINGS);
+    }
+
+
+    /**
+     * Prints out a row of the current table.
+     *
+     * @param cells values of the cells in column order
+     * @throws IOException problem writing report
+     */
+    public void printTableRow(String... cells) throws IOException
+    {
+        if (consoleSink != null)
+        {
+            consoleSink.printTableRow(cells);
+        }
+
+        reportSink.printTableRow(cells);
+    }
+
+
+    /**
+     * Prints out information about a metadata element as a row in the current element table.
+     *
+     * @param guid unique identifier
+     * @param qualifiedName unique name
+     * @param displayName display name
+     * @param description description
+     * @throws IOException problem writing report
+     */
+    public void printElementRow(String guid,
+                                String qualifiedName,
+                                String displayName,
+                                String description) throws IOException
+    {
+        printTableRow(guid, qualifiedName, displayName, description);
+    }
+
+
+    /**
+     * End the current table.  This has no effect if no table is open.
+     *
+     * @throws IOException problem writing report
+     */
+    public void endTable() throws IOException
+    {
+        if (consoleSink != null)
+        {
+            consoleSink.endTable();
+        }
+
+        reportSink.endTable();
+    }
+
+
+    /**
+     * Prints out information about a metadata element as a single line in a table.  A new element table is
+     * started when firstElement is true or the current table is not an element table.  Rather than passing
+     * firstElement, new code should call startElementTable() and then printElementRow() for each element.
+     *
+     * @param indentLevel number of spaces to indent
+     * @param firstElement is the the first element (so a new table with column headings is needed)
      * @param guid unique identifier
      * @param qualifiedName unique name
      * @param displayName display name
@@ -177,19 +251,12 @@ public class EgeriaReport
                                     String  displayName,
                                     String  description) throws IOException
     {
-        if (firstElement)
+        if (consoleSink != null)
         {
-            printReportLine(indentLevel, "");
-            printReportLine(indentLevel, "|----------------------------------+-----------------------------+--------------------+------------------------------|");
-            printReportLine(indentLevel, "| Unique identifier (GUID)         | Unique name (qualifiedName) | Display name       | Description                  |");
-            printReportLine(indentLevel, "|----------------------------------+-----------------------------+--------------------+------------------------------|");
+            consoleSink.printElementInTable(indentLevel, firstElement, guid, qualifiedName, displayName, description);
         }
 
-        printReportLine(indentLevel, "| " + guid);
-        printReportLine(indentLevel, " | " + qualifiedName);
-        printReportLine(indentLevel, " | " + displayName);
-        printReportLine(indentLevel, " | " + description);
-        printReportLine(indentLevel, " |");
+        reportSink.printElementInTable(indentLevel, firstElement, guid, qualifiedName, displayName, description);
     }
 
 
@@ -260,15 +327,45 @@ public class EgeriaReport
 
 
     /**
-     * Set up the parameters for the sample.
+     * Set up the parameters for the sample using the default options.
      *
      * @param reportFileName name of file to wrote markdown content to
      * @throws IOException problem writing file
      */
     public EgeriaReport(String reportFileName) throws IOException
     {
-        final String licenseString   = "<!-- SPDX-License-Identifier: CC-BY-4.0 -->\n";
-        final String copyrightString = "<!-- Copyright Contributors to the Egeria project. -->\n\n";
+        this(reportFileName, new EgeriaReportOptions());
+    }
+
+
+    /**
+     * Set up the parameters for the sample.
+     *
+     * @param reportFileName name of file to write the report to
+     * @param options options controlling how the report is written (null means use the defaults)
+     * @throws IOException problem writing file
+     */
+    public EgeriaReport(String              reportFileName,
+                        EgeriaReportOptions options) throws IOException
+    {
+        EgeriaReportOptions reportOptions = new EgeriaReportOptions(options);
+
+        /*
+         * Compression is either requested in the options (in which case the file name is given the compression's
+         * extension if it does not already have it) or implied by the extension of the file name.
+         */
+        ReportCompression compression = reportOptions.getCompression();
+
+        if ((compression == null) || (compression == ReportCompression.NONE))
+        {
+            compression = ReportCompression.getReportCompression(reportFileName);
+        }
+        else if (! compression.isFileExtensionOf(reportFileName))
+        {
+            reportFileName = reportFileName + "." + compression.getFileExtension();
+        }
+
+        this.reportFileName = reportFileName;
 
         File reportFile = new File(reportFileName);
 
@@ -280,22 +377,229 @@ public class EgeriaReport
             }
         }
 
-        fileOutStream = new FileOutputStream(reportFile);
+        int bufferSize = reportOptions.getBufferSize();
+
+        if (bufferSize < 1)
+        {
+            bufferSize = EgeriaReportOptions.DEFAULT_BUFFER_SIZE;
+        }
+
+        if (compression == ReportCompression.GZIP)
+        {
+            /*
+             * The deflater sits between the character buffer and the file.  It is not sync-flushed when the
+             * report flushes since that would reduce the compression - compressed content reaches the file as
+             * the deflater produces it, and the remainder when the report is closed.  A compressed report is
+             * always written through a stream, whatever the output mode.
+             */
+            reportFileStream = new FileOutputStream(reportFile);
 
-        fileOutStream.write(licenseString.getBytes());
-        fileOutStream.write(copyrightString.getBytes());
+            try
+            {
+                compressedStream = new LeveledGZIPOutputStream(reportFileStream, bufferSize, reportOptions.getCompressionLevel());
+            }
+            catch (IOException | RuntimeException error)
+            {
+                reportFileStream.close();
+                throw error;
+            }
+
+            mappedWriter = null;
+            reportWriter = new BufferedWriter(new OutputStreamWriter(compressedStream, REPORT_CHARSET), bufferSize);
+        }
+        else if (reportOptions.getOutputMode() == ReportOutputMode.MEMORY_MAPPED)
+        {
+            /*
+             * The mapped writer encodes straight into the file's pages so it needs no buffer in front of it.
+             */
+            reportFileStream = null;
+            compressedStream = null;
+            mappedWriter = new MappedFileReportWriter(reportFile, reportOptions.getMappedRegionSize());
+            reportWriter = mappedWriter;
+        }
+        else
+        {
+            reportFileStream = new FileOutputStream(reportFile);
+            compressedStream = null;
+            mappedWriter = null;
+            reportWriter = new BufferedWriter(new OutputStreamWriter(reportFileStream, REPORT_CHARSET), bufferSize);
+        }
+
+        ReportSink fileSink;
+
+        try
+        {
+            fileSink = createReportSink(reportOptions.getReportFormat(),
+                                        reportWriter,
+                                        reportOptions.getFlushPolicy(),
+                                        reportOptions.getTableLookAheadRows());
+        }
+        catch (IOException error)
+        {
+            /*
+             * The caller never receives the report object so the file must be closed here.
+             */
+            reportWriter.close();
+            throw error;
+        }
+
+        ReportSink echoSink = null;
+
+        if (reportOptions.getEchoToConsole())
+        {
+            echoSink = new ConsoleReportSink(System.out);
+        }
+
+        if (reportOptions.getAsynchronous())
+        {
+            /*
+             * All output is passed to the writer thread - including the console echo so that the
+             * console and the report file show the records in the same order.
+             */
+            reportSink = new AsyncReportSink(fileSink,
+                                             echoSink,
+                                             reportOptions.getAsyncQueueCapacity(),
+                                             reportOptions.getBackpressurePolicy());
+            consoleSink = null;
+        }
+        else
+        {
+            reportSink = fileSink;
+            consoleSink = echoSink;
+        }
     }
 
 
     /**
-     * This adds the last line to the report.
+     * Create the sink that formats the report file.
+     *
+     * @param reportFormat requested format (null means markdown)
+     * @param reportWriter destination of the report
+     * @param flushPolicy how often to push buffered content to the report file
+     * @param tableLookAheadRows number of rows of each table held back to work out its column widths
+     * @return report sink
+     * @throws IOException problem writing file
+     */
+    private ReportSink createReportSink(ReportFormat      reportFormat,
+                                        Writer            reportWriter,
+                                        ReportFlushPolicy flushPolicy,
+                                        int               tableLookAheadRows) throws IOException
+    {
+        if (reportFormat == ReportFormat.JSON_LINES)
+        {
+            return new JSONLinesReportSink(reportWriter, flushPolicy);
+        }
+        else if (reportFormat == ReportFormat.CSV)
+        {
+            return new CSVReportSink(reportWriter, flushPolicy);
+        }
+
+        return new MarkdownReportSink(reportWriter, flushPolicy, tableLookAheadRows);
+    }
+
+
+    /**
+     * Return the name of the report file.  This includes the compression extension if it was added because
+     * compression was requested in the options.
+     *
+     * @return file name
+     */
+    public String getReportFileName()
+    {
+        return reportFileName;
+    }
+
+
+    /**
+     * This adds the last line to the report, then flushes, syncs and closes the report file.  In asynchronous
+     * mode, it waits for the writer thread to write all outstanding records first.  The report file is closed
+     * even if the last content can not be written.  Calling this method again has no effect.
      *
      * @throws IOException unable to write the report
      */
     public void closeReport() throws IOException
     {
-        final String snippetString   = "\n--8<-- \"snippets/abbr.md\"";
+        if (closed)
+        {
+            return;
+        }
+
+        closed = true;
+
+        try
+        {
+            if (consoleSink != null)
+            {
+                consoleSink.closeReport();
+            }
+
+            reportSink.closeReport();
+
+            reportWriter.flush();
+
+            if (compressedStream != null)
+            {
+                compressedStream.finish();
+            }
+
+            if (mappedWriter != null)
+            {
+                mappedWriter.sync();
+            }
+            else
+            {
+                reportFileStream.getFD().sync();
+            }
+        }
+        finally
+        {
+            reportWriter.close();
+        }
+    }
+
+
+    /**
+     * Close the report, writing its last line.  This is called automatically at the end of a try-with-resources block.
+     *
+     * @throws IOException unable to write the report
+     */
+    @Override
+    public void close() throws IOException
+    {
+        closeReport();
+    }
 
-        fileOutStream.write(snippetString.getBytes());
+
+    /**
+     * GZIPOutputStream does not offer the compression level on its constructor, but its deflater is available to
+     * subclasses.
+     */
+    private static class LeveledGZIPOutputStream extends GZIPOutputStream
+    {
+        /**
+         * Create the stream and set the level of its deflater.
+         *
+         * @param outputStream compressed file
+         * @param bufferSize size of the output buffer
+         * @param compressionLevel deflate level (0-9, or -1 for the deflater's default)
+         * @throws IOException problem writing the gzip header
+         * @throws IllegalArgumentException the deflater does not support the level
+         */
+        LeveledGZIPOutputStream(OutputStream outputStream,
+                                int          bufferSize,
+                                int          compressionLevel) throws IOException
+        {
+            super(outputStream, bufferSize);
+
+            try
+            {
+                def.setLevel(compressionLevel);
+            }
+            catch (IllegalArgumentException error)
+            {
+                def.end();
+                throw error;
+            }
+        }
     }
 }
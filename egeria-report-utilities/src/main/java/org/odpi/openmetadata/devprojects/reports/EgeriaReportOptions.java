@@ -0,0 +1,378 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import java.util.zip.Deflater;
+
+
+/**
+ * EgeriaReportOptions controls how an EgeriaReport writes its content.  The default values produce a
+ * buffered report file with the content echoed to the console.
+ */
+public class EgeriaReportOptions
+{
+    /**
+     * Default size of the buffer (in characters) that sits in front of the report file.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Default deflate level for compressed reports.  The repetitive content of a report compresses almost as well
+     * at the fastest level as at the deflater's default level, in about half the time.
+     */
+    public static final int DEFAULT_COMPRESSION_LEVEL = Deflater.BEST_SPEED;
+
+    private boolean           echoToConsole = true;
+    private ReportFlushPolicy flushPolicy   = ReportFlushPolicy.SECTION;
+    private int               bufferSize    = DEFAULT_BUFFER_SIZE;
+    private ReportFormat      reportFormat  = ReportFormat.MARKDOWN;
+
+    private int tableLookAheadRows = ReportTableRenderer.DEFAULT_LOOK_AHEAD_ROWS;
+
+    private ReportOutputMode outputMode       = ReportOutputMode.BUFFERED_STREAM;
+    private int              mappedRegionSize = MappedFileReportWriter.DEFAULT_REGION_SIZE;
+
+    private ReportCompression compression      = ReportCompression.NONE;
+    private int               compressionLevel = DEFAULT_COMPRESSION_LEVEL;
+
+    private boolean                  asynchronous       = false;
+    private int                      asyncQueueCapacity = AsyncReportSink.DEFAULT_QUEUE_CAPACITY;
+    private ReportBackpressurePolicy backpressurePolicy = ReportBackpressurePolicy.BLOCK;
+
+
+    /**
+     * Default constructor.
+     */
+    public EgeriaReportOptions()
+    {
+    }
+
+
+    /**
+     * Copy/clone constructor.
+     *
+     * @param template object to copy
+     */
+    public EgeriaReportOptions(EgeriaReportOptions template)
+    {
+        if (template != null)
+        {
+            echoToConsole = template.getEchoToConsole();
+            flushPolicy = template.getFlushPolicy();
+            bufferSize = template.getBufferSize();
+            reportFormat = template.getReportFormat();
+            tableLookAheadRows = template.getTableLookAheadRows();
+            outputMode = template.getOutputMode();
+            mappedRegionSize = template.getMappedRegionSize();
+            compression = template.getCompression();
+            compressionLevel = template.getCompressionLevel();
+            asynchronous = template.getAsynchronous();
+            asyncQueueCapacity = template.getAsyncQueueCapacity();
+            backpressurePolicy = template.getBackpressurePolicy();
+        }
+    }
+
+
+    /**
+     * Return whether each line of the report is also displayed on stdout.
+     *
+     * @return boolean flag
+     */
+    public boolean getEchoToConsole()
+    {
+        return echoToConsole;
+    }
+
+
+    /**
+     * Set up whether each line of the report is also displayed on stdout.  Turning this off significantly
+     * speeds up the generation of large reports.
+     *
+     * @param echoToConsole boolean flag
+     */
+    public void setEchoToConsole(boolean echoToConsole)
+    {
+        this.echoToConsole = echoToConsole;
+    }
+
+
+    /**
+     * Return how often the buffered report content is written to the report file.
+     *
+     * @return flush policy
+     */
+    public ReportFlushPolicy getFlushPolicy()
+    {
+        return flushPolicy;
+    }
+
+
+    /**
+     * Set up how often the buffered report content is written to the report file.
+     *
+     * @param flushPolicy flush policy (null means the default)
+     */
+    public void setFlushPolicy(ReportFlushPolicy flushPolicy)
+    {
+        this.flushPolicy = flushPolicy;
+    }
+
+
+    /**
+     * Return the size of the buffer (in characters) that sits in front of the report file.
+     *
+     * @return buffer size
+     */
+    public int getBufferSize()
+    {
+        return bufferSize;
+    }
+
+
+    /**
+     * Set up the size of the buffer (in characters) that sits in front of the report file.
+     *
+     * @param bufferSize buffer size (values less than 1 mean the default)
+     */
+    public void setBufferSize(int bufferSize)
+    {
+        this.bufferSize = bufferSize;
+    }
+
+
+    /**
+     * Return the format of the report file.
+     *
+     * @return report format
+     */
+    public ReportFormat getReportFormat()
+    {
+        return reportFormat;
+    }
+
+
+    /**
+     * Set up the format of the report file.
+     *
+     * @param reportFormat report format (null means markdown)
+     */
+    public void setReportFormat(ReportFormat reportFormat)
+    {
+        this.reportFormat = reportFormat;
+    }
+
+
+    /**
+     * Return the number of rows of each markdown table that are held back to work out its column widths.
+     *
+     * @return row count
+     */
+    public int getTableLookAheadRows()
+    {
+        return tableLookAheadRows;
+    }
+
+
+    /**
+     * Set up the number of rows of each markdown table that are held back to work out its column widths.
+     * Larger values give neater tables for a little more memory; later rows that are wider than their
+     * columns are written in full.
+     *
+     * @param tableLookAheadRows row count (values less than 1 mean the default)
+     */
+    public void setTableLookAheadRows(int tableLookAheadRows)
+    {
+        this.tableLookAheadRows = tableLookAheadRows;
+    }
+
+
+    /**
+     * Return how the bytes of the report file are written.
+     *
+     * @return output mode
+     */
+    public ReportOutputMode getOutputMode()
+    {
+        return outputMode;
+    }
+
+
+    /**
+     * Set up how the bytes of the report file are written.  MEMORY_MAPPED is intended for very large reports
+     * such as catalogue-wide exports that must survive the report program crashing - it is not faster.
+     *
+     * @param outputMode output mode (null means BUFFERED_STREAM)
+     */
+    public void setOutputMode(ReportOutputMode outputMode)
+    {
+        this.outputMode = outputMode;
+    }
+
+
+    /**
+     * Return the size (in bytes) of each region of the report file that is mapped in MEMORY_MAPPED mode.
+     *
+     * @return region size
+     */
+    public int getMappedRegionSize()
+    {
+        return mappedRegionSize;
+    }
+
+
+    /**
+     * Set up the size (in bytes) of each region of the report file that is mapped in MEMORY_MAPPED mode.
+     * The file grows by this amount at a time and is truncated to the length of its content when the report is closed.
+     *
+     * @param mappedRegionSize region size (values less than 1 mean the default)
+     */
+    public void setMappedRegionSize(int mappedRegionSize)
+    {
+        this.mappedRegionSize = mappedRegionSize;
+    }
+
+
+    /**
+     * Return whether the report file is compressed as it is written.
+     *
+     * @return compression
+     */
+    public ReportCompression getCompression()
+    {
+        return compression;
+    }
+
+
+    /**
+     * Set up whether the report file is compressed as it is written.  If this is NONE, compression is still used
+     * when the report file name ends in a compression extension such as ".gz".
+     *
+     * @param compression compression (null means NONE)
+     */
+    public void setCompression(ReportCompression compression)
+    {
+        this.compression = compression;
+    }
+
+
+    /**
+     * Return the deflate level used for compressed reports.
+     *
+     * @return level (0-9, or -1 for the deflater's default)
+     */
+    public int getCompressionLevel()
+    {
+        return compressionLevel;
+    }
+
+
+    /**
+     * Set up the deflate level used for compressed reports.  The level is checked here, before any report file
+     * is opened, since the deflater only rejects it once the file has been created.
+     *
+     * @param compressionLevel level (0-9, or -1 for the deflater's default)
+     * @throws IllegalArgumentException the level is not one that the deflater supports
+     */
+    public void setCompressionLevel(int compressionLevel)
+    {
+        if ((compressionLevel < Deflater.DEFAULT_COMPRESSION) || (compressionLevel > Deflater.BEST_COMPRESSION))
+        {
+            throw new IllegalArgumentException("The compression level " + compressionLevel + " is not between " +
+                                                       Deflater.DEFAULT_COMPRESSION + " and " + Deflater.BEST_COMPRESSION);
+        }
+
+        this.compressionLevel = compressionLevel;
+    }
+
+
+    /**
+     * Return whether the report is written by a dedicated writer thread.
+     *
+     * @return boolean flag
+     */
+    public boolean getAsynchronous()
+    {
+        return asynchronous;
+    }
+
+
+    /**
+     * Set up whether the report is written by a dedicated writer thread.  This lets the report program carry on
+     * calling remote servers while the earlier content is written to the report file and console.
+     *
+     * @param asynchronous boolean flag
+     */
+    public void setAsynchronous(boolean asynchronous)
+    {
+        this.asynchronous = asynchronous;
+    }
+
+
+    /**
+     * Return the maximum number of records that can be waiting for the writer thread.
+     *
+     * @return queue capacity
+     */
+    public int getAsyncQueueCapacity()
+    {
+        return asyncQueueCapacity;
+    }
+
+
+    /**
+     * Set up the maximum number of records that can be waiting for the writer thread.
+     *
+     * @param asyncQueueCapacity queue capacity (values less than 1 mean the default)
+     */
+    public void setAsyncQueueCapacity(int asyncQueueCapacity)
+    {
+        this.asyncQueueCapacity = asyncQueueCapacity;
+    }
+
+
+    /**
+     * Return what happens when the writer thread falls behind and its queue is full.
+     *
+     * @return backpressure policy
+     */
+    public ReportBackpressurePolicy getBackpressurePolicy()
+    {
+        return backpressurePolicy;
+    }
+
+
+    /**
+     * Set up what happens when the writer thread falls behind and its queue is full.
+     *
+     * @param backpressurePolicy backpressure policy (null means BLOCK)
+     */
+    public void setBackpressurePolicy(ReportBackpressurePolicy backpressurePolicy)
+    {
+        this.backpressurePolicy = backpressurePolicy;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "EgeriaReportOptions{" +
+                       "echoToConsole=" + echoToConsole +
+                       ", flushPolicy=" + flushPolicy +
+                       ", bufferSize=" + bufferSize +
+                       ", reportFormat=" + reportFormat +
+                       ", tableLookAheadRows=" + tableLookAheadRows +
+                       ", outputMode=" + outputMode +
+                       ", mappedRegionSize=" + mappedRegionSize +
+                       ", compression=" + compression +
+                       ", compressionLevel=" + compressionLevel +
+                       ", asynchronous=" + asynchronous +
+                       ", asyncQueueCapacity=" + asyncQueueCapacity +
+                       ", backpressurePolicy=" + backpressurePolicy +
+                       '}';
+    }
+}
@@ -0,0 +1,161 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+
+/**
+ * JSONLinesReportSink formats the report as one JSON object per line.  Null values are omitted from the records.
+ * For example:
+ * <pre>
+ * {"type":"line","level":3,"section":["Platform report for: https://localhost:9443","Platform deployment"],"label":"Egeria version","value":"3.14"}
+ * </pre>
+ */
+public class JSONLinesReportSink extends StructuredReportSink
+{
+    /**
+     * Constructor supplies the destination of the report.
+     *
+     * @param reportWriter destination for the formatted report
+     * @param flushPolicy how often to push buffered content to the destination
+     */
+    public JSONLinesReportSink(Writer            reportWriter,
+                               ReportFlushPolicy flushPolicy)
+    {
+        super(reportWriter, flushPolicy);
+    }
+
+
+    /**
+     * Write a single record to the report as a JSON object.
+     *
+     * @param recordType type of record
+     * @param indentLevel nesting level of the record
+     * @param sectionPath headings that this record sits under (outermost first)
+     * @param label label or heading text
+     * @param value value or free-form text
+     * @param guid unique identifier of an element
+     * @param qualifiedName unique name of an element
+     * @param displayName display name of an element
+     * @param description description of an element
+     * @throws IOException problem writing the report
+     */
+    @Override
+    protected void writeRecord(String       recordType,
+                               int          indentLevel,
+                               List<String> sectionPath,
+                               String       label,
+                               String       value,
+                               String       guid,
+                               String       qualifiedName,
+                               String       displayName,
+                               String       description) throws IOException
+    {
+        reportWriter.write("{\"type\":");
+        writeString(recordType);
+        reportWriter.write(",\"level\":");
+        reportWriter.write(ReportPrefixes.getLevelNumber(indentLevel));
+
+        if (! sectionPath.isEmpty())
+        {
+            reportWriter.write(",\"section\":[");
+
+            boolean firstHeading = true;
+
+            for (String heading : sectionPath)
+            {
+                if (heading != null)
+                {
+                    if (! firstHeading)
+                    {
+                        reportWriter.write(',');
+                    }
+
+                    writeString(heading);
+                    firstHeading = false;
+                }
+            }
+
+            reportWriter.write(']');
+        }
+
+        writeField("label", label);
+        writeField("value", value);
+        writeField("guid", guid);
+        writeField("qualifiedName", qualifiedName);
+        writeField("displayName", displayName);
+        writeField("description", description);
+
+        reportWriter.write("}\n");
+    }
+
+
+    /**
+     * Write a string field if it has a value.
+     *
+     * @param fieldName name of the field
+     * @param fieldValue value of the field
+     * @throws IOException problem writing the report
+     */
+    private void writeField(String fieldName,
+                            String fieldValue) throws IOException
+    {
+        if (fieldValue != null)
+        {
+            reportWriter.write(",\"");
+            reportWriter.write(fieldName);
+            reportWriter.write("\":");
+            writeString(fieldValue);
+        }
+    }
+
+
+    /**
+     * Write a quoted JSON string, escaping characters as required by RFC 8259.
+     *
+     * @param text string to write
+     * @throws IOException problem writing the report
+     */
+    private void writeString(String text) throws IOException
+    {
+        reportWriter.write('"');
+
+        for (int i = 0; i < text.length(); i++)
+        {
+            char c = text.charAt(i);
+
+            switch (c)
+            {
+                case '"':
+                    reportWriter.write("\\\"");
+                    break;
+                case '\\':
+                    reportWriter.write("\\\\");
+                    break;
+                case '\n':
+                    reportWriter.write("\\n");
+                    break;
+                case '\r':
+                    reportWriter.write("\\r");
+                    break;
+                case '\t':
+                    reportWriter.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20)
+                    {
+                        reportWriter.write(String.format("\\u%04x", (int) c));
+                    }
+                    else
+                    {
+                        reportWriter.write(c);
+                    }
+            }
+        }
+
+        reportWriter.write('"');
+    }
+}
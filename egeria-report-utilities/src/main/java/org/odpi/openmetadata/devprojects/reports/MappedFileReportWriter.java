@@ -0,0 +1,425 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+
+/**
+ * MappedFileReportWriter encodes the report (as UTF-8) straight into a memory-mapped region of the report file.
+ * ASCII characters, which make up almost all of a report, are narrowed to single bytes without going through a
+ * CharsetEncoder.  They are gathered in a small scratch array and copied into the mapped region in bulk, which is
+ * about twice as fast as putting each byte into the region, and no buffer proportional to the report is held on the
+ * heap.  When the region is full, it is forced to the storage device and the next region is mapped from the end of
+ * the content written so far, growing the file.  When the writer is closed, the last region is forced and the file
+ * is truncated to the length of the content.  The mapped regions are only released when they are garbage
+ * collected, and platforms that can not shorten a file while it is mapped (such as Windows) fail the truncate.
+ * The file is then left with trailing zero bytes up to the end of the last region rather than failing the report,
+ * since the content itself is complete.
+ * <br><br>
+ * This mode is for durability rather than speed: the content is in the operating system's page cache as soon as
+ * it is written, so it survives the report program crashing, and every full region is on the storage device.
+ * It is not faster than the buffered stream.  If the process stops before the writer is closed, the file may have
+ * trailing zero bytes up to the end of the last region.
+ */
+public class MappedFileReportWriter extends Writer
+{
+    /**
+     * Default size of each mapped region of the file.
+     */
+    public static final int DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+    private static final byte REPLACEMENT_CHARACTER = (byte) '?';
+    private static final int  SCRATCH_SIZE          = 1024;
+
+    private final RandomAccessFile reportFile;
+    private final FileChannel      reportChannel;
+    private final int              regionSize;
+    private final byte[]           scratch = new byte[SCRATCH_SIZE];
+
+    private MappedByteBuffer region;
+    private long             regionStart   = 0;
+    private char             highSurrogate = 0;
+    private boolean          closed        = false;
+
+
+    /**
+     * Constructor opens the file and maps the first region.
+     *
+     * @param file file to write (any existing content is discarded)
+     * @param regionSize size of each mapped region in bytes (values less than 1 mean the default)
+     * @throws IOException problem opening or mapping the file
+     */
+    public MappedFileReportWriter(File file,
+                                  int  regionSize) throws IOException
+    {
+        if (regionSize < 1)
+        {
+            this.regionSize = DEFAULT_REGION_SIZE;
+        }
+        else
+        {
+            this.regionSize = regionSize;
+        }
+
+        reportFile = new RandomAccessFile(file, "rw");
+        reportChannel = reportFile.getChannel();
+
+        try
+        {
+            reportChannel.truncate(0);
+            region = reportChannel.map(FileChannel.MapMode.READ_WRITE, 0, this.regionSize);
+        }
+        catch (IOException error)
+        {
+            reportFile.close();
+            throw error;
+        }
+    }
+
+
+    /**
+     * Force the current region to the storage device and map the next region of the file, starting at the end of
+     * the content written so far.
+     *
+     * @throws IOException problem mapping the file
+     */
+    private void nextRegion() throws IOException
+    {
+        region.force();
+
+        regionStart = regionStart + region.position();
+        region = reportChannel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionSize);
+    }
+
+
+    /**
+     * Make sure the current region has room for the requested number of bytes.
+     *
+     * @param byteCount number of bytes about to be written
+     * @throws IOException problem mapping the file
+     */
+    private void ensureSpace(int byteCount) throws IOException
+    {
+        if (region.remaining() < byteCount)
+        {
+            nextRegion();
+        }
+    }
+
+
+    /**
+     * Encode a single code point as UTF-8.
+     *
+     * @param codePoint unicode code point
+     * @throws IOException problem mapping the file
+     */
+    private void putCodePoint(int codePoint) throws IOException
+    {
+        if (codePoint < 0x80)
+        {
+            ensureSpace(1);
+            region.put((byte) codePoint);
+        }
+        else if (codePoint < 0x800)
+        {
+            ensureSpace(2);
+            region.put((byte) (0xC0 | (codePoint >> 6)));
+            region.put((byte) (0x80 | (codePoint & 0x3F)));
+        }
+        else if (codePoint < 0x10000)
+        {
+            ensureSpace(3);
+            region.put((byte) (0xE0 | (codePoint >> 12)));
+            region.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            region.put((byte) (0x80 | (codePoint & 0x3F)));
+        }
+        else
+        {
+            ensureSpace(4);
+            region.put((byte) (0xF0 | (codePoint >> 18)));
+            region.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+            region.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            region.put((byte) (0x80 | (codePoint & 0x3F)));
+        }
+    }
+
+
+    /**
+     * Encode a single character, pairing up surrogates.  Unpaired surrogates are replaced with '?'.
+     *
+     * @param c character
+     * @throws IOException problem mapping the file
+     */
+    private void putChar(char c) throws IOException
+    {
+        if (highSurrogate != 0)
+        {
+            char high = highSurrogate;
+
+            highSurrogate = 0;
+
+            if (Character.isLowSurrogate(c))
+            {
+                putCodePoint(Character.toCodePoint(high, c));
+                return;
+            }
+
+            ensureSpace(1);
+            region.put(REPLACEMENT_CHARACTER);
+        }
+
+        if (Character.isHighSurrogate(c))
+        {
+            highSurrogate = c;
+        }
+        else if (Character.isLowSurrogate(c))
+        {
+            ensureSpace(1);
+            region.put(REPLACEMENT_CHARACTER);
+        }
+        else
+        {
+            putCodePoint(c);
+        }
+    }
+
+
+    /**
+     * Check the writer is still open.
+     *
+     * @throws IOException the writer is closed
+     */
+    private void ensureOpen() throws IOException
+    {
+        if (closed)
+        {
+            throw new IOException("Stream closed");
+        }
+    }
+
+
+    /**
+     * Write a single character.
+     *
+     * @param c character to write
+     * @throws IOException problem mapping the file
+     */
+    @Override
+    public void write(int c) throws IOException
+    {
+        ensureOpen();
+        putChar((char) c);
+    }
+
+
+    /**
+     * Copy the ASCII bytes gathered in the scratch array into the mapped regions as a single bulk transfer
+     * (moving on to the next region as each one fills up).
+     *
+     * @param byteCount number of bytes in the scratch array
+     * @throws IOException problem mapping the file
+     */
+    private void putScratch(int byteCount) throws IOException
+    {
+        int offset = 0;
+
+        while (offset < byteCount)
+        {
+            if (! region.hasRemaining())
+            {
+                nextRegion();
+            }
+
+            int chunk = Math.min(byteCount - offset, region.remaining());
+
+            region.put(scratch, offset, chunk);
+            offset = offset + chunk;
+        }
+    }
+
+
+    /**
+     * Write a portion of an array of characters.  Runs of ASCII characters are narrowed straight to bytes and
+     * copied into the mapped region in bulk.
+     *
+     * @param chars characters to write
+     * @param offset offset of the first character
+     * @param length number of characters
+     * @throws IOException problem mapping the file
+     */
+    @Override
+    public void write(char[] chars,
+                      int    offset,
+                      int    length) throws IOException
+    {
+        ensureOpen();
+
+        int scratchCount = 0;
+
+        for (int i = offset; i < offset + length; i++)
+        {
+            char c = chars[i];
+
+            if ((c < 0x80) && (highSurrogate == 0))
+            {
+                if (scratchCount == scratch.length)
+                {
+                    putScratch(scratchCount);
+                    scratchCount = 0;
+                }
+
+                scratch[scratchCount++] = (byte) c;
+            }
+            else
+            {
+                putScratch(scratchCount);
+                scratchCount = 0;
+                putChar(c);
+            }
+        }
+
+        putScratch(scratchCount);
+    }
+
+
+    /**
+     * Write a portion of a string.  Runs of ASCII characters are narrowed straight to bytes and
+     * copied into the mapped region in bulk.
+     *
+     * @param text string to write
+     * @param offset offset of the first character
+     * @param length number of characters
+     * @throws IOException problem mapping the file
+     */
+    @Override
+    public void write(String text,
+                      int    offset,
+                      int    length) throws IOException
+    {
+        ensureOpen();
+
+        int scratchCount = 0;
+
+        for (int i = offset; i < offset + length; i++)
+        {
+            char c = text.charAt(i);
+
+            if ((c < 0x80) && (highSurrogate == 0))
+            {
+                if (scratchCount == scratch.length)
+                {
+                    putScratch(scratchCount);
+                    scratchCount = 0;
+                }
+
+                scratch[scratchCount++] = (byte) c;
+            }
+            else
+            {
+                putScratch(scratchCount);
+                scratchCount = 0;
+                putChar(c);
+            }
+        }
+
+        putScratch(scratchCount);
+    }
+
+
+    /**
+     * The content is already in the operating system's page cache so there is nothing to flush.
+     */
+    @Override
+    public void flush()
+    {
+    }
+
+
+    /**
+     * Force the content written so far (and the file's metadata) to the storage device.
+     *
+     * @throws IOException problem syncing the file
+     */
+    public void sync() throws IOException
+    {
+        ensureOpen();
+
+        region.force();
+        reportChannel.force(true);
+    }
+
+
+    /**
+     * Return the number of bytes written so far.
+     *
+     * @return byte count
+     */
+    public long getLength()
+    {
+        if (region == null)
+        {
+            return regionStart;
+        }
+
+        return regionStart + region.position();
+    }
+
+
+    /**
+     * Force the last region to the storage device, drop the mapping and then truncate the file to the length of
+     * its content (where the platform allows a mapped file to be shortened) and close it.  Calling this method
+     * again has no effect.
+     *
+     * @throws IOException problem closing the file
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (! closed)
+        {
+            try
+            {
+                if (highSurrogate != 0)
+                {
+                    highSurrogate = 0;
+                    ensureSpace(1);
+                    region.put(REPLACEMENT_CHARACTER);
+                }
+
+                long length = getLength();
+
+                /*
+                 * The region is written back before the file is shortened underneath it.  Once the reference is
+                 * dropped the region can no longer be written to, although it is only unmapped when it is
+                 * garbage collected.
+                 */
+                region.force();
+
+                regionStart = length;
+                region = null;
+
+                try
+                {
+                    reportChannel.truncate(length);
+                }
+                catch (IOException error)
+                {
+                    /*
+                     * The file is still mapped - the content is complete but is followed by zero bytes.
+                     */
+                }
+            }
+            finally
+            {
+                closed = true;
+                reportFile.close();
+            }
+        }
+    }
+}
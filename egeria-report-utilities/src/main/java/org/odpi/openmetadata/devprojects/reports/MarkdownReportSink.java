@@ -0,0 +1,233 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+
+/**
+ * MarkdownReportSink formats the report as a markdown document that can be published with the Egeria documentation.
+ * Each piece of a line is written straight into the buffer in front of the report file rather than being
+ * concatenated into a temporary string first.  Tables are laid out by a ReportTableRenderer so that each table has
+ * a single heading and its columns line up.
+ */
+public class MarkdownReportSink extends WriterReportSink
+{
+    private final ReportTableRenderer tableRenderer;
+
+
+    /**
+     * Constructor writes the license header to the start of the document.
+     *
+     * @param reportWriter destination for the formatted report
+     * @param flushPolicy how often to push buffered content to the destination
+     * @throws IOException problem writing the report
+     */
+    public MarkdownReportSink(Writer            reportWriter,
+                              ReportFlushPolicy flushPolicy) throws IOException
+    {
+        this(reportWriter, flushPolicy, ReportTableRenderer.DEFAULT_LOOK_AHEAD_ROWS);
+    }
+
+
+    /**
+     * Constructor writes the license header to the start of the document.
+     *
+     * @param reportWriter destination for the formatted report
+     * @param flushPolicy how often to push buffered content to the destination
+     * @param tableLookAheadRows number of rows of each table held back to work out its column widths
+     * @throws IOException problem writing the report
+     */
+    public MarkdownReportSink(Writer            reportWriter,
+                              ReportFlushPolicy flushPolicy,
+                              int               tableLookAheadRows) throws IOException
+    {
+        super(reportWriter, flushPolicy);
+
+        this.tableRenderer = new ReportTableRenderer(reportWriter, "\n", tableLookAheadRows);
+
+        final String licenseString   = "<!-- SPDX-License-Identifier: CC-BY-4.0 -->\n";
+        final String copyrightString = "<!-- Copyright Contributors to the Egeria project. -->\n\n";
+
+        reportWriter.write(licenseString);
+        reportWriter.write(copyrightString);
+    }
+
+
+    /**
+     * Output the title of the report as a markdown heading.
+     *
+     * @param indentLevel heading level
+     * @param reportTitle text of the title
+     * @throws IOException problem writing the report
+     */
+    @Override
+    public void printReportTitle(int    indentLevel,
+                                 String reportTitle) throws IOException
+    {
+        tableRenderer.endTable();
+
+        reportWriter.write(ReportPrefixes.getHeadingLevel(indentLevel));
+        reportWriter.write(reportTitle);
+        reportWriter.write("\n\n");
+
+        flushIfNeeded(true);
+    }
+
+
+    /**
+     * Output a subheading as a markdown heading.
+     *
+     * @param indentLevel heading level
+     * @param titleText text of the subheading
+     * @throws IOException problem writing the report
+     */
+    @Override
+    public void printReportSubheading(int    indentLevel,
+                                      String titleText) throws IOException
+    {
+        tableRenderer.endTable();
+
+        reportWriter.write(ReportPrefixes.getHeadingLevel(indentLevel));
+        reportWriter.write(titleText);
+        reportWriter.write("\n");
+
+        flushIfNeeded(true);
+    }
+
+
+    /**
+     * Output a labelled value as a bullet point.
+     *
+     * @param indentLevel nesting level of the line (not used in markdown)
+     * @param elementLabel label of the element
+     * @param elementText value of the element (may be null)
+     * @throws IOException problem writing the report
+     */
+    @Override
+    public void printReportLine(int    indentLevel,
+                                String elementLabel,
+                                String elementText) throws IOException
+    {
+        tableRenderer.endTable();
+
+        reportWriter.write("* **");
+        reportWriter.write(String.valueOf(elementLabel));
+        reportWriter.write("**: ");
+        reportWriter.write(elementText == null ? "*null*" : elementText);
+        reportWriter.write("\n");
+
+        flushIfNeeded(false);
+    }
+
+
+    /**
+     * Output free-form text exactly as supplied.
+     *
+     * @param indentLevel nesting level of the line (not used in markdown)
+     * @param reportText text to output
+     * @throws IOException problem writing the report
+     */
+    @Override
+    public void printReportLine(int    indentLevel,
+                                String reportText) throws IOException
+    {
+        tableRenderer.endTable();
+
+        reportWriter.write(reportText);
+
+        flushIfNeeded(false);
+    }
+
+
+    /**
+     * Start a new table.  The heading is written once the column widths have been worked out.
+     *
+     * @param indentLevel nesting level of the table (not used in markdown)
+     * @param columnHeadings headings of the columns
+     * @throws IOException problem writing the report
+     */
+    @Override
+    public void startTable(int          indentLevel,
+                           List<String> columnHeadings) throws IOException
+    {
+        tableRenderer.startTable("", columnHeadings);
+    }
+
+
+    /**
+     * Output a row of the current table.
+     *
+     * @param cells values of the cells in column order
+     * @throws IOException problem writing the report
+     */
+    @Override
+    public void printTableRow(String... cells) throws IOException
+    {
+        tableRenderer.printTableRow(cells);
+
+        flushIfNeeded(false);
+    }
+
+
+    /**
+     * End the current table.
+     *
+     * @throws IOException problem writing the report
+     */
+    @Override
+    public void endTable() throws IOException
+    {
+        tableRenderer.endTable();
+
+        flushIfNeeded(false);
+    }
+
+
+    /**
+     * Output the summary of a metadata element as a row in a markdown table.
+     *
+     * @param indentLevel nesting level of the table (not used in markdown)
+     * @param firstElement is the first element (so a new table with column headings is needed)
+     * @param guid unique identifier
+     * @param qualifiedName unique name
+     * @param displayName display name
+     * @param description description
+     * @throws IOException problem writing the report
+     */
+    @Override
+    public void printElementInTable(int     indentLevel,
+                                    boolean firstElement,
+                                    String  guid,
+                                    String  qualifiedName,
+                                    String  displayName,
+                                    String  description) throws IOException
+    {
+        if ((firstElement) || (! ELEMENT_COLUMN_HEADINGS.equals(tableRenderer.getColumnHeadings())))
+        {
+            startTable(indentLevel, ELEMENT_COLUMN_HEADINGS);
+        }
+
+        printTableRow(guid, qualifiedName, displayName, description);
+    }
+
+
+    /**
+     * This adds the last line to the report.
+     *
+     * @throws IOException unable to write the report
+     */
+    @Override
+    public void closeReport() throws IOException
+    {
+        tableRenderer.endTable();
+
+        final String snippetString   = "\n--8<-- \"snippets/abbr.md\"";
+
+        reportWriter.write(snippetString);
+
+        super.closeReport();
+    }
+}
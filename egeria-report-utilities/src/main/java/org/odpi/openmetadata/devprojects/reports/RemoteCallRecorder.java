@@ -0,0 +1,276 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * RemoteCallRecorder times and counts the calls that a report makes to remote APIs so that a slow report can be
+ * traced to the API responsible.  Each call is passed through recordCall() with the name of the API, and the
+ * latency of every call is kept (per API) until the statistics are retrieved.  Long-running programs should use
+ * getAndResetStatistics() at regular intervals so the samples do not build up.
+ * <p>
+ * The recorder is safe to use from the concurrent collection tasks.
+ */
+public class RemoteCallRecorder
+{
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<String, CallSamples> callSamplesMap = new ConcurrentHashMap<>();
+
+
+    /**
+     * A call to a remote API.  The Egeria clients throw a variety of checked exceptions so the call is allowed to
+     * as well.
+     *
+     * @param <T> type of result
+     */
+    @FunctionalInterface
+    public interface RemoteCall<T>
+    {
+        /**
+         * Make the call.
+         *
+         * @return result of the call
+         * @throws Exception problem reported by the remote API
+         */
+        T call() throws Exception;
+    }
+
+
+    /**
+     * Default constructor.
+     */
+    public RemoteCallRecorder()
+    {
+    }
+
+
+    /**
+     * Make a remote call and record how long it took and whether it ended with an exception.  The exception is
+     * passed back to the caller unchanged.
+     *
+     * @param apiName name of the API (ClientClass.method by convention)
+     * @param remoteCall the call to make
+     * @param <T> type of result
+     * @return result of the call
+     * @throws Exception problem reported by the remote API
+     */
+    public <T> T recordCall(String        apiName,
+                            RemoteCall<T> remoteCall) throws Exception
+    {
+        long    startTime = System.nanoTime();
+        boolean failed    = true;
+
+        try
+        {
+            T result = remoteCall.call();
+
+            failed = false;
+
+            return result;
+        }
+        finally
+        {
+            recordCall(apiName, System.nanoTime() - startTime, failed);
+        }
+    }
+
+
+    /**
+     * Record a call that has been timed by the caller.
+     *
+     * @param apiName name of the API
+     * @param elapsedNanos how long the call took
+     * @param failed did the call end with an exception?
+     */
+    public void recordCall(String  apiName,
+                           long    elapsedNanos,
+                           boolean failed)
+    {
+        callSamplesMap.computeIfAbsent(apiName, name -> new CallSamples()).add(elapsedNanos, failed);
+    }
+
+
+    /**
+     * Return the statistics for each API, in API name order.
+     *
+     * @return list of statistics
+     */
+    public List<RemoteCallStatistics> getStatistics()
+    {
+        List<RemoteCallStatistics> statisticsList = new ArrayList<>();
+
+        for (Map.Entry<String, CallSamples> entry : new TreeMap<>(callSamplesMap).entrySet())
+        {
+            statisticsList.add(entry.getValue().getStatistics(entry.getKey()));
+        }
+
+        return statisticsList;
+    }
+
+
+    /**
+     * Return the statistics for each API and start recording afresh.
+     *
+     * @return list of statistics, in API name order
+     */
+    public List<RemoteCallStatistics> getAndResetStatistics()
+    {
+        List<RemoteCallStatistics> statisticsList = new ArrayList<>();
+
+        for (String apiName : new TreeMap<>(callSamplesMap).keySet())
+        {
+            CallSamples callSamples = callSamplesMap.remove(apiName);
+
+            if (callSamples != null)
+            {
+                statisticsList.add(callSamples.getStatistics(apiName));
+            }
+        }
+
+        return statisticsList;
+    }
+
+
+    /**
+     * Output a table of the statistics for each API.  The latencies are in milliseconds.
+     *
+     * @param report report to write to
+     * @param indentLevel amount of white space to add before the table
+     * @param statisticsList statistics to print
+     * @throws IOException problem writing to the report
+     */
+    public static void printStatistics(EgeriaReport               report,
+                                       int                        indentLevel,
+                                       List<RemoteCallStatistics> statisticsList) throws IOException
+    {
+        if ((statisticsList == null) || (statisticsList.isEmpty()))
+        {
+            report.printReportLine(indentLevel, "Remote calls", "None");
+            return;
+        }
+
+        report.startTable(indentLevel, List.of("API", "Calls", "Errors", "p50 (ms)", "p95 (ms)", "p99 (ms)", "Max (ms)", "Total (ms)"));
+
+        for (RemoteCallStatistics statistics : statisticsList)
+        {
+            report.printTableRow(statistics.getApiName(),
+                                 Long.toString(statistics.getCallCount()),
+                                 Long.toString(statistics.getErrorCount()),
+                                 formatMillis(statistics.getP50Millis()),
+                                 formatMillis(statistics.getP95Millis()),
+                                 formatMillis(statistics.getP99Millis()),
+                                 formatMillis(statistics.getMaxMillis()),
+                                 formatMillis(statistics.getTotalMillis()));
+        }
+
+        report.endTable();
+    }
+
+
+    /**
+     * Format a latency for the report.
+     *
+     * @param millis milliseconds
+     * @return formatted value with one decimal place
+     */
+    private static String formatMillis(double millis)
+    {
+        return String.format(Locale.ROOT, "%.1f", millis);
+    }
+
+
+    /**
+     * CallSamples holds the latencies of the calls to a single API.
+     */
+    private static class CallSamples
+    {
+        private long[] elapsedNanos = new long[16];
+        private int    callCount    = 0;
+        private long   errorCount   = 0;
+
+
+        /**
+         * Add a call.
+         *
+         * @param elapsed how long the call took
+         * @param failed did the call end with an exception?
+         */
+        synchronized void add(long    elapsed,
+                              boolean failed)
+        {
+            if (callCount == elapsedNanos.length)
+            {
+                elapsedNanos = Arrays.copyOf(elapsedNanos, callCount * 2);
+            }
+
+            elapsedNanos[callCount++] = elapsed;
+
+            if (failed)
+            {
+                errorCount++;
+            }
+        }
+
+
+        /**
+         * Calculate the statistics for the calls added so far.
+         *
+         * @param apiName name of the API
+         * @return statistics
+         */
+        synchronized RemoteCallStatistics getStatistics(String apiName)
+        {
+            RemoteCallStatistics statistics = new RemoteCallStatistics();
+            long[]               sorted     = Arrays.copyOf(elapsedNanos, callCount);
+            long                 total      = 0;
+
+            Arrays.sort(sorted);
+
+            for (long elapsed : sorted)
+            {
+                total += elapsed;
+            }
+
+            statistics.setApiName(apiName);
+            statistics.setCallCount(callCount);
+            statistics.setErrorCount(errorCount);
+            statistics.setTotalMillis(total / NANOS_PER_MILLI);
+
+            if (callCount > 0)
+            {
+                statistics.setP50Millis(getPercentile(sorted, 50) / NANOS_PER_MILLI);
+                statistics.setP95Millis(getPercentile(sorted, 95) / NANOS_PER_MILLI);
+                statistics.setP99Millis(getPercentile(sorted, 99) / NANOS_PER_MILLI);
+                statistics.setMaxMillis(sorted[callCount - 1] / NANOS_PER_MILLI);
+            }
+
+            return statistics;
+        }
+
+
+        /**
+         * Return the nearest-rank percentile of a sorted, non-empty array.
+         *
+         * @param sorted sorted values
+         * @param percentile percentile (1-100)
+         * @return value
+         */
+        private static long getPercentile(long[] sorted,
+                                          int    percentile)
+        {
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+
+            return sorted[Math.max(rank, 1) - 1];
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+
+/**
+ * RemoteCallStatistics summarizes the calls that a report made to one remote API: how many there were, how many
+ * ended with an exception and the distribution of their latency.  The percentiles use the nearest-rank method over
+ * every recorded call.
+ */
+public class RemoteCallStatistics
+{
+    private String apiName     = null;
+    private long   callCount   = 0;
+    private long   errorCount  = 0;
+    private double totalMillis = 0;
+    private double p50Millis   = 0;
+    private double p95Millis   = 0;
+    private double p99Millis   = 0;
+    private double maxMillis   = 0;
+
+
+    /**
+     * Default constructor.
+     */
+    public RemoteCallStatistics()
+    {
+    }
+
+
+    /**
+     * Return the name of the API, in the form ClientClass.method.
+     *
+     * @return name
+     */
+    public String getApiName()
+    {
+        return apiName;
+    }
+
+
+    /**
+     * Set up the name of the API, in the form ClientClass.method.
+     *
+     * @param apiName name
+     */
+    public void setApiName(String apiName)
+    {
+        this.apiName = apiName;
+    }
+
+
+    /**
+     * Return the number of calls made.
+     *
+     * @return count
+     */
+    public long getCallCount()
+    {
+        return callCount;
+    }
+
+
+    /**
+     * Set up the number of calls made.
+     *
+     * @param callCount count
+     */
+    public void setCallCount(long callCount)
+    {
+        this.callCount = callCount;
+    }
+
+
+    /**
+     * Return the number of calls that ended with an exception.  Some of these are expected - for example, asking
+     * for the cohorts of a server that is not running.
+     *
+     * @return count
+     */
+    public long getErrorCount()
+    {
+        return errorCount;
+    }
+
+
+    /**
+     * Set up the number of calls that ended with an exception.
+     *
+     * @param errorCount count
+     */
+    public void setErrorCount(long errorCount)
+    {
+        this.errorCount = errorCount;
+    }
+
+
+    /**
+     * Return the total time spent in the calls.
+     *
+     * @return milliseconds
+     */
+    public double getTotalMillis()
+    {
+        return totalMillis;
+    }
+
+
+    /**
+     * Set up the total time spent in the calls.
+     *
+     * @param totalMillis milliseconds
+     */
+    public void setTotalMillis(double totalMillis)
+    {
+        this.totalMillis = totalMillis;
+    }
+
+
+    /**
+     * Return the median latency.
+     *
+     * @return milliseconds
+     */
+    public double getP50Millis()
+    {
+        return p50Millis;
+    }
+
+
+    /**
+     * Set up the median latency.
+     *
+     * @param p50Millis milliseconds
+     */
+    public void setP50Millis(double p50Millis)
+    {
+        this.p50Millis = p50Millis;
+    }
+
+
+    /**
+     * Return the 95th percentile latency.
+     *
+     * @return milliseconds
+     */
+    public double getP95Millis()
+    {
+        return p95Millis;
+    }
+
+
+    /**
+     * Set up the 95th percentile latency.
+     *
+     * @param p95Millis milliseconds
+     */
+    public void setP95Millis(double p95Millis)
+    {
+        this.p95Millis = p95Millis;
+    }
+
+
+    /**
+     * Return the 99th percentile latency.
+     *
+     * @return milliseconds
+     */
+    public double getP99Millis()
+    {
+        return p99Millis;
+    }
+
+
+    /**
+     * Set up the 99th percentile latency.
+     *
+     * @param p99Millis milliseconds
+     */
+    public void setP99Millis(double p99Millis)
+    {
+        this.p99Millis = p99Millis;
+    }
+
+
+    /**
+     * Return the longest latency.
+     *
+     * @return milliseconds
+     */
+    public double getMaxMillis()
+    {
+        return maxMillis;
+    }
+
+
+    /**
+     * Set up the longest latency.
+     *
+     * @param maxMillis milliseconds
+     */
+    public void setMaxMillis(double maxMillis)
+    {
+        this.maxMillis = maxMillis;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "RemoteCallStatistics{" +
+                       "apiName='" + apiName + '\'' +
+                       ", callCount=" + callCount +
+                       ", errorCount=" + errorCount +
+                       ", totalMillis=" + totalMillis +
+                       ", p50Millis=" + p50Millis +
+                       ", p95Millis=" + p95Millis +
+                       ", p99Millis=" + p99Millis +
+                       ", maxMillis=" + maxMillis +
+                       '}';
+    }
+}
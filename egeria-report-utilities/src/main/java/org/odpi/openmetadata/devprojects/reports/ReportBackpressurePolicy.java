@@ -0,0 +1,94 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+
+/**
+ * ReportBackpressurePolicy defines what an asynchronous report does when its queue of records is full because the
+ * writer thread has fallen behind the report program.
+ */
+public enum ReportBackpressurePolicy
+{
+    /**
+     * The report program waits until there is space in the queue.  Every record is written to the report file and the console.
+     */
+    BLOCK(0, "Block", "The report program waits until there is space in the queue.  Every record is written to the report file and the console."),
+
+    /**
+     * The report program still waits for space in the queue, but a line or table row is not echoed to the console.
+     * This lets the writer thread catch up.  Titles and the start and end of tables are always echoed.
+     * The report file is always complete.
+     */
+    DROP_CONSOLE_ECHO(1, "Drop Console Echo", "The report program still waits for space in the queue, but a line or table row is not echoed to the console.  The report file is always complete.");
+
+
+    private final int    ordinal;
+    private final String name;
+    private final String description;
+
+
+    /**
+     * Constructor for the enum.
+     *
+     * @param ordinal numerical identifier
+     * @param name display name
+     * @param description description of the policy
+     */
+    ReportBackpressurePolicy(int    ordinal,
+                             String name,
+                             String description)
+    {
+        this.ordinal = ordinal;
+        this.name = name;
+        this.description = description;
+    }
+
+
+    /**
+     * Return the numerical identifier of the policy.
+     *
+     * @return int
+     */
+    public int getOrdinal()
+    {
+        return ordinal;
+    }
+
+
+    /**
+     * Return the display name of the policy.
+     *
+     * @return string name
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Return the description of the policy.
+     *
+     * @return string description
+     */
+    public String getDescription()
+    {
+        return description;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "ReportBackpressurePolicy{" +
+                       "ordinal=" + ordinal +
+                       ", name='" + name + '\'' +
+                       ", description='" + description + '\'' +
+                       '}';
+    }
+}
@@ -0,0 +1,148 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+
+/**
+ * ReportCompression identifies whether the report file is compressed as it is written.  Compression is applied as a
+ * streaming stage between the formatted report and the file, so the report is never held in memory.
+ */
+public enum ReportCompression
+{
+    /**
+     * The report file is written without compression.
+     */
+    NONE(0, "None", null, "The report file is written without compression."),
+
+    /**
+     * The report file is compressed with gzip (deflate) as it is written.
+     */
+    GZIP(1, "GZIP", "gz", "The report file is compressed with gzip (deflate) as it is written.");
+
+
+    private final int    ordinal;
+    private final String name;
+    private final String fileExtension;
+    private final String description;
+
+
+    /**
+     * Constructor for the enum.
+     *
+     * @param ordinal numerical identifier
+     * @param name display name
+     * @param fileExtension file extension added after the report format's extension (null for none)
+     * @param description description of the compression
+     */
+    ReportCompression(int    ordinal,
+                      String name,
+                      String fileExtension,
+                      String description)
+    {
+        this.ordinal = ordinal;
+        this.name = name;
+        this.fileExtension = fileExtension;
+        this.description = description;
+    }
+
+
+    /**
+     * Return the compression implied by the extension of a report file name.
+     *
+     * @param reportFileName name of the report file
+     * @return matching compression (NONE if the extension is not recognized)
+     */
+    public static ReportCompression getReportCompression(String reportFileName)
+    {
+        if (reportFileName != null)
+        {
+            for (ReportCompression reportCompression : ReportCompression.values())
+            {
+                if (reportCompression.isFileExtensionOf(reportFileName))
+                {
+                    return reportCompression;
+                }
+            }
+        }
+
+        return NONE;
+    }
+
+
+    /**
+     * Return whether the report file name ends with this compression's file extension.
+     *
+     * @param reportFileName name of the report file
+     * @return boolean flag
+     */
+    public boolean isFileExtensionOf(String reportFileName)
+    {
+        if ((fileExtension == null) || (reportFileName == null))
+        {
+            return false;
+        }
+
+        return reportFileName.toLowerCase().endsWith("." + fileExtension);
+    }
+
+
+    /**
+     * Return the numerical identifier of the compression.
+     *
+     * @return int
+     */
+    public int getOrdinal()
+    {
+        return ordinal;
+    }
+
+
+    /**
+     * Return the display name of the compression.
+     *
+     * @return string name
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Return the file extension (without the leading dot) added to compressed reports.
+     *
+     * @return string extension (null for no compression)
+     */
+    public String getFileExtension()
+    {
+        return fileExtension;
+    }
+
+
+    /**
+     * Return the description of the compression.
+     *
+     * @return string description
+     */
+    public String getDescription()
+    {
+        return description;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "ReportCompression{" +
+                       "ordinal=" + ordinal +
+                       ", name='" + name + '\'' +
+                       ", fileExtension='" + fileExtension + '\'' +
+                       ", description='" + description + '\'' +
+                       '}';
+    }
+}
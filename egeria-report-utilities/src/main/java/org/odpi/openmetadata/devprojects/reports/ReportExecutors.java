@@ -0,0 +1,106 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * ReportExecutors creates the executors that the report programs use to call remote servers concurrently.
+ * The executors are bounded so that a report never has more than the requested number of calls outstanding.
+ * When the Java runtime supports virtual threads (Java 21 onwards) they are used, since the tasks spend nearly
+ * all of their time waiting for REST calls to return.  Otherwise, daemon platform threads are used.
+ * The virtual thread API is located by reflection so that the reports still build and run on Java 11.
+ */
+public final class ReportExecutors
+{
+    private static final boolean virtualThreadsAvailable = (createVirtualThreadFactory("EgeriaReportTask-") != null);
+
+
+    /**
+     * Private constructor - all methods are static.
+     */
+    private ReportExecutors()
+    {
+    }
+
+
+    /**
+     * Look up the virtual thread builder (Thread.ofVirtual().name(prefix, 0).factory()).
+     *
+     * @param threadNamePrefix prefix for the thread names
+     * @return thread factory or null if virtual threads are not supported
+     */
+    private static ThreadFactory createVirtualThreadFactory(String threadNamePrefix)
+    {
+        try
+        {
+            Method   ofVirtual    = Thread.class.getMethod("ofVirtual");
+            Object   builder      = ofVirtual.invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        }
+        catch (Exception | LinkageError notSupported)
+        {
+            /*
+             * Either the method does not exist (before Java 19) or virtual threads are a preview feature that
+             * is not enabled.
+             */
+            return null;
+        }
+    }
+
+
+    /**
+     * Return whether the executors run their tasks on virtual threads.
+     *
+     * @return boolean flag
+     */
+    public static boolean virtualThreadsAvailable()
+    {
+        return virtualThreadsAvailable;
+    }
+
+
+    /**
+     * Create an executor that runs at most maxConcurrentTasks tasks at a time.  Further tasks wait in the
+     * executor's queue.  The caller must shut the executor down when it has finished with it.
+     *
+     * @param threadNamePrefix prefix for the names of the threads
+     * @param maxConcurrentTasks maximum number of tasks that run at the same time (values less than 1 mean 1)
+     * @return executor service
+     */
+    public static ExecutorService newBoundedExecutor(String threadNamePrefix,
+                                                     int    maxConcurrentTasks)
+    {
+        ThreadFactory threadFactory = null;
+
+        if (virtualThreadsAvailable)
+        {
+            threadFactory = createVirtualThreadFactory(threadNamePrefix);
+        }
+
+        if (threadFactory == null)
+        {
+            AtomicInteger threadCount = new AtomicInteger();
+
+            threadFactory = runnable ->
+            {
+                Thread thread = new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+
+                thread.setDaemon(true);
+
+                return thread;
+            };
+        }
+
+        return Executors.newFixedThreadPool(Math.max(maxConcurrentTasks, 1), threadFactory);
+    }
+}
@@ -0,0 +1,98 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+
+/**
+ * ReportFlushPolicy defines how often the buffered content of a report is pushed out to the report file.
+ * Flushing less often reduces the number of system calls made when writing a large report, at the cost of
+ * the report file lagging behind the console output.
+ */
+public enum ReportFlushPolicy
+{
+    /**
+     * Content is only written when the output buffer fills up or the report is closed.
+     */
+    ON_CLOSE(0, "On Close", "Content is only written when the output buffer fills up or the report is closed."),
+
+    /**
+     * Content is written each time a title or subheading starts a new section of the report.
+     */
+    SECTION(1, "Section", "Content is written each time a title or subheading starts a new section of the report."),
+
+    /**
+     * Content is written after every line.  This matches the behaviour of an unbuffered report.
+     */
+    LINE(2, "Line", "Content is written after every line.  This matches the behaviour of an unbuffered report.");
+
+
+    private final int    ordinal;
+    private final String name;
+    private final String description;
+
+
+    /**
+     * Constructor for the enum.
+     *
+     * @param ordinal numerical identifier
+     * @param name display name
+     * @param description description of the policy
+     */
+    ReportFlushPolicy(int    ordinal,
+                      String name,
+                      String description)
+    {
+        this.ordinal = ordinal;
+        this.name = name;
+        this.description = description;
+    }
+
+
+    /**
+     * Return the numerical identifier of the policy.
+     *
+     * @return int
+     */
+    public int getOrdinal()
+    {
+        return ordinal;
+    }
+
+
+    /**
+     * Return the display name of the policy.
+     *
+     * @return string name
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Return the description of the policy.
+     *
+     * @return string description
+     */
+    public String getDescription()
+    {
+        return description;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "ReportFlushPolicy{" +
+                       "ordinal=" + ordinal +
+                       ", name='" + name + '\'' +
+                       ", description='" + description + '\'' +
+                       '}';
+    }
+}
@@ -0,0 +1,138 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+
+/**
+ * ReportFormat identifies the format of the file produced by an EgeriaReport.  Markdown is intended for people to read.
+ * JSON-lines and CSV are intended for tools and pipelines to ingest.
+ */
+public enum ReportFormat
+{
+    /**
+     * Markdown document suitable for publishing alongside the Egeria documentation.
+     */
+    MARKDOWN(0, "Markdown", "md", "Markdown document suitable for publishing alongside the Egeria documentation."),
+
+    /**
+     * One JSON object per line for each title, line and table row in the report.
+     */
+    JSON_LINES(1, "JSON Lines", "jsonl", "One JSON object per line for each title, line and table row in the report."),
+
+    /**
+     * Comma-separated values with a fixed set of columns for each title, line and table row in the report.
+     */
+    CSV(2, "CSV", "csv", "Comma-separated values with a fixed set of columns for each title, line and table row in the report.");
+
+
+    private final int    ordinal;
+    private final String name;
+    private final String fileExtension;
+    private final String description;
+
+
+    /**
+     * Constructor for the enum.
+     *
+     * @param ordinal numerical identifier
+     * @param name display name
+     * @param fileExtension file extension used for reports of this format
+     * @param description description of the format
+     */
+    ReportFormat(int    ordinal,
+                 String name,
+                 String fileExtension,
+                 String description)
+    {
+        this.ordinal = ordinal;
+        this.name = name;
+        this.fileExtension = fileExtension;
+        this.description = description;
+    }
+
+
+    /**
+     * Return the format that matches the supplied name or file extension (case insensitive).
+     *
+     * @param formatName name, enum constant or file extension
+     * @return matching format or null if no match
+     */
+    public static ReportFormat getReportFormat(String formatName)
+    {
+        if (formatName != null)
+        {
+            for (ReportFormat reportFormat : ReportFormat.values())
+            {
+                if ((reportFormat.name().equalsIgnoreCase(formatName)) ||
+                    (reportFormat.getName().equalsIgnoreCase(formatName)) ||
+                    (reportFormat.getFileExtension().equalsIgnoreCase(formatName)))
+                {
+                    return reportFormat;
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the numerical identifier of the format.
+     *
+     * @return int
+     */
+    public int getOrdinal()
+    {
+        return ordinal;
+    }
+
+
+    /**
+     * Return the display name of the format.
+     *
+     * @return string name
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Return the file extension (without the leading dot) used for reports of this format.
+     *
+     * @return string extension
+     */
+    public String getFileExtension()
+    {
+        return fileExtension;
+    }
+
+
+    /**
+     * Return the description of the format.
+     *
+     * @return string description
+     */
+    public String getDescription()
+    {
+        return description;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "ReportFormat{" +
+                       "ordinal=" + ordinal +
+                       ", name='" + name + '\'' +
+                       ", fileExtension='" + fileExtension + '\'' +
+                       ", description='" + description + '\'' +
+                       '}';
+    }
+}
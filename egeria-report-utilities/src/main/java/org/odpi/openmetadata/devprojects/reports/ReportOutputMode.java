@@ -0,0 +1,93 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+
+/**
+ * ReportOutputMode identifies how an EgeriaReport writes the bytes of its report file.
+ */
+public enum ReportOutputMode
+{
+    /**
+     * The report is encoded into a heap buffer that is written to a file output stream when full.
+     */
+    BUFFERED_STREAM(0, "Buffered Stream", "The report is encoded into a heap buffer that is written to a file output stream when full."),
+
+    /**
+     * The report is encoded straight into a memory-mapped region of the file that grows as the report is written.
+     * This suits very large reports as the content does not pass through the Java heap and survives the report
+     * program crashing.  It is for durability rather than speed.
+     */
+    MEMORY_MAPPED(1, "Memory Mapped", "The report is encoded straight into a memory-mapped region of the file that grows as the report is written.");
+
+
+    private final int    ordinal;
+    private final String name;
+    private final String description;
+
+
+    /**
+     * Constructor for the enum.
+     *
+     * @param ordinal numerical identifier
+     * @param name display name
+     * @param description description of the mode
+     */
+    ReportOutputMode(int    ordinal,
+                     String name,
+                     String description)
+    {
+        this.ordinal = ordinal;
+        this.name = name;
+        this.description = description;
+    }
+
+
+    /**
+     * Return the numerical identifier of the mode.
+     *
+     * @return int
+     */
+    public int getOrdinal()
+    {
+        return ordinal;
+    }
+
+
+    /**
+     * Return the display name of the mode.
+     *
+     * @return string name
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Return the description of the mode.
+     *
+     * @return string description
+     */
+    public String getDescription()
+    {
+        return description;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "ReportOutputMode{" +
+                       "ordinal=" + ordinal +
+                       ", name='" + name + '\'' +
+                       ", description='" + description + '\'' +
+                       '}';
+    }
+}
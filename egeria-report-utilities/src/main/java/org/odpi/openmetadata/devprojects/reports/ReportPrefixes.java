@@ -0,0 +1,145 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+
+/**
+ * ReportPrefixes generates the text that is placed in front of each line of a report to show its nesting level.
+ * The prefixes for the commonly used levels are built once when the class is loaded and shared by every report,
+ * so printing a line does not allocate any new strings for its prefix.
+ */
+final class ReportPrefixes
+{
+    /**
+     * Number of levels that have their prefixes cached.  Deeper levels are built on demand.
+     */
+    static final int CACHED_LEVELS = 32;
+
+    private static final String[] spaceIndents  = new String[CACHED_LEVELS];
+    private static final String[] headingLevels = new String[CACHED_LEVELS];
+    private static final String[] levelNumbers  = new String[CACHED_LEVELS];
+
+    static
+    {
+        for (int level = 0; level < CACHED_LEVELS; level++)
+        {
+            spaceIndents[level]  = buildSpaceIndent(level);
+            headingLevels[level] = buildHeadingLevel(level);
+            levelNumbers[level]  = Integer.toString(level);
+        }
+    }
+
+
+    /**
+     * Private constructor - static methods only.
+     */
+    private ReportPrefixes()
+    {
+    }
+
+
+    /**
+     * Work out how many spaces to indent a line in the report.  This is used in the stdout report.
+     *
+     * @param indentLevel required indentation
+     * @return string of blanks representing the indentation
+     */
+    static String getSpaceIndent(int indentLevel)
+    {
+        if ((indentLevel >= 0) && (indentLevel < CACHED_LEVELS))
+        {
+            return spaceIndents[indentLevel];
+        }
+
+        return buildSpaceIndent(indentLevel);
+    }
+
+
+    /**
+     * Set up the heading hash characters that represent the heading level of the markdown document.
+     *
+     * @param indentLevel required heading level
+     * @return string to prepend to the heading text
+     */
+    static String getHeadingLevel(int indentLevel)
+    {
+        if ((indentLevel >= 0) && (indentLevel < CACHED_LEVELS))
+        {
+            return headingLevels[indentLevel];
+        }
+
+        return buildHeadingLevel(indentLevel);
+    }
+
+
+    /**
+     * Return the level as a decimal string.  This is used by the machine-readable formats.
+     *
+     * @param indentLevel nesting level
+     * @return string version of the level
+     */
+    static String getLevelNumber(int indentLevel)
+    {
+        if ((indentLevel >= 0) && (indentLevel < CACHED_LEVELS))
+        {
+            return levelNumbers[indentLevel];
+        }
+
+        return Integer.toString(indentLevel);
+    }
+
+
+    /**
+     * Build the string of blanks for an indentation level.
+     *
+     * @param indentLevel required indentation
+     * @return string of blanks representing the indentation
+     */
+    private static String buildSpaceIndent(int indentLevel)
+    {
+        StringBuilder indent = new StringBuilder();
+
+        for (int i=0; i<indentLevel; i++)
+        {
+            indent.append("   ");
+        }
+
+        return indent.toString();
+    }
+
+
+    /**
+     * Build the markdown heading prefix for a heading level.
+     *
+     * @param indentLevel required heading level
+     * @return string to prepend to the heading text
+     */
+    private static String buildHeadingLevel(int indentLevel)
+    {
+        if (indentLevel > 5)
+        {
+            /*
+             * Indent level is more than mark down supports so need to be creative.
+             */
+            StringBuilder indent = new StringBuilder("###### ");
+
+            for (int i = 5; i < indentLevel; i++)
+            {
+                indent.append("==");
+            }
+
+            return indent.append("> ").toString();
+        }
+        else
+        {
+            StringBuilder indent = new StringBuilder("#");
+
+            for (int i = 0; i < indentLevel; i++)
+            {
+                indent.append("#");
+            }
+
+            return indent.append(" ").toString();
+        }
+    }
+}
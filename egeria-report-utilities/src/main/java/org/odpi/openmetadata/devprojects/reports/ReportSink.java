@@ -0,0 +1,135 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import java.io.IOException;
+import java.util.List;
+
+
+/**
+ * ReportSink is the destination for the content of an EgeriaReport.  Each implementation decides how the
+ * report's titles, lines and table rows are formatted.  Implementations must write content as it arrives
+ * (rather than accumulating it) so that memory use does not grow with the size of the report.
+ */
+public interface ReportSink
+{
+    /**
+     * Column headings of the table used to summarize metadata elements.
+     */
+    List<String> ELEMENT_COLUMN_HEADINGS = List.of("Unique identifier (GUID)",
+                                                   "Unique name (qualifiedName)",
+                                                   "Display name",
+                                                   "Description");
+
+
+    /**
+     * Output the title of the report (or a major section of the report).
+     *
+     * @param indentLevel nesting level of the title
+     * @param reportTitle text of the title
+     * @throws IOException problem writing the report
+     */
+    void printReportTitle(int    indentLevel,
+                          String reportTitle) throws IOException;
+
+
+    /**
+     * Output a subheading that starts a new section of the report.
+     *
+     * @param indentLevel nesting level of the subheading
+     * @param titleText text of the subheading
+     * @throws IOException problem writing the report
+     */
+    void printReportSubheading(int    indentLevel,
+                               String titleText) throws IOException;
+
+
+    /**
+     * Output a labelled value.
+     *
+     * @param indentLevel nesting level of the line
+     * @param elementLabel label of the element
+     * @param elementText value of the element (may be null)
+     * @throws IOException problem writing the report
+     */
+    void printReportLine(int    indentLevel,
+                         String elementLabel,
+                         String elementText) throws IOException;
+
+
+    /**
+     * Output a line of free-form text.
+     *
+     * @param indentLevel nesting level of the line
+     * @param reportText text to output
+     * @throws IOException problem writing the report
+     */
+    void printReportLine(int    indentLevel,
+                         String reportText) throws IOException;
+
+
+    /**
+     * Start a new table.  Any table that is already open is ended first.  The table is also ended by any call
+     * that is not a table row.
+     *
+     * @param indentLevel nesting level of the table
+     * @param columnHeadings headings of the columns
+     * @throws IOException problem writing the report
+     */
+    void startTable(int          indentLevel,
+                    List<String> columnHeadings) throws IOException;
+
+
+    /**
+     * Output a row of the current table.
+     *
+     * @param cells values of the cells in column order (null values are shown as blank cells)
+     * @throws IOException problem writing the report
+     * @throws IllegalStateException there is no table open
+     */
+    void printTableRow(String... cells) throws IOException;
+
+
+    /**
+     * End the current table.  This has no effect if no table is open.
+     *
+     * @throws IOException problem writing the report
+     */
+    void endTable() throws IOException;
+
+
+    /**
+     * Output the summary of a metadata element as a row in a table with the ELEMENT_COLUMN_HEADINGS.  A new table
+     * is started if firstElement is true or the current table is not an element table.
+     *
+     * @param indentLevel nesting level of the table
+     * @param firstElement is the first element (so a new table with column headings is needed)
+     * @param guid unique identifier
+     * @param qualifiedName unique name
+     * @param displayName display name
+     * @param description description
+     * @throws IOException problem writing the report
+     */
+    void printElementInTable(int     indentLevel,
+                             boolean firstElement,
+                             String  guid,
+                             String  qualifiedName,
+                             String  displayName,
+                             String  description) throws IOException;
+
+
+    /**
+     * Push any buffered content to its destination.
+     *
+     * @throws IOException problem writing the report
+     */
+    void flush() throws IOException;
+
+
+    /**
+     * Output any trailing content and push all buffered content to its destination.
+     *
+     * @throws IOException problem writing the report
+     */
+    void closeReport() throws IOException;
+}
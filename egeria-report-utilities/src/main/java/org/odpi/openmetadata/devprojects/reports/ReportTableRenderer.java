@@ -0,0 +1,359 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * ReportTableRenderer lays out a table of text (used by the markdown and console report sinks).  The heading
+ * is written once per table.  The first rows are held in a bounded look-ahead window so that the column widths
+ * can be worked out from real content; once the window is full (or the table ends), the widths are fixed and each
+ * subsequent row is written as it arrives.  Cells wider than their column are written in full, so no content is lost.
+ * <br><br>
+ * Each row is assembled in a single pass into a reusable buffer and handed to the writer with one call.
+ */
+class ReportTableRenderer
+{
+    /**
+     * Default number of rows held back to work out the column widths.
+     */
+    static final int DEFAULT_LOOK_AHEAD_ROWS = 32;
+
+    /**
+     * Widest that a column is padded to.  Longer cells overflow rather than widening every other row.
+     */
+    private static final int MAX_COLUMN_WIDTH = 60;
+
+    private final Writer reportWriter;
+    private final String lineSeparator;
+    private final int    lookAheadRows;
+
+    private final List<String[]> pendingRows = new ArrayList<>();
+    private final StringBuilder  rowBuilder  = new StringBuilder();
+
+    private char[]       rowChars       = new char[256];
+    private String       linePrefix     = null;
+    private List<String> columnHeadings = null;
+    private int[]        columnWidths   = null;
+    private boolean      followsTable   = false;
+
+
+    /**
+     * Constructor supplies the destination of the table.
+     *
+     * @param reportWriter destination for the table
+     * @param lineSeparator characters that end each line
+     * @param lookAheadRows number of rows held back to work out the column widths (values less than 1 mean the default)
+     */
+    ReportTableRenderer(Writer reportWriter,
+                        String lineSeparator,
+                        int    lookAheadRows)
+    {
+        this.reportWriter = reportWriter;
+        this.lineSeparator = lineSeparator;
+
+        if (lookAheadRows < 1)
+        {
+            this.lookAheadRows = DEFAULT_LOOK_AHEAD_ROWS;
+        }
+        else
+        {
+            this.lookAheadRows = lookAheadRows;
+        }
+    }
+
+
+    /**
+     * Return whether a table has been started and not yet ended.
+     *
+     * @return boolean flag
+     */
+    boolean isTableOpen()
+    {
+        return columnHeadings != null;
+    }
+
+
+    /**
+     * Return the headings of the current table.
+     *
+     * @return list of headings (null if no table is open)
+     */
+    List<String> getColumnHeadings()
+    {
+        return columnHeadings;
+    }
+
+
+    /**
+     * Start a new table.  The heading is not written until the column widths are known.  It is preceded by a blank
+     * line unless the table directly follows another table (which already ends with a blank line).
+     *
+     * @param linePrefix characters written at the start of each line of the table
+     * @param columnHeadings headings of the columns
+     * @throws IOException problem writing the report
+     */
+    void startTable(String       linePrefix,
+                    List<String> columnHeadings) throws IOException
+    {
+        boolean previousTableOpen = isTableOpen();
+
+        endTable();
+
+        this.followsTable = previousTableOpen;
+        this.linePrefix = linePrefix;
+        this.columnHeadings = columnHeadings;
+        this.columnWidths = null;
+    }
+
+
+    /**
+     * Add a row to the current table.  Missing cells are left blank and extra cells are ignored.
+     *
+     * @param cells values of the cells in column order
+     * @throws IOException problem writing the report
+     * @throws IllegalStateException there is no table open
+     */
+    void printTableRow(String... cells) throws IOException
+    {
+        if (columnHeadings == null)
+        {
+            throw new IllegalStateException("A table row was written when there is no table open");
+        }
+
+        if (columnWidths != null)
+        {
+            writeRow(cells);
+        }
+        else
+        {
+            pendingRows.add(cells);
+
+            if (pendingRows.size() >= lookAheadRows)
+            {
+                writePendingRows();
+            }
+        }
+    }
+
+
+    /**
+     * End the current table (if any) writing any rows still held in the look-ahead window.
+     *
+     * @throws IOException problem writing the report
+     */
+    void endTable() throws IOException
+    {
+        if (columnHeadings != null)
+        {
+            if (columnWidths == null)
+            {
+                writePendingRows();
+            }
+
+            reportWriter.write(lineSeparator);
+
+            columnHeadings = null;
+            columnWidths = null;
+        }
+
+        pendingRows.clear();
+    }
+
+
+    /**
+     * Fix the column widths from the headings and the rows in the look-ahead window, then write the heading and
+     * the held-back rows.
+     *
+     * @throws IOException problem writing the report
+     */
+    private void writePendingRows() throws IOException
+    {
+        columnWidths = new int[columnHeadings.size()];
+
+        for (int column = 0; column < columnWidths.length; column++)
+        {
+            columnWidths[column] = getCellWidth(columnHeadings.get(column));
+        }
+
+        for (String[] row : pendingRows)
+        {
+            for (int column = 0; column < columnWidths.length && column < row.length; column++)
+            {
+                columnWidths[column] = Math.max(columnWidths[column], getCellWidth(row[column]));
+            }
+        }
+
+        for (int column = 0; column < columnWidths.length; column++)
+        {
+            columnWidths[column] = Math.min(columnWidths[column], MAX_COLUMN_WIDTH);
+        }
+
+        if (! followsTable)
+        {
+            reportWriter.write(lineSeparator);
+        }
+
+        writeRow(columnHeadings.toArray(new String[0]));
+        writeSeparatorRow();
+
+        for (String[] row : pendingRows)
+        {
+            writeRow(row);
+        }
+
+        pendingRows.clear();
+    }
+
+
+    /**
+     * Return the number of characters a cell takes up once escaped.
+     *
+     * @param cell value of the cell
+     * @return width
+     */
+    private int getCellWidth(String cell)
+    {
+        if (cell == null)
+        {
+            return 0;
+        }
+
+        int width = cell.length();
+
+        for (int i = 0; i < cell.length(); i++)
+        {
+            if (cell.charAt(i) == '|')
+            {
+                width++;
+            }
+        }
+
+        return width;
+    }
+
+
+    /**
+     * Append a cell to the row, escaping the characters that would break the table and padding it to the
+     * column width.
+     *
+     * @param cell value of the cell
+     * @param columnWidth width of the column
+     */
+    private void appendCell(String cell,
+                            int    columnWidth)
+    {
+        int width = 0;
+
+        if (cell != null)
+        {
+            for (int i = 0; i < cell.length(); i++)
+            {
+                char c = cell.charAt(i);
+
+                if (c == '|')
+                {
+                    rowBuilder.append("\\|");
+                    width = width + 2;
+                }
+                else if ((c == '\n') || (c == '\r'))
+                {
+                    rowBuilder.append(' ');
+                    width++;
+                }
+                else
+                {
+                    rowBuilder.append(c);
+                    width++;
+                }
+            }
+        }
+
+        for (; width < columnWidth; width++)
+        {
+            rowBuilder.append(' ');
+        }
+    }
+
+
+    /**
+     * Assemble a row of the table and write it.
+     *
+     * @param cells values of the cells in column order
+     * @throws IOException problem writing the report
+     */
+    private void writeRow(String[] cells) throws IOException
+    {
+        rowBuilder.setLength(0);
+        rowBuilder.append(linePrefix);
+        rowBuilder.append('|');
+
+        for (int column = 0; column < columnWidths.length; column++)
+        {
+            rowBuilder.append(' ');
+
+            if (column < cells.length)
+            {
+                appendCell(cells[column], columnWidths[column]);
+            }
+            else
+            {
+                appendCell(null, columnWidths[column]);
+            }
+
+            rowBuilder.append(" |");
+        }
+
+        rowBuilder.append(lineSeparator);
+        writeRowBuilder();
+    }
+
+
+    /**
+     * Write the row that separates the heading from the body of the table.
+     *
+     * @throws IOException problem writing the report
+     */
+    private void writeSeparatorRow() throws IOException
+    {
+        rowBuilder.setLength(0);
+        rowBuilder.append(linePrefix);
+        rowBuilder.append('|');
+
+        for (int columnWidth : columnWidths)
+        {
+            for (int i = 0; i < columnWidth + 2; i++)
+            {
+                rowBuilder.append('-');
+            }
+
+            rowBuilder.append('|');
+        }
+
+        rowBuilder.append(lineSeparator);
+        writeRowBuilder();
+    }
+
+
+    /**
+     * Hand the assembled row to the writer in a single call, reusing the same character array for every row.
+     *
+     * @throws IOException problem writing the report
+     */
+    private void writeRowBuilder() throws IOException
+    {
+        int length = rowBuilder.length();
+
+        if (rowChars.length < length)
+        {
+            rowChars = new char[Math.max(length, rowChars.length * 2)];
+        }
+
+        rowBuilder.getChars(0, length, rowChars, 0);
+        reportWriter.write(rowChars, 0, length);
+    }
+}
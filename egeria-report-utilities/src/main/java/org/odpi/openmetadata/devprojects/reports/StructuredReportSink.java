@@ -0,0 +1,304 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * StructuredReportSink is the base class for the machine-readable report formats.  Every call to the sink is turned
+ * into a single record.  Each record carries the path of headings it sits under, so consumers do not need to
+ * track the structure of the report themselves.  Only the current path of headings is held in memory.
+ */
+public abstract class StructuredReportSink extends WriterReportSink
+{
+    /**
+     * Record type for the report title.
+     */
+    public static final String TITLE_RECORD      = "title";
+
+    /**
+     * Record type for a subheading.
+     */
+    public static final String SUBHEADING_RECORD = "subheading";
+
+    /**
+     * Record type for a labelled value.
+     */
+    public static final String LINE_RECORD       = "line";
+
+    /**
+     * Record type for free-form text.
+     */
+    public static final String TEXT_RECORD       = "text";
+
+    /**
+     * Record type for the summary of a metadata element.
+     */
+    public static final String ELEMENT_RECORD    = "element";
+
+    /**
+     * Record type for a cell of a table.  The value of the row's first cell is added to the section path of each
+     * of its cells so that the cells can be grouped back into rows.
+     */
+    public static final String CELL_RECORD       = "cell";
+
+    private final List<String> sectionPath = new ArrayList<>();
+
+    private List<String> tableHeadings = null;
+    private int          tableLevel    = 0;
+
+
+    /**
+     * Constructor supplies the destination of the report.
+     *
+     * @param reportWriter destination for the formatted report
+     * @param flushPolicy how often to push buffered content to the destination
+     */
+    protected StructuredReportSink(Writer            reportWriter,
+                                   ReportFlushPolicy flushPolicy)
+    {
+        super(reportWriter, flushPolicy);
+    }
+
+
+    /**
+     * Write a single record to the report.
+     *
+     * @param recordType type of record - one of the record type constants
+     * @param indentLevel nesting level of the record
+     * @param sectionPath headings that this record sits under (outermost first)
+     * @param label label or heading text
+     * @param value value or free-form text
+     * @param guid unique identifier of an element
+     * @param qualifiedName unique name of an element
+     * @param displayName display name of an element
+     * @param description description of an element
+     * @throws IOException problem writing the report
+     */
+    protected abstract void writeRecord(String       recordType,
+                                        int          indentLevel,
+                                        List<String> sectionPath,
+                                        String       label,
+                                        String       value,
+                                        String       guid,
+                                        String       qualifiedName,
+                                        String       displayName,
+                                        String       description) throws IOException;
+
+
+    /**
+     * Record a new heading at the requested level, discarding any headings at the same or a deeper level.
+     *
+     * @param indentLevel heading level
+     * @param headingText text of the heading
+     */
+    private void pushHeading(int    indentLevel,
+                             String headingText)
+    {
+        int level = Math.max(indentLevel, 0);
+
+        while (sectionPath.size() > level)
+        {
+            sectionPath.remove(sectionPath.size() - 1);
+        }
+
+        while (sectionPath.size() < level)
+        {
+            sectionPath.add(null);
+        }
+
+        sectionPath.add(headingText);
+    }
+
+
+    /**
+     * Output the title of the report.
+     *
+     * @param indentLevel nesting level of the title
+     * @param reportTitle text of the title
+     * @throws IOException problem writing the report
+     */
+    @Override
+    public void printReportTitle(int    indentLevel,
+                                 String reportTitle) throws IOException
+    {
+        endTable();
+        pushHeading(indentLevel, reportTitle);
+        writeRecord(TITLE_RECORD, indentLevel, sectionPath.subList(0, sectionPath.size() - 1), reportTitle, null, null, null, null, null);
+
+        flushIfNeeded(true);
+    }
+
+
+    /**
+     * Output a subheading.
+     *
+     * @param indentLevel nesting level of the subheading
+     * @param titleText text of the subheading
+     * @throws IOException problem writing the report
+     */
+    @Override
+    public void printReportSubheading(int    indentLevel,
+                                      String titleText) throws IOException
+    {
+        endTable();
+        pushHeading(indentLevel, titleText);
+        writeRecord(SUBHEADING_RECORD, indentLevel, sectionPath.subList(0, sectionPath.size() - 1), titleText, null, null, null, null, null);
+
+        flushIfNeeded(true);
+    }
+
+
+    /**
+     * Output a labelled value.
+     *
+     * @param indentLevel nesting level of the line
+     * @param elementLabel label of the element
+     * @param elementText value of the element (may be null)
+     * @throws IOException problem writing the report
+     */
+    @Override
+    public void printReportLine(int    indentLevel,
+                                String elementLabel,
+                                String elementText) throws IOException
+    {
+        endTable();
+        writeRecord(LINE_RECORD, indentLevel, sectionPath, elementLabel, elementText, null, null, null, null);
+
+        flushIfNeeded(false);
+    }
+
+
+    /**
+     * Output free-form text.  Blank text is skipped as it only exists to lay out the human-readable formats.
+     *
+     * @param indentLevel nesting level of the line
+     * @param reportText text to output
+     * @throws IOException problem writing the report
+     */
+    @Override
+    public void printReportLine(int    indentLevel,
+                                String reportText) throws IOException
+    {
+        endTable();
+
+        if ((reportText != null) && (! reportText.isBlank()))
+        {
+            writeRecord(TEXT_RECORD, indentLevel, sectionPath, null, reportText, null, null, null, null);
+
+            flushIfNeeded(false);
+        }
+    }
+
+
+    /**
+     * Start a new table.  Nothing is written until the rows arrive.
+     *
+     * @param indentLevel nesting level of the table
+     * @param columnHeadings headings of the columns
+     */
+    @Override
+    public void startTable(int          indentLevel,
+                           List<String> columnHeadings)
+    {
+        tableHeadings = columnHeadings;
+        tableLevel = indentLevel;
+    }
+
+
+    /**
+     * Output a row of the current table.  Rows of an element table are written as element records; the rows of
+     * other tables are written as one cell record per column.
+     *
+     * @param cells values of the cells in column order
+     * @throws IOException problem writing the report
+     * @throws IllegalStateException there is no table open
+     */
+    @Override
+    public void printTableRow(String... cells) throws IOException
+    {
+        if (tableHeadings == null)
+        {
+            throw new IllegalStateException("A table row was written when there is no table open");
+        }
+
+        if (ELEMENT_COLUMN_HEADINGS.equals(tableHeadings))
+        {
+            writeRecord(ELEMENT_RECORD, tableLevel, sectionPath, null, null,
+                        getCell(cells, 0), getCell(cells, 1), getCell(cells, 2), getCell(cells, 3));
+        }
+        else
+        {
+            List<String> rowPath = new ArrayList<>(sectionPath);
+
+            rowPath.add(getCell(cells, 0));
+
+            for (int column = 0; column < tableHeadings.size(); column++)
+            {
+                writeRecord(CELL_RECORD, tableLevel, rowPath, tableHeadings.get(column), getCell(cells, column), null, null, null, null);
+            }
+        }
+
+        flushIfNeeded(false);
+    }
+
+
+    /**
+     * Return the value of a cell, allowing for short rows.
+     *
+     * @param cells values of the cells
+     * @param column index of the column
+     * @return value or null
+     */
+    private String getCell(String[] cells,
+                           int      column)
+    {
+        if (column < cells.length)
+        {
+            return cells[column];
+        }
+
+        return null;
+    }
+
+
+    /**
+     * End the current table.
+     */
+    @Override
+    public void endTable()
+    {
+        tableHeadings = null;
+    }
+
+
+    /**
+     * Output the summary of a metadata element.  Column headings are implied by the record's fields.  The element
+     * table stays open so further rows can be added with printTableRow.
+     *
+     * @param indentLevel nesting level of the table
+     * @param firstElement is the first element (ignored)
+     * @param guid unique identifier
+     * @param qualifiedName unique name
+     * @param displayName display name
+     * @param description description
+     * @throws IOException problem writing the report
+     */
+    @Override
+    public void printElementInTable(int     indentLevel,
+                                    boolean firstElement,
+                                    String  guid,
+                                    String  qualifiedName,
+                                    String  displayName,
+                                    String  description) throws IOException
+    {
+        startTable(indentLevel, ELEMENT_COLUMN_HEADINGS);
+        writeRecord(ELEMENT_RECORD, indentLevel, sectionPath, null, null, guid, qualifiedName, displayName, description);
+
+        flushIfNeeded(false);
+    }
+}
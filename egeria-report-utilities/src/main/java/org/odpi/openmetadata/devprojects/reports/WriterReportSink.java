@@ -0,0 +1,79 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import java.io.IOException;
+import java.io.Writer;
+
+
+/**
+ * WriterReportSink is the base class for report sinks that stream their content through a (buffered) Writer.
+ * It implements the flush policy so that the subclasses only need to format the content.
+ */
+public abstract class WriterReportSink implements ReportSink
+{
+    protected final Writer            reportWriter;
+    protected final ReportFlushPolicy flushPolicy;
+
+
+    /**
+     * Constructor supplies the destination of the report.
+     *
+     * @param reportWriter destination for the formatted report
+     * @param flushPolicy how often to push buffered content to the destination (null means SECTION)
+     */
+    protected WriterReportSink(Writer            reportWriter,
+                               ReportFlushPolicy flushPolicy)
+    {
+        this.reportWriter = reportWriter;
+
+        if (flushPolicy == null)
+        {
+            this.flushPolicy = ReportFlushPolicy.SECTION;
+        }
+        else
+        {
+            this.flushPolicy = flushPolicy;
+        }
+    }
+
+
+    /**
+     * Push the buffered content out to the destination if the flush policy requires it.
+     *
+     * @param sectionBoundary is this the start of a new section of the report?
+     * @throws IOException problem writing the report
+     */
+    protected void flushIfNeeded(boolean sectionBoundary) throws IOException
+    {
+        if ((flushPolicy == ReportFlushPolicy.LINE) || ((sectionBoundary) && (flushPolicy == ReportFlushPolicy.SECTION)))
+        {
+            reportWriter.flush();
+        }
+    }
+
+
+    /**
+     * Push any buffered content to its destination.
+     *
+     * @throws IOException problem writing the report
+     */
+    @Override
+    public void flush() throws IOException
+    {
+        reportWriter.flush();
+    }
+
+
+    /**
+     * Push all buffered content to its destination.  Subclasses that have trailing content write it and then
+     * call this method.
+     *
+     * @throws IOException problem writing the report
+     */
+    @Override
+    public void closeReport() throws IOException
+    {
+        reportWriter.flush();
+    }
+}
@@ -0,0 +1,184 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Verify the behaviour of the asynchronous report sink when its writer thread falls behind or fails.
+ */
+public class AsyncReportSinkTest
+{
+    private static final int TABLE_COUNT = 2000;
+    private static final int ROW_COUNT   = 40;
+
+
+    /**
+     * Markdown sink that is slow to start each table, so the console falls behind the report program.
+     */
+    private static class SlowConsoleSink extends MarkdownReportSink
+    {
+        SlowConsoleSink(StringWriter writer) throws IOException
+        {
+            super(writer, ReportFlushPolicy.ON_CLOSE);
+        }
+
+        @Override
+        public void startTable(int          indentLevel,
+                               List<String> columnHeadings) throws IOException
+        {
+            try
+            {
+                Thread.sleep(1);
+            }
+            catch (InterruptedException interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            super.startTable(indentLevel, columnHeadings);
+        }
+    }
+
+
+    /**
+     * Markdown sink that fails part way through the report.
+     */
+    private static class FailingSink extends MarkdownReportSink
+    {
+        private int rowCount = 0;
+
+        FailingSink(StringWriter writer) throws IOException
+        {
+            super(writer, ReportFlushPolicy.ON_CLOSE);
+        }
+
+        @Override
+        public void printTableRow(String... cells) throws IOException
+        {
+            rowCount++;
+
+            if (rowCount == 100)
+            {
+                throw new IllegalStateException("Sink failure");
+            }
+
+            super.printTableRow(cells);
+        }
+    }
+
+
+    /**
+     * Return the number of times a string occurs in the text.
+     *
+     * @param text text to search
+     * @param searchString string to count
+     * @return count
+     */
+    private int countOccurrences(String text,
+                                 String searchString)
+    {
+        int count = 0;
+
+        for (int index = text.indexOf(searchString); index != -1; index = text.indexOf(searchString, index + 1))
+        {
+            count++;
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Check that dropping console echoes never drops the start of a table, so a slow console still gets well-formed
+     * tables, and that the report file is complete.
+     *
+     * @throws IOException problem writing the report
+     */
+    @Test(timeOut = 60000) public void testDropConsoleEchoKeepsTables() throws IOException
+    {
+        StringWriter    reportWriter  = new StringWriter();
+        StringWriter    consoleWriter = new StringWriter();
+        AsyncReportSink sink          = new AsyncReportSink(new MarkdownReportSink(reportWriter, ReportFlushPolicy.ON_CLOSE),
+                                                            new SlowConsoleSink(consoleWriter),
+                                                            4,
+                                                            ReportBackpressurePolicy.DROP_CONSOLE_ECHO);
+
+        for (int table = 0; table < TABLE_COUNT; table++)
+        {
+            sink.startTable(0, List.of("Table", "Row"));
+
+            for (int row = 0; row < ROW_COUNT; row++)
+            {
+                sink.printTableRow("t", "r");
+            }
+
+            sink.endTable();
+        }
+
+        sink.closeReport();
+
+        String report  = reportWriter.toString();
+        String console = consoleWriter.toString();
+
+        assertEquals(countOccurrences(report, "| Table | Row |"), TABLE_COUNT);
+        assertEquals(countOccurrences(report, "| t     | r   |"), TABLE_COUNT * ROW_COUNT);
+        assertEquals(countOccurrences(console, "| Table | Row |"), TABLE_COUNT);
+        assertEquals(countOccurrences(console, "| t     | r   |") + sink.getDroppedEchoCount(), TABLE_COUNT * ROW_COUNT);
+        assertTrue(sink.getDroppedEchoCount() > 0);
+    }
+
+
+    /**
+     * Check that a runtime exception from a sink does not leave the report program waiting for room in the queue,
+     * and is passed back when the report is closed.
+     *
+     * @throws IOException problem writing the report
+     */
+    @Test(timeOut = 60000) public void testSinkFailureIsReported() throws IOException
+    {
+        AsyncReportSink sink = new AsyncReportSink(new FailingSink(new StringWriter()),
+                                                   null,
+                                                   4,
+                                                   ReportBackpressurePolicy.BLOCK);
+
+        try
+        {
+            sink.startTable(0, List.of("Table", "Row"));
+
+            for (int row = 0; row < TABLE_COUNT; row++)
+            {
+                sink.printTableRow("t", "r");
+            }
+        }
+        catch (IOException error)
+        {
+            /*
+             * The failure may be seen by the report program before the report is closed.
+             */
+            assertTrue(error.getCause() instanceof IllegalStateException);
+            return;
+        }
+
+        try
+        {
+            sink.closeReport();
+            fail("The sink failure was not reported");
+        }
+        catch (IOException error)
+        {
+            assertNotNull(error.getCause());
+            assertTrue(error.getCause() instanceof IllegalStateException);
+        }
+    }
+}
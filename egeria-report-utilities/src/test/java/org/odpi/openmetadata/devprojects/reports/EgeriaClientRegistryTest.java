@@ -0,0 +1,129 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.expectThrows;
+
+
+/**
+ * Verify that the client registry reuses clients and only creates each one once.
+ */
+public class EgeriaClientRegistryTest
+{
+    /**
+     * Check that a client is reused for the same type, server and platform, and that a different server, platform
+     * or type gets its own client.
+     *
+     * @throws Exception problem creating a client
+     */
+    @Test public void testReuseByKey() throws Exception
+    {
+        EgeriaClientRegistry registry = new EgeriaClientRegistry();
+
+        StringBuilder first = registry.getClient(StringBuilder.class, "server1", "https://localhost:9443", StringBuilder::new);
+
+        assertSame(registry.getClient(StringBuilder.class, "server1", "https://localhost:9443", StringBuilder::new), first);
+        assertNotSame(registry.getClient(StringBuilder.class, "server2", "https://localhost:9443", StringBuilder::new), first);
+        assertNotSame(registry.getClient(StringBuilder.class, "server1", "https://localhost:9444", StringBuilder::new), first);
+        assertNotSame(registry.getClient(StringBuilder.class, null, "https://localhost:9443", StringBuilder::new), first);
+
+        registry.getClient(Object.class, "server1", "https://localhost:9443", Object::new);
+
+        assertEquals(registry.getClientCount(), 5);
+        assertEquals(registry.getReusedCount(), 1);
+    }
+
+
+    /**
+     * Check that releasing a server's clients leaves the clients for other servers and the platform in place.
+     *
+     * @throws Exception problem creating a client
+     */
+    @Test public void testReleaseClients() throws Exception
+    {
+        EgeriaClientRegistry registry = new EgeriaClientRegistry();
+
+        registry.getClient(StringBuilder.class, "server1", "https://localhost:9443", StringBuilder::new);
+        registry.getClient(Object.class, "server1", "https://localhost:9443", Object::new);
+        registry.getClient(Object.class, "server1", "https://localhost:9444", Object::new);
+        registry.getClient(Object.class, "server2", "https://localhost:9443", Object::new);
+        registry.getClient(Object.class, null, "https://localhost:9443", Object::new);
+
+        registry.releaseClients("server1", "https://localhost:9443");
+
+        assertEquals(registry.getClientCount(), 3);
+    }
+
+
+    /**
+     * Check that the factory's exception reaches the caller and that nothing is registered, so a later
+     * request can try again.
+     *
+     * @throws Exception problem creating a client
+     */
+    @Test public void testFactoryFailure() throws Exception
+    {
+        EgeriaClientRegistry registry = new EgeriaClientRegistry();
+
+        Exception error = expectThrows(Exception.class, () -> registry.getClient(Object.class, "server1", "bad URL", () ->
+        {
+            throw new Exception("bad URL");
+        }));
+
+        assertEquals(error.getMessage(), "bad URL");
+        assertEquals(registry.getClientCount(), 0);
+        assertEquals(registry.getClient(String.class, "server1", "bad URL", () -> "client"), "client");
+    }
+
+
+    /**
+     * Check that concurrent requests for the same client only create it once.
+     *
+     * @throws Exception problem running the tasks
+     */
+    @Test public void testConcurrentCreation() throws Exception
+    {
+        EgeriaClientRegistry registry     = new EgeriaClientRegistry();
+        AtomicInteger        createdCount = new AtomicInteger(0);
+        ExecutorService      executor     = ReportExecutors.newBoundedExecutor("EgeriaClientRegistryTest-", 8);
+
+        try
+        {
+            List<Future<Object>> tasks = new ArrayList<>();
+
+            for (int i = 0; i < 64; i++)
+            {
+                tasks.add(executor.submit(() -> registry.getClient(Object.class, "server1", "https://localhost:9443", () ->
+                {
+                    createdCount.incrementAndGet();
+                    return new Object();
+                })));
+            }
+
+            Object client = tasks.get(0).get();
+
+            for (Future<Object> task : tasks)
+            {
+                assertSame(task.get(), client);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertEquals(createdCount.get(), 1);
+        assertEquals(registry.getClientCount(), 1);
+    }
+}
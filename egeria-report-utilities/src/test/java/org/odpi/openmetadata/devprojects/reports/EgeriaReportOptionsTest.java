@@ -0,0 +1,38 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import org.testng.annotations.Test;
+
+import java.util.zip.Deflater;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.expectThrows;
+
+
+/**
+ * Verify that the report options reject values that would only fail once the report file has been created.
+ */
+public class EgeriaReportOptionsTest
+{
+    /**
+     * Check that every level the deflater supports is accepted, and that a level outside that range is rejected
+     * without changing the level already set.
+     */
+    @Test public void testCompressionLevel()
+    {
+        EgeriaReportOptions options = new EgeriaReportOptions();
+
+        for (int compressionLevel = Deflater.DEFAULT_COMPRESSION; compressionLevel <= Deflater.BEST_COMPRESSION; compressionLevel++)
+        {
+            options.setCompressionLevel(compressionLevel);
+
+            assertEquals(options.getCompressionLevel(), compressionLevel);
+        }
+
+        expectThrows(IllegalArgumentException.class, () -> options.setCompressionLevel(Deflater.DEFAULT_COMPRESSION - 1));
+        expectThrows(IllegalArgumentException.class, () -> options.setCompressionLevel(Deflater.BEST_COMPRESSION + 1));
+
+        assertEquals(options.getCompressionLevel(), Deflater.BEST_COMPRESSION);
+    }
+}
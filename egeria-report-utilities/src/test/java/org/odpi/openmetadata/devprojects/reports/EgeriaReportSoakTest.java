@@ -0,0 +1,133 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import com.sun.management.UnixOperatingSystemMXBean;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that EgeriaReport releases its file descriptors (and writer threads) when it is closed, by generating
+ * many reports and checking that the number of open descriptors does not grow.
+ */
+public class EgeriaReportSoakTest
+{
+    private static final int REPORT_GENERATIONS  = 10000;
+    private static final int WARM_UP_GENERATIONS = 100;
+    private static final int ALLOWED_VARIATION   = 5;
+
+
+    /**
+     * Generate a single small report using the supplied options.
+     *
+     * @param reportFile file to write
+     * @param options report options
+     * @param generation count used to vary the content
+     * @throws IOException problem writing the report
+     */
+    private void generateReport(File                reportFile,
+                                EgeriaReportOptions options,
+                                int                 generation) throws IOException
+    {
+        try (EgeriaReport report = new EgeriaReport(reportFile.getPath(), options))
+        {
+            report.printReportTitle(0, "Soak test report " + generation);
+            report.printReportSubheading(1, "Details");
+            report.printReportLine(2, "Generation", Integer.toString(generation));
+            report.printElementInTable(2, true, "guid-" + generation, "qualifiedName", "displayName", null);
+        }
+    }
+
+
+    /**
+     * Return the options for a generation - cycling through the formats, switching on the asynchronous writer
+     * for every other report and compressing every fifth report.
+     *
+     * @param generation count
+     * @return options
+     */
+    private EgeriaReportOptions getOptions(int generation)
+    {
+        EgeriaReportOptions options = new EgeriaReportOptions();
+
+        options.setEchoToConsole(false);
+        options.setReportFormat(ReportFormat.values()[generation % ReportFormat.values().length]);
+        options.setAsynchronous(generation % 2 == 0);
+
+        if (generation % 5 == 0)
+        {
+            options.setCompression(ReportCompression.GZIP);
+        }
+
+        return options;
+    }
+
+
+    /**
+     * Check that the descriptor and thread counts are unchanged after many report generations.
+     *
+     * @throws IOException problem writing the report
+     */
+    @Test public void testDescriptorCountStaysConstant() throws IOException
+    {
+        OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+
+        if (! (operatingSystem instanceof UnixOperatingSystemMXBean))
+        {
+            throw new SkipException("Open file descriptor count is not available on this platform");
+        }
+
+        UnixOperatingSystemMXBean unixOperatingSystem = (UnixOperatingSystemMXBean) operatingSystem;
+
+        File reportDirectory = Files.createTempDirectory("egeria-report-soak").toFile();
+        File reportFile      = new File(reportDirectory, "soak-report");
+        File compressedFile  = new File(reportDirectory, "soak-report.gz");
+
+        try
+        {
+            for (int generation = 0; generation < WARM_UP_GENERATIONS; generation++)
+            {
+                generateReport(reportFile, getOptions(generation), generation);
+            }
+
+            long startDescriptorCount = unixOperatingSystem.getOpenFileDescriptorCount();
+            int  startThreadCount     = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            for (int generation = 0; generation < REPORT_GENERATIONS; generation++)
+            {
+                generateReport(reportFile, getOptions(generation), generation);
+            }
+
+            long endDescriptorCount = unixOperatingSystem.getOpenFileDescriptorCount();
+            int  endThreadCount     = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            assertTrue(endDescriptorCount <= startDescriptorCount + ALLOWED_VARIATION,
+                       "Open file descriptors grew from " + startDescriptorCount + " to " + endDescriptorCount);
+            assertTrue(endThreadCount <= startThreadCount + ALLOWED_VARIATION,
+                       "Threads grew from " + startThreadCount + " to " + endThreadCount);
+        }
+        finally
+        {
+            if (reportFile.exists())
+            {
+                assertTrue(reportFile.delete());
+            }
+
+            if (compressedFile.exists())
+            {
+                assertTrue(compressedFile.delete());
+            }
+
+            assertTrue(reportDirectory.delete());
+        }
+    }
+}
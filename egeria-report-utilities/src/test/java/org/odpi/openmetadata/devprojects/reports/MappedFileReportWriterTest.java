@@ -0,0 +1,156 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that the memory-mapped output mode produces exactly the same bytes as the buffered stream, including
+ * when characters cross the boundary between mapped regions.
+ */
+public class MappedFileReportWriterTest
+{
+    private static final int SMALL_REGION_SIZE = 7;
+
+
+    /**
+     * Generate a report with a mix of ASCII and non-ASCII content.
+     *
+     * @param reportFile file to write
+     * @param options report options
+     * @throws IOException problem writing the report
+     */
+    private void generateReport(File                reportFile,
+                                EgeriaReportOptions options) throws IOException
+    {
+        try (EgeriaReport report = new EgeriaReport(reportFile.getPath(), options))
+        {
+            report.printReportTitle(0, "Mapped report");
+
+            for (int line = 0; line < 200; line++)
+            {
+                report.printReportSubheading(1, "Section " + line);
+                report.printReportLine(2, "Name", "Café €" + line + " 😀 " + "x".repeat(line % 13));
+                report.printElementInTable(2, line == 0, "guid-" + line, "qualifiedName", "über", null);
+            }
+        }
+    }
+
+
+    /**
+     * Check that a report written in MEMORY_MAPPED mode matches the same report written in BUFFERED_STREAM mode
+     * and that the file has been truncated to the length of its content.
+     *
+     * @throws IOException problem writing the report
+     */
+    @Test public void testMappedOutputMatchesBufferedOutput() throws IOException
+    {
+        File reportDirectory = Files.createTempDirectory("egeria-report-mapped").toFile();
+        File bufferedFile    = new File(reportDirectory, "buffered-report");
+        File mappedFile      = new File(reportDirectory, "mapped-report");
+
+        try
+        {
+            EgeriaReportOptions options = new EgeriaReportOptions();
+
+            options.setEchoToConsole(false);
+            generateReport(bufferedFile, options);
+
+            options.setOutputMode(ReportOutputMode.MEMORY_MAPPED);
+            options.setMappedRegionSize(SMALL_REGION_SIZE);
+            generateReport(mappedFile, options);
+
+            assertEquals(Files.readAllBytes(mappedFile.toPath()), Files.readAllBytes(bufferedFile.toPath()));
+        }
+        finally
+        {
+            assertTrue(bufferedFile.delete());
+            assertTrue(mappedFile.delete());
+            assertTrue(reportDirectory.delete());
+        }
+    }
+
+
+    /**
+     * Check that unpaired surrogates are replaced rather than corrupting the output.
+     *
+     * @throws IOException problem writing the file
+     */
+    @Test public void testUnpairedSurrogates() throws IOException
+    {
+        File reportFile = Files.createTempFile("egeria-report-mapped", ".md").toFile();
+
+        try
+        {
+            try (MappedFileReportWriter writer = new MappedFileReportWriter(reportFile, SMALL_REGION_SIZE))
+            {
+                writer.write("a\uD83Db\uDE00c\uD83D");
+            }
+
+            assertEquals(new String(Files.readAllBytes(reportFile.toPath()), EgeriaReport.REPORT_CHARSET), "a?b?c?");
+        }
+        finally
+        {
+            assertTrue(reportFile.delete());
+        }
+    }
+
+
+    /**
+     * Return the content of a file written in MEMORY_MAPPED mode, without the zero bytes that are left after the
+     * content on platforms that can not shorten a mapped file.
+     *
+     * @param reportFile file to read
+     * @return content
+     * @throws IOException problem reading the file
+     */
+    private String readMappedContent(File reportFile) throws IOException
+    {
+        byte[] content       = Files.readAllBytes(reportFile.toPath());
+        int    contentLength = content.length;
+
+        while ((contentLength > 0) && (content[contentLength - 1] == 0))
+        {
+            contentLength--;
+        }
+
+        return new String(content, 0, contentLength, EgeriaReport.REPORT_CHARSET);
+    }
+
+
+    /**
+     * Check that a closed file can be opened again by a new writer, which replaces the longer content written
+     * before, and that the file can then be deleted.
+     *
+     * @throws IOException problem writing the file
+     */
+    @Test public void testReopenAndDeleteAfterClose() throws IOException
+    {
+        File reportFile = Files.createTempFile("egeria-report-mapped", ".md").toFile();
+
+        try (MappedFileReportWriter writer = new MappedFileReportWriter(reportFile, SMALL_REGION_SIZE))
+        {
+            writer.write("First report with the longer content");
+        }
+
+        assertEquals(readMappedContent(reportFile), "First report with the longer content");
+
+        try (MappedFileReportWriter writer = new MappedFileReportWriter(reportFile, SMALL_REGION_SIZE))
+        {
+            writer.write("Second report");
+        }
+
+        assertEquals(readMappedContent(reportFile), "Second report");
+        assertTrue(reportFile.delete());
+        assertFalse(reportFile.exists());
+    }
+}
@@ -0,0 +1,78 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+
+/**
+ * Verify the statistics calculated by the remote call recorder.
+ */
+public class RemoteCallRecorderTest
+{
+    /**
+     * Check the nearest-rank percentiles over 1 to 100 milliseconds, and that the APIs are returned in name order.
+     */
+    @Test public void testPercentiles()
+    {
+        RemoteCallRecorder recorder = new RemoteCallRecorder();
+
+        for (int millis = 100; millis > 0; millis--)
+        {
+            recorder.recordCall("PlatformServicesClient.getServerStatus", millis * 1_000_000L, millis > 98);
+        }
+
+        recorder.recordCall("MetadataHighwayServicesClient.getCohortDescriptions", 5_000_000L, false);
+
+        List<RemoteCallStatistics> statisticsList = recorder.getStatistics();
+
+        assertEquals(statisticsList.size(), 2);
+        assertEquals(statisticsList.get(0).getApiName(), "MetadataHighwayServicesClient.getCohortDescriptions");
+        assertEquals(statisticsList.get(0).getMaxMillis(), 5.0);
+
+        RemoteCallStatistics statistics = statisticsList.get(1);
+
+        assertEquals(statistics.getCallCount(), 100);
+        assertEquals(statistics.getErrorCount(), 2);
+        assertEquals(statistics.getP50Millis(), 50.0);
+        assertEquals(statistics.getP95Millis(), 95.0);
+        assertEquals(statistics.getP99Millis(), 99.0);
+        assertEquals(statistics.getMaxMillis(), 100.0);
+        assertEquals(statistics.getTotalMillis(), 5050.0);
+    }
+
+
+    /**
+     * Check that a failing call is counted as an error and its exception reaches the caller, and that resetting
+     * the statistics starts afresh.
+     *
+     * @throws Exception problem with the successful call
+     */
+    @Test public void testRecordCallAndReset() throws Exception
+    {
+        RemoteCallRecorder recorder = new RemoteCallRecorder();
+
+        assertEquals(recorder.recordCall("Client.ok", () -> "result"), "result");
+
+        Exception error = expectThrows(IllegalStateException.class, () -> recorder.recordCall("Client.fails", () ->
+        {
+            throw new IllegalStateException("server not running");
+        }));
+
+        assertEquals(error.getMessage(), "server not running");
+
+        List<RemoteCallStatistics> statisticsList = recorder.getAndResetStatistics();
+
+        assertEquals(statisticsList.size(), 2);
+        assertEquals(statisticsList.get(0).getApiName(), "Client.fails");
+        assertEquals(statisticsList.get(0).getErrorCount(), 1);
+        assertEquals(statisticsList.get(1).getErrorCount(), 0);
+        assertTrue(recorder.getStatistics().isEmpty());
+    }
+}
@@ -0,0 +1,144 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.expectThrows;
+
+
+/**
+ * Verify the layout of the tables written to markdown reports, and that every report format rejects a table row
+ * when there is no table open.
+ */
+public class ReportTableRendererTest
+{
+    /**
+     * Check that the heading is written once, the column widths come from the look-ahead window and later,
+     * wider rows overflow rather than being truncated.
+     *
+     * @throws IOException problem writing the table
+     */
+    @Test public void testLookAheadWidths() throws IOException
+    {
+        StringWriter        writer   = new StringWriter();
+        ReportTableRenderer renderer = new ReportTableRenderer(writer, "\n", 2);
+
+        renderer.startTable("", List.of("Name", "Value"));
+        renderer.printTableRow("a", "1");
+        renderer.printTableRow("bb", "22");
+        renderer.printTableRow("cccccc", "333");
+        renderer.endTable();
+
+        assertEquals(writer.toString(), "\n" +
+                                        "| Name | Value |\n" +
+                                        "|------|-------|\n" +
+                                        "| a    | 1     |\n" +
+                                        "| bb   | 22    |\n" +
+                                        "| cccccc | 333   |\n" +
+                                        "\n");
+    }
+
+
+    /**
+     * Check that characters that would break the table are escaped, short rows are padded and consecutive tables
+     * are separated by a single blank line.
+     *
+     * @throws IOException problem writing the table
+     */
+    @Test public void testEscapingAndConsecutiveTables() throws IOException
+    {
+        StringWriter        writer   = new StringWriter();
+        ReportTableRenderer renderer = new ReportTableRenderer(writer, "\n", 10);
+
+        renderer.startTable("  ", List.of("A", "B"));
+        renderer.printTableRow("x|y", "line1\nline2");
+        renderer.printTableRow("z");
+        renderer.startTable("", List.of("C"));
+        renderer.printTableRow((String) null);
+        renderer.endTable();
+
+        assertEquals(writer.toString(), "\n" +
+                                        "  | A    | B           |\n" +
+                                        "  |------|-------------|\n" +
+                                        "  | x\\|y | line1 line2 |\n" +
+                                        "  | z    |             |\n" +
+                                        "\n" +
+                                        "| C |\n" +
+                                        "|---|\n" +
+                                        "|   |\n" +
+                                        "\n");
+    }
+
+
+    /**
+     * Check that a row written when no table is open is rejected and does not appear in the next table.
+     *
+     * @throws IOException problem writing the table
+     */
+    @Test public void testRowWithNoTableOpen() throws IOException
+    {
+        StringWriter        writer   = new StringWriter();
+        ReportTableRenderer renderer = new ReportTableRenderer(writer, "\n", 2);
+
+        expectThrows(IllegalStateException.class, () -> renderer.printTableRow("stray"));
+
+        renderer.endTable();
+        renderer.startTable("", List.of("A"));
+        renderer.printTableRow("a");
+        renderer.endTable();
+
+        expectThrows(IllegalStateException.class, () -> renderer.printTableRow("stray"));
+
+        assertEquals(writer.toString(), "\n" +
+                                        "| A |\n" +
+                                        "|---|\n" +
+                                        "| a |\n" +
+                                        "\n");
+    }
+
+
+    /**
+     * Check that the structured formats reject a row written when no table is open, including after a heading
+     * or line has ended the table, rather than writing it as an element.
+     *
+     * @throws IOException problem writing the report
+     */
+    @Test public void testStructuredRowWithNoTableOpen() throws IOException
+    {
+        StringWriter writer = new StringWriter();
+        ReportSink   sink   = new JSONLinesReportSink(writer, ReportFlushPolicy.ON_CLOSE);
+
+        expectThrows(IllegalStateException.class, () -> sink.printTableRow("stray"));
+
+        sink.startTable(0, List.of("A"));
+        sink.printTableRow("a");
+        sink.endTable();
+
+        expectThrows(IllegalStateException.class, () -> sink.printTableRow("stray"));
+
+        sink.startTable(0, List.of("A"));
+        sink.printReportLine(0, "Label", "value");
+
+        expectThrows(IllegalStateException.class, () -> sink.printTableRow("stray"));
+
+        sink.printElementInTable(0, true, "guid1", "qualifiedName1", "displayName1", "description1");
+        sink.printTableRow("guid2", "qualifiedName2", "displayName2", "description2");
+        sink.printReportSubheading(0, "Next section");
+
+        expectThrows(IllegalStateException.class, () -> sink.printTableRow("stray"));
+
+        sink.closeReport();
+
+        assertEquals(writer.toString(), "{\"type\":\"cell\",\"level\":0,\"section\":[\"a\"],\"label\":\"A\",\"value\":\"a\"}\n" +
+                                        "{\"type\":\"line\",\"level\":0,\"label\":\"Label\",\"value\":\"value\"}\n" +
+                                        "{\"type\":\"element\",\"level\":0,\"guid\":\"guid1\",\"qualifiedName\":\"qualifiedName1\",\"displayName\":\"displayName1\",\"description\":\"description1\"}\n" +
+                                        "{\"type\":\"element\",\"level\":0,\"guid\":\"guid2\",\"qualifiedName\":\"qualifiedName2\",\"displayName\":\"displayName2\",\"description\":\"description2\"}\n" +
+                                        "{\"type\":\"subheading\",\"level\":0,\"label\":\"Next section\"}\n");
+    }
+}
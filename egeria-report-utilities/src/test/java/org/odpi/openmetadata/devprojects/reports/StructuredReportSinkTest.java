@@ -0,0 +1,44 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.reports;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.testng.Assert.assertEquals;
+
+
+/**
+ * Verify the section path carried by each record of the structured report formats.
+ */
+public class StructuredReportSinkTest
+{
+    /**
+     * Check that a title or subheading carries only the headings above it, so a title that follows a deeper
+     * section does not carry the headings of that section.
+     *
+     * @throws IOException problem writing the report
+     */
+    @Test public void testHeadingSectionPath() throws IOException
+    {
+        StringWriter writer = new StringWriter();
+        ReportSink   sink   = new JSONLinesReportSink(writer, ReportFlushPolicy.ON_CLOSE);
+
+        sink.printReportTitle(0, "Report A");
+        sink.printReportSubheading(1, "Section 1");
+        sink.printReportLine(2, "Label", "value");
+        sink.printReportTitle(1, "Report B");
+        sink.printReportSubheading(2, "Section 2");
+        sink.printReportTitle(0, "Report C");
+        sink.closeReport();
+
+        assertEquals(writer.toString(), "{\"type\":\"title\",\"level\":0,\"label\":\"Report A\"}\n" +
+                                        "{\"type\":\"subheading\",\"level\":1,\"section\":[\"Report A\"],\"label\":\"Section 1\"}\n" +
+                                        "{\"type\":\"line\",\"level\":2,\"section\":[\"Report A\",\"Section 1\"],\"label\":\"Label\",\"value\":\"value\"}\n" +
+                                        "{\"type\":\"title\",\"level\":1,\"section\":[\"Report A\"],\"label\":\"Report B\"}\n" +
+                                        "{\"type\":\"subheading\",\"level\":2,\"section\":[\"Report A\",\"Report B\"],\"label\":\"Section 2\"}\n" +
+                                        "{\"type\":\"title\",\"level\":0,\"label\":\"Report C\"}\n");
+    }
+}
@@ -0,0 +1,219 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.utilities.stubplatform;
+
+
+import com.sun.net.httpserver.HttpServer;
+import org.odpi.openmetadata.devprojects.reports.ReportExecutors;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+
+
+/**
+ * StubOMAGPlatform is a lightweight stand-in for an OMAG Server Platform.  It serves the platform services,
+ * admin services, metadata highway and Data Manager OMAS REST calls that the report and operations utilities
+ * make, using a synthetic estate of servers and databases whose size is set through StubPlatformOptions.
+ * Latency and errors can be added to each request.  It is intended for repeatable throughput and memory tests
+ * of the utilities on a workstation - no Egeria servers, Kafka or repositories are needed.
+ * <p>
+ * The stub listens on the loopback address using HTTP.  It can be run from the command line or started and
+ * stopped from a test or benchmark.
+ */
+public class StubOMAGPlatform
+{
+    private final StubPlatformOptions options;
+
+    private HttpServer          httpServer      = null;
+    private ExecutorService     executor        = null;
+    private StubPlatformHandler handler         = null;
+    private String              platformURLRoot = null;
+
+
+    /**
+     * Set up the stub platform.
+     *
+     * @param options size of the estate, latency and error rate
+     */
+    public StubOMAGPlatform(StubPlatformOptions options)
+    {
+        this.options = options;
+    }
+
+
+    /**
+     * Start listening for requests.  Use port 0 in the options to listen on any free port.
+     *
+     * @return platform URL root to pass to the utilities
+     * @throws IOException the port is in use
+     */
+    public synchronized String start() throws IOException
+    {
+        if (httpServer == null)
+        {
+            httpServer      = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), options.getPort()), 0);
+            platformURLRoot = "http://localhost:" + httpServer.getAddress().getPort();
+            handler         = new StubPlatformHandler(options, new StubPlatformModel(options, platformURLRoot));
+            executor        = ReportExecutors.newBoundedExecutor("stub-platform-", options.getMaxConcurrentRequests());
+
+            httpServer.createContext("/", handler);
+            httpServer.setExecutor(executor);
+            httpServer.start();
+        }
+
+        return platformURLRoot;
+    }
+
+
+    /**
+     * Stop listening for requests.  Requests in progress are given a second to complete.
+     */
+    public synchronized void stop()
+    {
+        if (httpServer != null)
+        {
+            httpServer.stop(1);
+            executor.shutdownNow();
+
+            httpServer = null;
+            executor   = null;
+        }
+    }
+
+
+    /**
+     * Return the platform URL root once the stub has started.
+     *
+     * @return URL or null
+     */
+    public String getPlatformURLRoot()
+    {
+        return platformURLRoot;
+    }
+
+
+    /**
+     * Return the number of requests received since the stub started.
+     *
+     * @return count
+     */
+    public long getRequestCount()
+    {
+        return handler == null ? 0 : handler.getRequestCount();
+    }
+
+
+    /**
+     * Return the number of requests that were answered with an injected error.
+     *
+     * @return count
+     */
+    public long getInjectedErrorCount()
+    {
+        return handler == null ? 0 : handler.getInjectedErrorCount();
+    }
+
+
+    /**
+     * Main program that controls the operation of the stub platform.  The parameters are passed space separated.
+     * They are all optional: the port, the number of servers, the number of databases, the number of tables
+     * in each database, the number of columns in each table, the latency to add to each request in milliseconds,
+     * the maximum random jitter added to the latency in milliseconds, the fraction of requests (0.0 to 1.0)
+     * that return an error and the largest page returned by the Data Manager OMAS (0 for no limit).
+     *
+     * @param args arguments
+     */
+    public static void main(String[] args)
+    {
+        StubPlatformOptions options = new StubPlatformOptions();
+
+        try
+        {
+            if (args.length > 0)
+            {
+                options.setPort(Integer.parseInt(args[0]));
+            }
+
+            if (args.length > 1)
+            {
+                options.setServerCount(Integer.parseInt(args[1]));
+            }
+
+            if (args.length > 2)
+            {
+                options.setDatabaseCount(Integer.parseInt(args[2]));
+            }
+
+            if (args.length > 3)
+            {
+                options.setTablesPerDatabase(Integer.parseInt(args[3]));
+            }
+
+            if (args.length > 4)
+            {
+                options.setColumnsPerTable(Integer.parseInt(args[4]));
+            }
+
+            if (args.length > 5)
+            {
+                options.setLatencyMillis(Long.parseLong(args[5]));
+            }
+
+            if (args.length > 6)
+            {
+                options.setLatencyJitterMillis(Long.parseLong(args[6]));
+            }
+
+            if (args.length > 7)
+            {
+                options.setErrorRate(Double.parseDouble(args[7]));
+            }
+
+            if (args.length > 8)
+            {
+                options.setMaxPageSize(Integer.parseInt(args[8]));
+            }
+        }
+        catch (NumberFormatException error)
+        {
+            System.out.println("The port, sizes, latency, jitter, error rate and maximum page size must be numbers: " + error.getMessage());
+            System.exit(-1);
+        }
+
+        StubOMAGPlatform platform = new StubOMAGPlatform(options);
+
+        try
+        {
+            String platformURLRoot = platform.start();
+
+            System.out.println("===============================");
+            System.out.println("Stub OMAG Server Platform:     " + new Date().toString());
+            System.out.println("===============================");
+            System.out.println("Platform URL root: " + platformURLRoot);
+            System.out.println("Servers: " + options.getServerCount() + ", databases: " + options.getDatabaseCount() +
+                                       ", tables per database: " + options.getTablesPerDatabase() +
+                                       ", columns per table: " + options.getColumnsPerTable() +
+                                       ", maximum page size: " + ((options.getMaxPageSize() > 0) ? Integer.toString(options.getMaxPageSize()) : "no limit"));
+            System.out.println("Latency: " + options.getLatencyMillis() + " ms (+ up to " + options.getLatencyJitterMillis() +
+                                       " ms), error rate: " + options.getErrorRate() +
+                                       (ReportExecutors.virtualThreadsAvailable() ? " (virtual threads)" : ""));
+            System.out.println("Press Ctrl-C to stop");
+            System.out.println();
+
+            Runtime.getRuntime().addShutdownHook(new Thread(() ->
+            {
+                platform.stop();
+                System.out.println("Stub platform stopped after " + platform.getRequestCount() + " requests (" +
+                                           platform.getInjectedErrorCount() + " injected errors)");
+            }));
+        }
+        catch (IOException error)
+        {
+            System.out.println("There was an " + error.getClass().getName() + " exception when starting the stub platform.  Error message is: " + error.getMessage());
+            System.exit(-1);
+        }
+    }
+}
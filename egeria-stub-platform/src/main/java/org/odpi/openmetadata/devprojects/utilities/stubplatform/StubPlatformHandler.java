@@ -0,0 +1,554 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.utilities.stubplatform;
+
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationErrorException;
+import org.odpi.openmetadata.adminservices.rest.ConnectionResponse;
+import org.odpi.openmetadata.adminservices.rest.OMAGServerConfigResponse;
+import org.odpi.openmetadata.adminservices.rest.OMAGServerConfigsResponse;
+import org.odpi.openmetadata.adminservices.rest.OMAGServerStatusResponse;
+import org.odpi.openmetadata.adminservices.rest.SuccessMessageResponse;
+import org.odpi.openmetadata.commonservices.ffdc.rest.BooleanResponse;
+import org.odpi.openmetadata.commonservices.ffdc.rest.FFDCResponseBase;
+import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDResponse;
+import org.odpi.openmetadata.commonservices.ffdc.rest.RegisteredOMAGServicesResponse;
+import org.odpi.openmetadata.commonservices.ffdc.rest.VoidResponse;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.platformservices.rest.ServerListResponse;
+import org.odpi.openmetadata.platformservices.rest.ServerStatusResponse;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.odpi.openmetadata.repositoryservices.rest.properties.CohortListResponse;
+import org.odpi.openmetadata.repositoryservices.rest.properties.CohortMembershipListResponse;
+import org.odpi.openmetadata.repositoryservices.rest.properties.CohortMembershipResponse;
+import org.odpi.openmetadata.repositoryservices.rest.properties.OMRSAPIResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * StubPlatformHandler answers the REST calls that the Egeria clients used by the utilities make to an
+ * OMAG Server Platform.  Each request is matched against a list of routes, delayed by the configured latency,
+ * and answered with the JSON form of the same response bean that the real platform returns.  A configurable
+ * fraction of requests is answered with an Egeria error response instead (relatedHTTPCode 500 and the exception
+ * class that the client expects) so the error handling of the utilities can be exercised.
+ * <p>
+ * The Data Manager OMAS routes are matched on the final segments of the URL, since the stub does not depend
+ * on the data manager client, and their responses are built as JSON trees.
+ */
+class StubPlatformHandler implements HttpHandler
+{
+    private static final String PLATFORM_SERVICES = "/open-metadata/platform-services/users/[^/]+/server-platform";
+    private static final String ADMIN_SERVICES    = "/open-metadata/admin-services/users/[^/]+";
+    private static final String METADATA_HIGHWAY  = "/servers/([^/]+)/open-metadata/repository-services/users/[^/]+/metadata-highway";
+    private static final String DATA_MANAGER      = "/servers/([^/]+)/open-metadata/access-services/data-manager/users/[^/]+";
+
+    private static final String GET    = "GET";
+    private static final String POST   = "POST";
+    private static final String DELETE = "DELETE";
+
+    private final StubPlatformOptions options;
+    private final StubPlatformModel   model;
+    private final ObjectMapper        objectMapper       = new ObjectMapper();
+    private final List<StubRoute>     routes             = new ArrayList<>();
+    private final AtomicLong          requestCount       = new AtomicLong();
+    private final AtomicLong          injectedErrorCount = new AtomicLong();
+
+
+    /**
+     * A call to the model that produces the response for a route.
+     */
+    @FunctionalInterface
+    private interface StubAction
+    {
+        /**
+         * Produce the response.
+         *
+         * @param pathMatcher matcher for the request path (the capturing groups hold the server name, GUIDs etc)
+         * @param queryParameters query parameters from the URL
+         * @param requestBody request body parsed as JSON (may be null)
+         * @return response bean, JSON tree or string
+         * @throws StubRequestException the request names a server that is not running, an unknown GUID etc
+         */
+        Object respond(Matcher             pathMatcher,
+                       Map<String, String> queryParameters,
+                       JsonNode            requestBody) throws StubRequestException;
+    }
+
+
+    /**
+     * Set up the routes.
+     *
+     * @param options latency and error rate
+     * @param model synthetic estate
+     */
+    StubPlatformHandler(StubPlatformOptions options,
+                        StubPlatformModel   model)
+    {
+        this.options = options;
+        this.model   = model;
+
+        final String platformException   = PropertyServerException.class.getName();
+        final String adminException      = OMAGConfigurationErrorException.class.getName();
+        final String repositoryException = RepositoryErrorException.class.getName();
+
+        /*
+         * Platform services (PlatformServicesClient).  The origin is never failed so that the utilities always
+         * get past their initial check that the platform is running.
+         */
+        routes.add(new StubRoute(GET, PLATFORM_SERVICES + "/origin", null, null,
+                                 (path, query, body) -> model.getPlatformOrigin()));
+        routes.add(new StubRoute(GET, PLATFORM_SERVICES + "/registered-services", platformException, RegisteredOMAGServicesResponse::new,
+                                 (path, query, body) -> model.getRegisteredServices(null)));
+        routes.add(new StubRoute(GET, PLATFORM_SERVICES + "/registered-services/([a-z-]+)", platformException, RegisteredOMAGServicesResponse::new,
+                                 (path, query, body) -> model.getRegisteredServices(path.group(1))));
+        routes.add(new StubRoute(GET, PLATFORM_SERVICES + "/servers", platformException, ServerListResponse::new,
+                                 (path, query, body) -> model.getKnownServers()));
+        routes.add(new StubRoute(GET, PLATFORM_SERVICES + "/servers/active", platformException, ServerListResponse::new,
+                                 (path, query, body) -> model.getActiveServers()));
+        routes.add(new StubRoute(GET, PLATFORM_SERVICES + "/servers/([^/]+)/is-known", platformException, BooleanResponse::new,
+                                 (path, query, body) -> model.isKnownServer(path.group(1))));
+        routes.add(new StubRoute(GET, PLATFORM_SERVICES + "/servers/([^/]+)/status", platformException, ServerStatusResponse::new,
+                                 (path, query, body) -> model.getServerStatus(path.group(1))));
+
+        /*
+         * Admin services (OMAGServerPlatformConfigurationClient, ConfigurationManagementClient,
+         * OMAGServerConfigurationClient and OMAGServerOperationsClient).
+         */
+        routes.add(new StubRoute(GET, ADMIN_SERVICES + "/stores/connection", adminException, ConnectionResponse::new,
+                                 (path, query, body) -> model.getConfigurationStoreConnection()));
+        routes.add(new StubRoute(GET, "/open-metadata/(?:admin|platform)-services/users/[^/]+/(?:server-)?platform/security/connection",
+                                 adminException, ConnectionResponse::new,
+                                 (path, query, body) -> model.getPlatformSecurityConnection()));
+        routes.add(new StubRoute(GET, ADMIN_SERVICES + "/configurations", adminException, OMAGServerConfigsResponse::new,
+                                 (path, query, body) -> model.getAllServerConfigurations()));
+        routes.add(new StubRoute(GET, ADMIN_SERVICES + "/servers/([^/]+)/configuration", adminException, OMAGServerConfigResponse::new,
+                                 (path, query, body) -> model.getServerConfiguration(path.group(1))));
+        routes.add(new StubRoute(GET, ADMIN_SERVICES + "/servers/([^/]+)/instance/status", adminException, OMAGServerStatusResponse::new,
+                                 (path, query, body) -> model.getServerServicesStatus(path.group(1))));
+        routes.add(new StubRoute(POST, ADMIN_SERVICES + "/servers/([^/]+)/instance", adminException, SuccessMessageResponse::new,
+                                 (path, query, body) -> model.activateServer(path.group(1))));
+        routes.add(new StubRoute(DELETE, ADMIN_SERVICES + "/servers/([^/]+)/instance", adminException, VoidResponse::new,
+                                 (path, query, body) -> model.deactivateServer(path.group(1))));
+
+        /*
+         * Repository services (MetadataHighwayServicesClient).
+         */
+        routes.add(new StubRoute(GET, METADATA_HIGHWAY + "/cohort-descriptions", repositoryException, CohortListResponse::new,
+                                 (path, query, body) -> model.getCohortDescriptions(path.group(1))));
+        routes.add(new StubRoute(GET, METADATA_HIGHWAY + "/cohorts/([^/]+)/local-registration", repositoryException, CohortMembershipResponse::new,
+                                 (path, query, body) -> model.getLocalRegistration(path.group(1), path.group(2))));
+        routes.add(new StubRoute(GET, METADATA_HIGHWAY + "/cohorts/([^/]+)/remote-members", repositoryException, CohortMembershipListResponse::new,
+                                 (path, query, body) -> model.getRemoteRegistrations(path.group(1), path.group(2))));
+
+        /*
+         * Data Manager OMAS (DatabaseManagerClient and MetadataSourceClient).  The read routes come first; any
+         * other POST is a create, update or publish request that is acknowledged without being stored.
+         */
+        routes.add(new StubRoute(POST, DATA_MANAGER + "/databases/by-(?:search-string|name)", platformException, () -> getEmptyJSONResponse("DatabasesResponse"),
+                                 (path, query, body) -> model.findDatabases(path.group(1), getSearchString(body), getInt(query, "startFrom"), getInt(query, "pageSize"))));
+        routes.add(new StubRoute(GET, DATA_MANAGER + "/databases", platformException, () -> getEmptyJSONResponse("DatabasesResponse"),
+                                 (path, query, body) -> model.findDatabases(path.group(1), null, getInt(query, "startFrom"), getInt(query, "pageSize"))));
+        routes.add(new StubRoute(GET, DATA_MANAGER + "/.*/([^/]+)/schemas", platformException, () -> getEmptyJSONResponse("DatabaseSchemasResponse"),
+                                 (path, query, body) -> model.getSchemasForDatabase(path.group(1), path.group(2), getInt(query, "startFrom"), getInt(query, "pageSize"))));
+        routes.add(new StubRoute(GET, DATA_MANAGER + "/.*/([^/]+)/tables", platformException, () -> getEmptyJSONResponse("DatabaseTablesResponse"),
+                                 (path, query, body) -> model.getTables(path.group(1), path.group(2), getInt(query, "startFrom"), getInt(query, "pageSize"))));
+        routes.add(new StubRoute(GET, DATA_MANAGER + "/.*/([^/]+)/columns", platformException, () -> getEmptyJSONResponse("DatabaseColumnsResponse"),
+                                 (path, query, body) -> model.getColumns(path.group(1), path.group(2), getInt(query, "startFrom"), getInt(query, "pageSize"))));
+        routes.add(new StubRoute(GET, DATA_MANAGER + "/databases/([^/]+)", platformException, () -> getEmptyJSONResponse("DatabaseResponse"),
+                                 (path, query, body) -> model.getDatabase(path.group(1), path.group(2))));
+        routes.add(new StubRoute(POST, DATA_MANAGER + "/.*/(?:publish|withdraw|update|delete|remove|attach|detach)(?:/.*)?", platformException, VoidResponse::new,
+                                 (path, query, body) -> model.updateElement(path.group(1))));
+        routes.add(new StubRoute(POST, DATA_MANAGER + "/.*", platformException, GUIDResponse::new,
+                                 (path, query, body) -> model.createElement(path.group(1))));
+    }
+
+
+    /**
+     * Return the number of requests received.
+     *
+     * @return count
+     */
+    long getRequestCount()
+    {
+        return requestCount.get();
+    }
+
+
+    /**
+     * Return the number of requests that were answered with an injected error.
+     *
+     * @return count
+     */
+    long getInjectedErrorCount()
+    {
+        return injectedErrorCount.get();
+    }
+
+
+    /**
+     * Answer a request.
+     *
+     * @param exchange the request and the response
+     * @throws IOException problem reading the request or writing the response
+     */
+    @Override
+    public void handle(HttpExchange exchange) throws IOException
+    {
+        try
+        {
+            String method      = exchange.getRequestMethod();
+            String path        = exchange.getRequestURI().getPath();
+            byte[] requestBody = exchange.getRequestBody().readAllBytes();
+
+            requestCount.incrementAndGet();
+            addLatency();
+
+            for (StubRoute route : routes)
+            {
+                if (route.httpMethod.equals(method))
+                {
+                    Matcher pathMatcher = route.pathPattern.matcher(path);
+
+                    if (pathMatcher.matches())
+                    {
+                        sendResponse(exchange, 200, getResponse(route, pathMatcher, exchange.getRequestURI().getRawQuery(), requestBody));
+                        return;
+                    }
+                }
+            }
+
+            sendResponse(exchange, 404, "The stub platform does not support " + method + " " + path);
+        }
+        finally
+        {
+            exchange.close();
+        }
+    }
+
+
+    /**
+     * Produce the response for a route, or an error response if an error is injected or the model rejects
+     * the request.
+     *
+     * @param route matching route
+     * @param pathMatcher matcher for the request path
+     * @param rawQuery query string from the URL (may be null)
+     * @param requestBody request body
+     * @return response
+     */
+    private Object getResponse(StubRoute route,
+                               Matcher   pathMatcher,
+                               String    rawQuery,
+                               byte[]    requestBody)
+    {
+        if ((route.exceptionClassName != null) && (options.getErrorRate() > 0) && (ThreadLocalRandom.current().nextDouble() < options.getErrorRate()))
+        {
+            injectedErrorCount.incrementAndGet();
+
+            return getErrorResponse(route, 500, "STUB-PLATFORM-500-001", "The stub platform injected an error into this request", route.exceptionClassName);
+        }
+
+        try
+        {
+            JsonNode requestJSON = null;
+
+            if (requestBody.length > 0)
+            {
+                try
+                {
+                    requestJSON = objectMapper.readTree(requestBody);
+                }
+                catch (IOException error)
+                {
+                    throw new StubRequestException(400, "STUB-PLATFORM-400-001", "The request body is not JSON: " + error.getMessage());
+                }
+            }
+
+            return route.action.respond(pathMatcher, getQueryParameters(rawQuery), requestJSON);
+        }
+        catch (StubRequestException error)
+        {
+            return getErrorResponse(route,
+                                    error.getReportedHTTPCode(),
+                                    error.getReportedErrorMessageId(),
+                                    error.getMessage(),
+                                    (error.getReportedExceptionClassName() != null) ? error.getReportedExceptionClassName() : route.exceptionClassName);
+        }
+    }
+
+
+    /**
+     * Build an error response of the type the client expects from the route.
+     *
+     * @param route route that failed
+     * @param httpCode HTTP code for the relatedHTTPCode field
+     * @param errorMessageId message identifier
+     * @param errorMessage message text
+     * @param exceptionClassName exception class the client turns the response into
+     * @return error response
+     */
+    private Object getErrorResponse(StubRoute route,
+                                    int       httpCode,
+                                    String    errorMessageId,
+                                    String    errorMessage,
+                                    String    exceptionClassName)
+    {
+        Object   response               = route.responseFactory.get();
+        String   actionName             = "StubOMAGPlatform.handle";
+        String   systemAction           = "The stub platform returned an error response.";
+        String   userAction             = "No action is required - this error is part of the test.";
+        String[] errorMessageParameters = new String[0];
+
+        if (response instanceof FFDCResponseBase)
+        {
+            FFDCResponseBase ffdcResponse = (FFDCResponseBase) response;
+
+            ffdcResponse.setRelatedHTTPCode(httpCode);
+            ffdcResponse.setExceptionClassName(exceptionClassName);
+            ffdcResponse.setActionDescription(actionName);
+            ffdcResponse.setExceptionErrorMessage(errorMessageId + " " + errorMessage);
+            ffdcResponse.setExceptionErrorMessageId(errorMessageId);
+            ffdcResponse.setExceptionErrorMessageParameters(errorMessageParameters);
+            ffdcResponse.setExceptionSystemAction(systemAction);
+            ffdcResponse.setExceptionUserAction(userAction);
+        }
+        else if (response instanceof OMRSAPIResponse)
+        {
+            OMRSAPIResponse omrsResponse = (OMRSAPIResponse) response;
+
+            omrsResponse.setRelatedHTTPCode(httpCode);
+            omrsResponse.setExceptionClassName(exceptionClassName);
+            omrsResponse.setActionDescription(actionName);
+            omrsResponse.setExceptionErrorMessage(errorMessageId + " " + errorMessage);
+            omrsResponse.setExceptionErrorMessageId(errorMessageId);
+            omrsResponse.setExceptionErrorMessageParameters(errorMessageParameters);
+            omrsResponse.setExceptionSystemAction(systemAction);
+            omrsResponse.setExceptionUserAction(userAction);
+        }
+        else if (response instanceof ObjectNode)
+        {
+            ObjectNode jsonResponse = (ObjectNode) response;
+
+            jsonResponse.put("relatedHTTPCode", httpCode);
+            jsonResponse.put("exceptionClassName", exceptionClassName);
+            jsonResponse.put("actionDescription", actionName);
+            jsonResponse.put("exceptionErrorMessage", errorMessageId + " " + errorMessage);
+            jsonResponse.put("exceptionErrorMessageId", errorMessageId);
+            jsonResponse.putArray("exceptionErrorMessageParameters");
+            jsonResponse.put("exceptionSystemAction", systemAction);
+            jsonResponse.put("exceptionUserAction", userAction);
+        }
+
+        return response;
+    }
+
+
+    /**
+     * Return an empty JSON response for a Data Manager OMAS route.
+     *
+     * @param responseClassName name of the response bean
+     * @return JSON tree
+     */
+    private ObjectNode getEmptyJSONResponse(String responseClassName)
+    {
+        ObjectNode response = objectMapper.createObjectNode();
+
+        response.put("class", responseClassName);
+
+        return response;
+    }
+
+
+    /**
+     * Write the response.  Strings are sent as plain text (like the platform origin); everything else is
+     * sent as JSON.
+     *
+     * @param exchange the request and the response
+     * @param httpStatus HTTP status
+     * @param response response object
+     * @throws IOException problem writing the response
+     */
+    private void sendResponse(HttpExchange exchange,
+                              int          httpStatus,
+                              Object       response) throws IOException
+    {
+        byte[] responseBytes;
+
+        if (response instanceof String)
+        {
+            exchange.getResponseHeaders().set("Content-Type", "text/plain;charset=UTF-8");
+            responseBytes = ((String) response).getBytes(StandardCharsets.UTF_8);
+        }
+        else
+        {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            responseBytes = objectMapper.writeValueAsBytes(response);
+        }
+
+        exchange.sendResponseHeaders(httpStatus, responseBytes.length);
+
+        try (OutputStream responseBody = exchange.getResponseBody())
+        {
+            responseBody.write(responseBytes);
+        }
+    }
+
+
+    /**
+     * Wait for the configured latency plus a random amount up to the configured jitter.
+     */
+    private void addLatency()
+    {
+        long delayMillis = options.getLatencyMillis();
+
+        if (options.getLatencyJitterMillis() > 0)
+        {
+            delayMillis += ThreadLocalRandom.current().nextLong(options.getLatencyJitterMillis() + 1);
+        }
+
+        if (delayMillis > 0)
+        {
+            try
+            {
+                Thread.sleep(delayMillis);
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+
+    /**
+     * Split the query string of the URL into its parameters.
+     *
+     * @param rawQuery query string (may be null)
+     * @return map of parameter name to value
+     */
+    private Map<String, String> getQueryParameters(String rawQuery)
+    {
+        Map<String, String> queryParameters = new HashMap<>();
+
+        if (rawQuery != null)
+        {
+            for (String parameter : rawQuery.split("&"))
+            {
+                int separator = parameter.indexOf('=');
+
+                if (separator > 0)
+                {
+                    queryParameters.put(URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8),
+                                        URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        return queryParameters;
+    }
+
+
+    /**
+     * Return a numeric query parameter.
+     *
+     * @param queryParameters query parameters
+     * @param parameterName name of parameter
+     * @return value, or 0 if it is missing
+     * @throws StubRequestException the value is not a number
+     */
+    private static int getInt(Map<String, String> queryParameters,
+                              String              parameterName) throws StubRequestException
+    {
+        String value = queryParameters.get(parameterName);
+
+        if (value == null)
+        {
+            return 0;
+        }
+
+        try
+        {
+            return Integer.parseInt(value);
+        }
+        catch (NumberFormatException error)
+        {
+            throw new StubRequestException(400, "OMAG-COMMON-400-016", "The " + parameterName + " parameter " + value + " is not a number");
+        }
+    }
+
+
+    /**
+     * Return the search string from a request body.
+     *
+     * @param requestBody request body (may be null)
+     * @return search string or null
+     */
+    private static String getSearchString(JsonNode requestBody)
+    {
+        if ((requestBody != null) && (requestBody.hasNonNull("searchString")))
+        {
+            return requestBody.get("searchString").asText();
+        }
+
+        if ((requestBody != null) && (requestBody.hasNonNull("name")))
+        {
+            return Pattern.quote(requestBody.get("name").asText());
+        }
+
+        return null;
+    }
+
+
+    /**
+     * StubRoute links an HTTP method and URL path to the call that answers it.
+     */
+    private static class StubRoute
+    {
+        private final String           httpMethod;
+        private final Pattern          pathPattern;
+        private final String           exceptionClassName;
+        private final Supplier<Object> responseFactory;
+        private final StubAction       action;
+
+
+        /**
+         * Constructor.
+         *
+         * @param httpMethod HTTP method
+         * @param pathRegex regular expression for the URL path
+         * @param exceptionClassName exception the client expects in an error response (null if the route never fails)
+         * @param responseFactory creates the empty response that carries an error
+         * @param action call that produces the response
+         */
+        StubRoute(String           httpMethod,
+                  String           pathRegex,
+                  String           exceptionClassName,
+                  Supplier<Object> responseFactory,
+                  StubAction       action)
+        {
+            this.httpMethod         = httpMethod;
+            this.pathPattern        = Pattern.compile(pathRegex);
+            this.exceptionClassName = exceptionClassName;
+            this.responseFactory    = responseFactory;
+            this.action             = action;
+        }
+    }
+}
@@ -0,0 +1,1236 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.utilities.stubplatform;
+
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.odpi.openmetadata.adminservices.configuration.properties.AccessServiceConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.CohortConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.LocalRepositoryConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.LocalRepositoryMode;
+import org.odpi.openmetadata.adminservices.configuration.properties.OMAGServerConfig;
+import org.odpi.openmetadata.adminservices.configuration.properties.RepositoryServicesConfig;
+import org.odpi.openmetadata.adminservices.properties.OMAGServerServiceStatus;
+import org.odpi.openmetadata.adminservices.properties.ServerActiveStatus;
+import org.odpi.openmetadata.adminservices.properties.ServerServicesStatus;
+import org.odpi.openmetadata.adminservices.rest.ConnectionResponse;
+import org.odpi.openmetadata.adminservices.rest.OMAGServerConfigResponse;
+import org.odpi.openmetadata.adminservices.rest.OMAGServerConfigsResponse;
+import org.odpi.openmetadata.adminservices.rest.OMAGServerStatusResponse;
+import org.odpi.openmetadata.adminservices.rest.SuccessMessageResponse;
+import org.odpi.openmetadata.commonservices.ffdc.rest.BooleanResponse;
+import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDResponse;
+import org.odpi.openmetadata.commonservices.ffdc.rest.RegisteredOMAGService;
+import org.odpi.openmetadata.commonservices.ffdc.rest.RegisteredOMAGServicesResponse;
+import org.odpi.openmetadata.commonservices.ffdc.rest.VoidResponse;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.platformservices.properties.OMAGServerInstanceHistory;
+import org.odpi.openmetadata.platformservices.rest.ServerListResponse;
+import org.odpi.openmetadata.platformservices.rest.ServerStatusResponse;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.cohortregistrystore.properties.MemberRegistration;
+import org.odpi.openmetadata.repositoryservices.properties.CohortConnectionStatus;
+import org.odpi.openmetadata.repositoryservices.properties.CohortDescription;
+import org.odpi.openmetadata.repositoryservices.rest.properties.CohortListResponse;
+import org.odpi.openmetadata.repositoryservices.rest.properties.CohortMembershipListResponse;
+import org.odpi.openmetadata.repositoryservices.rest.properties.CohortMembershipResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+
+/**
+ * StubPlatformModel holds the synthetic estate that the stub OMAG Server Platform describes.  The servers are
+ * generated from their index so every run with the same options sees the same estate:
+ * <ul>
+ *     <li>The server types rotate through metadata access store, integration daemon, view server and engine host.</li>
+ *     <li>Two servers in three are running.  Of the rest, half have run since the platform started and half have
+ *     only been configured.</li>
+ *     <li>Each metadata access store joins the cohort shared by its group of ten consecutive servers.</li>
+ * </ul>
+ * The running state of each server changes when it is activated or deactivated through the admin services.
+ * The databases, tables and columns served through the Data Manager OMAS are not stored - they are built
+ * from the unique identifier (GUID) in each request.  Create requests are acknowledged but the new elements
+ * are not kept.
+ */
+class StubPlatformModel
+{
+    private static final String   PLATFORM_ORIGIN         = "Egeria OMAG Server Platform (version 3.14 - stub)";
+    private static final String   ORGANIZATION_NAME       = "Stub Organization";
+    private static final String   METADATA_ACCESS_STORE   = "Metadata Access Store";
+    private static final int      SERVERS_PER_COHORT      = 10;
+    private static final String[] SERVER_TYPES            = {METADATA_ACCESS_STORE, "Integration Daemon", "View Server", "Engine Host"};
+    private static final String[] SERVER_TYPE_SERVICES    = {null, "Integration Daemon Services", "Open Metadata View Services", "Engine Host Services"};
+    private static final String   REPOSITORY_SERVICES     = "Open Metadata Repository Services (OMRS)";
+
+    private static final String   ACCESS_SERVICES         = "access-services";
+    private static final String   ENGINE_SERVICES         = "engine-services";
+    private static final String   INTEGRATION_SERVICES    = "integration-services";
+    private static final String   VIEW_SERVICES           = "view-services";
+
+    private static final String   INVALID_PARAMETER_EXCEPTION = InvalidParameterException.class.getName();
+
+    /*
+     * Registered services: type of service, name, URL marker and description.  The access services are the
+     * ones configured in each metadata access store.
+     */
+    private static final String[][] REGISTERED_SERVICES =
+    {
+        {ACCESS_SERVICES,      "Asset Consumer OMAS",            "asset-consumer",            "Access assets through connectors."},
+        {ACCESS_SERVICES,      "Asset Manager OMAS",             "asset-manager",             "Manage metadata from a third party asset manager."},
+        {ACCESS_SERVICES,      "Data Manager OMAS",              "data-manager",              "Capture changes to the data stores and data sets managed by a data manager."},
+        {ENGINE_SERVICES,      "Asset Analysis OMES",            "asset-analysis",            "Analyses the content of an asset's real world counterpart."},
+        {ENGINE_SERVICES,      "Governance Action OMES",         "governance-action",         "Executes requested governance action services."},
+        {INTEGRATION_SERVICES, "Database Integrator OMIS",       "database-integrator",       "Extract metadata such as schema, tables and columns from database managers."},
+        {INTEGRATION_SERVICES, "Infrastructure Integrator OMIS", "infrastructure-integrator", "Exchange information relating to IT infrastructure."},
+        {VIEW_SERVICES,        "Glossary Author OMVS",           "glossary-author",           "Author glossaries."},
+        {VIEW_SERVICES,        "Server Author OMVS",             "server-author",             "Author servers."}
+    };
+
+    private static final Pattern DATABASE_GUID_PATTERN = Pattern.compile("stub-db-(\\d+)(-schema|-table-(\\d+)(-column-(\\d+))?)?");
+
+    private final StubPlatformOptions     options;
+    private final String                  platformURLRoot;
+    private final Date                    platformStartTime = new Date();
+    private final Map<String, StubServer> servers           = new TreeMap<>();
+    private final JsonNodeFactory         nodeFactory       = JsonNodeFactory.instance;
+
+
+    /**
+     * Generate the servers.
+     *
+     * @param options size of the estate
+     * @param platformURLRoot URL root of the stub platform (used in the connections and registrations)
+     */
+    StubPlatformModel(StubPlatformOptions options,
+                      String              platformURLRoot)
+    {
+        this.options         = options;
+        this.platformURLRoot = platformURLRoot;
+
+        for (int serverIndex = 0; serverIndex < options.getServerCount(); serverIndex++)
+        {
+            StubServer server = new StubServer(serverIndex);
+
+            servers.put(server.serverName, server);
+        }
+    }
+
+
+    /**
+     * Return the description of the platform.
+     *
+     * @return origin string
+     */
+    String getPlatformOrigin()
+    {
+        return PLATFORM_ORIGIN;
+    }
+
+
+    /**
+     * Return the registered services of a particular type.
+     *
+     * @param serviceType access-services, engine-services, integration-services, view-services or null for all
+     * @return response
+     */
+    RegisteredOMAGServicesResponse getRegisteredServices(String serviceType)
+    {
+        RegisteredOMAGServicesResponse response = new RegisteredOMAGServicesResponse();
+        List<RegisteredOMAGService>    services = new ArrayList<>();
+
+        for (int serviceIndex = 0; serviceIndex < REGISTERED_SERVICES.length; serviceIndex++)
+        {
+            String[] registeredService = REGISTERED_SERVICES[serviceIndex];
+
+            if ((serviceType == null) || (serviceType.equals(registeredService[0])))
+            {
+                RegisteredOMAGService service = new RegisteredOMAGService();
+
+                service.setServiceId(serviceIndex + 1);
+                service.setServiceName(registeredService[1]);
+                service.setServiceURLMarker(registeredService[2]);
+                service.setServiceDescription(registeredService[3]);
+                service.setServiceWiki("https://egeria-project.org/services/" + registeredService[2]);
+
+                services.add(service);
+            }
+        }
+
+        response.setServices(services);
+
+        return response;
+    }
+
+
+    /**
+     * Return the connection for the configuration document store.
+     *
+     * @return response
+     */
+    ConnectionResponse getConfigurationStoreConnection()
+    {
+        ConnectionResponse response = new ConnectionResponse();
+
+        response.setConnection(getConnection("Configuration Document Store",
+                                             "org.odpi.openmetadata.adapters.adminservices.configurationstore.file.FileBasedServerConfigStoreProvider",
+                                             "data/servers/{0}/config/{0}.config"));
+
+        return response;
+    }
+
+
+    /**
+     * Return the connection for the platform metadata security connector.  The stub platform is not secured.
+     *
+     * @return response with no connection
+     */
+    ConnectionResponse getPlatformSecurityConnection()
+    {
+        return new ConnectionResponse();
+    }
+
+
+    /**
+     * Return the names of the servers that have run on the platform since it started.
+     *
+     * @return response
+     */
+    ServerListResponse getKnownServers()
+    {
+        ServerListResponse response   = new ServerListResponse();
+        List<String>       serverList = new ArrayList<>();
+
+        for (StubServer server : servers.values())
+        {
+            if (server.isKnown())
+            {
+                serverList.add(server.serverName);
+            }
+        }
+
+        response.setServerList(serverList);
+
+        return response;
+    }
+
+
+    /**
+     * Return the names of the servers that are running.
+     *
+     * @return response
+     */
+    ServerListResponse getActiveServers()
+    {
+        ServerListResponse response   = new ServerListResponse();
+        List<String>       serverList = new ArrayList<>();
+
+        for (StubServer server : servers.values())
+        {
+            if (server.isActive())
+            {
+                serverList.add(server.serverName);
+            }
+        }
+
+        response.setServerList(serverList);
+
+        return response;
+    }
+
+
+    /**
+     * Return whether a server has run on the platform since it started.
+     *
+     * @param serverName name of server
+     * @return response
+     */
+    BooleanResponse isKnownServer(String serverName)
+    {
+        BooleanResponse response = new BooleanResponse();
+        StubServer      server   = servers.get(serverName);
+
+        response.setFlag((server != null) && (server.isKnown()));
+
+        return response;
+    }
+
+
+    /**
+     * Return the running history of a server on the platform.
+     *
+     * @param serverName name of server
+     * @return response
+     * @throws StubRequestException the server has not run on the platform
+     */
+    ServerStatusResponse getServerStatus(String serverName) throws StubRequestException
+    {
+        StubServer server = getServer(serverName);
+
+        if (! server.isKnown())
+        {
+            throw new StubRequestException(404, "OMAG-PLATFORM-SERVICES-404-001", "Server " + serverName + " is not known to the platform");
+        }
+
+        return server.getServerStatus();
+    }
+
+
+    /**
+     * Return the configuration document of every server.
+     *
+     * @return response
+     */
+    OMAGServerConfigsResponse getAllServerConfigurations()
+    {
+        OMAGServerConfigsResponse response = new OMAGServerConfigsResponse();
+        Set<OMAGServerConfig>     configs  = new HashSet<>();
+
+        for (StubServer server : servers.values())
+        {
+            configs.add(server.serverConfig);
+        }
+
+        response.setOMAGServerConfigs(configs);
+
+        return response;
+    }
+
+
+    /**
+     * Return the configuration document of a server.
+     *
+     * @param serverName name of server
+     * @return response
+     * @throws StubRequestException unknown server
+     */
+    OMAGServerConfigResponse getServerConfiguration(String serverName) throws StubRequestException
+    {
+        OMAGServerConfigResponse response = new OMAGServerConfigResponse();
+
+        response.setOMAGServerConfig(getServer(serverName).serverConfig);
+
+        return response;
+    }
+
+
+    /**
+     * Return the status of the services in a running server.
+     *
+     * @param serverName name of server
+     * @return response
+     * @throws StubRequestException the server is not running
+     */
+    OMAGServerStatusResponse getServerServicesStatus(String serverName) throws StubRequestException
+    {
+        OMAGServerStatusResponse response = new OMAGServerStatusResponse();
+
+        response.setServerStatus(getActiveServer(serverName).getServicesStatus());
+
+        return response;
+    }
+
+
+    /**
+     * Start a server.
+     *
+     * @param serverName name of server
+     * @return response
+     * @throws StubRequestException unknown server
+     */
+    SuccessMessageResponse activateServer(String serverName) throws StubRequestException
+    {
+        SuccessMessageResponse response = new SuccessMessageResponse();
+        StubServer             server   = getServer(serverName);
+
+        server.activate();
+        response.setSuccessMessage(new Date() + " " + serverName + " is running the following services: " + server.getServiceNames());
+
+        return response;
+    }
+
+
+    /**
+     * Stop a server.
+     *
+     * @param serverName name of server
+     * @return response
+     * @throws StubRequestException unknown server
+     */
+    VoidResponse deactivateServer(String serverName) throws StubRequestException
+    {
+        getServer(serverName).deactivate();
+
+        return new VoidResponse();
+    }
+
+
+    /**
+     * Return the cohorts that a running server is configured to join.
+     *
+     * @param serverName name of server
+     * @return response
+     * @throws StubRequestException the server is not running
+     */
+    CohortListResponse getCohortDescriptions(String serverName) throws StubRequestException
+    {
+        CohortListResponse response = new CohortListResponse();
+        StubServer         server   = getActiveServer(serverName);
+
+        if (server.cohortName != null)
+        {
+            CohortDescription cohortDescription = new CohortDescription();
+
+            cohortDescription.setCohortName(server.cohortName);
+            cohortDescription.setConnectionStatus(CohortConnectionStatus.CONNECTED);
+
+            response.setCohorts(List.of(cohortDescription));
+        }
+
+        return response;
+    }
+
+
+    /**
+     * Return the registration of a running server with one of its cohorts.
+     *
+     * @param serverName name of server
+     * @param cohortName name of cohort
+     * @return response
+     * @throws StubRequestException the server is not running or is not a member of the cohort
+     */
+    CohortMembershipResponse getLocalRegistration(String serverName,
+                                                  String cohortName) throws StubRequestException
+    {
+        CohortMembershipResponse response = new CohortMembershipResponse();
+
+        response.setCohortMember(getCohortMember(serverName, cohortName).getRegistration());
+
+        return response;
+    }
+
+
+    /**
+     * Return the registrations of the other running members of one of a server's cohorts.
+     *
+     * @param serverName name of server
+     * @param cohortName name of cohort
+     * @return response
+     * @throws StubRequestException the server is not running or is not a member of the cohort
+     */
+    CohortMembershipListResponse getRemoteRegistrations(String serverName,
+                                                        String cohortName) throws StubRequestException
+    {
+        CohortMembershipListResponse response      = new CohortMembershipListResponse();
+        StubServer                   localServer   = getCohortMember(serverName, cohortName);
+        List<MemberRegistration>     registrations = new ArrayList<>();
+
+        for (StubServer server : servers.values())
+        {
+            if ((server != localServer) && (cohortName.equals(server.cohortName)) && (server.isActive()))
+            {
+                registrations.add(server.getRegistration());
+            }
+        }
+
+        if (! registrations.isEmpty())
+        {
+            response.setCohortMembers(registrations);
+        }
+
+        return response;
+    }
+
+
+    /**
+     * Return a page of the databases whose names match a regular expression.
+     *
+     * @param serverName name of the server running the Data Manager OMAS
+     * @param searchString regular expression (null matches every database)
+     * @param startFrom index of the first database to return
+     * @param pageSize maximum number of databases to return (0 for all)
+     * @return DatabasesResponse
+     * @throws StubRequestException the server is not running, the search string is not a regular expression or
+     *                              the page size is too large
+     */
+    ObjectNode findDatabases(String serverName,
+                             String searchString,
+                             int    startFrom,
+                             int    pageSize) throws StubRequestException
+    {
+        getActiveServer(serverName);
+
+        Pattern searchPattern;
+
+        try
+        {
+            searchPattern = Pattern.compile(searchString == null ? ".*" : searchString);
+        }
+        catch (PatternSyntaxException error)
+        {
+            throw new StubRequestException(400, "OMAG-DATA-MANAGER-400-001", "Search string " + searchString + " is not a regular expression", INVALID_PARAMETER_EXCEPTION);
+        }
+
+        List<ObjectNode> databases = new ArrayList<>();
+
+        for (int databaseIndex = 0; databaseIndex < options.getDatabaseCount(); databaseIndex++)
+        {
+            if (searchPattern.matcher(getDatabaseName(databaseIndex)).find())
+            {
+                databases.add(getDatabaseElement(databaseIndex));
+            }
+        }
+
+        return getElementListResponse("DatabasesResponse", databases, startFrom, pageSize);
+    }
+
+
+    /**
+     * Return a database.
+     *
+     * @param serverName name of the server running the Data Manager OMAS
+     * @param databaseGUID unique identifier of the database
+     * @return DatabaseResponse
+     * @throws StubRequestException the server is not running or the GUID does not identify a database
+     */
+    ObjectNode getDatabase(String serverName,
+                           String databaseGUID) throws StubRequestException
+    {
+        getActiveServer(serverName);
+
+        Matcher    guidMatcher = getDatabaseGUIDMatcher(databaseGUID);
+        ObjectNode response    = getResponse("DatabaseResponse");
+
+        if (guidMatcher.group(2) != null)
+        {
+            throw unknownGUID(databaseGUID);
+        }
+
+        response.set("element", getDatabaseElement(Integer.parseInt(guidMatcher.group(1))));
+
+        return response;
+    }
+
+
+    /**
+     * Return the schemas of a database.  Each database has a single schema.
+     *
+     * @param serverName name of the server running the Data Manager OMAS
+     * @param databaseGUID unique identifier of the database
+     * @param startFrom index of the first schema to return
+     * @param pageSize maximum number of schemas to return (0 for all)
+     * @return DatabaseSchemasResponse
+     * @throws StubRequestException the server is not running, the GUID does not identify a database or the page
+     *                              size is too large
+     */
+    ObjectNode getSchemasForDatabase(String serverName,
+                                     String databaseGUID,
+                                     int    startFrom,
+                                     int    pageSize) throws StubRequestException
+    {
+        getActiveServer(serverName);
+
+        Matcher guidMatcher = getDatabaseGUIDMatcher(databaseGUID);
+
+        if (guidMatcher.group(2) != null)
+        {
+            throw unknownGUID(databaseGUID);
+        }
+
+        int        databaseIndex = Integer.parseInt(guidMatcher.group(1));
+        ObjectNode schema        = getElement("DatabaseSchemaElement", databaseGUID + "-schema", "DeployedDatabaseSchema");
+
+        schema.set("databaseSchemaProperties", getProperties("DatabaseSchemaProperties",
+                                                             getDatabaseName(databaseIndex) + ".schema",
+                                                             "Schema of " + getDatabaseName(databaseIndex)));
+
+        return getElementListResponse("DatabaseSchemasResponse", List.of(schema), startFrom, pageSize);
+    }
+
+
+    /**
+     * Return the tables of a database schema (or of a database).  The tables of the synthetic databases are all
+     * in their schema, so a database has no tables of its own and the report does not list each table twice.
+     *
+     * @param serverName name of the server running the Data Manager OMAS
+     * @param parentGUID unique identifier of the database schema or database
+     * @param startFrom index of the first table to return
+     * @param pageSize maximum number of tables to return (0 for all)
+     * @return DatabaseTablesResponse
+     * @throws StubRequestException the server is not running, the GUID does not identify a database or schema or
+     *                              the page size is too large
+     */
+    ObjectNode getTables(String serverName,
+                         String parentGUID,
+                         int    startFrom,
+                         int    pageSize) throws StubRequestException
+    {
+        getActiveServer(serverName);
+
+        Matcher guidMatcher = getDatabaseGUIDMatcher(parentGUID);
+
+        if ((guidMatcher.group(2) != null) && (! "-schema".equals(guidMatcher.group(2))))
+        {
+            throw unknownGUID(parentGUID);
+        }
+
+        int              databaseIndex = Integer.parseInt(guidMatcher.group(1));
+        int              tableCount    = (guidMatcher.group(2) == null) ? 0 : options.getTablesPerDatabase();
+        List<ObjectNode> tables        = new ArrayList<>();
+
+        for (int tableIndex = 0; tableIndex < tableCount; tableIndex++)
+        {
+            String     tableName = getDatabaseName(databaseIndex) + ".table" + String.format("%04d", tableIndex);
+            ObjectNode table     = getElement("DatabaseTableElement",
+                                              getDatabaseGUID(databaseIndex) + "-table-" + String.format("%04d", tableIndex),
+                                              "RelationalTable");
+
+            table.set("databaseTableProperties", getProperties("DatabaseTableProperties", tableName, "Table " + tableName));
+            table.put("databaseColumnCount", options.getColumnsPerTable());
+
+            tables.add(table);
+        }
+
+        return getElementListResponse("DatabaseTablesResponse", tables, startFrom, pageSize);
+    }
+
+
+    /**
+     * Return the columns of a table.
+     *
+     * @param serverName name of the server running the Data Manager OMAS
+     * @param tableGUID unique identifier of the table
+     * @param startFrom index of the first column to return
+     * @param pageSize maximum number of columns to return (0 for all)
+     * @return DatabaseColumnsResponse
+     * @throws StubRequestException the server is not running, the GUID does not identify a table or the page size
+     *                              is too large
+     */
+    ObjectNode getColumns(String serverName,
+                          String tableGUID,
+                          int    startFrom,
+                          int    pageSize) throws StubRequestException
+    {
+        getActiveServer(serverName);
+
+        Matcher guidMatcher = getDatabaseGUIDMatcher(tableGUID);
+
+        if ((guidMatcher.group(3) == null) || (guidMatcher.group(4) != null))
+        {
+            throw unknownGUID(tableGUID);
+        }
+
+        String           tableName = getDatabaseName(Integer.parseInt(guidMatcher.group(1))) + ".table" + guidMatcher.group(3);
+        List<ObjectNode> columns   = new ArrayList<>();
+
+        for (int columnIndex = 0; columnIndex < options.getColumnsPerTable(); columnIndex++)
+        {
+            String     columnName = tableName + ".column" + String.format("%04d", columnIndex);
+            ObjectNode column     = getElement("DatabaseColumnElement",
+                                               tableGUID + "-column-" + String.format("%04d", columnIndex),
+                                               "RelationalColumn");
+            ObjectNode properties = getProperties("DatabaseColumnProperties", columnName, "Column " + columnName);
+
+            properties.put("dataType", (columnIndex % 2 == 0) ? "string" : "long");
+            properties.put("position", columnIndex);
+            column.set("databaseColumnProperties", properties);
+
+            columns.add(column);
+        }
+
+        return getElementListResponse("DatabaseColumnsResponse", columns, startFrom, pageSize);
+    }
+
+
+    /**
+     * Acknowledge a request to create an element.  The element is not kept.
+     *
+     * @param serverName name of the server running the Data Manager OMAS
+     * @return response with a new GUID
+     * @throws StubRequestException the server is not running
+     */
+    GUIDResponse createElement(String serverName) throws StubRequestException
+    {
+        GUIDResponse response = new GUIDResponse();
+
+        getActiveServer(serverName);
+        response.setGUID(UUID.randomUUID().toString());
+
+        return response;
+    }
+
+
+    /**
+     * Acknowledge a request to update, publish, attach or remove an element.  Nothing is changed.
+     *
+     * @param serverName name of the server running the Data Manager OMAS
+     * @return empty response
+     * @throws StubRequestException the server is not running
+     */
+    VoidResponse updateElement(String serverName) throws StubRequestException
+    {
+        getActiveServer(serverName);
+
+        return new VoidResponse();
+    }
+
+
+    /**
+     * Return the named server.
+     *
+     * @param serverName name of server
+     * @return server
+     * @throws StubRequestException unknown server
+     */
+    private StubServer getServer(String serverName) throws StubRequestException
+    {
+        StubServer server = servers.get(serverName);
+
+        if (server == null)
+        {
+            throw new StubRequestException(404, "OMAG-ADMIN-404-001", "Server " + serverName + " is not configured on the platform");
+        }
+
+        return server;
+    }
+
+
+    /**
+     * Return the named server if it is running.
+     *
+     * @param serverName name of server
+     * @return server
+     * @throws StubRequestException the server is not running
+     */
+    private StubServer getActiveServer(String serverName) throws StubRequestException
+    {
+        StubServer server = servers.get(serverName);
+
+        if ((server == null) || (! server.isActive()))
+        {
+            throw new StubRequestException(404, "OMAG-MULTI-TENANT-404-001",
+                                           "The OMAG Server " + serverName + " is not available to service a request");
+        }
+
+        return server;
+    }
+
+
+    /**
+     * Return the named server if it is running and a member of the cohort.
+     *
+     * @param serverName name of server
+     * @param cohortName name of cohort
+     * @return server
+     * @throws StubRequestException the server is not running or is not a member of the cohort
+     */
+    private StubServer getCohortMember(String serverName,
+                                       String cohortName) throws StubRequestException
+    {
+        StubServer server = getActiveServer(serverName);
+
+        if (! cohortName.equals(server.cohortName))
+        {
+            throw new StubRequestException(400, "OMRS-METADATA-HIGHWAY-404-001", "Server " + serverName + " is not a member of cohort " + cohortName);
+        }
+
+        return server;
+    }
+
+
+    /**
+     * Return a connection for one of the stub platform's connectors.
+     *
+     * @param name display name
+     * @param connectorProviderClassName class name of the connector provider
+     * @param address endpoint address
+     * @return connection
+     */
+    private Connection getConnection(String name,
+                                     String connectorProviderClassName,
+                                     String address)
+    {
+        Connection    connection    = new Connection();
+        ConnectorType connectorType = new ConnectorType();
+        Endpoint      endpoint      = new Endpoint();
+
+        connectorType.setQualifiedName(name + " Connector Type");
+        connectorType.setDisplayName(name + " Connector Type");
+        connectorType.setConnectorProviderClassName(connectorProviderClassName);
+
+        endpoint.setQualifiedName(name + " Endpoint");
+        endpoint.setDisplayName(name + " Endpoint");
+        endpoint.setAddress(address);
+
+        connection.setQualifiedName(name + " Connection");
+        connection.setDisplayName(name);
+        connection.setConnectorType(connectorType);
+        connection.setEndpoint(endpoint);
+
+        return connection;
+    }
+
+
+    /**
+     * Return the name of a database.
+     *
+     * @param databaseIndex index of database
+     * @return name
+     */
+    private String getDatabaseName(int databaseIndex)
+    {
+        return "database" + String.format("%04d", databaseIndex);
+    }
+
+
+    /**
+     * Return the GUID of a database.
+     *
+     * @param databaseIndex index of database
+     * @return GUID
+     */
+    private String getDatabaseGUID(int databaseIndex)
+    {
+        return "stub-db-" + String.format("%04d", databaseIndex);
+    }
+
+
+    /**
+     * Parse a GUID generated by the stub for a database or one of its schemas, tables or columns.
+     *
+     * @param guid unique identifier
+     * @return matcher with the database index in group 1, the table index in group 3 and the column index in group 5
+     * @throws StubRequestException not a GUID for one of the databases
+     */
+    private Matcher getDatabaseGUIDMatcher(String guid) throws StubRequestException
+    {
+        Matcher guidMatcher = DATABASE_GUID_PATTERN.matcher(guid);
+
+        if ((! guidMatcher.matches()) || (Integer.parseInt(guidMatcher.group(1)) >= options.getDatabaseCount()))
+        {
+            throw unknownGUID(guid);
+        }
+
+        if ((guidMatcher.group(3) != null) && (Integer.parseInt(guidMatcher.group(3)) >= options.getTablesPerDatabase()))
+        {
+            throw unknownGUID(guid);
+        }
+
+        return guidMatcher;
+    }
+
+
+    /**
+     * Return the exception for a GUID that does not identify an element of the right type.
+     *
+     * @param guid unique identifier
+     * @return exception to throw
+     */
+    private StubRequestException unknownGUID(String guid)
+    {
+        return new StubRequestException(400, "OMAG-COMMON-400-018", "The unique identifier (guid) passed " + guid + " is not recognized", INVALID_PARAMETER_EXCEPTION);
+    }
+
+
+    /**
+     * Return a database element.
+     *
+     * @param databaseIndex index of the database
+     * @return DatabaseElement
+     */
+    private ObjectNode getDatabaseElement(int databaseIndex)
+    {
+        String     databaseName = getDatabaseName(databaseIndex);
+        ObjectNode database     = getElement("DatabaseElement", getDatabaseGUID(databaseIndex), "Database");
+        ObjectNode properties   = getProperties("DatabaseProperties", databaseName, "Synthetic database " + databaseName);
+
+        properties.put("name", databaseName);
+        properties.put("databaseType", "Stub");
+        properties.put("databaseVersion", "1.0");
+        database.set("databaseProperties", properties);
+
+        return database;
+    }
+
+
+    /**
+     * Return an element with its header filled in.
+     *
+     * @param elementClassName name of the element bean
+     * @param guid unique identifier
+     * @param typeName open metadata type
+     * @return element
+     */
+    private ObjectNode getElement(String elementClassName,
+                                  String guid,
+                                  String typeName)
+    {
+        ObjectNode element       = nodeFactory.objectNode();
+        ObjectNode elementHeader = nodeFactory.objectNode();
+        ObjectNode elementType   = nodeFactory.objectNode();
+
+        elementType.put("class", "ElementType");
+        elementType.put("typeName", typeName);
+
+        elementHeader.put("class", "ElementHeader");
+        elementHeader.put("guid", guid);
+        elementHeader.set("type", elementType);
+
+        element.put("class", elementClassName);
+        element.set("elementHeader", elementHeader);
+
+        return element;
+    }
+
+
+    /**
+     * Return the properties of an element.
+     *
+     * @param propertiesClassName name of the properties bean
+     * @param name display name (also used in the qualified name)
+     * @param description description
+     * @return properties
+     */
+    private ObjectNode getProperties(String propertiesClassName,
+                                     String name,
+                                     String description)
+    {
+        ObjectNode properties = nodeFactory.objectNode();
+
+        properties.put("class", propertiesClassName);
+        properties.put("qualifiedName", "Stub::" + name);
+        properties.put("displayName", name);
+        properties.put("description", description);
+
+        return properties;
+    }
+
+
+    /**
+     * Return an empty response.
+     *
+     * @param responseClassName name of the response bean
+     * @return response with relatedHTTPCode 200
+     */
+    private ObjectNode getResponse(String responseClassName)
+    {
+        ObjectNode response = nodeFactory.objectNode();
+
+        response.put("class", responseClassName);
+        response.put("relatedHTTPCode", 200);
+
+        return response;
+    }
+
+
+    /**
+     * Return a response containing a page of elements.  Like Egeria, the element list is left out when the page
+     * is empty.  When the options set a maximum page size, a request for all of the elements (page size 0)
+     * returns a page of the maximum size and a request for a larger page is rejected, as a real server does.
+     *
+     * @param responseClassName name of the response bean
+     * @param elements all of the elements
+     * @param startFrom index of the first element to return
+     * @param pageSize maximum number of elements to return (0 for all)
+     * @return response
+     * @throws StubRequestException the page size is larger than the maximum page size
+     */
+    private ObjectNode getElementListResponse(String           responseClassName,
+                                              List<ObjectNode> elements,
+                                              int              startFrom,
+                                              int              pageSize) throws StubRequestException
+    {
+        int maxPageSize = options.getMaxPageSize();
+
+        if (maxPageSize > 0)
+        {
+            if (pageSize > maxPageSize)
+            {
+                throw new StubRequestException(400,
+                                               "OMAG-COMMON-400-007",
+                                               "The number of records to return on a request, " + pageSize +
+                                                       ", is greater than the allowed maximum of " + maxPageSize,
+                                               INVALID_PARAMETER_EXCEPTION);
+            }
+
+            if (pageSize <= 0)
+            {
+                pageSize = maxPageSize;
+            }
+        }
+
+        ObjectNode response = getResponse(responseClassName);
+        int        start    = Math.max(startFrom, 0);
+        int        end      = (pageSize > 0) ? (int) Math.min((long) start + pageSize, elements.size()) : elements.size();
+
+        if (start < end)
+        {
+            ArrayNode elementList = response.putArray("elementList");
+
+            for (ObjectNode element : elements.subList(start, end))
+            {
+                elementList.add(element);
+            }
+        }
+
+        return response;
+    }
+
+
+    /**
+     * StubServer is one of the OMAG servers configured on the stub platform.  Its configuration is fixed;
+     * its running state changes as it is activated and deactivated.
+     */
+    private class StubServer
+    {
+        private final String                          serverName;
+        private final String                          serverType;
+        private final String                          cohortName;
+        private final String                          metadataCollectionId;
+        private final OMAGServerConfig                serverConfig;
+        private final List<String>                    serviceNames = new ArrayList<>();
+        private final List<OMAGServerInstanceHistory> history      = new ArrayList<>();
+
+        private boolean active    = false;
+        private Date    startTime = null;
+
+
+        /**
+         * Generate the server from its index.
+         *
+         * @param serverIndex index of the server
+         */
+        StubServer(int serverIndex)
+        {
+            this.serverName           = "server" + String.format("%04d", serverIndex);
+            this.serverType           = SERVER_TYPES[serverIndex % SERVER_TYPES.length];
+            this.metadataCollectionId = UUID.nameUUIDFromBytes(serverName.getBytes(StandardCharsets.UTF_8)).toString();
+            this.serverConfig         = new OMAGServerConfig();
+
+            serverConfig.setLocalServerId(metadataCollectionId);
+            serverConfig.setLocalServerName(serverName);
+            serverConfig.setLocalServerType(serverType);
+            serverConfig.setLocalServerDescription("Synthetic " + serverType + " number " + serverIndex);
+            serverConfig.setOrganizationName(ORGANIZATION_NAME);
+            serverConfig.setLocalServerURL(platformURLRoot);
+            serverConfig.setLocalServerUserId(serverName + "npa");
+            serverConfig.setMaxPageSize(1000);
+
+            if (METADATA_ACCESS_STORE.equals(serverType))
+            {
+                this.cohortName = "cohort" + String.format("%02d", serverIndex / SERVERS_PER_COHORT);
+
+                RepositoryServicesConfig  repositoryServicesConfig = new RepositoryServicesConfig();
+                LocalRepositoryConfig     localRepositoryConfig    = new LocalRepositoryConfig();
+                CohortConfig              cohortConfig             = new CohortConfig();
+                List<AccessServiceConfig> accessServiceConfigs     = new ArrayList<>();
+
+                localRepositoryConfig.setMetadataCollectionId(metadataCollectionId);
+                localRepositoryConfig.setMetadataCollectionName(serverName + " metadata collection");
+                localRepositoryConfig.setLocalRepositoryMode(LocalRepositoryMode.OPEN_METADATA_NATIVE);
+                localRepositoryConfig.setLocalRepositoryLocalConnection(getConnection("In Memory Repository",
+                                                                                      "org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector.InMemoryOMRSRepositoryConnectorProvider",
+                                                                                      null));
+
+                cohortConfig.setCohortName(cohortName);
+                cohortConfig.setCohortRegistryConnection(getConnection("Cohort Registry Store",
+                                                                       "org.odpi.openmetadata.adapters.repositoryservices.cohortregistrystore.file.FileBasedRegistryStoreProvider",
+                                                                       "data/servers/" + serverName + "/cohorts/" + cohortName + ".registrystore"));
+
+                repositoryServicesConfig.setLocalRepositoryConfig(localRepositoryConfig);
+                repositoryServicesConfig.setCohortConfigList(List.of(cohortConfig));
+                serverConfig.setRepositoryServicesConfig(repositoryServicesConfig);
+
+                serviceNames.add(REPOSITORY_SERVICES);
+
+                for (String[] registeredService : REGISTERED_SERVICES)
+                {
+                    if (ACCESS_SERVICES.equals(registeredService[0]))
+                    {
+                        AccessServiceConfig accessServiceConfig = new AccessServiceConfig();
+
+                        accessServiceConfig.setAccessServiceName(registeredService[1].replace(" OMAS", ""));
+                        accessServiceConfig.setAccessServiceFullName(registeredService[1]);
+                        accessServiceConfig.setAccessServiceURLMarker(registeredService[2]);
+                        accessServiceConfig.setAccessServiceDescription(registeredService[3]);
+
+                        accessServiceConfigs.add(accessServiceConfig);
+                        serviceNames.add(registeredService[1]);
+                    }
+                }
+
+                serverConfig.setAccessServicesConfig(accessServiceConfigs);
+            }
+            else
+            {
+                this.cohortName = null;
+
+                serviceNames.add(SERVER_TYPE_SERVICES[serverIndex % SERVER_TYPES.length]);
+            }
+
+            if (serverIndex % 3 != 2)
+            {
+                this.active    = true;
+                this.startTime = platformStartTime;
+            }
+            else if (serverIndex % 6 == 2)
+            {
+                history.add(new OMAGServerInstanceHistory(platformStartTime, platformStartTime));
+            }
+        }
+
+
+        /**
+         * Return whether the server has run since the platform started.
+         *
+         * @return boolean flag
+         */
+        synchronized boolean isKnown()
+        {
+            return active || (! history.isEmpty());
+        }
+
+
+        /**
+         * Return whether the server is running.
+         *
+         * @return boolean flag
+         */
+        synchronized boolean isActive()
+        {
+            return active;
+        }
+
+
+        /**
+         * Return the services that run in the server.
+         *
+         * @return list of service names
+         */
+        List<String> getServiceNames()
+        {
+            return serviceNames;
+        }
+
+
+        /**
+         * Start the server if it is not running.
+         */
+        synchronized void activate()
+        {
+            if (! active)
+            {
+                active    = true;
+                startTime = new Date();
+            }
+        }
+
+
+        /**
+         * Stop the server if it is running.
+         */
+        synchronized void deactivate()
+        {
+            if (active)
+            {
+                history.add(new OMAGServerInstanceHistory(startTime, new Date()));
+                active    = false;
+                startTime = null;
+            }
+        }
+
+
+        /**
+         * Return the running history of the server as reported by the platform services.
+         *
+         * @return response
+         */
+        synchronized ServerStatusResponse getServerStatus()
+        {
+            ServerStatusResponse response = new ServerStatusResponse();
+
+            response.setServerName(serverName);
+            response.setServerType(serverType);
+            response.setActive(active);
+            response.setServerStartTime(startTime);
+
+            if (! history.isEmpty())
+            {
+                response.setServerHistory(new ArrayList<>(history));
+
+                if (! active)
+                {
+                    response.setServerEndTime(history.get(history.size() - 1).getEndTime());
+                }
+            }
+
+            return response;
+        }
+
+
+        /**
+         * Return the status of the services running in the server as reported by the admin services.
+         *
+         * @return server status
+         */
+        ServerServicesStatus getServicesStatus()
+        {
+            ServerServicesStatus          servicesStatus = new ServerServicesStatus();
+            List<OMAGServerServiceStatus> services       = new ArrayList<>();
+
+            for (String serviceName : serviceNames)
+            {
+                OMAGServerServiceStatus serviceStatus = new OMAGServerServiceStatus();
+
+                serviceStatus.setServiceName(serviceName);
+                serviceStatus.setServiceStatus(ServerActiveStatus.RUNNING);
+
+                services.add(serviceStatus);
+            }
+
+            servicesStatus.setServerName(serverName);
+            servicesStatus.setServerType(serverType);
+            servicesStatus.setServerActiveStatus(ServerActiveStatus.RUNNING);
+            servicesStatus.setServices(services);
+
+            return servicesStatus;
+        }
+
+
+        /**
+         * Return the registration of the server with its cohort.
+         *
+         * @return registration
+         */
+        MemberRegistration getRegistration()
+        {
+            MemberRegistration registration = new MemberRegistration();
+
+            registration.setMetadataCollectionId(metadataCollectionId);
+            registration.setMetadataCollectionName(serverName + " metadata collection");
+            registration.setServerName(serverName);
+            registration.setServerType(serverType);
+            registration.setOrganizationName(ORGANIZATION_NAME);
+            registration.setRegistrationTime(platformStartTime);
+            registration.setRepositoryConnection(getConnection(serverName + " Repository Proxy",
+                                                               "org.odpi.openmetadata.adapters.repositoryservices.rest.repositoryconnector.OMRSRESTRepositoryConnectorProvider",
+                                                               platformURLRoot + "/servers/" + serverName));
+
+            return registration;
+        }
+    }
+}
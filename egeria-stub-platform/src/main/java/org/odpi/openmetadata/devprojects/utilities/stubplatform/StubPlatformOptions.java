@@ -0,0 +1,283 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.utilities.stubplatform;
+
+
+/**
+ * StubPlatformOptions describes the size of the synthetic estate served by the stub OMAG Server Platform and
+ * the latency and errors it adds to each request.
+ */
+public class StubPlatformOptions
+{
+    public static final int    DEFAULT_PORT                    = 9480;
+    public static final int    DEFAULT_SERVER_COUNT            = 20;
+    public static final int    DEFAULT_DATABASE_COUNT          = 10;
+    public static final int    DEFAULT_TABLES_PER_DATABASE     = 5;
+    public static final int    DEFAULT_COLUMNS_PER_TABLE       = 10;
+    public static final int    DEFAULT_MAX_CONCURRENT_REQUESTS = 200;
+    public static final int    DEFAULT_MAX_PAGE_SIZE           = 0;
+
+    private int    port                  = DEFAULT_PORT;
+    private int    serverCount           = DEFAULT_SERVER_COUNT;
+    private int    databaseCount         = DEFAULT_DATABASE_COUNT;
+    private int    tablesPerDatabase     = DEFAULT_TABLES_PER_DATABASE;
+    private int    columnsPerTable       = DEFAULT_COLUMNS_PER_TABLE;
+    private long   latencyMillis         = 0;
+    private long   latencyJitterMillis   = 0;
+    private double errorRate             = 0;
+    private int    maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+    private int    maxPageSize           = DEFAULT_MAX_PAGE_SIZE;
+
+
+    /**
+     * Default constructor.
+     */
+    public StubPlatformOptions()
+    {
+    }
+
+
+    /**
+     * Return the port that the stub platform listens on.
+     *
+     * @return port number
+     */
+    public int getPort()
+    {
+        return port;
+    }
+
+
+    /**
+     * Set up the port that the stub platform listens on.
+     *
+     * @param port port number
+     */
+    public void setPort(int port)
+    {
+        this.port = port;
+    }
+
+
+    /**
+     * Return the number of OMAG servers configured on the stub platform.
+     *
+     * @return count
+     */
+    public int getServerCount()
+    {
+        return serverCount;
+    }
+
+
+    /**
+     * Set up the number of OMAG servers configured on the stub platform.
+     *
+     * @param serverCount count
+     */
+    public void setServerCount(int serverCount)
+    {
+        this.serverCount = serverCount;
+    }
+
+
+    /**
+     * Return the number of databases returned by the Data Manager OMAS.
+     *
+     * @return count
+     */
+    public int getDatabaseCount()
+    {
+        return databaseCount;
+    }
+
+
+    /**
+     * Set up the number of databases returned by the Data Manager OMAS.
+     *
+     * @param databaseCount count
+     */
+    public void setDatabaseCount(int databaseCount)
+    {
+        this.databaseCount = databaseCount;
+    }
+
+
+    /**
+     * Return the number of tables in each database.
+     *
+     * @return count
+     */
+    public int getTablesPerDatabase()
+    {
+        return tablesPerDatabase;
+    }
+
+
+    /**
+     * Set up the number of tables in each database.
+     *
+     * @param tablesPerDatabase count
+     */
+    public void setTablesPerDatabase(int tablesPerDatabase)
+    {
+        this.tablesPerDatabase = tablesPerDatabase;
+    }
+
+
+    /**
+     * Return the number of columns in each table.
+     *
+     * @return count
+     */
+    public int getColumnsPerTable()
+    {
+        return columnsPerTable;
+    }
+
+
+    /**
+     * Set up the number of columns in each table.
+     *
+     * @param columnsPerTable count
+     */
+    public void setColumnsPerTable(int columnsPerTable)
+    {
+        this.columnsPerTable = columnsPerTable;
+    }
+
+
+    /**
+     * Return the number of milliseconds added to every request.
+     *
+     * @return milliseconds
+     */
+    public long getLatencyMillis()
+    {
+        return latencyMillis;
+    }
+
+
+    /**
+     * Set up the number of milliseconds added to every request.
+     *
+     * @param latencyMillis milliseconds
+     */
+    public void setLatencyMillis(long latencyMillis)
+    {
+        this.latencyMillis = latencyMillis;
+    }
+
+
+    /**
+     * Return the upper bound of the random number of milliseconds added to the latency of each request.
+     *
+     * @return milliseconds
+     */
+    public long getLatencyJitterMillis()
+    {
+        return latencyJitterMillis;
+    }
+
+
+    /**
+     * Set up the upper bound of the random number of milliseconds added to the latency of each request.
+     *
+     * @param latencyJitterMillis milliseconds
+     */
+    public void setLatencyJitterMillis(long latencyJitterMillis)
+    {
+        this.latencyJitterMillis = latencyJitterMillis;
+    }
+
+
+    /**
+     * Return the fraction of requests (0.0 to 1.0) that are answered with an error response.
+     *
+     * @return fraction
+     */
+    public double getErrorRate()
+    {
+        return errorRate;
+    }
+
+
+    /**
+     * Set up the fraction of requests (0.0 to 1.0) that are answered with an error response.
+     *
+     * @param errorRate fraction
+     */
+    public void setErrorRate(double errorRate)
+    {
+        this.errorRate = errorRate;
+    }
+
+
+    /**
+     * Return the maximum number of requests that are processed at the same time.
+     *
+     * @return count
+     */
+    public int getMaxConcurrentRequests()
+    {
+        return maxConcurrentRequests;
+    }
+
+
+    /**
+     * Set up the maximum number of requests that are processed at the same time.
+     *
+     * @param maxConcurrentRequests count
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests)
+    {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+
+    /**
+     * Return the largest number of elements returned by a Data Manager OMAS request.  A request for a larger page
+     * is rejected and a request for all of the elements returns a page of this size.
+     *
+     * @return count (0 for no limit)
+     */
+    public int getMaxPageSize()
+    {
+        return maxPageSize;
+    }
+
+
+    /**
+     * Set up the largest number of elements returned by a Data Manager OMAS request.  A request for a larger page
+     * is rejected and a request for all of the elements returns a page of this size.
+     *
+     * @param maxPageSize count (0 for no limit)
+     */
+    public void setMaxPageSize(int maxPageSize)
+    {
+        this.maxPageSize = maxPageSize;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "StubPlatformOptions{" +
+                       "port=" + port +
+                       ", serverCount=" + serverCount +
+                       ", databaseCount=" + databaseCount +
+                       ", tablesPerDatabase=" + tablesPerDatabase +
+                       ", columnsPerTable=" + columnsPerTable +
+                       ", latencyMillis=" + latencyMillis +
+                       ", latencyJitterMillis=" + latencyJitterMillis +
+                       ", errorRate=" + errorRate +
+                       ", maxConcurrentRequests=" + maxConcurrentRequests +
+                       ", maxPageSize=" + maxPageSize +
+                       '}';
+    }
+}
@@ -0,0 +1,88 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.devprojects.utilities.stubplatform;
+
+
+/**
+ * StubRequestException is thrown by the stub platform model when a request can not be satisfied - for example,
+ * it names a server that is not running.  The handler turns it into an Egeria error response.  The exception
+ * class in the response is the one the route's client expects unless the request is invalid, when it is the
+ * InvalidParameterException a real platform returns.
+ */
+class StubRequestException extends Exception
+{
+    private static final long serialVersionUID = 1L;
+
+    private final int    reportedHTTPCode;
+    private final String reportedErrorMessageId;
+    private final String reportedExceptionClassName;
+
+
+    /**
+     * Constructor for an error reported with the exception class that the route's client expects.
+     *
+     * @param reportedHTTPCode HTTP code to return in the relatedHTTPCode field of the response
+     * @param reportedErrorMessageId identifier of the message
+     * @param reportedErrorMessage message text
+     */
+    StubRequestException(int    reportedHTTPCode,
+                         String reportedErrorMessageId,
+                         String reportedErrorMessage)
+    {
+        this(reportedHTTPCode, reportedErrorMessageId, reportedErrorMessage, null);
+    }
+
+
+    /**
+     * Constructor for an error reported with a specific exception class.
+     *
+     * @param reportedHTTPCode HTTP code to return in the relatedHTTPCode field of the response
+     * @param reportedErrorMessageId identifier of the message
+     * @param reportedErrorMessage message text
+     * @param reportedExceptionClassName exception class to return in the response (null for the route's exception)
+     */
+    StubRequestException(int    reportedHTTPCode,
+                         String reportedErrorMessageId,
+                         String reportedErrorMessage,
+                         String reportedExceptionClassName)
+    {
+        super(reportedErrorMessage);
+
+        this.reportedHTTPCode           = reportedHTTPCode;
+        this.reportedErrorMessageId     = reportedErrorMessageId;
+        this.reportedExceptionClassName = reportedExceptionClassName;
+    }
+
+
+    /**
+     * Return the HTTP code to return in the relatedHTTPCode field of the response.
+     *
+     * @return HTTP code
+     */
+    int getReportedHTTPCode()
+    {
+        return reportedHTTPCode;
+    }
+
+
+    /**
+     * Return the identifier of the message.
+     *
+     * @return message identifier
+     */
+    String getReportedErrorMessageId()
+    {
+        return reportedErrorMessageId;
+    }
+
+
+    /**
+     * Return the exception class to return in the response.
+     *
+     * @return class name or null for the exception that the route's client expects
+     */
+    String getReportedExceptionClassName()
+    {
+        return reportedExceptionClassName;
+    }
+}